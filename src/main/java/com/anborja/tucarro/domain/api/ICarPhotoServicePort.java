@@ -0,0 +1,43 @@
+package com.anborja.tucarro.domain.api;
+
+import com.anborja.tucarro.domain.exception.CarNotFoundException;
+import com.anborja.tucarro.domain.exception.CarPhotoNotFoundException;
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarPhoto;
+
+import java.io.InputStream;
+
+public interface ICarPhotoServicePort {
+
+    /**
+     * Sube la foto de un auto y la asigna como su photoUrl
+     *
+     * @param carId el ID del auto
+     * @param userId el ID del usuario (para verificar propiedad)
+     * @param content flujo con los bytes de la imagen
+     * @return el auto actualizado
+     * @throws CarNotFoundException si el auto no existe
+     * @throws IllegalArgumentException si la imagen no es válida o el auto no pertenece al usuario
+     */
+    Car uploadPhoto(Long carId, Long userId, InputStream content);
+
+    /**
+     * Obtiene una foto almacenada
+     *
+     * @param hash SHA-256 del contenido
+     * @return la foto encontrada
+     * @throws CarPhotoNotFoundException si no existe
+     */
+    CarPhoto getPhoto(String hash);
+
+    /**
+     * Obtiene una variante reducida de una foto. Si aún no se ha generado, la solicita y
+     * devuelve la original
+     *
+     * @param hash SHA-256 de la foto original
+     * @param width uno de los anchos de DomainConstants.CAR_PHOTO_VARIANT_WIDTHS
+     * @return la variante, o la original mientras la variante se genera
+     * @throws CarPhotoNotFoundException si la foto no existe o el ancho no está soportado
+     */
+    CarPhoto getPhotoVariant(String hash, int width);
+}
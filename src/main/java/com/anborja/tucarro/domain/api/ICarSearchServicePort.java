@@ -2,6 +2,7 @@ package com.anborja.tucarro.domain.api;
 
 import com.anborja.tucarro.domain.model.Car;
 import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarSearchFacets;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.CarSearchRequest;
 import com.anborja.tucarro.domain.exception.CarNotFoundException;
 import org.springframework.data.domain.Page;
@@ -196,6 +197,17 @@ public interface ICarSearchServicePort {
      */
     YearStatistics getYearStatistics(Long userId);
 
+    /**
+     * Obtener los conteos por marca, color, año y antigüedad de los autos que cumplen
+     * los criterios de búsqueda
+     *
+     * @param userId el ID del usuario
+     * @param searchRequest los criterios de búsqueda del DTO
+     * @param limit cantidad máxima de valores por marca, color y año
+     * @return conteos de los autos que cumplen los criterios
+     */
+    CarSearchFacets getSearchFacets(Long userId, CarSearchRequest searchRequest, int limit);
+
     // ============================================================================
     // CLASES AUXILIARES
     // ============================================================================
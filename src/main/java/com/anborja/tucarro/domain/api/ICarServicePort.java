@@ -1,8 +1,12 @@
 package com.anborja.tucarro.domain.api;
 
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
 import com.anborja.tucarro.domain.exception.CarNotFoundException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ICarServicePort {
@@ -39,6 +43,29 @@ public interface ICarServicePort {
      */
     Car getCarById(Long carId, Long userId);
 
+    /**
+     * Obtiene el estado que tenía un auto del usuario en un instante
+     *
+     * @param carId el ID del auto
+     * @param asOf el instante consultado
+     * @param userId el ID del usuario (para verificar propiedad)
+     * @return la versión del auto vigente en ese instante
+     * @throws CarNotFoundException si el auto no existía en ese instante
+     * @throws IllegalArgumentException si esa versión no pertenece al usuario
+     */
+    Car getCarAsOf(Long carId, LocalDateTime asOf, Long userId);
+
+    /**
+     * Obtiene las versiones de un auto del usuario en orden cronológico
+     *
+     * @param carId el ID del auto
+     * @param userId el ID del usuario (para verificar propiedad)
+     * @return las versiones del auto, con la actual al final
+     * @throws CarNotFoundException si el auto no tiene historia
+     * @throws IllegalArgumentException si la última versión no pertenece al usuario
+     */
+    List<CarRevision> getCarHistory(Long carId, Long userId);
+
     /**
      * Obtiene un auto por su número de placa
      *
@@ -73,6 +100,52 @@ public interface ICarServicePort {
      */
     boolean deleteCar(Long carId, Long userId);
 
+    /**
+     * Crea o actualiza el auto del usuario con la placa indicada
+     *
+     * @param plateNumber la placa del auto
+     * @param car los datos del auto
+     * @param userId el ID del usuario propietario
+     * @return el auto resultante y si se creó o se actualizó
+     * @throws IllegalArgumentException si los datos no son válidos o la placa es de otro usuario
+     * @throws UserNotFoundException si el usuario no existe
+     */
+    CarUpsertResult upsertCarByPlate(String plateNumber, Car car, Long userId);
+
+    /**
+     * Crea o actualiza varios autos del usuario por placa en una sola sentencia
+     *
+     * @param cars los autos a sincronizar, con placas distintas
+     * @param userId el ID del usuario propietario
+     * @return el resultado de cada auto en el mismo orden; las placas de otros usuarios quedan como FORBIDDEN
+     * @throws IllegalArgumentException si algún dato no es válido o el lote excede el máximo
+     * @throws UserNotFoundException si el usuario no existe
+     */
+    List<CarUpsertResult> upsertCarsByPlate(List<Car> cars, Long userId);
+
+    /**
+     * Modifica varios autos del usuario en una sola operación
+     *
+     * @param carIds los IDs de los autos, o null si se seleccionan por filtro
+     * @param filter el filtro de los autos, o null si se seleccionan por IDs
+     * @param changes los campos a modificar; solo marca, modelo, año y color
+     * @param userId el ID del usuario propietario
+     * @return el número de autos modificados
+     * @throws IllegalArgumentException si la selección o los cambios no son válidos
+     */
+    int updateCars(List<Long> carIds, CarSearchCriteria filter, Car changes, Long userId);
+
+    /**
+     * Elimina varios autos del usuario en una sola operación
+     *
+     * @param carIds los IDs de los autos, o null si se seleccionan por filtro
+     * @param filter el filtro de los autos, o null si se seleccionan por IDs
+     * @param userId el ID del usuario propietario
+     * @return el número de autos eliminados
+     * @throws IllegalArgumentException si la selección no es válida
+     */
+    int deleteCars(List<Long> carIds, CarSearchCriteria filter, Long userId);
+
     /**
      * Verifica si un auto existe por su ID
      *
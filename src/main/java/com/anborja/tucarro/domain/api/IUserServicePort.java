@@ -1,8 +1,10 @@
 package com.anborja.tucarro.domain.api;
 
+import com.anborja.tucarro.domain.model.AccountDeletion;
 import com.anborja.tucarro.domain.model.User;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
 import com.anborja.tucarro.domain.exception.InvalidCredentialsException;
+import com.anborja.tucarro.domain.exception.AccountDeletionNotFoundException;
 import java.util.List;
 
 public interface IUserServicePort {
@@ -50,13 +52,23 @@ public interface IUserServicePort {
     boolean changePassword(Long userId, String currentPassword, String newPassword);
 
     /**
-     * Elimina un usuario y todos sus autos asociados
+     * Solicita la eliminación de un usuario y todos sus autos asociados. La cuenta deja de
+     * estar disponible de inmediato; los autos y el usuario se borran en segundo plano
      *
      * @param userId el ID del usuario a eliminar
-     * @return true si se eliminó exitosamente
+     * @return la solicitud de eliminación, con el token para consultar su progreso
      * @throws UserNotFoundException si el usuario no existe
      */
-    boolean deleteUser(Long userId);
+    AccountDeletion deleteUser(Long userId);
+
+    /**
+     * Obtiene el progreso de una solicitud de eliminación de cuenta
+     *
+     * @param token token de la solicitud
+     * @return la solicitud de eliminación
+     * @throws AccountDeletionNotFoundException si no existe una solicitud con ese token
+     */
+    AccountDeletion getAccountDeletion(String token);
 
     /**
      * Obtiene todos los usuarios del sistema (solo para administradores)
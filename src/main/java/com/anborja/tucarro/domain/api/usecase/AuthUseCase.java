@@ -78,6 +78,9 @@ public class AuthUseCase implements IAuthServicePort {
             throw new InvalidCredentialsException(email, "Contraseña incorrecta");
         }
 
+        // Registrar el inicio de sesión: el token caduca en un día, así que marca la actividad del usuario
+        userRepositoryPort.recordLogin(user.getId(), LocalDateTime.now());
+
         // Generar y retornar token JWT
         return jwtTokenPort.generateToken(user.getEmail(), user.getId());
     }
@@ -0,0 +1,103 @@
+package com.anborja.tucarro.domain.api.usecase;
+
+import com.anborja.tucarro.domain.api.ICarPhotoServicePort;
+import com.anborja.tucarro.domain.exception.CarConcurrentModificationException;
+import com.anborja.tucarro.domain.exception.CarNotFoundException;
+import com.anborja.tucarro.domain.exception.CarPhotoNotFoundException;
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAuditEntry;
+import com.anborja.tucarro.domain.model.CarPhoto;
+import com.anborja.tucarro.domain.spi.ICarAuditPort;
+import com.anborja.tucarro.domain.spi.ICarPhotoStoragePort;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.util.DomainConstants;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+public class CarPhotoUseCase implements ICarPhotoServicePort {
+
+    private final ICarPhotoStoragePort carPhotoStoragePort;
+    private final ICarRepositoryPort carRepositoryPort;
+    private final ICarAuditPort carAuditPort;
+
+    public CarPhotoUseCase(ICarPhotoStoragePort carPhotoStoragePort,
+                           ICarRepositoryPort carRepositoryPort,
+                           ICarAuditPort carAuditPort) {
+        this.carPhotoStoragePort = carPhotoStoragePort;
+        this.carRepositoryPort = carRepositoryPort;
+        this.carAuditPort = carAuditPort;
+    }
+
+    @Override
+    public Car uploadPhoto(Long carId, Long userId, InputStream content) {
+        if (carId == null) {
+            throw new IllegalArgumentException("El ID del auto no puede ser nulo");
+        }
+
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        if (content == null) {
+            throw new IllegalArgumentException(DomainConstants.CAR_PHOTO_REQUIRED);
+        }
+
+        // Verificar propiedad antes de escribir en disco
+        Car car = carRepositoryPort.findById(carId)
+                .orElseThrow(() -> new CarNotFoundException(carId));
+        if (!car.getUserId().equals(userId)) {
+            throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+        }
+
+        CarPhoto photo = carPhotoStoragePort.store(content, DomainConstants.CAR_PHOTO_MAX_BYTES);
+        carPhotoStoragePort.requestVariants(photo, true);
+
+        Car changes = new Car();
+        changes.setId(carId);
+        changes.setPhotoUrl(carPhotoStoragePort.publicUrl(photo.getHash()));
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        // UPDATE ... WHERE id = ? AND user_id = ?; el auto pudo borrarse mientras se subía la foto
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.updateIfOwned(changes, userId, null);
+        switch (result.getOutcome()) {
+            case APPLIED -> {
+                // Nada que hacer
+            }
+            case NOT_FOUND -> throw new CarNotFoundException(carId);
+            case FORBIDDEN -> throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+            case STALE -> throw new CarConcurrentModificationException(carId);
+        }
+
+        if (carAuditPort.isEnabled()) {
+            carAuditPort.record(new CarAuditEntry(CarAuditEntry.Action.UPDATED, carId, userId,
+                    result.getPrevious(), result.getCar(), changes.getUpdatedAt()));
+        }
+        return result.getCar();
+    }
+
+    @Override
+    public CarPhoto getPhoto(String hash) {
+        if (hash == null || !hash.matches(DomainConstants.CAR_PHOTO_HASH_REGEX)) {
+            throw new CarPhotoNotFoundException();
+        }
+
+        return carPhotoStoragePort.findByHash(hash)
+                .orElseThrow(() -> new CarPhotoNotFoundException(hash));
+    }
+
+    @Override
+    public CarPhoto getPhotoVariant(String hash, int width) {
+        if (!DomainConstants.CAR_PHOTO_VARIANT_WIDTHS.contains(width)) {
+            throw new CarPhotoNotFoundException(hash + "/w" + width);
+        }
+
+        CarPhoto original = getPhoto(hash);
+        return carPhotoStoragePort.findVariant(hash, width)
+                .orElseGet(() -> {
+                    // Se vuelve a pedir sin esperar: la subida pudo descartarla con la cola llena
+                    carPhotoStoragePort.requestVariants(original, false);
+                    return original;
+                });
+    }
+}
@@ -4,30 +4,66 @@ import com.anborja.tucarro.domain.api.ICarSearchServicePort;
 import com.anborja.tucarro.domain.exception.CarNotFoundException;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAgeBucket;
+import com.anborja.tucarro.domain.model.CarFleet;
 import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarSearchFacets;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import com.anborja.tucarro.domain.model.UserCarStats;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
 import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.spi.ICarSearchIndexPort;
+import com.anborja.tucarro.domain.spi.ICarSearchViewPort;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.domain.spi.IUserFleetCachePort;
 import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.CarSearchRequest;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
-import java.time.LocalDateTime;
+import java.time.Year;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class CarSearchUseCase implements ICarSearchServicePort {
 
+    private static final String DEFAULT_SORT = "createdAt";
+    // Estable: dentro de un mismo año se conserva el orden de la flota (más reciente primero)
+    private static final Comparator<Car> BY_YEAR = Comparator.comparing(Car::getYear,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final ICarRepositoryPort carRepositoryPort;
     private final IUserRepositoryPort userRepositoryPort;
-
-    public CarSearchUseCase(ICarRepositoryPort carRepositoryPort, IUserRepositoryPort userRepositoryPort) {
+    private final ICarFullTextSearchPort carFullTextSearchPort;
+    private final IUserCarStatsPort userCarStatsPort;
+    // Listados, filtros y ordenamientos: car_search_view refleja las escrituras con un retraso breve
+    private final ICarSearchViewPort carSearchViewPort;
+    // Índice de búsqueda de la instancia; mientras no está construido se usa el modelo de lectura
+    private final ICarSearchIndexPort carSearchIndexPort;
+    // Filtros por año, antigüedad y foto: se resuelven en memoria sobre la flota del usuario
+    private final IUserFleetCachePort userFleetCachePort;
+
+    public CarSearchUseCase(ICarRepositoryPort carRepositoryPort,
+                            IUserRepositoryPort userRepositoryPort,
+                            ICarFullTextSearchPort carFullTextSearchPort,
+                            IUserCarStatsPort userCarStatsPort,
+                            ICarSearchViewPort carSearchViewPort,
+                            ICarSearchIndexPort carSearchIndexPort,
+                            IUserFleetCachePort userFleetCachePort) {
         this.carRepositoryPort = carRepositoryPort;
         this.userRepositoryPort = userRepositoryPort;
+        this.carFullTextSearchPort = carFullTextSearchPort;
+        this.userCarStatsPort = userCarStatsPort;
+        this.carSearchViewPort = carSearchViewPort;
+        this.carSearchIndexPort = carSearchIndexPort;
+        this.userFleetCachePort = userFleetCachePort;
     }
 
     @Override
@@ -48,94 +84,47 @@ public class CarSearchUseCase implements ICarSearchServicePort {
     public List<Car> searchByModel(String model, Long userId) {
         validateUserId(userId);
 
-        if (model == null || model.trim().isEmpty()) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getModel() != null &&
-                        car.getModel().toLowerCase().contains(model.trim().toLowerCase()))
-                .collect(Collectors.toList());
+        return find(userId, CarSearchQuery.all().withModelContaining(model),
+                DEFAULT_SORT, false);
     }
 
     @Override
     public List<Car> searchByBrand(String brand, Long userId) {
         validateUserId(userId);
 
-        if (brand == null || brand.trim().isEmpty()) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getBrand() != null &&
-                        car.getBrand().toLowerCase().contains(brand.trim().toLowerCase()))
-                .collect(Collectors.toList());
+        return find(userId, CarSearchQuery.all().withBrandContaining(brand),
+                DEFAULT_SORT, false);
     }
 
     @Override
     public List<Car> filterByYear(Integer year, Long userId) {
         validateUserId(userId);
 
-        if (year == null) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getYear() != null && car.getYear().equals(year))
-                .collect(Collectors.toList());
+        CarFleet fleet = userFleetCachePort.getFleet(userId);
+        return fleet.select(index -> year == null || year.equals(fleet.year(index)));
     }
 
     @Override
     public List<Car> filterByYearRange(Integer minYear, Integer maxYear, Long userId) {
         validateUserId(userId);
 
-        if (minYear == null && maxYear == null) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> {
-                    if (car.getYear() == null) return false;
-
-                    boolean minYearMatches = minYear == null || car.getYear() >= minYear;
-                    boolean maxYearMatches = maxYear == null || car.getYear() <= maxYear;
-
-                    return minYearMatches && maxYearMatches;
-                })
-                .collect(Collectors.toList());
+        CarFleet fleet = userFleetCachePort.getFleet(userId);
+        return fleet.select(index -> isInRange(fleet.year(index), minYear, maxYear));
     }
 
     @Override
     public List<Car> filterByColor(String color, Long userId) {
         validateUserId(userId);
 
-        if (color == null || color.trim().isEmpty()) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getColor() != null &&
-                        car.getColor().equalsIgnoreCase(color.trim()))
-                .collect(Collectors.toList());
+        return find(userId, CarSearchQuery.all().withColor(color), DEFAULT_SORT, false);
     }
 
     @Override
     public List<Car> generalSearch(String searchTerm, Long userId) {
         validateUserId(userId);
 
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return carRepositoryPort.findByUserId(userId);
-        }
-
-        String term = searchTerm.trim().toLowerCase();
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car ->
-                        (car.getBrand() != null && car.getBrand().toLowerCase().contains(term)) ||
-                                (car.getModel() != null && car.getModel().toLowerCase().contains(term)) ||
-                                (car.getColor() != null && car.getColor().toLowerCase().contains(term))
-                )
-                .collect(Collectors.toList());
+        return find(userId, CarSearchQuery.all().withSearchTerm(searchTerm),
+                DEFAULT_SORT, false);
     }
 
     @Override
@@ -143,98 +132,64 @@ public class CarSearchUseCase implements ICarSearchServicePort {
         validateUserId(userId);
 
         if (searchCriteria == null) {
-            return carRepositoryPort.findByUserId(userId);
+            return find(userId, CarSearchQuery.all(), DEFAULT_SORT, false);
         }
 
-        List<Car> cars = carRepositoryPort.findByUserId(userId);
-
-        // Aplicar filtros secuencialmente
-        cars = cars.stream()
-                .filter(car -> matchesBrand(car, searchCriteria.getBrand()))
-                .filter(car -> matchesModel(car, searchCriteria.getModel()))
-                .filter(car -> matchesYear(car, searchCriteria.getYear()))
-                .filter(car -> matchesYearRange(car, searchCriteria.getMinYear(), searchCriteria.getMaxYear()))
-                .filter(car -> matchesColor(car, searchCriteria.getColor()))
-                .filter(car -> matchesPlate(car, searchCriteria.getPlateNumber()))
-                .filter(car -> matchesGeneralTerm(car, searchCriteria.getGeneralSearchTerm()))
-                .collect(Collectors.toList());
-
-        // Aplicar ordenamiento
-        if (searchCriteria.getSortOrder() != null) {
-            cars = applySortOrder(cars, searchCriteria.getSortOrder());
-        }
+        CarSearchQuery query = CarSearchQuery.all()
+                .withBrandContaining(searchCriteria.getBrand())
+                .withModelContaining(searchCriteria.getModel())
+                .withYear(searchCriteria.getYear())
+                .withYearRange(searchCriteria.getMinYear(), searchCriteria.getMaxYear())
+                .withColor(searchCriteria.getColor())
+                .withPlateNumber(searchCriteria.getPlateNumber())
+                .withSearchTerm(searchCriteria.getGeneralSearchTerm());
 
-        return cars;
+        SortOrder sortOrder = searchCriteria.getSortOrder() != null ? searchCriteria.getSortOrder() : SortOrder.CREATED_DESC;
+        return find(userId, query, sortField(sortOrder), isAscending(sortOrder));
     }
 
     @Override
     public List<Car> getVintageCars(Long userId) {
         validateUserId(userId);
 
-        int currentYear = LocalDateTime.now().getYear();
-        int vintageYear = currentYear - 25;
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getYear() != null && car.getYear() <= vintageYear)
-                .collect(Collectors.toList());
+        return selectByAge(userFleetCachePort.getFleet(userId), CarAgeBucket.VINTAGE);
     }
 
     @Override
     public List<Car> getNewCars(Long userId) {
         validateUserId(userId);
 
-        int currentYear = LocalDateTime.now().getYear();
-        int newCarYear = currentYear - 3;
-
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getYear() != null && car.getYear() >= newCarYear)
-                .collect(Collectors.toList());
+        return selectByAge(userFleetCachePort.getFleet(userId), CarAgeBucket.NEW);
     }
 
     @Override
     public List<Car> getCarsOrderedByYearDesc(Long userId) {
         validateUserId(userId);
 
-        return carRepositoryPort.findByUserId(userId).stream()
-                .sorted(Comparator.comparing(Car::getYear,
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
+        List<Car> cars = userFleetCachePort.getFleet(userId).toCars();
+        cars.sort(BY_YEAR.reversed());
+        return cars;
     }
 
     @Override
     public List<Car> getCarsOrderedByYearAsc(Long userId) {
         validateUserId(userId);
 
-        return carRepositoryPort.findByUserId(userId).stream()
-                .sorted(Comparator.comparing(Car::getYear,
-                        Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
+        List<Car> cars = userFleetCachePort.getFleet(userId).toCars();
+        cars.sort(BY_YEAR);
+        return cars;
     }
 
     @Override
     public List<Car> searchCars(Long userId, CarSearchRequest searchRequest) {
         validateUserId(userId);
 
-        if (searchRequest == null || !searchRequest.hasAnyFilter()) {
-            return getSortedCars(userId,
-                    searchRequest != null ? searchRequest.getSortBy() : "createdAt",
-                    searchRequest == null || !searchRequest.isSortingDescending());
-        }
-
-        List<Car> cars;
-
-        // Si tiene término de búsqueda general, usarlo como base
-        if (searchRequest.hasSearchTerm()) {
-            cars = generalSearch(searchRequest.getSearchTerm(), userId);
-        } else {
-            cars = carRepositoryPort.findByUserId(userId);
+        if (searchRequest == null) {
+            return find(userId, CarSearchQuery.all(), DEFAULT_SORT, true);
         }
 
-        // Aplicar filtros específicos usando CarSearchRequest
-        cars = applySearchRequestFilters(cars, searchRequest);
-
-        // Aplicar ordenamiento
-        return applySorting(cars, searchRequest.getSortBy(), !searchRequest.isSortingDescending());
+        return find(userId, toSearchQuery(searchRequest),
+                searchRequest.getSortBy(), !searchRequest.isSortingDescending());
     }
 
     @Override
@@ -272,43 +227,32 @@ public class CarSearchUseCase implements ICarSearchServicePort {
     public List<Car> getCarsWithPhoto(Long userId) {
         validateUserId(userId);
 
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getPhotoUrl() != null && !car.getPhotoUrl().trim().isEmpty())
-                .collect(Collectors.toList());
+        CarFleet fleet = userFleetCachePort.getFleet(userId);
+        return fleet.select(fleet::hasPhoto);
     }
 
     @Override
     public List<Car> getCarsWithoutPhoto(Long userId) {
         validateUserId(userId);
 
-        return carRepositoryPort.findByUserId(userId).stream()
-                .filter(car -> car.getPhotoUrl() == null || car.getPhotoUrl().trim().isEmpty())
-                .collect(Collectors.toList());
+        CarFleet fleet = userFleetCachePort.getFleet(userId);
+        return fleet.select(index -> !fleet.hasPhoto(index));
     }
 
     @Override
     public List<Car> getSortedCars(Long userId, String sortBy, boolean ascending) {
         validateUserId(userId);
 
-        List<Car> cars = carRepositoryPort.findByUserId(userId);
-        return applySorting(cars, sortBy, ascending);
+        return find(userId, CarSearchQuery.all(), sortBy, ascending);
     }
 
     @Override
     public List<String> getMostCommonBrands(Long userId) {
         validateUserId(userId);
 
-        return carRepositoryPort.findByUserId(userId).stream()
-                .map(Car::getBrand)
-                .filter(brand -> brand != null && !brand.trim().isEmpty())
-                .collect(Collectors.groupingBy(
-                        String::toLowerCase,
-                        Collectors.counting()
-                ))
-                .entrySet()
-                .stream()
-                .sorted((entry1, entry2) -> Long.compare(entry2.getValue(), entry1.getValue()))
-                .map(Map.Entry::getKey)
+        // Conteos por marca mantenidos al escribir, ya ordenados de mayor a menor
+        return userCarStatsPort.getByUserId(userId).getBrandCounts().stream()
+                .map(UserCarStats.BrandCount::getBrandKey)
                 .collect(Collectors.toList());
     }
 
@@ -316,198 +260,118 @@ public class CarSearchUseCase implements ICarSearchServicePort {
     public YearStatistics getYearStatistics(Long userId) {
         validateUserId(userId);
 
-        List<Car> cars = carRepositoryPort.findByUserId(userId);
+        UserCarStats stats = userCarStatsPort.getByUserId(userId);
 
-        if (cars.isEmpty()) {
+        if (stats.isEmpty()) {
             return new YearStatistics(null, null, null, 0);
         }
 
-        List<Integer> years = cars.stream()
-                .map(Car::getYear)
-                .filter(Objects::nonNull)
-                .toList();
+        return new YearStatistics(stats.getOldestYear(), stats.getNewestYear(),
+                stats.getAverageYear(), (int) stats.getTotalCars());
+    }
 
-        if (years.isEmpty()) {
-            return new YearStatistics(null, null, null, cars.size());
+    @Override
+    public CarSearchFacets getSearchFacets(Long userId, CarSearchRequest searchRequest, int limit) {
+        validateUserId(userId);
+
+        CarSearchQuery query = searchRequest != null ? toSearchQuery(searchRequest) : CarSearchQuery.all();
+        if (carSearchIndexPort.isAvailable()) {
+            return carSearchIndexPort.facets(userId, query, limit);
         }
 
-        Integer minYear = years.stream().min(Integer::compareTo).orElse(null);
-        Integer maxYear = years.stream().max(Integer::compareTo).orElse(null);
-        Double averageYear = years.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+        // Sin índice se cuentan los autos que devuelve el modelo de lectura
+        List<Car> cars = carSearchViewPort.search(userId, query, DEFAULT_SORT, false);
+        int currentYear = Year.now().getValue();
+        Map<CarAgeBucket, Long> ageBuckets = new EnumMap<>(CarAgeBucket.class);
+        for (Car car : cars) {
+            if (car.getYear() != null) {
+                ageBuckets.merge(CarAgeBucket.of(car.getYear(), currentYear), 1L, Long::sum);
+            }
+        }
 
-        return new YearStatistics(minYear, maxYear, averageYear, cars.size());
+        return new CarSearchFacets(cars.size(),
+                countBy(cars, car -> SearchTextNormalizer.normalize(car.getBrand()), limit),
+                countBy(cars, car -> SearchTextNormalizer.normalize(car.getColor()), limit),
+                countBy(cars, car -> car.getYear() != null ? car.getYear().toString() : null, limit),
+                ageBuckets);
     }
 
     // ============================================================================
     // MÉTODOS HELPER PRIVADOS
     // ============================================================================
 
-    /**
-     * Aplica filtros usando CarSearchRequest
-     */
-    private List<Car> applySearchRequestFilters(List<Car> cars, CarSearchRequest searchRequest) {
-        return cars.stream()
-                .filter(car -> matchesBrandFilter(car, searchRequest.getBrand()))
-                .filter(car -> matchesModelFilter(car, searchRequest.getModel()))
-                .filter(car -> matchesYearFilter(car, searchRequest.getYear()))
-                .filter(car -> matchesYearRangeFilter(car, searchRequest.getMinYear(), searchRequest.getMaxYear()))
-                .filter(car -> matchesColorFilter(car, searchRequest.getColor()))
-                .filter(car -> matchesPlateFilter(car, searchRequest.getPlateNumber()))
-                .filter(car -> matchesVintageFilter(car, searchRequest.getIsVintage()))
-                .filter(car -> matchesNewFilter(car, searchRequest.getIsNew()))
-                .filter(car -> matchesPhotoFilter(car, searchRequest.getHasPhoto()))
-                .collect(Collectors.toList());
+    private List<Car> selectByAge(CarFleet fleet, CarAgeBucket bucket) {
+        int currentYear = Year.now().getValue();
+        return fleet.select(index -> fleet.year(index) != null
+                && CarAgeBucket.of(fleet.year(index), currentYear) == bucket);
     }
 
-    /**
-     * Aplica ordenamiento usando enum SortOrder
-     */
-    private List<Car> applySortOrder(List<Car> cars, SortOrder sortOrder) {
-        Comparator<Car> comparator = switch (sortOrder) {
-            case YEAR_ASC -> Comparator.comparing(Car::getYear, Comparator.nullsLast(Integer::compareTo));
-            case YEAR_DESC -> Comparator.comparing(Car::getYear, Comparator.nullsLast(Comparator.reverseOrder()));
-            case BRAND_ASC -> Comparator.comparing(Car::getBrand, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case BRAND_DESC -> Comparator.comparing(Car::getBrand, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER.reversed()));
-            case MODEL_ASC -> Comparator.comparing(Car::getModel, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case MODEL_DESC -> Comparator.comparing(Car::getModel, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER.reversed()));
-            case CREATED_ASC -> Comparator.comparing(Car::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo));
-            case CREATED_DESC -> Comparator.comparing(Car::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo).reversed());
-        };
-
-        return cars.stream().sorted(comparator).collect(Collectors.toList());
+    private boolean isInRange(Integer year, Integer minYear, Integer maxYear) {
+        return year != null
+                && (minYear == null || year >= minYear)
+                && (maxYear == null || year <= maxYear);
     }
 
     /**
-     * Aplica ordenamiento usando string
+     * Autos del usuario que cumplen la consulta, desde el índice o el modelo de lectura
      */
-    private List<Car> applySorting(List<Car> cars, String sortBy, boolean ascending) {
-        if (sortBy == null || sortBy.trim().isEmpty()) {
-            sortBy = "createdAt";
-        }
-
-        Comparator<Car> comparator = getComparator(sortBy.trim());
-
-        if (!ascending) {
-            comparator = comparator.reversed();
+    private List<Car> find(Long userId, CarSearchQuery query, String sortBy, boolean ascending) {
+        if (carSearchIndexPort.isAvailable()) {
+            return carSearchIndexPort.search(userId, query, sortBy, ascending);
         }
+        return carSearchViewPort.search(userId, query, sortBy, ascending);
+    }
 
+    /**
+     * Conteo por valor, del más frecuente al menos frecuente
+     */
+    private List<CarSearchFacets.FacetCount> countBy(List<Car> cars, Function<Car, String> key, int limit) {
         return cars.stream()
-                .sorted(comparator)
+                .map(key)
+                .filter(value -> value != null && !value.isEmpty())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new CarSearchFacets.FacetCount(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Obtiene el comparador apropiado según el campo de ordenamiento
+     * Traduce CarSearchRequest a una consulta sobre el modelo de lectura
      */
-    private Comparator<Car> getComparator(String sortBy) {
-        return switch (sortBy.toLowerCase()) {
-            case "brand" -> Comparator.comparing(Car::getBrand, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case "model" -> Comparator.comparing(Car::getModel, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case "year" -> Comparator.comparing(Car::getYear, Comparator.nullsLast(Integer::compareTo));
-            case "color" -> Comparator.comparing(Car::getColor, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case "updatedat" -> Comparator.comparing(Car::getUpdatedAt, Comparator.nullsLast(LocalDateTime::compareTo));
-            default -> Comparator.comparing(Car::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo));
-        };
-    }
-
-    // Métodos de filtro para SearchCriteria (métodos existentes)
-    private boolean matchesBrand(Car car, String brand) {
-        return brand == null || brand.trim().isEmpty() ||
-                (car.getBrand() != null && car.getBrand().toLowerCase().contains(brand.trim().toLowerCase()));
-    }
-
-    private boolean matchesModel(Car car, String model) {
-        return model == null || model.trim().isEmpty() ||
-                (car.getModel() != null && car.getModel().toLowerCase().contains(model.trim().toLowerCase()));
-    }
-
-    private boolean matchesYear(Car car, Integer year) {
-        return year == null || (car.getYear() != null && car.getYear().equals(year));
-    }
-
-    private boolean matchesYearRange(Car car, Integer minYear, Integer maxYear) {
-        if (car.getYear() == null) return true;
-
-        boolean minMatches = minYear == null || car.getYear() >= minYear;
-        boolean maxMatches = maxYear == null || car.getYear() <= maxYear;
-
-        return minMatches && maxMatches;
-    }
-
-    private boolean matchesColor(Car car, String color) {
-        return color == null || color.trim().isEmpty() ||
-                (car.getColor() != null && car.getColor().equalsIgnoreCase(color.trim()));
-    }
-
-    private boolean matchesPlate(Car car, String plateNumber) {
-        return plateNumber == null || plateNumber.trim().isEmpty() ||
-                (car.getPlateNumber() != null && car.getPlateNumber().equalsIgnoreCase(plateNumber.trim()));
-    }
-
-    private boolean matchesGeneralTerm(Car car, String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) return true;
-
-        String term = searchTerm.trim().toLowerCase();
-        return (car.getBrand() != null && car.getBrand().toLowerCase().contains(term)) ||
-                (car.getModel() != null && car.getModel().toLowerCase().contains(term)) ||
-                (car.getColor() != null && car.getColor().toLowerCase().contains(term));
-    }
-
-    // Métodos de filtro para CarSearchRequest (nuevos)
-    private boolean matchesBrandFilter(Car car, String brand) {
-        return brand == null || brand.trim().isEmpty() ||
-                (car.getBrand() != null && car.getBrand().equalsIgnoreCase(brand.trim()));
-    }
-
-    private boolean matchesModelFilter(Car car, String model) {
-        return model == null || model.trim().isEmpty() ||
-                (car.getModel() != null && car.getModel().equalsIgnoreCase(model.trim()));
-    }
-
-    private boolean matchesYearFilter(Car car, Integer year) {
-        return year == null || (car.getYear() != null && car.getYear().equals(year));
-    }
-
-    private boolean matchesYearRangeFilter(Car car, Integer minYear, Integer maxYear) {
-        if (car.getYear() == null) return true;
-
-        boolean minMatches = minYear == null || car.getYear() >= minYear;
-        boolean maxMatches = maxYear == null || car.getYear() <= maxYear;
-
-        return minMatches && maxMatches;
-    }
-
-    private boolean matchesColorFilter(Car car, String color) {
-        return color == null || color.trim().isEmpty() ||
-                (car.getColor() != null && car.getColor().equalsIgnoreCase(color.trim()));
-    }
-
-    private boolean matchesPlateFilter(Car car, String plateNumber) {
-        return plateNumber == null || plateNumber.trim().isEmpty() ||
-                (car.getPlateNumber() != null && car.getPlateNumber().equalsIgnoreCase(plateNumber.trim()));
+    private CarSearchQuery toSearchQuery(CarSearchRequest request) {
+        return CarSearchQuery.all()
+                .withSearchTerm(request.getSearchTerm())
+                .withBrand(request.getBrand())
+                .withModel(request.getModel())
+                .withYear(request.getYear())
+                .withYearRange(request.getMinYear(), request.getMaxYear())
+                .withColor(request.getColor())
+                .withPlateNumber(request.getPlateNumber())
+                .withPhoto(request.getHasPhoto())
+                .withAgeBucket(CarAgeBucket.VINTAGE, request.getIsVintage())
+                .withAgeBucket(CarAgeBucket.NEW, request.getIsNew());
     }
 
-    private boolean matchesVintageFilter(Car car, Boolean isVintage) {
-        if (isVintage == null) return true;
-
-        boolean carIsVintage = car.isVintage();
-        return isVintage.equals(carIsVintage);
-    }
-
-    private boolean matchesNewFilter(Car car, Boolean isNew) {
-        if (isNew == null) return true;
-
-        int currentYear = LocalDateTime.now().getYear();
-        boolean carIsNew = car.getYear() != null && (currentYear - car.getYear()) <= 3;
-
-        return isNew.equals(carIsNew);
+    /**
+     * Campo de ordenamiento del modelo de lectura para un SortOrder
+     */
+    private String sortField(SortOrder sortOrder) {
+        return switch (sortOrder) {
+            case YEAR_ASC, YEAR_DESC -> "year";
+            case BRAND_ASC, BRAND_DESC -> "brand";
+            case MODEL_ASC, MODEL_DESC -> "model";
+            case CREATED_ASC, CREATED_DESC -> "createdAt";
+        };
     }
 
-    private boolean matchesPhotoFilter(Car car, Boolean hasPhoto) {
-        if (hasPhoto == null) return true;
-
-        boolean carHasPhoto = car.getPhotoUrl() != null && !car.getPhotoUrl().trim().isEmpty();
-        return hasPhoto.equals(carHasPhoto);
+    private boolean isAscending(SortOrder sortOrder) {
+        return switch (sortOrder) {
+            case YEAR_ASC, BRAND_ASC, MODEL_ASC, CREATED_ASC -> true;
+            case YEAR_DESC, BRAND_DESC, MODEL_DESC, CREATED_DESC -> false;
+        };
     }
 
     /**
@@ -543,23 +407,22 @@ public class CarSearchUseCase implements ICarSearchServicePort {
         // Crear Pageable
         Pageable pageable = PageRequest.of(page, size, sort);
 
+        CarSearchQuery query = searchRequest != null ? toSearchQuery(searchRequest) : CarSearchQuery.all();
+        if (carSearchIndexPort.isAvailable()) {
+            // El índice resuelve término, filtros y orden en una sola consulta
+            return carSearchIndexPort.search(userId, query, pageable);
+        }
+
         // Convertir a criterios de búsqueda
         CarSearchCriteria criteria = convertToSearchCriteria(searchRequest);
 
-        // Determinar qué tipo de búsqueda realizar
         if (criteria.hasSearchTerm()) {
-            // Búsqueda por término general
-            return carRepositoryPort.searchCarsPaginated(userId, criteria.getSearchTerm(), pageable);
-        } else if (criteria.hasFilters()) {
-            // Búsqueda con filtros específicos
-            return carRepositoryPort.findByUserIdWithFiltersPaginated(
-                    userId, criteria.getBrand(), criteria.getModel(),
-                    criteria.getYear(), criteria.getColor(),
-                    criteria.getMinYear(), criteria.getMaxYear(), pageable);
-        } else {
-            // Sin filtros, traer todos los autos del usuario
-            return carRepositoryPort.findByUserIdPaginated(userId, pageable);
+            // Búsqueda por término general con el motor de texto completo, ordenada por relevancia
+            return carFullTextSearchPort.search(userId, criteria.getSearchTerm(), pageable);
         }
+
+        // Filtros y listado completo desde el modelo de lectura
+        return carSearchViewPort.search(userId, query, pageable);
     }
 
     /**
@@ -2,30 +2,53 @@ package com.anborja.tucarro.domain.api.usecase;
 
 import com.anborja.tucarro.domain.api.ICarServicePort;
 import com.anborja.tucarro.domain.exception.CarAlreadyExistsException;
+import com.anborja.tucarro.domain.exception.CarConcurrentModificationException;
 import com.anborja.tucarro.domain.exception.CarNotFoundException;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAuditEntry;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
+import com.anborja.tucarro.domain.model.UserCarStats;
+import com.anborja.tucarro.domain.spi.IAuthenticatedUserPort;
+import com.anborja.tucarro.domain.spi.ICarAuditPort;
 import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.domain.spi.IUserFleetCachePort;
 import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
 import com.anborja.tucarro.domain.util.DomainConstants;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
 import com.anborja.tucarro.shared.validation.PlateValidator;
 import com.anborja.tucarro.shared.validation.YearValidator;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class CarUseCase implements ICarServicePort {
 
     private final ICarRepositoryPort carRepositoryPort;
     private final IUserRepositoryPort userRepositoryPort;
-
-    public CarUseCase(ICarRepositoryPort carRepositoryPort, IUserRepositoryPort userRepositoryPort) {
+    private final IAuthenticatedUserPort authenticatedUserPort;
+    private final IUserCarStatsPort userCarStatsPort;
+    private final ICarAuditPort carAuditPort;
+    private final IUserFleetCachePort userFleetCachePort;
+
+    public CarUseCase(ICarRepositoryPort carRepositoryPort,
+                      IUserRepositoryPort userRepositoryPort,
+                      IAuthenticatedUserPort authenticatedUserPort,
+                      IUserCarStatsPort userCarStatsPort,
+                      ICarAuditPort carAuditPort,
+                      IUserFleetCachePort userFleetCachePort) {
         this.carRepositoryPort = carRepositoryPort;
         this.userRepositoryPort = userRepositoryPort;
+        this.authenticatedUserPort = authenticatedUserPort;
+        this.userCarStatsPort = userCarStatsPort;
+        this.carAuditPort = carAuditPort;
+        this.userFleetCachePort = userFleetCachePort;
     }
 
     @Override
@@ -39,9 +62,7 @@ public class CarUseCase implements ICarServicePort {
         }
 
         // Verificar que el usuario existe
-        if (!userRepositoryPort.findById(userId).isPresent()) {
-            throw new UserNotFoundException(userId);
-        }
+        ensureUserExists(userId);
 
         // Validar datos del auto
         validateCar(car);
@@ -75,11 +96,9 @@ public class CarUseCase implements ICarServicePort {
         }
 
         // Verificar que el usuario existe
-        if (!userRepositoryPort.findById(userId).isPresent()) {
-            throw new UserNotFoundException(userId);
-        }
+        ensureUserExists(userId);
 
-        return carRepositoryPort.findByUserId(userId);
+        return userFleetCachePort.getFleet(userId).toCars();
     }
 
     @Override
@@ -107,6 +126,55 @@ public class CarUseCase implements ICarServicePort {
         return car;
     }
 
+    @Override
+    public Car getCarAsOf(Long carId, LocalDateTime asOf, Long userId) {
+        if (carId == null) {
+            throw new IllegalArgumentException("El ID del auto no puede ser nulo");
+        }
+
+        if (asOf == null) {
+            throw new IllegalArgumentException("La fecha consultada no puede ser nula");
+        }
+
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        Car car = carRepositoryPort.findByIdAsOf(carId, asOf)
+                .orElseThrow(() -> new CarNotFoundException(carId));
+
+        // El usuario solo ve las versiones de las que era propietario
+        if (!car.getUserId().equals(userId)) {
+            throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+        }
+
+        return car;
+    }
+
+    @Override
+    public List<CarRevision> getCarHistory(Long carId, Long userId) {
+        if (carId == null) {
+            throw new IllegalArgumentException("El ID del auto no puede ser nulo");
+        }
+
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        List<CarRevision> revisions = carRepositoryPort.historyOf(carId);
+        if (revisions.isEmpty()) {
+            throw new CarNotFoundException(carId);
+        }
+
+        // La historia es del propietario actual, o del último si el auto se eliminó
+        Car latest = revisions.get(revisions.size() - 1).getCar();
+        if (!latest.getUserId().equals(userId)) {
+            throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+        }
+
+        return revisions;
+    }
+
     @Override
     public Car getCarByPlateNumber(String plateNumber, Long userId) {
         if (plateNumber == null || plateNumber.trim().isEmpty()) {
@@ -148,52 +216,57 @@ public class CarUseCase implements ICarServicePort {
             throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
         }
 
-        // Obtener auto existente (esto ya verifica propiedad)
-        Car existingCar = getCarById(carId, userId);
-
         // Validar datos actualizados
         validateCarForUpdate(updatedCar);
 
-        // Actualizar solo los campos que NO son nulos
+        // Construir el conjunto de cambios: los campos nulos se conservan en la base
+        Car changes = new Car();
+        changes.setId(carId);
+
         if (updatedCar.getBrand() != null && !updatedCar.getBrand().trim().isEmpty()) {
-            existingCar.setBrand(updatedCar.getBrand().trim());
+            changes.setBrand(updatedCar.getBrand().trim());
         }
 
         if (updatedCar.getModel() != null && !updatedCar.getModel().trim().isEmpty()) {
-            existingCar.setModel(updatedCar.getModel().trim());
+            changes.setModel(updatedCar.getModel().trim());
         }
 
         if (updatedCar.getYear() != null) {
-            existingCar.setYear(updatedCar.getYear());
+            changes.setYear(updatedCar.getYear());
         }
 
         if (updatedCar.getColor() != null && !updatedCar.getColor().trim().isEmpty()) {
-            existingCar.setColor(updatedCar.getColor().trim());
+            changes.setColor(updatedCar.getColor().trim());
         }
 
-        // Manejar actualización de placa
+        // Manejar actualización de placa: solo falla si otro auto ya la usa
         if (updatedCar.getPlateNumber() != null && !updatedCar.getPlateNumber().trim().isEmpty()) {
             String normalizedPlate = PlateValidator.validateAndNormalize(updatedCar.getPlateNumber());
 
-            // Solo verificar disponibilidad si la placa es diferente
-            if (!existingCar.getPlateNumber().equals(normalizedPlate)) {
-                if (carRepositoryPort.existsByPlateNumber(normalizedPlate)) {
-                    throw CarAlreadyExistsException.withPlateNumber(normalizedPlate);
-                }
-                existingCar.setPlateNumber(normalizedPlate);
+            if (carRepositoryPort.existsByPlateNumberAndIdNot(normalizedPlate, carId)) {
+                throw CarAlreadyExistsException.withPlateNumber(normalizedPlate);
             }
+            changes.setPlateNumber(normalizedPlate);
         }
 
         // Actualizar URL de foto si se proporciona
         if (updatedCar.getPhotoUrl() != null) {
-            // Permitir establecer photoUrl como null o vacío para eliminar la foto
-            existingCar.setPhotoUrl(updatedCar.getPhotoUrl().trim());
+            // Permitir establecer photoUrl como vacío para eliminar la foto
+            changes.setPhotoUrl(updatedCar.getPhotoUrl().trim());
         }
 
         // Actualizar timestamp
-        existingCar.setUpdatedAt(LocalDateTime.now());
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        // UPDATE ... WHERE id = ? AND user_id = ? [AND version = ?]
+        // Los estados previo y final salen de la propia escritura, sin leer antes la fila
+        ICarRepositoryPort.WriteResult result =
+                carRepositoryPort.updateIfOwned(changes, userId, updatedCar.getVersion());
+        ensureApplied(result.getOutcome(), carId);
 
-        return carRepositoryPort.update(existingCar);
+        audit(CarAuditEntry.Action.UPDATED, carId, userId, result.getPrevious(), result.getCar(),
+                changes.getUpdatedAt());
+        return result.getCar();
     }
 
     @Override
@@ -206,10 +279,220 @@ public class CarUseCase implements ICarServicePort {
             throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
         }
 
-        // Verificar que el auto existe y pertenece al usuario
-        getCarById(carId, userId);
+        // DELETE ... WHERE id = ? AND user_id = ?
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.deleteIfOwned(carId, userId);
+        ensureApplied(result.getOutcome(), carId);
+
+        audit(CarAuditEntry.Action.DELETED, carId, userId, result.getPrevious(), null, LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Entrega un cambio al registro de auditoría si está activo
+     */
+    private void audit(CarAuditEntry.Action action, Long carId, Long userId, Car before, Car after,
+                       LocalDateTime occurredAt) {
+        if (carAuditPort.isEnabled()) {
+            carAuditPort.record(new CarAuditEntry(action, carId, userId, before, after, occurredAt));
+        }
+    }
+
+    @Override
+    public CarUpsertResult upsertCarByPlate(String plateNumber, Car car, Long userId) {
+        if (car == null) {
+            throw new IllegalArgumentException("El auto no puede ser nulo");
+        }
+
+        String normalizedPlate = PlateValidator.validateAndNormalize(plateNumber);
+
+        // La placa del cuerpo es opcional, pero si viene debe ser la de la URL
+        if (car.getPlateNumber() != null && !car.getPlateNumber().isBlank()
+                && !normalizedPlate.equals(PlateValidator.normalizePlate(car.getPlateNumber()))) {
+            throw new IllegalArgumentException(DomainConstants.CAR_UPSERT_PLATE_MISMATCH);
+        }
+        car.setPlateNumber(normalizedPlate);
+
+        CarUpsertResult result = upsertCarsByPlate(List.of(car), userId).get(0);
+        if (result.getOutcome() == CarUpsertResult.Outcome.FORBIDDEN) {
+            throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+        }
+        return result;
+    }
+
+    @Override
+    public List<CarUpsertResult> upsertCarsByPlate(List<Car> cars, Long userId) {
+        if (cars == null || cars.isEmpty() || cars.size() > DomainConstants.CAR_UPSERT_MAX_BATCH) {
+            throw new IllegalArgumentException(DomainConstants.CAR_UPSERT_BATCH_SIZE);
+        }
+
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        ensureUserExists(userId);
+
+        Set<String> plates = new HashSet<>();
+        for (Car car : cars) {
+            validateCar(car);
+
+            String normalizedPlate = PlateValidator.validateAndNormalize(car.getPlateNumber());
+            if (!plates.add(normalizedPlate)) {
+                throw new IllegalArgumentException(DomainConstants.CAR_UPSERT_DUPLICATE_PLATE);
+            }
+
+            car.setUserId(userId);
+            car.setPlateNumber(normalizedPlate);
+            car.setBrand(car.getBrand().trim());
+            car.setModel(car.getModel().trim());
+            car.setColor(car.getColor().trim());
+        }
+
+        // INSERT ... ON DUPLICATE KEY UPDATE / ON CONFLICT / MERGE según el motor
+        List<CarUpsertResult> results = carRepositoryPort.upsertByPlate(cars, userId);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CarUpsertResult result : results) {
+            switch (result.getOutcome()) {
+                case CREATED -> audit(CarAuditEntry.Action.CREATED, result.getCar().getId(), userId,
+                        null, result.getCar(), now);
+                case UPDATED -> audit(CarAuditEntry.Action.UPDATED, result.getCar().getId(), userId,
+                        result.getPrevious(), result.getCar(), now);
+                case FORBIDDEN -> {
+                    // Sin cambios que registrar
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int updateCars(List<Long> carIds, CarSearchCriteria filter, Car changes, Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        CarSearchCriteria normalizedFilter = normalizeBulkFilter(filter);
+        validateBulkSelection(carIds, normalizedFilter);
+
+        if (changes == null || (isBlank(changes.getBrand()) && isBlank(changes.getModel())
+                && changes.getYear() == null && isBlank(changes.getColor()))) {
+            throw new IllegalArgumentException(DomainConstants.CAR_BULK_CHANGES_REQUIRED);
+        }
+
+        // La placa es única y la foto es propia de cada auto: no se modifican en bloque
+        Car bulkChanges = new Car();
+        bulkChanges.setBrand(isBlank(changes.getBrand()) ? null : changes.getBrand().trim());
+        bulkChanges.setModel(isBlank(changes.getModel()) ? null : changes.getModel().trim());
+        bulkChanges.setYear(changes.getYear());
+        bulkChanges.setColor(isBlank(changes.getColor()) ? null : changes.getColor().trim());
+        validateCarForUpdate(bulkChanges);
 
-        return carRepositoryPort.deleteById(carId);
+        // UPDATE ... WHERE user_id = ? AND (id IN (...) | filtro); con auditoría, sobre los IDs bloqueados
+        ICarRepositoryPort.BulkWriteResult result = carRepositoryPort.bulkUpdate(userId, bulkSelectionIds(carIds),
+                bulkSelectionFilter(carIds, normalizedFilter), bulkChanges, carAuditPort.isEnabled());
+
+        List<Car> previous = result.getPrevious();
+        for (int i = 0; i < previous.size(); i++) {
+            Car after = result.getCars().get(i);
+            audit(CarAuditEntry.Action.UPDATED, after.getId(), userId, previous.get(i), after, after.getUpdatedAt());
+        }
+        return result.getAffected();
+    }
+
+    @Override
+    public int deleteCars(List<Long> carIds, CarSearchCriteria filter, Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        CarSearchCriteria normalizedFilter = normalizeBulkFilter(filter);
+        validateBulkSelection(carIds, normalizedFilter);
+
+        // DELETE ... WHERE user_id = ? AND (id IN (...) | filtro); con auditoría, sobre los IDs bloqueados
+        ICarRepositoryPort.BulkWriteResult result = carRepositoryPort.bulkDelete(userId, bulkSelectionIds(carIds),
+                bulkSelectionFilter(carIds, normalizedFilter), carAuditPort.isEnabled());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Car before : result.getPrevious()) {
+            audit(CarAuditEntry.Action.DELETED, before.getId(), userId, before, null, now);
+        }
+        return result.getAffected();
+    }
+
+    /**
+     * Una operación masiva selecciona por IDs o por filtro, nunca por ambos ni por ninguno:
+     * sin selección afectaría a todos los autos del usuario
+     */
+    private void validateBulkSelection(List<Long> carIds, CarSearchCriteria filter) {
+        boolean hasIds = carIds != null && !carIds.isEmpty();
+        boolean hasFilter = filter != null && !filter.isEmpty();
+
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException(DomainConstants.CAR_BULK_SELECTION_REQUIRED);
+        }
+
+        if (hasIds && (carIds.size() > DomainConstants.CAR_BULK_MAX_IDS || carIds.contains(null))) {
+            throw new IllegalArgumentException(DomainConstants.CAR_BULK_IDS_SIZE);
+        }
+    }
+
+    /**
+     * Normaliza el filtro como lo compara el repositorio. Un término que solo contiene
+     * espacios o marcas diacríticas queda vacío y no puede seleccionar todos los autos
+     */
+    private CarSearchCriteria normalizeBulkFilter(CarSearchCriteria filter) {
+        if (filter == null) {
+            return null;
+        }
+        return new CarSearchCriteria(
+                SearchTextNormalizer.normalize(filter.getSearchTerm()),
+                SearchTextNormalizer.normalize(filter.getBrand()),
+                SearchTextNormalizer.normalize(filter.getModel()),
+                filter.getYear(),
+                SearchTextNormalizer.normalize(filter.getColor()),
+                filter.getMinYear(),
+                filter.getMaxYear());
+    }
+
+    private List<Long> bulkSelectionIds(List<Long> carIds) {
+        return carIds != null && !carIds.isEmpty() ? carIds.stream().distinct().toList() : null;
+    }
+
+    private CarSearchCriteria bulkSelectionFilter(List<Long> carIds, CarSearchCriteria filter) {
+        return carIds != null && !carIds.isEmpty() ? null : filter;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Verifica que el usuario existe y no solicitó eliminar su cuenta. Si es el principal
+     * autenticado, el token ya lo acredita y se evita la consulta; en otro caso (procesos
+     * internos) se consulta el repositorio
+     */
+    private void ensureUserExists(Long userId) {
+        if (authenticatedUserPort.isAuthenticatedUser(userId)) {
+            return;
+        }
+
+        if (userRepositoryPort.findById(userId).isEmpty()) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
+    /**
+     * Traduce el resultado de una escritura con verificación de propietario a las excepciones del dominio
+     */
+    private void ensureApplied(ICarRepositoryPort.WriteOutcome outcome, Long carId) {
+        switch (outcome) {
+            case APPLIED -> {
+                // Nada que hacer
+            }
+            case NOT_FOUND -> throw new CarNotFoundException(carId);
+            case FORBIDDEN -> throw new IllegalArgumentException(DomainConstants.UNAUTHORIZED_ACCESS_MESSAGE);
+            case STALE -> throw new CarConcurrentModificationException(carId);
+        }
     }
 
     @Override
@@ -268,41 +551,29 @@ public class CarUseCase implements ICarServicePort {
             throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
         }
 
-        List<Car> userCars = getCarsByUserId(userId);
+        // Verificar que el usuario existe
+        ensureUserExists(userId);
+
+        // Estadísticas agregadas: una lectura por clave primaria en lugar de cargar la flota
+        UserCarStats stats = userCarStatsPort.getByUserId(userId);
 
-        if (userCars.isEmpty()) {
+        if (stats.isEmpty()) {
             return new CarStats(userId, 0, 0, 0, null, null, null);
         }
 
-        int totalCars = userCars.size();
-        int vintageCarCount = (int) userCars.stream()
-                .filter(car -> YearValidator.isVintage(car.getYear()))
-                .count();
-
-        int newCarCount = (int) userCars.stream()
-                .filter(car -> YearValidator.isNew(car.getYear()))
-                .count();
+        int totalCars = (int) stats.getTotalCars();
+        // Los umbrales dependen del año actual, por eso se calculan sobre los conteos por año
+        int vintageCarCount = (int) stats.countCarsByYear(YearValidator::isVintage);
+        int newCarCount = (int) stats.countCarsByYear(YearValidator::isNew);
 
         // Marca más común
-        String mostCommonBrand = userCars.stream()
-                .collect(Collectors.groupingBy(Car::getBrand, Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
+        String mostCommonBrand = stats.getBrandCounts().isEmpty()
+                ? null
+                : stats.getBrandCounts().get(0).getBrand();
 
         // Año más nuevo y más viejo
-        Integer newestYear = userCars.stream()
-                .map(Car::getYear)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(null);
-
-        Integer oldestYear = userCars.stream()
-                .map(Car::getYear)
-                .filter(Objects::nonNull)
-                .min(Integer::compareTo)
-                .orElse(null);
+        Integer newestYear = stats.getNewestYear();
+        Integer oldestYear = stats.getOldestYear();
 
         return new CarStats(userId, totalCars, vintageCarCount, newCarCount,
                 mostCommonBrand, newestYear, oldestYear);
@@ -1,12 +1,15 @@
 package com.anborja.tucarro.domain.api.usecase;
 
 import com.anborja.tucarro.domain.api.IUserServicePort;
+import com.anborja.tucarro.domain.exception.AccountDeletionNotFoundException;
 import com.anborja.tucarro.domain.exception.InvalidCredentialsException;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
+import com.anborja.tucarro.domain.model.AccountDeletion;
 import com.anborja.tucarro.domain.model.User;
 import com.anborja.tucarro.domain.spi.IPasswordEncoderPort;
 import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
-import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.spi.IAccountDeletionPort;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
 import com.anborja.tucarro.domain.util.DomainConstants;
 
 import java.time.LocalDateTime;
@@ -17,7 +20,8 @@ public class UserUseCase implements IUserServicePort {
 
     private final IUserRepositoryPort userRepositoryPort;
     private final IPasswordEncoderPort passwordEncoderPort;
-    private final ICarRepositoryPort carRepositoryPort;
+    private final IAccountDeletionPort accountDeletionPort;
+    private final IUserCarStatsPort userCarStatsPort;
 
     // Patrones para validación
     private static final Pattern EMAIL_PATTERN = Pattern.compile(DomainConstants.EMAIL_REGEX);
@@ -25,10 +29,12 @@ public class UserUseCase implements IUserServicePort {
 
     public UserUseCase(IUserRepositoryPort userRepositoryPort,
                        IPasswordEncoderPort passwordEncoderPort,
-                       ICarRepositoryPort carRepositoryPort) {
+                       IAccountDeletionPort accountDeletionPort,
+                       IUserCarStatsPort userCarStatsPort) {
         this.userRepositoryPort = userRepositoryPort;
         this.passwordEncoderPort = passwordEncoderPort;
-        this.carRepositoryPort = carRepositoryPort;
+        this.accountDeletionPort = accountDeletionPort;
+        this.userCarStatsPort = userCarStatsPort;
     }
 
     @Override
@@ -125,21 +131,25 @@ public class UserUseCase implements IUserServicePort {
     }
 
     @Override
-    public boolean deleteUser(Long userId) {
+    public AccountDeletion deleteUser(Long userId) {
         if (userId == null) {
             throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
         }
 
-        // Verificar que el usuario existe
-        if (!userRepositoryPort.findById(userId).isPresent()) {
-            throw new UserNotFoundException(userId);
-        }
+        // Marcar la cuenta y delegar el borrado de autos y usuario a la purga por lotes. Sin
+        // verificar antes con findById, que ya no ve la cuenta marcada: si se repite la petición,
+        // se devuelve la solicitud existente; si el usuario no existe, falla con UserNotFoundException
+        return accountDeletionPort.requestDeletion(userId);
+    }
 
-        // Eliminar todos los autos del usuario primero
-        carRepositoryPort.deleteAllByUserId(userId);
+    @Override
+    public AccountDeletion getAccountDeletion(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("El token no puede ser vacío");
+        }
 
-        // Eliminar el usuario
-        return userRepositoryPort.deleteById(userId);
+        return accountDeletionPort.findByToken(token)
+                .orElseThrow(AccountDeletionNotFoundException::new);
     }
 
     @Override
@@ -182,7 +192,7 @@ public class UserUseCase implements IUserServicePort {
         }
 
         User user = getUserProfile(userId);
-        int totalCars = carRepositoryPort.countByUserId(userId);
+        int totalCars = (int) userCarStatsPort.getByUserId(userId).getTotalCars();
 
         return new UserStats(
                 user.getId(),
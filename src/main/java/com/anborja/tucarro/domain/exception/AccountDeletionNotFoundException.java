@@ -0,0 +1,14 @@
+package com.anborja.tucarro.domain.exception;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+
+public class AccountDeletionNotFoundException extends RuntimeException {
+
+    public AccountDeletionNotFoundException() {
+        super(DomainConstants.ACCOUNT_DELETION_NOT_FOUND_MESSAGE);
+    }
+
+    public AccountDeletionNotFoundException(String message) {
+        super(message);
+    }
+}
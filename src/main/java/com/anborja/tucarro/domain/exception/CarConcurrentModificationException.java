@@ -0,0 +1,18 @@
+package com.anborja.tucarro.domain.exception;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+
+public class CarConcurrentModificationException extends RuntimeException {
+
+    public CarConcurrentModificationException() {
+        super(DomainConstants.CAR_CONCURRENT_MODIFICATION_MESSAGE);
+    }
+
+    public CarConcurrentModificationException(String message) {
+        super(message);
+    }
+
+    public CarConcurrentModificationException(Long carId) {
+        super(DomainConstants.CAR_CONCURRENT_MODIFICATION_MESSAGE + " (ID: " + carId + ")");
+    }
+}
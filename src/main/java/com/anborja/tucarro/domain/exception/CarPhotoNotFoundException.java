@@ -0,0 +1,14 @@
+package com.anborja.tucarro.domain.exception;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+
+public class CarPhotoNotFoundException extends RuntimeException {
+
+    public CarPhotoNotFoundException() {
+        super(DomainConstants.CAR_PHOTO_NOT_FOUND_MESSAGE);
+    }
+
+    public CarPhotoNotFoundException(String hash) {
+        super(DomainConstants.CAR_PHOTO_NOT_FOUND_MESSAGE + ": " + hash);
+    }
+}
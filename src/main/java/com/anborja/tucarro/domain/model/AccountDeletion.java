@@ -0,0 +1,65 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Solicitud de eliminación de una cuenta. La cuenta se marca como eliminada al crearla y
+ * sus autos se borran después por lotes; el token identifica la solicitud para consultar
+ * el progreso sin sesión (la cuenta ya no puede autenticarse).
+ */
+public class AccountDeletion {
+
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    private final String token;
+    private final Long userId;
+    private final Status status;
+    private final long carsTotal;
+    private final long carsDeleted;
+    private final LocalDateTime requestedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime completedAt;
+
+    public AccountDeletion(String token, Long userId, Status status, long carsTotal, long carsDeleted,
+                           LocalDateTime requestedAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this.token = token;
+        this.userId = userId;
+        this.status = status;
+        this.carsTotal = carsTotal;
+        this.carsDeleted = carsDeleted;
+        this.requestedAt = requestedAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    // Getters
+    public String getToken() { return token; }
+    public Long getUserId() { return userId; }
+    public Status getStatus() { return status; }
+    public long getCarsTotal() { return carsTotal; }
+    public long getCarsDeleted() { return carsDeleted; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    /**
+     * Porcentaje de avance (0-100). carsTotal es el conteo al solicitar, por lo que se acota
+     */
+    public int getProgressPercentage() {
+        if (isCompleted()) {
+            return 100;
+        }
+        if (carsTotal == 0) {
+            return 0;
+        }
+        return (int) Math.min(99, carsDeleted * 100 / carsTotal);
+    }
+}
@@ -13,6 +13,7 @@ public class Car {
     private Long userId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Constructor vacío
     public Car() {
@@ -134,6 +135,14 @@ public class Car {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Métodos de negocio
     public String getFullDescription() {
         return brand + " " + model + " " + year;
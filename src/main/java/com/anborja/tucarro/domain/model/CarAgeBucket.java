@@ -0,0 +1,36 @@
+package com.anborja.tucarro.domain.model;
+
+/**
+ * Antigüedad de un auto respecto al año en curso: de colección con 25 años o más, nuevo
+ * con 3 años o menos y regular en el resto de casos.
+ */
+public enum CarAgeBucket {
+
+    VINTAGE,
+    REGULAR,
+    NEW;
+
+    private static final int VINTAGE_AGE_YEARS = 25;
+    private static final int NEW_AGE_YEARS = 3;
+
+    /**
+     * Año más reciente que se considera de colección
+     */
+    public static int vintageMaxYear(int currentYear) {
+        return currentYear - VINTAGE_AGE_YEARS;
+    }
+
+    /**
+     * Año más antiguo que se considera nuevo
+     */
+    public static int newMinYear(int currentYear) {
+        return currentYear - NEW_AGE_YEARS;
+    }
+
+    public static CarAgeBucket of(int year, int currentYear) {
+        if (year <= vintageMaxYear(currentYear)) {
+            return VINTAGE;
+        }
+        return year >= newMinYear(currentYear) ? NEW : REGULAR;
+    }
+}
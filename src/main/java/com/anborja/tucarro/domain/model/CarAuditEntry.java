@@ -0,0 +1,50 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de un auto para el registro de auditoría: quién lo hizo y el estado antes y después
+ * (sin estado previo en una creación ni posterior en una eliminación). Se captura en la
+ * petición sin procesar; la diferencia entre ambos estados la calcula el escritor en segundo plano.
+ */
+public class CarAuditEntry {
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Action action;
+    private final Long carId;
+    private final Long actorUserId;
+    private final Car before;
+    private final Car after;
+    private final LocalDateTime occurredAt;
+
+    public CarAuditEntry(Action action, Long carId, Long actorUserId, Car before, Car after, LocalDateTime occurredAt) {
+        this.action = action;
+        this.carId = carId;
+        this.actorUserId = actorUserId;
+        this.before = before;
+        this.after = after;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Action getAction() { return action; }
+    public Long getCarId() { return carId; }
+    public Long getActorUserId() { return actorUserId; }
+    public Car getBefore() { return before; }
+    public Car getAfter() { return after; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "CarAuditEntry{" +
+                "action=" + action +
+                ", carId=" + carId +
+                ", actorUserId=" + actorUserId +
+                '}';
+    }
+}
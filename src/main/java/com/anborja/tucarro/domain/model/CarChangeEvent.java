@@ -0,0 +1,53 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio sobre los autos de un usuario, registrado en el outbox en la misma transacción
+ * que lo produjo. Es compacto a propósito: los suscriptores que necesiten el estado
+ * actual del auto lo consultan por su ID.
+ */
+public class CarChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Todos los autos del usuario eliminados de una vez (carId es null)
+        PURGED,
+        // Varios autos del usuario modificados o eliminados en una sola sentencia (carId es null)
+        BULK_UPDATED,
+        BULK_DELETED
+    }
+
+    private final Long eventId;
+    private final ChangeType type;
+    private final Long carId;
+    private final Long userId;
+    private final LocalDateTime occurredAt;
+
+    public CarChangeEvent(Long eventId, ChangeType type, Long carId, Long userId, LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.type = type;
+        this.carId = carId;
+        this.userId = userId;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Long getEventId() { return eventId; }
+    public ChangeType getType() { return type; }
+    public Long getCarId() { return carId; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "CarChangeEvent{" +
+                "eventId=" + eventId +
+                ", type=" + type +
+                ", carId=" + carId +
+                ", userId=" + userId +
+                '}';
+    }
+}
@@ -0,0 +1,212 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Autos de un usuario en columnas inmutables (un arreglo por campo), ordenados del más
+ * reciente al más antiguo. Ocupa bastante menos que una lista de Car: los valores
+ * repetidos de marca, modelo y color se guardan una sola vez y fechas y año son primitivos.
+ * Cada lectura devuelve instancias nuevas de Car, que el llamador puede modificar.
+ */
+public class CarFleet {
+
+    // Valor de las columnas primitivas cuando el campo es nulo
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    // Estimación de memoria (JVM de 64 bits con referencias comprimidas)
+    private static final int OBJECT_OVERHEAD = 64;
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING_OVERHEAD = 40;
+
+    private static final Comparator<Car> NEWEST_FIRST = Comparator
+            .comparing(Car::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Car::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final Long userId;
+    private final long[] ids;
+    private final String[] brands;
+    private final String[] models;
+    private final String[] plateNumbers;
+    private final String[] colors;
+    private final String[] photoUrls;
+    private final int[] years;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final long[] versions;
+    private final long estimatedBytes;
+
+    private CarFleet(Long userId, List<Car> cars) {
+        int size = cars.size();
+        this.userId = userId;
+        this.ids = new long[size];
+        this.brands = new String[size];
+        this.models = new String[size];
+        this.plateNumbers = new String[size];
+        this.colors = new String[size];
+        this.photoUrls = new String[size];
+        this.years = new int[size];
+        this.createdAt = new long[size];
+        this.updatedAt = new long[size];
+        this.versions = new long[size];
+
+        // Cada texto distinto se guarda y se cuenta una sola vez
+        Map<String, String> distinct = new HashMap<>();
+        long stringBytes = 0;
+        for (int i = 0; i < size; i++) {
+            Car car = cars.get(i);
+            ids[i] = car.getId();
+            brands[i] = share(distinct, car.getBrand());
+            models[i] = share(distinct, car.getModel());
+            plateNumbers[i] = car.getPlateNumber();
+            colors[i] = share(distinct, car.getColor());
+            photoUrls[i] = car.getPhotoUrl();
+            years[i] = car.getYear() != null ? car.getYear() : NO_YEAR;
+            createdAt[i] = toEpochNanos(car.getCreatedAt());
+            updatedAt[i] = toEpochNanos(car.getUpdatedAt());
+            versions[i] = car.getVersion() != null ? car.getVersion() : NO_VALUE;
+            stringBytes += stringBytes(plateNumbers[i]) + stringBytes(photoUrls[i]);
+        }
+        for (String value : distinct.keySet()) {
+            stringBytes += stringBytes(value);
+        }
+
+        // Cinco columnas de referencias (4 bytes), cuatro de long y una de int
+        this.estimatedBytes = OBJECT_OVERHEAD + 10L * ARRAY_HEADER
+                + (long) size * (5 * 4 + 4 * 8 + 4) + stringBytes;
+    }
+
+    /**
+     * Construye la flota del usuario; los autos pueden venir en cualquier orden
+     */
+    public static CarFleet of(Long userId, List<Car> cars) {
+        List<Car> ordered = new ArrayList<>(cars);
+        ordered.sort(NEWEST_FIRST);
+        return new CarFleet(userId, ordered);
+    }
+
+    public static CarFleet empty(Long userId) {
+        return new CarFleet(userId, List.of());
+    }
+
+    /**
+     * Nueva flota con los cambios aplicados: quita los autos de changedCarIds y agrega los
+     * de current que siguen siendo del usuario. Un ID sin auto en current es un auto eliminado
+     */
+    public CarFleet withChanges(Collection<Long> changedCarIds, Collection<Car> current) {
+        Set<Long> changed = new HashSet<>(changedCarIds);
+        List<Car> cars = new ArrayList<>(size() + current.size());
+        for (int i = 0; i < ids.length; i++) {
+            if (!changed.contains(ids[i])) {
+                cars.add(car(i));
+            }
+        }
+        for (Car car : current) {
+            if (userId.equals(car.getUserId()) && changed.contains(car.getId())) {
+                cars.add(car);
+            }
+        }
+        return of(userId, cars);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * Memoria aproximada que ocupa la flota, en bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    // Columnas, por posición
+    public Integer year(int index) {
+        return years[index] != NO_YEAR ? years[index] : null;
+    }
+
+    public String brand(int index) {
+        return brands[index];
+    }
+
+    public String model(int index) {
+        return models[index];
+    }
+
+    public String color(int index) {
+        return colors[index];
+    }
+
+    public boolean hasPhoto(int index) {
+        return photoUrls[index] != null;
+    }
+
+    /**
+     * Auto en la posición indicada, como una instancia nueva
+     */
+    public Car car(int index) {
+        Car car = new Car(ids[index], brands[index], models[index], year(index), plateNumbers[index],
+                colors[index], photoUrls[index], userId,
+                fromEpochNanos(createdAt[index]), fromEpochNanos(updatedAt[index]));
+        car.setVersion(versions[index] != NO_VALUE ? versions[index] : null);
+        return car;
+    }
+
+    public List<Car> toCars() {
+        return select(index -> true);
+    }
+
+    /**
+     * Autos cuya posición cumple el predicado, en el orden de la flota
+     */
+    public List<Car> select(IntPredicate predicate) {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (predicate.test(i)) {
+                cars.add(car(i));
+            }
+        }
+        return cars;
+    }
+
+    private static String share(Map<String, String> distinct, String value) {
+        return value == null ? null : distinct.computeIfAbsent(value, key -> key);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    private static long toEpochNanos(LocalDateTime value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long value) {
+        if (value == NO_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L),
+                (int) Math.floorMod(value, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
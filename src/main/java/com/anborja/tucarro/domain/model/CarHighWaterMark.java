@@ -0,0 +1,83 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Marca de agua de cars: la fecha de modificación y el ID más altos en un momento dado.
+ * Una copia en memoria que guarda la marca leída antes de tomarse contiene todos los cambios
+ * anteriores a ella; al reanudarla basta con releer los autos modificados o creados después.
+ * Las eliminaciones no dejan rastro en la marca: se detectan comparando conteos.
+ */
+public class CarHighWaterMark {
+
+    private final LocalDateTime maxUpdatedAt;
+    private final long maxId;
+
+    public CarHighWaterMark(LocalDateTime maxUpdatedAt, long maxId) {
+        this.maxUpdatedAt = maxUpdatedAt;
+        this.maxId = maxId;
+    }
+
+    /**
+     * Marca de una tabla vacía: todo lo que aparezca después es un cambio
+     */
+    public static CarHighWaterMark empty() {
+        return new CarHighWaterMark(null, 0);
+    }
+
+    /**
+     * La mayor de ambas marcas campo a campo, para combinar las de varios shards
+     */
+    public CarHighWaterMark merge(CarHighWaterMark other) {
+        LocalDateTime updatedAt = maxUpdatedAt == null || (other.maxUpdatedAt != null
+                && other.maxUpdatedAt.isAfter(maxUpdatedAt)) ? other.maxUpdatedAt : maxUpdatedAt;
+        return new CarHighWaterMark(updatedAt, Math.max(maxId, other.maxId));
+    }
+
+    /**
+     * Fecha desde la que se releen los cambios, con el margen indicado hacia atrás para
+     * cubrir transacciones que se confirmaron después de leer la marca
+     */
+    public LocalDateTime replayFrom(Duration overlap) {
+        return maxUpdatedAt == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : maxUpdatedAt.minus(overlap);
+    }
+
+    /**
+     * true si esta marca va por delante de la indicada en fecha y en ID a la vez: la copia
+     * se tomó de otra base de datos o de una restaurada a un punto anterior. Basta que uno de
+     * los dos no avance para no descartarla, porque eliminar el auto más reciente hace
+     * retroceder la marca legítimamente
+     */
+    public boolean isAheadOf(CarHighWaterMark other) {
+        boolean updatedAhead = maxUpdatedAt != null
+                && (other.maxUpdatedAt == null || maxUpdatedAt.isAfter(other.maxUpdatedAt));
+        return updatedAhead && maxId > other.maxId;
+    }
+
+    public LocalDateTime getMaxUpdatedAt() {
+        return maxUpdatedAt;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CarHighWaterMark that)) return false;
+        return maxId == that.maxId && Objects.equals(maxUpdatedAt, that.maxUpdatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxUpdatedAt, maxId);
+    }
+
+    @Override
+    public String toString() {
+        return "CarHighWaterMark{maxUpdatedAt=" + maxUpdatedAt + ", maxId=" + maxId + '}';
+    }
+}
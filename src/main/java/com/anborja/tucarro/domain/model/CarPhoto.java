@@ -0,0 +1,70 @@
+package com.anborja.tucarro.domain.model;
+
+import java.nio.file.Path;
+
+/**
+ * Foto de auto almacenada. Se identifica por el SHA-256 de su contenido, de modo que dos
+ * subidas idénticas comparten el mismo archivo y la misma URL. Las variantes reducidas
+ * comparten el hash de la original e indican su ancho.
+ */
+public class CarPhoto {
+
+    private final String hash;
+    private final String contentType;
+    private final long size;
+    private final Path location;
+    private final Integer width;
+
+    public CarPhoto(String hash, String contentType, long size, Path location) {
+        this(hash, contentType, size, location, null);
+    }
+
+    public CarPhoto(String hash, String contentType, long size, Path location, Integer width) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.size = size;
+        this.location = location;
+        this.width = width;
+    }
+
+    // Getters
+    public String getHash() {
+        return hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Ubicación local del contenido, para servirlo directamente desde el archivo
+     */
+    public Path getLocation() {
+        return location;
+    }
+
+    /**
+     * Ancho de la variante, o null si es la foto original
+     */
+    public Integer getWidth() {
+        return width;
+    }
+
+    public boolean isVariant() {
+        return width != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CarPhoto{" +
+                "hash='" + hash + '\'' +
+                ", contentType='" + contentType + '\'' +
+                ", size=" + size +
+                ", width=" + width +
+                '}';
+    }
+}
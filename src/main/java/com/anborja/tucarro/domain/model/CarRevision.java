@@ -0,0 +1,29 @@
+package com.anborja.tucarro.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una versión de un auto y el intervalo [validFrom, validTo) en que estuvo vigente.
+ * La versión actual tiene {@code validTo} null.
+ */
+public class CarRevision {
+
+    private final Car car;
+    private final LocalDateTime validFrom;
+    private final LocalDateTime validTo;
+
+    public CarRevision(Car car, LocalDateTime validFrom, LocalDateTime validTo) {
+        this.car = car;
+        this.validFrom = validFrom;
+        this.validTo = validTo;
+    }
+
+    public boolean isCurrent() {
+        return validTo == null;
+    }
+
+    // Getters
+    public Car getCar() { return car; }
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public LocalDateTime getValidTo() { return validTo; }
+}
@@ -0,0 +1,56 @@
+package com.anborja.tucarro.domain.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conteos de los autos que cumplen una búsqueda, agrupados por marca, color, año y
+ * antigüedad. Marcas y colores se agrupan por su forma normalizada (sin tildes, en
+ * minúsculas); cada lista va del valor más frecuente al menos frecuente.
+ */
+public class CarSearchFacets {
+
+    private final long total;
+    private final List<FacetCount> brands;
+    private final List<FacetCount> colors;
+    private final List<FacetCount> years;
+    private final Map<CarAgeBucket, Long> ageBuckets;
+
+    public CarSearchFacets(long total, List<FacetCount> brands, List<FacetCount> colors,
+                           List<FacetCount> years, Map<CarAgeBucket, Long> ageBuckets) {
+        this.total = total;
+        this.brands = List.copyOf(brands);
+        this.colors = List.copyOf(colors);
+        this.years = List.copyOf(years);
+        EnumMap<CarAgeBucket, Long> buckets = new EnumMap<>(CarAgeBucket.class);
+        for (CarAgeBucket bucket : CarAgeBucket.values()) {
+            buckets.put(bucket, ageBuckets.getOrDefault(bucket, 0L));
+        }
+        this.ageBuckets = Collections.unmodifiableMap(buckets);
+    }
+
+    // Getters
+    public long getTotal() { return total; }
+    public List<FacetCount> getBrands() { return brands; }
+    public List<FacetCount> getColors() { return colors; }
+    public List<FacetCount> getYears() { return years; }
+    public Map<CarAgeBucket, Long> getAgeBuckets() { return ageBuckets; }
+
+    /**
+     * Un valor y la cantidad de autos que lo tienen
+     */
+    public static class FacetCount {
+        private final String value;
+        private final long count;
+
+        public FacetCount(String value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public long getCount() { return count; }
+    }
+}
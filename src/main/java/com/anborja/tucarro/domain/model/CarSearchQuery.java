@@ -0,0 +1,118 @@
+package com.anborja.tucarro.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Consulta sobre el modelo de lectura de búsqueda de autos. Los textos llegan sin
+ * normalizar; los campos nulos no filtran. Marca, modelo y color exigen coincidencia
+ * exacta y brandContains/modelContains coincidencia parcial, siempre sin distinguir
+ * mayúsculas ni tildes.
+ */
+public class CarSearchQuery {
+
+    private String searchTerm;
+    private String brand;
+    private String brandContains;
+    private String model;
+    private String modelContains;
+    private Integer year;
+    private Integer minYear;
+    private Integer maxYear;
+    private String color;
+    private String plateNumber;
+    private Boolean hasPhoto;
+    private Set<CarAgeBucket> ageBuckets = EnumSet.allOf(CarAgeBucket.class);
+
+    public CarSearchQuery() {}
+
+    public static CarSearchQuery all() {
+        return new CarSearchQuery();
+    }
+
+    // Getters
+    public String getSearchTerm() { return searchTerm; }
+    public String getBrand() { return brand; }
+    public String getBrandContains() { return brandContains; }
+    public String getModel() { return model; }
+    public String getModelContains() { return modelContains; }
+    public Integer getYear() { return year; }
+    public Integer getMinYear() { return minYear; }
+    public Integer getMaxYear() { return maxYear; }
+    public String getColor() { return color; }
+    public String getPlateNumber() { return plateNumber; }
+    public Boolean getHasPhoto() { return hasPhoto; }
+    public Set<CarAgeBucket> getAgeBuckets() { return ageBuckets; }
+
+    // Builder pattern
+    public CarSearchQuery withSearchTerm(String searchTerm) {
+        this.searchTerm = searchTerm;
+        return this;
+    }
+
+    public CarSearchQuery withBrand(String brand) {
+        this.brand = brand;
+        return this;
+    }
+
+    public CarSearchQuery withBrandContaining(String brandContains) {
+        this.brandContains = brandContains;
+        return this;
+    }
+
+    public CarSearchQuery withModel(String model) {
+        this.model = model;
+        return this;
+    }
+
+    public CarSearchQuery withModelContaining(String modelContains) {
+        this.modelContains = modelContains;
+        return this;
+    }
+
+    public CarSearchQuery withYear(Integer year) {
+        this.year = year;
+        return this;
+    }
+
+    public CarSearchQuery withYearRange(Integer minYear, Integer maxYear) {
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        return this;
+    }
+
+    public CarSearchQuery withColor(String color) {
+        this.color = color;
+        return this;
+    }
+
+    public CarSearchQuery withPlateNumber(String plateNumber) {
+        this.plateNumber = plateNumber;
+        return this;
+    }
+
+    public CarSearchQuery withPhoto(Boolean hasPhoto) {
+        this.hasPhoto = hasPhoto;
+        return this;
+    }
+
+    /**
+     * Restringe la antigüedad; varias llamadas se combinan (intersección)
+     */
+    public CarSearchQuery withAgeBuckets(Set<CarAgeBucket> allowed) {
+        Set<CarAgeBucket> combined = EnumSet.copyOf(ageBuckets);
+        combined.retainAll(allowed);
+        this.ageBuckets = combined;
+        return this;
+    }
+
+    /**
+     * Incluye o excluye una antigüedad según el flag; null no filtra
+     */
+    public CarSearchQuery withAgeBucket(CarAgeBucket bucket, Boolean included) {
+        if (included == null) {
+            return this;
+        }
+        return withAgeBuckets(included ? EnumSet.of(bucket) : EnumSet.complementOf(EnumSet.of(bucket)));
+    }
+}
@@ -0,0 +1,41 @@
+package com.anborja.tucarro.domain.model;
+
+/**
+ * Resultado de crear o actualizar un auto por su placa. Si la placa pertenece a otro
+ * usuario el auto no se modifica y {@code car} es null. Si se actualizó, {@code previous}
+ * es el auto tal como estaba antes de la sentencia.
+ */
+public class CarUpsertResult {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        FORBIDDEN
+    }
+
+    private final String plateNumber;
+    private final Outcome outcome;
+    private final Car car;
+    private final Car previous;
+
+    public CarUpsertResult(String plateNumber, Outcome outcome, Car car) {
+        this(plateNumber, outcome, car, null);
+    }
+
+    public CarUpsertResult(String plateNumber, Outcome outcome, Car car, Car previous) {
+        this.plateNumber = plateNumber;
+        this.outcome = outcome;
+        this.car = car;
+        this.previous = previous;
+    }
+
+    public static CarUpsertResult forbidden(String plateNumber) {
+        return new CarUpsertResult(plateNumber, Outcome.FORBIDDEN, null);
+    }
+
+    // Getters
+    public String getPlateNumber() { return plateNumber; }
+    public Outcome getOutcome() { return outcome; }
+    public Car getCar() { return car; }
+    public Car getPrevious() { return previous; }
+}
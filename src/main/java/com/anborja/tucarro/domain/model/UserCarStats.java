@@ -0,0 +1,91 @@
+package com.anborja.tucarro.domain.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Agregado de la flota de un usuario: total de autos, suma de años, autos por año y
+ * autos por marca. Se mantiene al escribir autos, de modo que las estadísticas no
+ * necesitan cargar la flota completa.
+ */
+public class UserCarStats {
+
+    private final Long userId;
+    private final long totalCars;
+    private final long yearSum;
+    private final SortedMap<Integer, Long> carsByYear;
+    private final List<BrandCount> brandCounts;
+
+    public UserCarStats(Long userId, long totalCars, long yearSum,
+                        Map<Integer, Long> carsByYear, List<BrandCount> brandCounts) {
+        this.userId = userId;
+        this.totalCars = totalCars;
+        this.yearSum = yearSum;
+        this.carsByYear = Collections.unmodifiableSortedMap(new TreeMap<>(carsByYear));
+        // Marcas de la más frecuente a la menos frecuente
+        this.brandCounts = brandCounts.stream()
+                .sorted((first, second) -> Long.compare(second.getCount(), first.getCount()))
+                .toList();
+    }
+
+    public static UserCarStats empty(Long userId) {
+        return new UserCarStats(userId, 0, 0, Map.of(), List.of());
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public long getTotalCars() { return totalCars; }
+    public long getYearSum() { return yearSum; }
+    public SortedMap<Integer, Long> getCarsByYear() { return carsByYear; }
+    public List<BrandCount> getBrandCounts() { return brandCounts; }
+
+    public boolean isEmpty() {
+        return totalCars == 0;
+    }
+
+    public Integer getOldestYear() {
+        return carsByYear.isEmpty() ? null : carsByYear.firstKey();
+    }
+
+    public Integer getNewestYear() {
+        return carsByYear.isEmpty() ? null : carsByYear.lastKey();
+    }
+
+    public Double getAverageYear() {
+        return totalCars == 0 ? null : (double) yearSum / totalCars;
+    }
+
+    /**
+     * Cuenta los autos cuyo año cumple la condición, recorriendo solo los años distintos
+     */
+    public long countCarsByYear(IntPredicate yearCondition) {
+        return carsByYear.entrySet().stream()
+                .filter(entry -> yearCondition.test(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * Autos de una marca. La clave es la marca normalizada (sin tildes, en minúsculas);
+     * brand conserva la forma en que el usuario la escribió.
+     */
+    public static class BrandCount {
+        private final String brandKey;
+        private final String brand;
+        private final long count;
+
+        public BrandCount(String brandKey, String brand, long count) {
+            this.brandKey = brandKey;
+            this.brand = brand;
+            this.count = count;
+        }
+
+        public String getBrandKey() { return brandKey; }
+        public String getBrand() { return brand; }
+        public long getCount() { return count; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.AccountDeletion;
+
+import java.util.Optional;
+
+public interface IAccountDeletionPort {
+
+    /**
+     * Marca la cuenta como eliminada y registra la solicitud de purga en una sola transacción.
+     * Si ya existe una solicitud para el usuario, se devuelve la existente
+     *
+     * @param userId el ID del usuario
+     * @return la solicitud de eliminación
+     */
+    AccountDeletion requestDeletion(Long userId);
+
+    /**
+     * Busca una solicitud de eliminación por su token
+     *
+     * @param token token de la solicitud
+     * @return Optional con la solicitud si existe
+     */
+    Optional<AccountDeletion> findByToken(String token);
+}
@@ -0,0 +1,15 @@
+package com.anborja.tucarro.domain.spi;
+
+public interface IAuthenticatedUserPort {
+
+    /**
+     * Indica si el usuario dado es el principal autenticado de la petición en curso y su
+     * cuenta sigue activa. El principal proviene de un token ya validado, y los tokens de
+     * cuentas con la eliminación solicitada se rechazan al validarlos, por lo que no se
+     * consulta la base de datos
+     *
+     * @param userId el ID del usuario
+     * @return true si el usuario autenticado tiene ese ID y su cuenta no está marcada para eliminación
+     */
+    boolean isAuthenticatedUser(Long userId);
+}
@@ -0,0 +1,23 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.CarAuditEntry;
+
+public interface ICarAuditPort {
+
+    /**
+     * Indica si la auditoría está activa; si no lo está, el caso de uso no captura el estado
+     * previo del auto
+     *
+     * @return true si los cambios se registran
+     */
+    boolean isEnabled();
+
+    /**
+     * Entrega un cambio al registro de auditoría sin bloquear ni lanzar excepciones: la
+     * escritura ocurre en segundo plano y, si el registro está saturado, el cambio se descarta
+     * y se contabiliza
+     *
+     * @param entry el cambio a registrar
+     */
+    void record(CarAuditEntry entry);
+}
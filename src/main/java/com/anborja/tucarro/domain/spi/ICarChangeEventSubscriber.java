@@ -0,0 +1,25 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+
+import java.util.List;
+
+public interface ICarChangeEventSubscriber {
+
+    /**
+     * Recibe un lote de cambios en orden de registro; un evento confirmado después de otros
+     * posteriores llega en un lote siguiente. La entrega es al menos una vez:
+     * si algún suscriptor falla, el lote se reintenta para todos, por lo que el
+     * procesamiento debe ser idempotente
+     *
+     * @param events cambios ordenados; los de un mismo usuario llegan en el orden en que se confirmaron
+     */
+    void onCarChanges(List<CarChangeEvent> events);
+
+    /**
+     * Nombre del suscriptor para los logs del relay
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
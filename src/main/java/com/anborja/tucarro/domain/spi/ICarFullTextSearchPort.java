@@ -0,0 +1,20 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.Car;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ICarFullTextSearchPort {
+
+    /**
+     * Busca autos de un usuario por texto libre sobre marca, modelo, placa y color.
+     * Cada implementación usa el motor de texto completo de su base de datos; sin
+     * ordenamiento explícito, los resultados se devuelven por relevancia
+     *
+     * @param userId el ID del usuario
+     * @param searchTerm término de búsqueda (sin normalizar)
+     * @param pageable configuración de paginación y ordenamiento
+     * @return página de autos que coinciden con la búsqueda
+     */
+    Page<Car> search(Long userId, String searchTerm, Pageable pageable);
+}
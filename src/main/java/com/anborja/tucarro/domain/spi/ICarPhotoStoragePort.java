@@ -0,0 +1,54 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.CarPhoto;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ICarPhotoStoragePort {
+
+    /**
+     * Guarda el contenido de una foto leyéndolo como flujo, sin cargarlo completo en memoria.
+     * Si ya existe una foto con el mismo contenido se reutiliza.
+     *
+     * @param content flujo con los bytes de la imagen
+     * @param maxBytes tamaño máximo aceptado
+     * @return la foto almacenada
+     * @throws IllegalArgumentException si el contenido no es una imagen soportada o supera el tamaño máximo
+     */
+    CarPhoto store(InputStream content, long maxBytes);
+
+    /**
+     * Busca una foto por el hash de su contenido
+     *
+     * @param hash SHA-256 en hexadecimal
+     * @return la foto si existe
+     */
+    Optional<CarPhoto> findByHash(String hash);
+
+    /**
+     * Solicita en segundo plano las variantes reducidas de una foto. Las solicitudes repetidas
+     * de la misma foto se agrupan y, si la cola está llena, se descartan
+     *
+     * @param photo la foto original
+     * @param waitForCapacity si se espera un tiempo acotado por un hueco en la cola
+     */
+    void requestVariants(CarPhoto photo, boolean waitForCapacity);
+
+    /**
+     * Busca una variante ya generada de una foto
+     *
+     * @param hash SHA-256 de la foto original
+     * @param width ancho de la variante
+     * @return la variante si ya existe
+     */
+    Optional<CarPhoto> findVariant(String hash, int width);
+
+    /**
+     * URL pública con la que se sirve la foto
+     *
+     * @param hash SHA-256 en hexadecimal
+     * @return la URL a guardar en el auto
+     */
+    String publicUrl(String hash);
+}
@@ -1,9 +1,13 @@
 package com.anborja.tucarro.domain.spi;
 
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,7 +30,24 @@ public interface ICarRepositoryPort {
     Optional<Car> findById(Long id);
 
     /**
-     * Busca un auto por su número de placa
+     * Busca el estado que tenía un auto en un instante
+     *
+     * @param id el ID del auto
+     * @param asOf el instante consultado
+     * @return un Optional con la versión vigente en ese instante, vacío si el auto no existía
+     */
+    Optional<Car> findByIdAsOf(Long id, LocalDateTime asOf);
+
+    /**
+     * Obtiene las versiones de un auto en orden cronológico, con la actual al final
+     *
+     * @param id el ID del auto
+     * @return las versiones del auto, vacía si no tiene ninguna
+     */
+    List<CarRevision> historyOf(Long id);
+
+    /**
+     * Busca un auto por su número de placa, incluidos los archivados
      *
      * @param plateNumber el número de placa del auto
      * @return un Optional con el auto si existe, Optional.empty() si no existe
@@ -42,7 +63,8 @@ public interface ICarRepositoryPort {
     List<Car> findByUserId(Long userId);
 
     /**
-     * Verifica si existe un auto con la placa dada
+     * Verifica si existe un auto con la placa dada. Los autos archivados conservan su placa,
+     * así que también cuentan en esta y en las demás verificaciones de placa
      *
      * @param plateNumber el número de placa a verificar
      * @return true si existe un auto con esa placa, false en caso contrario
@@ -58,6 +80,15 @@ public interface ICarRepositoryPort {
      */
     boolean existsByPlateNumberAndUserIdNot(String plateNumber, Long userId);
 
+    /**
+     * Verifica si la placa está asignada a un auto distinto del indicado
+     *
+     * @param plateNumber el número de placa
+     * @param carId el ID del auto que se está actualizando
+     * @return true si otro auto ya usa esa placa
+     */
+    boolean existsByPlateNumberAndIdNot(String plateNumber, Long carId);
+
     /**
      * Actualiza un auto existente
      *
@@ -66,6 +97,64 @@ public interface ICarRepositoryPort {
      */
     Car update(Car car);
 
+    /**
+     * Actualiza en una sola sentencia los campos no nulos de un auto, verificando que
+     * pertenezca al usuario y, si se indica, que su versión coincida
+     *
+     * @param changes el auto con su ID y los campos a modificar (los nulos se conservan)
+     * @param userId el ID del usuario propietario
+     * @param expectedVersion la versión conocida por el cliente, o null para no verificarla
+     * @return el resultado de la escritura y, si se aplicó, el auto antes y después de ella
+     */
+    WriteResult updateIfOwned(Car changes, Long userId, Long expectedVersion);
+
+    /**
+     * Crea o actualiza los autos por su placa en una sola sentencia. Una placa que ya
+     * pertenece a otro usuario no se modifica
+     *
+     * @param cars los autos con sus placas normalizadas y sin repetir
+     * @param userId el ID del usuario propietario
+     * @return un resultado por auto, en el mismo orden, con el estado previo de los actualizados
+     */
+    List<CarUpsertResult> upsertByPlate(List<Car> cars, Long userId);
+
+    /**
+     * Elimina en una sola sentencia un auto si pertenece al usuario
+     *
+     * @param carId el ID del auto
+     * @param userId el ID del usuario propietario
+     * @return el resultado de la escritura y, si se aplicó, el auto eliminado
+     */
+    WriteResult deleteIfOwned(Long carId, Long userId);
+
+    /**
+     * Actualiza en una sola sentencia los campos no nulos de varios autos del usuario,
+     * seleccionados por sus IDs o por un filtro (exactamente uno de los dos)
+     *
+     * @param userId el ID del usuario propietario
+     * @param carIds los IDs de los autos, o null si se selecciona por filtro
+     * @param filter el filtro de los autos, o null si se selecciona por IDs
+     * @param changes los campos a modificar (marca, modelo, año y color)
+     * @param capturePrevious si se leen y bloquean antes los autos afectados para devolver
+     *                        su estado antes y después de la escritura
+     * @return el número de autos actualizados y, si se pidió, su estado
+     */
+    BulkWriteResult bulkUpdate(Long userId, List<Long> carIds, CarSearchCriteria filter, Car changes,
+                               boolean capturePrevious);
+
+    /**
+     * Elimina en una sola sentencia varios autos del usuario, seleccionados por sus IDs
+     * o por un filtro (exactamente uno de los dos)
+     *
+     * @param userId el ID del usuario propietario
+     * @param carIds los IDs de los autos, o null si se selecciona por filtro
+     * @param filter el filtro de los autos, o null si se selecciona por IDs
+     * @param capturePrevious si se leen y bloquean antes los autos afectados para devolver
+     *                        su estado previo
+     * @return el número de autos eliminados y, si se pidió, su estado previo
+     */
+    BulkWriteResult bulkDelete(Long userId, List<Long> carIds, CarSearchCriteria filter, boolean capturePrevious);
+
     /**
      * Elimina un auto por su ID
      *
@@ -200,4 +289,70 @@ public interface ICarRepositoryPort {
                                                Integer year, String color,
                                                Integer minYear, Integer maxYear,
                                                Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Resultado de una escritura con verificación de propietario
+     */
+    enum WriteOutcome {
+        APPLIED,
+        NOT_FOUND,
+        FORBIDDEN,
+        STALE
+    }
+
+    /**
+     * Resultado de una escritura con verificación de propietario. {@code previous} es el auto
+     * tal como lo reemplazó la escritura, en la misma transacción, y {@code car} el
+     * estado en que quedó (null en una eliminación). Si no se aplicó, ambos son null
+     */
+    class WriteResult {
+        private final WriteOutcome outcome;
+        private final Car previous;
+        private final Car car;
+
+        public WriteResult(WriteOutcome outcome, Car previous, Car car) {
+            this.outcome = outcome;
+            this.previous = previous;
+            this.car = car;
+        }
+
+        public static WriteResult applied(Car previous, Car car) {
+            return new WriteResult(WriteOutcome.APPLIED, previous, car);
+        }
+
+        public static WriteResult missed(WriteOutcome outcome) {
+            return new WriteResult(outcome, null, null);
+        }
+
+        // Getters
+        public WriteOutcome getOutcome() { return outcome; }
+        public Car getPrevious() { return previous; }
+        public Car getCar() { return car; }
+    }
+
+    /**
+     * Resultado de una operación masiva. Si se pidió capturar el estado previo, {@code previous}
+     * tiene los autos afectados tal como estaban y {@code cars} cómo quedaron, en el mismo
+     * orden (vacía en una eliminación); si no, ambas listas están vacías
+     */
+    class BulkWriteResult {
+        private final int affected;
+        private final List<Car> previous;
+        private final List<Car> cars;
+
+        public BulkWriteResult(int affected, List<Car> previous, List<Car> cars) {
+            this.affected = affected;
+            this.previous = previous;
+            this.cars = cars;
+        }
+
+        public static BulkWriteResult count(int affected) {
+            return new BulkWriteResult(affected, List.of(), List.of());
+        }
+
+        // Getters
+        public int getAffected() { return affected; }
+        public List<Car> getPrevious() { return previous; }
+        public List<Car> getCars() { return cars; }
+    }
+}
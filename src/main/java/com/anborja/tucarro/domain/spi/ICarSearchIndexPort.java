@@ -0,0 +1,53 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarSearchFacets;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ICarSearchIndexPort {
+
+    /**
+     * Indica si el índice puede atender consultas. No lo está si está deshabilitado o si
+     * aún no se ha construido; en ese caso las búsquedas van al modelo de lectura
+     *
+     * @return true si el índice está disponible
+     */
+    boolean isAvailable();
+
+    /**
+     * Busca autos de un usuario en el índice. El término general se busca por palabras
+     * (cada palabra debe coincidir con el inicio de una palabra de marca, modelo, color o placa)
+     *
+     * @param userId el ID del usuario
+     * @param query los filtros de la búsqueda
+     * @param sortBy campo de ordenamiento (brand, model, year, color, plateNumber, createdAt, updatedAt)
+     * @param ascending true para orden ascendente
+     * @return los autos que cumplen los filtros, ordenados
+     */
+    List<Car> search(Long userId, CarSearchQuery query, String sortBy, boolean ascending);
+
+    /**
+     * Busca autos de un usuario en el índice con paginación. Sin ordenamiento y con término
+     * general, los resultados van por relevancia
+     *
+     * @param userId el ID del usuario
+     * @param query los filtros de la búsqueda
+     * @param pageable configuración de paginación y ordenamiento
+     * @return página de autos que cumplen los filtros
+     */
+    Page<Car> search(Long userId, CarSearchQuery query, Pageable pageable);
+
+    /**
+     * Cuenta los autos que cumplen la búsqueda por marca, color, año y antigüedad
+     *
+     * @param userId el ID del usuario
+     * @param query los filtros de la búsqueda
+     * @param limit valores máximos por grupo
+     * @return los conteos por grupo
+     */
+    CarSearchFacets facets(Long userId, CarSearchQuery query, int limit);
+}
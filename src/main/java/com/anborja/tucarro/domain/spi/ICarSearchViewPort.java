@@ -0,0 +1,34 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ICarSearchViewPort {
+
+    /**
+     * Busca autos de un usuario en el modelo de lectura de búsqueda. El modelo se proyecta
+     * desde los eventos de cambio de autos, por lo que puede ir unos instantes por detrás
+     * de las escrituras
+     *
+     * @param userId el ID del usuario
+     * @param query los filtros de la búsqueda
+     * @param sortBy campo de ordenamiento (brand, model, year, color, createdAt, updatedAt)
+     * @param ascending true para orden ascendente
+     * @return los autos que cumplen los filtros, ordenados
+     */
+    List<Car> search(Long userId, CarSearchQuery query, String sortBy, boolean ascending);
+
+    /**
+     * Busca autos de un usuario en el modelo de lectura de búsqueda con paginación
+     *
+     * @param userId el ID del usuario
+     * @param query los filtros de la búsqueda
+     * @param pageable configuración de paginación y ordenamiento
+     * @return página de autos que cumplen los filtros
+     */
+    Page<Car> search(Long userId, CarSearchQuery query, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.UserCarStats;
+
+public interface IUserCarStatsPort {
+
+    /**
+     * Obtiene las estadísticas agregadas de la flota de un usuario por su clave primaria.
+     * Si el usuario aún no tiene fila de estadísticas, se calculan sin guardarlas
+     *
+     * @param userId el ID del usuario
+     * @return estadísticas del usuario (vacías si no tiene autos)
+     */
+    UserCarStats getByUserId(Long userId);
+}
@@ -0,0 +1,16 @@
+package com.anborja.tucarro.domain.spi;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+
+public interface IUserFleetCachePort {
+
+    /**
+     * Obtiene todos los autos de un usuario. La primera lectura los carga de la base de
+     * datos y las siguientes los toman de la caché de la instancia, que sigue los cambios
+     * del outbox y se invalida al confirmar las escrituras hechas en la propia instancia
+     *
+     * @param userId el ID del usuario
+     * @return la flota del usuario, vacía si no tiene autos
+     */
+    CarFleet getFleet(Long userId);
+}
@@ -1,6 +1,7 @@
 package com.anborja.tucarro.domain.spi;
 
 import com.anborja.tucarro.domain.model.User;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -83,4 +84,12 @@ public interface IUserRepositoryPort {
      * @return lista de usuarios que coinciden con el término
      */
     List<User> findByNameContaining(String searchTerm);
+
+    /**
+     * Registra el inicio de sesión del usuario, con el que se mide su inactividad
+     *
+     * @param userId el ID del usuario
+     * @param loginAt fecha del inicio de sesión
+     */
+    void recordLogin(Long userId, LocalDateTime loginAt);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.anborja.tucarro.domain.util;
 
+import java.util.List;
+
 public class DomainConstants {
 
     // Constantes de validación para Usuario
@@ -25,10 +27,21 @@ public class DomainConstants {
     public static final int CAR_MIN_YEAR = 1900;
     public static final int CAR_MAX_YEAR = 2025; // FIJO, actualizar manualmente cada año
 
+    // Máximo de autos por petición de sincronización por placa
+    public static final int CAR_UPSERT_MAX_BATCH = 100;
+
+    // Máximo de IDs por operación masiva de actualización o eliminación
+    public static final int CAR_BULK_MAX_IDS = 1000;
+
+    // Constantes de fotos de autos
+    public static final long CAR_PHOTO_MAX_BYTES = 5L * 1024 * 1024;
+    public static final List<Integer> CAR_PHOTO_VARIANT_WIDTHS = List.of(160, 480, 960);
+
     // Expresiones regulares
     public static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$";
     public static final String PLATE_REGEX_COLOMBIA = "^[A-Z]{3}[0-9]{3}$|^[A-Z]{3}[0-9]{2}[A-Z]$";
     public static final String NAME_REGEX = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ\\s]+$";
+    public static final String CAR_PHOTO_HASH_REGEX = "^[0-9a-f]{64}$";
 
     // Mensajes de error
     public static final String USER_NOT_FOUND_MESSAGE = "Usuario no encontrado";
@@ -37,6 +50,9 @@ public class DomainConstants {
     public static final String USER_ALREADY_EXISTS_MESSAGE = "El usuario ya existe";
     public static final String CAR_ALREADY_EXISTS_MESSAGE = "Ya existe un auto con esa placa";
     public static final String UNAUTHORIZED_ACCESS_MESSAGE = "Acceso no autorizado";
+    public static final String CAR_CONCURRENT_MODIFICATION_MESSAGE = "El auto fue modificado por otra operación";
+    public static final String ACCOUNT_DELETION_NOT_FOUND_MESSAGE = "Solicitud de eliminación de cuenta no encontrada";
+    public static final String CAR_PHOTO_NOT_FOUND_MESSAGE = "Foto no encontrada";
 
     // Mensajes de validación - Usuario
     public static final String USER_FIRST_NAME_REQUIRED = "El nombre es obligatorio";
@@ -65,6 +81,16 @@ public class DomainConstants {
     public static final String CAR_COLOR_REQUIRED = "El color es obligatorio";
     public static final String CAR_COLOR_LENGTH = "El color debe tener entre " + CAR_COLOR_MIN_LENGTH + " y " + CAR_COLOR_MAX_LENGTH + " caracteres";
     public static final String CAR_USER_REQUIRED = "El auto debe estar asociado a un usuario";
+    public static final String CAR_PHOTO_REQUIRED = "La foto es obligatoria";
+    public static final String CAR_PHOTO_FORMAT = "La foto debe ser una imagen JPEG, PNG o WebP";
+    public static final String CAR_PHOTO_SIZE = "La foto no puede superar " + (CAR_PHOTO_MAX_BYTES / (1024 * 1024)) + " MB";
+    public static final String CAR_UPSERT_BATCH_SIZE = "Se pueden sincronizar entre 1 y " + CAR_UPSERT_MAX_BATCH + " autos por petición";
+    public static final String CAR_UPSERT_DUPLICATE_PLATE = "La placa está repetida en la petición";
+    public static final String CAR_UPSERT_PLATE_MISMATCH = "La placa del cuerpo no coincide con la de la URL";
+    public static final String CAR_BULK_SELECTION_REQUIRED = "Indique los IDs de los autos o un filtro, pero no ambos";
+    public static final String CAR_BULK_IDS_SIZE = "Se pueden indicar hasta " + CAR_BULK_MAX_IDS + " IDs por operación masiva";
+    public static final String CAR_BULK_CHANGES_REQUIRED = "Indique al menos un campo a modificar";
+    public static final String CAR_BULK_UNSUPPORTED_FILTER = "Las operaciones masivas solo admiten filtros por término, marca, modelo, año y color";
 
     // Roles y permisos
     public static final String ROLE_USER = "USER";
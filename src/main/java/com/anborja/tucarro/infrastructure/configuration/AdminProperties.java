@@ -0,0 +1,35 @@
+package com.anborja.tucarro.infrastructure.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuentas con rol ADMIN, identificadas por el correo de su token. Solo ellas acceden a los
+ * endpoints de actuator distintos de health (asesor de índices, shards, índice de búsqueda).
+ */
+@Component
+@ConfigurationProperties(prefix = "admin")
+public class AdminProperties {
+
+    private List<String> emails = new ArrayList<>();
+
+    // Constructor vacío
+    public AdminProperties() {
+    }
+
+    public boolean isAdmin(String email) {
+        return email != null && emails.stream().anyMatch(admin -> admin.trim().equalsIgnoreCase(email));
+    }
+
+    // Getters y Setters
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    public void setEmails(List<String> emails) {
+        this.emails = emails;
+    }
+}
@@ -2,15 +2,26 @@ package com.anborja.tucarro.infrastructure.configuration;
 
 import com.anborja.tucarro.domain.api.IAuthServicePort;
 import com.anborja.tucarro.domain.api.ICarSearchServicePort;
+import com.anborja.tucarro.domain.api.ICarPhotoServicePort;
 import com.anborja.tucarro.domain.api.ICarServicePort;
 import com.anborja.tucarro.domain.api.IUserServicePort;
 import com.anborja.tucarro.domain.api.usecase.AuthUseCase;
+import com.anborja.tucarro.domain.api.usecase.CarPhotoUseCase;
 import com.anborja.tucarro.domain.api.usecase.CarSearchUseCase;
 import com.anborja.tucarro.domain.api.usecase.CarUseCase;
 import com.anborja.tucarro.domain.api.usecase.UserUseCase;
+import com.anborja.tucarro.domain.spi.IAccountDeletionPort;
+import com.anborja.tucarro.domain.spi.IAuthenticatedUserPort;
+import com.anborja.tucarro.domain.spi.ICarAuditPort;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.domain.spi.ICarSearchIndexPort;
+import com.anborja.tucarro.domain.spi.ICarSearchViewPort;
+import com.anborja.tucarro.domain.spi.ICarPhotoStoragePort;
 import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
 import com.anborja.tucarro.domain.spi.IJwtTokenPort;
 import com.anborja.tucarro.domain.spi.IPasswordEncoderPort;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.domain.spi.IUserFleetCachePort;
 import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,8 +56,9 @@ public class BeanConfiguration {
     @Bean
     public IUserServicePort userServicePort(IUserRepositoryPort userRepositoryPort,
                                             IPasswordEncoderPort passwordEncoderPort,
-                                            ICarRepositoryPort carRepositoryPort) {
-        return new UserUseCase(userRepositoryPort, passwordEncoderPort, carRepositoryPort);
+                                            IAccountDeletionPort accountDeletionPort,
+                                            IUserCarStatsPort userCarStatsPort) {
+        return new UserUseCase(userRepositoryPort, passwordEncoderPort, accountDeletionPort, userCarStatsPort);
     }
 
     /**
@@ -54,8 +66,13 @@ public class BeanConfiguration {
      */
     @Bean
     public ICarServicePort carServicePort(ICarRepositoryPort carRepositoryPort,
-                                          IUserRepositoryPort userRepositoryPort) {
-        return new CarUseCase(carRepositoryPort, userRepositoryPort);
+                                          IUserRepositoryPort userRepositoryPort,
+                                          IAuthenticatedUserPort authenticatedUserPort,
+                                          IUserCarStatsPort userCarStatsPort,
+                                          ICarAuditPort carAuditPort,
+                                          IUserFleetCachePort userFleetCachePort) {
+        return new CarUseCase(carRepositoryPort, userRepositoryPort, authenticatedUserPort, userCarStatsPort,
+                carAuditPort, userFleetCachePort);
     }
 
     /**
@@ -63,7 +80,23 @@ public class BeanConfiguration {
      */
     @Bean
     public ICarSearchServicePort carSearchServicePort(ICarRepositoryPort carRepositoryPort,
-                                                      IUserRepositoryPort userRepositoryPort) {
-        return new CarSearchUseCase(carRepositoryPort, userRepositoryPort);
+                                                      IUserRepositoryPort userRepositoryPort,
+                                                      ICarFullTextSearchPort carFullTextSearchPort,
+                                                      IUserCarStatsPort userCarStatsPort,
+                                                      ICarSearchViewPort carSearchViewPort,
+                                                      ICarSearchIndexPort carSearchIndexPort,
+                                                      IUserFleetCachePort userFleetCachePort) {
+        return new CarSearchUseCase(carRepositoryPort, userRepositoryPort, carFullTextSearchPort,
+                userCarStatsPort, carSearchViewPort, carSearchIndexPort, userFleetCachePort);
+    }
+
+    /**
+     * Bean para el caso de uso de fotos de autos
+     */
+    @Bean
+    public ICarPhotoServicePort carPhotoServicePort(ICarPhotoStoragePort carPhotoStoragePort,
+                                                    ICarRepositoryPort carRepositoryPort,
+                                                    ICarAuditPort carAuditPort) {
+        return new CarPhotoUseCase(carPhotoStoragePort, carRepositoryPort, carAuditPort);
     }
 }
\ No newline at end of file
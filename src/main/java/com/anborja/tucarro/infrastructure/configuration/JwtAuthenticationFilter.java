@@ -2,6 +2,8 @@ package com.anborja.tucarro.infrastructure.configuration;
 
 import com.anborja.tucarro.domain.spi.IJwtTokenPort;
 import com.anborja.tucarro.domain.util.DomainConstants;
+import com.anborja.tucarro.infrastructure.configuration.account.DeletedAccountDenylist;
+import com.anborja.tucarro.infrastructure.driven.security.AuthenticatedUser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -25,9 +28,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final IJwtTokenPort jwtTokenPort;
+    private final AdminProperties adminProperties;
+    private final DeletedAccountDenylist deletedAccounts;
 
-    public JwtAuthenticationFilter(IJwtTokenPort jwtTokenPort) {
+    public JwtAuthenticationFilter(IJwtTokenPort jwtTokenPort,
+                                   AdminProperties adminProperties,
+                                   DeletedAccountDenylist deletedAccounts) {
         this.jwtTokenPort = jwtTokenPort;
+        this.adminProperties = adminProperties;
+        this.deletedAccounts = deletedAccounts;
     }
 
     @Override
@@ -45,13 +54,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String email = jwtTokenPort.extractEmail(jwt);
                 Long userId = jwtTokenPort.extractUserId(jwt);
 
+                // El token sobrevive a la eliminación de la cuenta: se rechaza sin consultar el usuario
+                if (deletedAccounts.contains(userId)) {
+                    logger.debug("Token de una cuenta eliminada para: {}", request.getRequestURI());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
                 // Crear el objeto de autenticación
-                List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + DomainConstants.ROLE_USER)
-                );
+                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + DomainConstants.ROLE_USER));
+                if (adminProperties.isAdmin(email)) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + DomainConstants.ROLE_ADMIN));
+                }
 
+                // El principal conserva el ID del token para que el dominio no tenga que volver a consultarlo
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, authorities);
+                        new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, email), null, authorities);
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
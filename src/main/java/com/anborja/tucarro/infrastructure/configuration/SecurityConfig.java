@@ -1,5 +1,6 @@
 package com.anborja.tucarro.infrastructure.configuration;
 
+import com.anborja.tucarro.domain.util.DomainConstants;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -82,6 +83,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/v1/users/profile").authenticated()
                         .requestMatchers(HttpMethod.POST, "/v1/users/change-password").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/v1/users/profile").authenticated()
+                        // Progreso de eliminación de cuenta: el token de la solicitud es la credencial
+                        .requestMatchers(HttpMethod.GET, "/v1/users/deletions/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/v1/users/stats").authenticated()
 
                         // Endpoints de autos
@@ -91,9 +94,20 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/v1/cars/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/v1/cars/**").authenticated()
 
+                        // Fotos de autos: la URL lleva el hash del contenido y se usa desde <img>
+                        .requestMatchers(HttpMethod.GET, "/v1/photos/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/v1/photos/**").permitAll()
+
                         // Endpoints de búsqueda
                         .requestMatchers(HttpMethod.GET, "/v1/search/**").authenticated()
 
+                        // Actuator: health para cualquier usuario autenticado; el resto (asesor de
+                        // índices, shards, índice de búsqueda, métricas) solo para administradores
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**").hasRole(DomainConstants.ROLE_ADMIN)
+                        // Página de error: sin ella un 403 se reporta como 401 al redirigir a /error
+                        .requestMatchers("/error").permitAll()
+
                         // Cualquier otra petición requiere autenticación
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,75 @@
+package com.anborja.tucarro.infrastructure.configuration.account;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la purga en segundo plano de las cuentas eliminadas.
+ */
+@Component
+@ConfigurationProperties(prefix = "account-deletion")
+public class AccountDeletionProperties {
+
+    private int chunkSize = 500;
+    private long pollIntervalMs = 2000;
+    private long cleanupIntervalMs = 3600000;
+    // Pausa entre lotes para ceder la tabla cars a las escrituras en línea
+    private long chunkPauseMs = 20;
+    private Duration retention = Duration.ofDays(7);
+    private long denylistRefreshMs = 2000;
+
+    // Constructor vacío
+    public AccountDeletionProperties() {
+    }
+
+    // Getters y Setters
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public long getCleanupIntervalMs() {
+        return cleanupIntervalMs;
+    }
+
+    public void setCleanupIntervalMs(long cleanupIntervalMs) {
+        this.cleanupIntervalMs = cleanupIntervalMs;
+    }
+
+    public long getChunkPauseMs() {
+        return chunkPauseMs;
+    }
+
+    public void setChunkPauseMs(long chunkPauseMs) {
+        this.chunkPauseMs = chunkPauseMs;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public long getDenylistRefreshMs() {
+        return denylistRefreshMs;
+    }
+
+    public void setDenylistRefreshMs(long denylistRefreshMs) {
+        this.denylistRefreshMs = denylistRefreshMs;
+    }
+}
@@ -0,0 +1,87 @@
+package com.anborja.tucarro.infrastructure.configuration.account;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.AccountDeletionAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Procesa las solicitudes de eliminación de cuenta: borra los autos de cada cuenta en lotes
+ * de chunk-size, cada uno en su propia transacción corta, y al final la fila del usuario.
+ * Si un lote falla, la solicitud queda pendiente y se retoma en el siguiente ciclo.
+ * Con particionado cada solicitud vive en el shard de su usuario y se recorren todos.
+ */
+@Component
+public class AccountDeletionPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountDeletionPurger.class);
+
+    private static final int REQUESTS_PER_CYCLE = 20;
+
+    private final AccountDeletionAdapter accountDeletionAdapter;
+    private final AccountDeletionProperties properties;
+    private final ShardingProperties shardingProperties;
+
+    public AccountDeletionPurger(AccountDeletionAdapter accountDeletionAdapter,
+                                 AccountDeletionProperties properties,
+                                 ShardingProperties shardingProperties) {
+        this.accountDeletionAdapter = accountDeletionAdapter;
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${account-deletion.poll-interval-ms:2000}")
+    public void purge() {
+        for (int shard = 0; shard < shardingProperties.getShardCount() && !Thread.currentThread().isInterrupted(); shard++) {
+            ShardContext.runOn(shard, this::purgeShard);
+        }
+    }
+
+    private void purgeShard() {
+        List<Long> pending = accountDeletionAdapter.findUnfinishedIds(REQUESTS_PER_CYCLE);
+
+        for (Long deletionId : pending) {
+            try {
+                purgeRequest(deletionId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Error al purgar la solicitud de eliminación {}; se reintentará: {}",
+                        deletionId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Elimina las solicitudes completadas que superaron la retención
+     */
+    @Scheduled(fixedDelayString = "${account-deletion.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            int deleted = ShardContext.callOn(shard, () -> accountDeletionAdapter.deleteCompletedBefore(before));
+            if (deleted > 0) {
+                logger.debug("Solicitudes de eliminación completadas eliminadas por retención en el shard {}: {}",
+                        shard, deleted);
+            }
+        }
+    }
+
+    private void purgeRequest(Long deletionId) throws InterruptedException {
+        int chunks = 0;
+        while (!accountDeletionAdapter.purgeNextChunk(deletionId, properties.getChunkSize())) {
+            chunks++;
+            if (properties.getChunkPauseMs() > 0) {
+                Thread.sleep(properties.getChunkPauseMs());
+            }
+        }
+        logger.info("Solicitud de eliminación {} completada en {} lotes", deletionId, chunks + 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.anborja.tucarro.infrastructure.configuration.account;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.AccountDeletionAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Usuarios que solicitaron eliminar su cuenta dentro de la vigencia de un token. Esos tokens
+ * siguen siendo válidos hasta vencer, así que JwtAuthenticationFilter los rechaza consultando
+ * esta lista en memoria en lugar de leer el usuario en cada escritura; sin autenticación
+ * tampoco pueden renovarse, y el login ya rechaza las cuentas marcadas.
+ * La lista se recarga desde account_deletions en todos los shards cada denylist-refresh-ms.
+ * Hasta la recarga siguiente a una solicitud, lo que el usuario alcance a insertar lo borra
+ * la purga, y una vez borrada su fila la clave foránea de cars rechaza las escrituras.
+ */
+@Component
+public class DeletedAccountDenylist {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletedAccountDenylist.class);
+
+    private final AccountDeletionAdapter accountDeletionAdapter;
+    private final ShardingProperties shardingProperties;
+    private final Duration tokenLifetime;
+
+    private volatile Set<Long> userIds = Set.of();
+
+    public DeletedAccountDenylist(AccountDeletionAdapter accountDeletionAdapter,
+                                  ShardingProperties shardingProperties,
+                                  @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.accountDeletionAdapter = accountDeletionAdapter;
+        this.shardingProperties = shardingProperties;
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMs);
+    }
+
+    /**
+     * Indica si los tokens del usuario deben rechazarse
+     */
+    public boolean contains(Long userId) {
+        return userId != null && userIds.contains(userId);
+    }
+
+    /**
+     * Las solicitudes anteriores a la vigencia de un token ya no tienen tokens válidos y salen
+     * de la lista. Si un shard falla se conserva la lista anterior
+     */
+    @Scheduled(fixedDelayString = "${account-deletion.denylist-refresh-ms:2000}")
+    public void refresh() {
+        LocalDateTime since = LocalDateTime.now().minus(tokenLifetime);
+        Set<Long> loaded = new HashSet<>();
+        try {
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                loaded.addAll(ShardContext.callOn(shard, () -> accountDeletionAdapter.findUserIdsRequestedSince(since)));
+            }
+        } catch (Exception e) {
+            logger.warn("No se pudo recargar la lista de cuentas eliminadas; se conserva la anterior: {}",
+                    e.getMessage());
+            return;
+        }
+        userIds = Set.copyOf(loaded);
+    }
+}
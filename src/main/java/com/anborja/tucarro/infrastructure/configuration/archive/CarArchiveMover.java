@@ -0,0 +1,85 @@
+package com.anborja.tucarro.infrastructure.configuration.archive;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarArchiveAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mueve a cars_archive los autos creados hace más de max-age-years y los de usuarios
+ * inactivos (sin iniciar sesión en inactivity), para que las consultas e índices de cars
+ * cubran solo el conjunto de trabajo.
+ * Recorre la tabla en lotes cortos hasta que no quedan candidatos; los autos archivados
+ * siguen disponibles por ID.
+ */
+@Component
+@ConditionalOnProperty(prefix = "car-archive", name = "enabled", havingValue = "true")
+public class CarArchiveMover {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarArchiveMover.class);
+
+    private final CarArchiveAdapter carArchiveAdapter;
+    private final CarArchiveProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public CarArchiveMover(CarArchiveAdapter carArchiveAdapter,
+                           CarArchiveProperties properties,
+                           ShardingProperties shardingProperties) {
+        this.carArchiveAdapter = carArchiveAdapter;
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+    }
+
+    @Scheduled(cron = "${car-archive.cron:0 0 4 * * *}")
+    public void archive() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime createdBefore = now.minusYears(properties.getMaxAgeYears());
+            LocalDateTime inactiveSince = now.minus(properties.getInactivity());
+
+            for (int shard = 0; shard < shardingProperties.getShardCount() && !Thread.currentThread().isInterrupted(); shard++) {
+                ShardContext.runOn(shard, () -> archiveShard(createdBefore, inactiveSince));
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archiveShard(LocalDateTime createdBefore, LocalDateTime inactiveSince) {
+        int archived = 0;
+        CarArchiveAdapter.BatchResult batch;
+        do {
+            batch = carArchiveAdapter.archiveNextBatch(createdBefore, inactiveSince, properties.getBatchSize());
+            archived += batch.getArchived();
+
+            // Un lote sin avances (todos cambiaron entre lectura y borrado) se retoma en la siguiente pasada
+            if (batch.getArchived() == 0) {
+                break;
+            }
+            if (properties.getBatchPauseMs() > 0) {
+                try {
+                    Thread.sleep(properties.getBatchPauseMs());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (batch.getCandidates() == properties.getBatchSize());
+
+        if (archived > 0) {
+            logger.info("Autos movidos al archivo: {}", archived);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.anborja.tucarro.infrastructure.configuration.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del archivado de autos fuera del conjunto de trabajo.
+ */
+@Component
+@ConfigurationProperties(prefix = "car-archive")
+public class CarArchiveProperties {
+
+    private boolean enabled = false;
+    // Autos creados hace más de estos años pasan al archivo
+    private int maxAgeYears = 10;
+    // Autos sin cambios de usuarios sin iniciar sesión en este tiempo; cuenta desde el registro
+    // o, en cuentas anteriores a users.last_login_at, desde su primer inicio de sesión
+    private Duration inactivity = Duration.ofDays(730);
+    private int batchSize = 200;
+    // Pausa entre lotes para ceder la tabla cars a las escrituras en línea
+    private long batchPauseMs = 50;
+
+    // Constructor vacío
+    public CarArchiveProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxAgeYears() {
+        return maxAgeYears;
+    }
+
+    public void setMaxAgeYears(int maxAgeYears) {
+        this.maxAgeYears = maxAgeYears;
+    }
+
+    public Duration getInactivity() {
+        return inactivity;
+    }
+
+    public void setInactivity(Duration inactivity) {
+        this.inactivity = inactivity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchPauseMs() {
+        return batchPauseMs;
+    }
+
+    public void setBatchPauseMs(long batchPauseMs) {
+        this.batchPauseMs = batchPauseMs;
+    }
+}
@@ -0,0 +1,49 @@
+package com.anborja.tucarro.infrastructure.configuration.audit;
+
+import com.anborja.tucarro.domain.spi.ICarAuditPort;
+import com.anborja.tucarro.infrastructure.driven.audit.CarAuditAdapter;
+import com.anborja.tucarro.infrastructure.driven.audit.CarAuditLogWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración del registro de auditoría de autos. Deshabilitado, el puerto no registra nada
+ * y el caso de uso no lee el estado previo de los autos
+ */
+@Configuration
+public class CarAuditConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "car-audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CarAuditLogWriter carAuditLogWriter(CarAuditProperties properties, ObjectMapper objectMapper) {
+        if (properties.getSegmentSizeBytes() <= 0 || properties.getSegmentSizeBytes() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("car-audit.segment-size-bytes debe estar entre 1 y " + Integer.MAX_VALUE);
+        }
+
+        return new CarAuditLogWriter(
+                Path.of(properties.getDirectory()),
+                properties.getRingCapacity(),
+                properties.getBatchSize(),
+                properties.getSegmentSizeBytes(),
+                properties.getFlushInterval(),
+                properties.isForceOnFlush(),
+                objectMapper
+        );
+    }
+
+    @Bean
+    public ICarAuditPort carAuditPort(ObjectProvider<CarAuditLogWriter> writer) {
+        return new CarAuditAdapter(writer.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "car-audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CarAuditMetrics carAuditMetrics(CarAuditLogWriter writer) {
+        return new CarAuditMetrics(writer);
+    }
+}
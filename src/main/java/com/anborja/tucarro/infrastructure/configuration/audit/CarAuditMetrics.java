@@ -0,0 +1,40 @@
+package com.anborja.tucarro.infrastructure.configuration.audit;
+
+import com.anborja.tucarro.infrastructure.driven.audit.CarAuditLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas del registro de auditoría: cambios escritos, descartados por cola llena, fallidos
+ * y pendientes en la cola. Se publican como {@code tucarro.audit.*}.
+ */
+public class CarAuditMetrics implements MeterBinder {
+
+    private final CarAuditLogWriter writer;
+
+    public CarAuditMetrics(CarAuditLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tucarro.audit.written", writer, CarAuditLogWriter::getWritten)
+                .description("Cambios escritos en el registro de auditoría")
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.audit.dropped", writer, CarAuditLogWriter::getDropped)
+                .description("Cambios descartados por cola llena")
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.audit.failed", writer, CarAuditLogWriter::getFailed)
+                .register(registry);
+
+        Gauge.builder("tucarro.audit.pending", writer, CarAuditLogWriter::getPending)
+                .register(registry);
+
+        Gauge.builder("tucarro.audit.capacity", writer, CarAuditLogWriter::getCapacity)
+                .register(registry);
+    }
+}
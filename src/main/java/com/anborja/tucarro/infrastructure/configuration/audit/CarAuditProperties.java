@@ -0,0 +1,96 @@
+package com.anborja.tucarro.infrastructure.configuration.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del registro de auditoría de cambios de autos. Los cambios se encolan en una
+ * cola circular de {@code ring-capacity} posiciones y un hilo los escribe por lotes en
+ * segmentos de {@code segment-size-bytes} dentro de {@code directory}.
+ */
+@Component
+@ConfigurationProperties(prefix = "car-audit")
+public class CarAuditProperties {
+
+    private boolean enabled = true;
+
+    private String directory = "./data/car-audit";
+
+    /** Posiciones de la cola circular; debe ser potencia de 2. Con la cola llena se descartan cambios */
+    private int ringCapacity = 8192;
+
+    /** Cambios escritos por lote */
+    private int batchSize = 256;
+
+    /** Tamaño de cada segmento del registro (máximo 2 GB por estar mapeado en memoria) */
+    private long segmentSizeBytes = 64L * 1024 * 1024;
+
+    /** Espera del escritor cuando la cola está vacía */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Sincroniza el segmento con el disco tras cada lote */
+    private boolean forceOnFlush = true;
+
+    // Constructor vacío
+    public CarAuditProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getRingCapacity() {
+        return ringCapacity;
+    }
+
+    public void setRingCapacity(int ringCapacity) {
+        this.ringCapacity = ringCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    public void setSegmentSizeBytes(long segmentSizeBytes) {
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isForceOnFlush() {
+        return forceOnFlush;
+    }
+
+    public void setForceOnFlush(boolean forceOnFlush) {
+        this.forceOnFlush = forceOnFlush;
+    }
+}
@@ -0,0 +1,44 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mantiene coherente la caché de segundo nivel entre instancias: cada instancia tiene su
+ * propia caché en proceso y solo invalida lo que ella misma escribe. Al recibir del outbox
+ * los cambios hechos en cualquier instancia, se expulsan las entradas afectadas.
+ * Expulsar es idempotente, por lo que las entregas repetidas no tienen efecto.
+ */
+@Component
+@ConditionalOnProperty(prefix = "l2-cache", name = "enabled", havingValue = "true")
+public class CarCacheOutboxSubscriber implements ICarChangeEventSubscriber {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CarCacheOutboxSubscriber(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void onCarChanges(List<CarChangeEvent> events) {
+        Cache cache = entityManagerFactory.getCache();
+
+        for (CarChangeEvent event : events) {
+            if (event.getCarId() == null) {
+                // PURGED o BULK_*: no se conocen los IDs afectados, se vacía la región completa
+                cache.evict(CarEntity.class);
+                return;
+            }
+            if (event.getType() != CarChangeEvent.ChangeType.CREATED) {
+                cache.evict(CarEntity.class, event.getCarId());
+            }
+        }
+    }
+}
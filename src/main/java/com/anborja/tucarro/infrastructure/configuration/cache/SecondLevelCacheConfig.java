@@ -0,0 +1,67 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+/**
+ * Habilita la caché de segundo nivel de Hibernate con Ehcache (JCache) en proceso.
+ * Las regiones se crean aquí a partir de {@link SecondLevelCacheProperties} para que el
+ * tamaño y el TTL de cada una tengan una única fuente de configuración.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "l2-cache", name = "enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> {
+            if (cacheManager.getCache(name) == null) {
+                cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                                        Object.class, Object.class, ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl()))));
+            }
+        });
+
+        return cacheManager;
+    }
+
+    /**
+     * Registra el CacheManager como fábrica de regiones de Hibernate y activa las estadísticas
+     * que alimentan las métricas por región
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    public SecondLevelCacheMetrics secondLevelCacheMetrics(SecondLevelCacheProperties properties,
+                                                           CacheManager secondLevelCacheManager,
+                                                           EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheMetrics(properties, secondLevelCacheManager, entityManagerFactory);
+    }
+}
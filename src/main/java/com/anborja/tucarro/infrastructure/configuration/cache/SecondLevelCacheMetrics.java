@@ -0,0 +1,146 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas por región de la caché de segundo nivel: tamaño, TTL, aciertos, fallos y tasa de acierto.
+ * Se publican como {@code tucarro.l2cache.*} con la etiqueta {@code region}.
+ */
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    // Antigüedad máxima del tamaño publicado; contarlo recorre la región
+    private static final Duration SIZE_REFRESH = Duration.ofSeconds(15);
+
+    private final SecondLevelCacheProperties properties;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<String, RegionSize> regionSizes = new ConcurrentHashMap<>();
+
+    public SecondLevelCacheMetrics(SecondLevelCacheProperties properties,
+                                   CacheManager cacheManager,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        properties.getRegions().forEach((region, settings) -> {
+            Gauge.builder("tucarro.l2cache.size", this, metrics -> metrics.regionSize(region))
+                    .tag("region", region)
+                    .description("Entradas actualmente en la región")
+                    .register(registry);
+
+            Gauge.builder("tucarro.l2cache.max.entries", settings, SecondLevelCacheProperties.Region::getMaxEntries)
+                    .tag("region", region)
+                    .register(registry);
+
+            Gauge.builder("tucarro.l2cache.ttl", settings, value -> value.getTtl().toSeconds())
+                    .tag("region", region)
+                    .baseUnit("seconds")
+                    .register(registry);
+
+            FunctionCounter.builder("tucarro.l2cache.hits", this, regionStat(region, CacheRegionStatistics::getHitCount))
+                    .tag("region", region)
+                    .register(registry);
+
+            FunctionCounter.builder("tucarro.l2cache.misses", this, regionStat(region, CacheRegionStatistics::getMissCount))
+                    .tag("region", region)
+                    .register(registry);
+
+            Gauge.builder("tucarro.l2cache.hit.ratio", this, metrics -> metrics.hitRatio(region))
+                    .tag("region", region)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Entradas de la región. Ni JCache ni las estadísticas de Hibernate exponen el tamaño de una
+     * región JCache, así que se cuenta recorriéndola con la API pública de Ehcache; el recorrido
+     * es O(n) sobre una región acotada por max-entries y se repite como mucho cada SIZE_REFRESH
+     */
+    double regionSize(String region) {
+        return regionSizes.computeIfAbsent(region, RegionSize::new).get();
+    }
+
+    double hitRatio(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        if (stats == null) {
+            return 0;
+        }
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0 : (double) stats.getHitCount() / requests;
+    }
+
+    private ToDoubleFunction<SecondLevelCacheMetrics> regionStat(String region,
+                                                              ToDoubleFunction<CacheRegionStatistics> extractor) {
+        return metrics -> {
+            CacheRegionStatistics stats = metrics.regionStatistics(region);
+            return stats == null ? 0 : extractor.applyAsDouble(stats);
+        };
+    }
+
+    private long countEntries(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            // Aún no creada
+            return 0;
+        }
+        // El recorrido no pasa por Hibernate: no altera los aciertos y fallos de la región
+        Iterator<?> entries = cache.unwrap(org.ehcache.Cache.class).iterator();
+        long count = 0;
+        while (entries.hasNext()) {
+            entries.next();
+            count++;
+        }
+        return count;
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // La región aún no ha sido registrada por Hibernate
+            return null;
+        }
+    }
+
+    /**
+     * Último tamaño contado de una región y cuándo se contó
+     */
+    private class RegionSize {
+        private final String region;
+        private long count;
+        private long countedAt = Long.MIN_VALUE;
+
+        private RegionSize(String region) {
+            this.region = region;
+        }
+
+        private synchronized long get() {
+            long now = System.nanoTime();
+            if (countedAt == Long.MIN_VALUE || now - countedAt >= SIZE_REFRESH.toNanos()) {
+                count = countEntries(region);
+                countedAt = now;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de la caché de segundo nivel de Hibernate (proveedor JCache en proceso).
+ * Cada región se configura con su número máximo de entradas y su TTL.
+ */
+@Component
+@ConfigurationProperties(prefix = "l2-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = false;
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    // Constructor vacío
+    public SecondLevelCacheProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Configuración de una región de caché
+     */
+    public static class Region {
+
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.infrastructure.driven.cache.OffHeapFleetStore;
+import com.anborja.tucarro.infrastructure.driven.cache.UserFleetCacheAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la caché de flotas por usuario (Caffeine, en proceso) y de su nivel
+ * opcional fuera del heap. Deshabilitada, el adaptador lee de la base de datos en cada acceso
+ */
+@Configuration
+public class UserFleetCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleet-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Cache<Long, CarFleet> userFleetCache(UserFleetCacheProperties properties,
+                                               ObjectProvider<OffHeapFleetStore> offHeapFleetStore) {
+        Caffeine<Long, CarFleet> builder = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((Long userId, CarFleet fleet) -> (int) Math.min(fleet.getEstimatedBytes(), Integer.MAX_VALUE))
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .recordStats();
+
+        OffHeapFleetStore offHeap = offHeapFleetStore.getIfAvailable();
+        if (offHeap != null) {
+            // Se llama dentro de la expulsión, con la entrada aún bloqueada: nunca hay un
+            // momento en que la flota no esté en ninguno de los dos niveles
+            builder.evictionListener((Long userId, CarFleet fleet, RemovalCause cause) -> {
+                if (fleet != null) {
+                    offHeap.put(fleet);
+                }
+            });
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleet-cache.off-heap", name = "enabled", havingValue = "true")
+    public OffHeapFleetStore offHeapFleetStore(UserFleetCacheProperties properties) {
+        UserFleetCacheProperties.OffHeap offHeap = properties.getOffHeap();
+        return new OffHeapFleetStore(offHeap.getMaxBytes(), offHeap.getSlabBytes(), offHeap.getMaxEntries());
+    }
+
+    @Bean
+    public UserFleetCacheAdapter userFleetCacheAdapter(ICarRepositoryPort carRepositoryPort,
+                                                       ObjectProvider<Cache<Long, CarFleet>> userFleetCache,
+                                                       ObjectProvider<OffHeapFleetStore> offHeapFleetStore) {
+        return new UserFleetCacheAdapter(carRepositoryPort, userFleetCache.getIfAvailable(),
+                offHeapFleetStore.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleet-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserFleetCacheRefresher userFleetCacheRefresher(UserFleetCacheAdapter userFleetCacheAdapter,
+                                                           CarSearchIndexSourceAdapter source) {
+        return new UserFleetCacheRefresher(userFleetCacheAdapter, source);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleet-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserFleetCacheMetrics userFleetCacheMetrics(Cache<Long, CarFleet> userFleetCache,
+                                                       UserFleetCacheProperties properties,
+                                                       ObjectProvider<OffHeapFleetStore> offHeapFleetStore) {
+        return new UserFleetCacheMetrics(userFleetCache, properties, offHeapFleetStore.getIfAvailable());
+    }
+}
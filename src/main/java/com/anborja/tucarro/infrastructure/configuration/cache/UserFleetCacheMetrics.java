@@ -0,0 +1,103 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.infrastructure.driven.cache.OffHeapFleetStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Métricas de la caché de flotas: aciertos, fallos, cargas y expulsiones como
+ * {@code cache.*} con {@code cache=userFleet}, y memoria estimada en uso y presupuesto
+ * como {@code tucarro.fleetcache.*}. Con el nivel fuera del heap, su ocupación,
+ * fragmentación y reciclaje de bloques como {@code tucarro.fleetcache.offheap.*}.
+ */
+public class UserFleetCacheMetrics implements MeterBinder {
+
+    private static final String CACHE_NAME = "userFleet";
+
+    private final Cache<Long, CarFleet> cache;
+    private final UserFleetCacheProperties properties;
+    private final OffHeapFleetStore offHeap;
+
+    public UserFleetCacheMetrics(Cache<Long, CarFleet> cache,
+                                 UserFleetCacheProperties properties,
+                                 OffHeapFleetStore offHeap) {
+        this.cache = cache;
+        this.properties = properties;
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+
+        Gauge.builder("tucarro.fleetcache.weight", cache,
+                        value -> value.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Memoria estimada de las flotas en caché")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.budget", properties, UserFleetCacheProperties::getMaxBytes)
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.users", cache, Cache::estimatedSize)
+                .description("Usuarios con la flota en caché")
+                .register(registry);
+
+        if (offHeap != null) {
+            bindOffHeap(registry);
+        }
+    }
+
+    private void bindOffHeap(MeterRegistry registry) {
+        Gauge.builder("tucarro.fleetcache.offheap.capacity", offHeap, OffHeapFleetStore::getCapacityBytes)
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.allocated", offHeap, OffHeapFleetStore::getAllocatedBytes)
+                .description("Bloques directos reservados")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.live", offHeap, OffHeapFleetStore::getLiveBytes)
+                .description("Bytes de flotas vigentes")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.occupancy", offHeap, OffHeapFleetStore::getOccupancy)
+                .description("Fracción de la capacidad ocupada por flotas vigentes")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.fragmentation", offHeap, OffHeapFleetStore::getFragmentation)
+                .description("Fracción del espacio escrito que ocupan registros reemplazados o quitados")
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.entries", offHeap, OffHeapFleetStore::getEntries)
+                .register(registry);
+
+        Gauge.builder("tucarro.fleetcache.offheap.max.entries", offHeap, OffHeapFleetStore::getMaxEntries)
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.fleetcache.offheap.hits", offHeap, OffHeapFleetStore::getHits)
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.fleetcache.offheap.misses", offHeap, OffHeapFleetStore::getMisses)
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.fleetcache.offheap.recycled.slabs", offHeap, OffHeapFleetStore::getRecycledSlabs)
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.fleetcache.offheap.dropped", offHeap, OffHeapFleetStore::getDroppedEntries)
+                .description("Flotas descartadas al reciclar su bloque")
+                .register(registry);
+
+        FunctionCounter.builder("tucarro.fleetcache.offheap.rejected", offHeap, OffHeapFleetStore::getRejected)
+                .description("Flotas que no caben en un bloque")
+                .register(registry);
+    }
+}
@@ -0,0 +1,103 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la caché de flotas por usuario. El presupuesto es de memoria estimada,
+ * no de entradas: una flota de mil autos pesa lo que cien de diez.
+ */
+@Component
+@ConfigurationProperties(prefix = "fleet-cache")
+public class UserFleetCacheProperties {
+
+    private boolean enabled = true;
+    private long maxBytes = 64L * 1024 * 1024;
+    // Usuarios sin accesos durante este tiempo salen de la caché aunque sobre presupuesto
+    private Duration expireAfterAccess = Duration.ofMinutes(30);
+    private OffHeap offHeap = new OffHeap();
+
+    // Constructor vacío
+    public UserFleetCacheProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public void setExpireAfterAccess(Duration expireAfterAccess) {
+        this.expireAfterAccess = expireAfterAccess;
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(OffHeap offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Nivel fuera del heap, que recibe las flotas expulsadas de la caché. La memoria se
+     * reserva por bloques a medida que se necesita y cuenta contra -XX:MaxDirectMemorySize
+     * (por defecto, el mismo valor de -Xmx)
+     */
+    public static class OffHeap {
+
+        private boolean enabled = false;
+        private long maxBytes = 128L * 1024 * 1024;
+        private int slabBytes = 4 * 1024 * 1024;
+        private int maxEntries = 16_384;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getSlabBytes() {
+            return slabBytes;
+        }
+
+        public void setSlabBytes(int slabBytes) {
+            this.slabBytes = slabBytes;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.anborja.tucarro.infrastructure.configuration.cache;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.driven.cache.UserFleetCacheAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mantiene las flotas en caché al día. Los cambios del outbox (de cualquier instancia)
+ * se aplican releyendo solo los autos afectados; PURGED y BULK_* descartan la flota
+ * completa. Las escrituras de la propia instancia descartan además la flota al
+ * confirmarse, para que el usuario vea de inmediato lo que acaba de escribir.
+ */
+public class UserFleetCacheRefresher implements ICarChangeEventSubscriber {
+
+    private final UserFleetCacheAdapter fleetCache;
+    private final CarSearchIndexSourceAdapter source;
+
+    public UserFleetCacheRefresher(UserFleetCacheAdapter fleetCache, CarSearchIndexSourceAdapter source) {
+        this.fleetCache = fleetCache;
+        this.source = source;
+    }
+
+    @Override
+    public void onCarChanges(List<CarChangeEvent> events) {
+        Map<Long, Set<Long>> carIdsByUser = new LinkedHashMap<>();
+        Set<Long> invalidated = new LinkedHashSet<>();
+
+        for (CarChangeEvent event : events) {
+            if (event.getUserId() == null) {
+                continue;
+            }
+            if (event.getCarId() == null) {
+                invalidated.add(event.getUserId());
+            } else {
+                carIdsByUser.computeIfAbsent(event.getUserId(), id -> new LinkedHashSet<>()).add(event.getCarId());
+            }
+        }
+
+        invalidated.forEach(fleetCache::invalidate);
+        // El relay entrega el lote dentro del shard de origen: source lee de ese shard
+        carIdsByUser.forEach((userId, carIds) -> {
+            if (!invalidated.contains(userId)) {
+                fleetCache.refresh(userId, carIds, source::findByIds);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onLocalChange(CarChangeEvent event) {
+        fleetCache.invalidate(event.getUserId());
+    }
+}
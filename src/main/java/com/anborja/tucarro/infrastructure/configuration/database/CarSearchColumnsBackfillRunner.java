@@ -0,0 +1,108 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rellena al arrancar las columnas normalizadas de los autos creados antes de que existieran.
+ * Recorre la tabla por lotes ordenados por id (keyset), de modo que cada lote es una
+ * transacción corta y el proceso puede interrumpirse y retomarse sin repetir trabajo.
+ * Usa JDBC directo para no disparar los callbacks de la entidad (que tocarían updated_at)
+ * ni incrementar la versión.
+ */
+@Component
+@ConditionalOnProperty(prefix = "search-columns", name = "backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class CarSearchColumnsBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarSearchColumnsBackfillRunner.class);
+
+    private static final String SELECT_PENDING =
+            "SELECT id, brand, model, plate_number, color FROM cars " +
+            "WHERE id > ? AND (brand_norm IS NULL OR model_norm IS NULL OR color_norm IS NULL OR search_text IS NULL) " +
+            "ORDER BY id";
+
+    private static final String UPDATE_ROW =
+            "UPDATE cars SET brand_norm = ?, model_norm = ?, color_norm = ?, search_text = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SearchColumnsProperties properties;
+
+    public CarSearchColumnsBackfillRunner(JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          EntityManagerFactory entityManagerFactory,
+                                          SearchColumnsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        long total = 0;
+        int updated;
+
+        do {
+            long afterId = lastId;
+            List<Object[]> batch = transactionTemplate.execute(status -> backfillBatch(afterId));
+            updated = batch.size();
+            if (updated > 0) {
+                lastId = ((Number) batch.get(updated - 1)[0]).longValue();
+                total += updated;
+            }
+        } while (updated == properties.getBatchSize());
+
+        if (total > 0) {
+            // Las entradas en caché se cargaron sin las columnas normalizadas
+            entityManagerFactory.getCache().evict(CarEntity.class);
+            logger.info("Columnas de búsqueda normalizadas para {} autos", total);
+        }
+    }
+
+    private List<Object[]> backfillBatch(long afterId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                SELECT_PENDING,
+                statement -> {
+                    statement.setLong(1, afterId);
+                    statement.setMaxRows(properties.getBatchSize());
+                },
+                (resultSet, rowNum) -> new Object[]{
+                        resultSet.getLong("id"),
+                        resultSet.getString("brand"),
+                        resultSet.getString("model"),
+                        resultSet.getString("plate_number"),
+                        resultSet.getString("color")
+                });
+
+        List<Object[]> updates = rows.stream()
+                .map(row -> {
+                    String brandNorm = SearchTextNormalizer.normalize((String) row[1]);
+                    String modelNorm = SearchTextNormalizer.normalize((String) row[2]);
+                    String colorNorm = SearchTextNormalizer.normalize((String) row[4]);
+                    String searchText = SearchTextNormalizer.searchText(
+                            brandNorm, modelNorm, SearchTextNormalizer.normalize((String) row[3]), colorNorm);
+                    return new Object[]{brandNorm, modelNorm, colorNorm, searchText, row[0]};
+                })
+                .toList();
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ROW, updates);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Motores de base de datos soportados por el proyecto (un perfil por motor) y lo que
+ * cambia entre ellos cuando se genera SQL nativo
+ */
+public enum DatabaseEngine {
+
+    MYSQL,
+    POSTGRESQL,
+    SQLSERVER,
+    H2,
+    OTHER;
+
+    /**
+     * Resuelve el motor a partir del nombre de producto que reporta el driver JDBC
+     */
+    public static DatabaseEngine fromProductName(String productName) {
+        if (productName == null) {
+            return OTHER;
+        }
+
+        String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        if (name.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("microsoft") || name.contains("sql server")) {
+            return SQLSERVER;
+        }
+        if (name.contains("h2")) {
+            return H2;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Resuelve el motor a partir del dialecto activo de Hibernate
+     */
+    public static DatabaseEngine fromDialect(Dialect dialect) {
+        if (dialect instanceof MySQLDialect) {
+            return MYSQL;
+        }
+        if (dialect instanceof PostgreSQLDialect) {
+            return POSTGRESQL;
+        }
+        if (dialect instanceof SQLServerDialect) {
+            return SQLSERVER;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Consulta los metadatos de la conexión para determinar el motor
+     */
+    public static DatabaseEngine detect(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return fromProductName(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            return OTHER;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext.MySqlCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext.PortableCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext.PostgresCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext.SqlServerCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Elige el adaptador de búsqueda de texto completo según el dialecto activo de Hibernate.
+ * Los motores sin adaptador nativo (H2 u otros) usan la búsqueda portable
+ */
+@Configuration
+public class FullTextSearchConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextSearchConfig.class);
+
+    @Bean
+    public ICarFullTextSearchPort carFullTextSearchPort(EntityManagerFactory entityManagerFactory,
+                                                       EntityManager entityManager,
+                                                       ICarRepository carRepository,
+                                                       ICarEntityMapper carEntityMapper,
+                                                       FullTextSearchProperties properties) {
+        ICarFullTextSearchPort portable = new PortableCarFullTextSearchAdapter(carRepository, carEntityMapper);
+        if (!properties.isNativeEnabled()) {
+            return portable;
+        }
+
+        DatabaseEngine engine = DatabaseEngine.fromDialect(
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+
+        ICarFullTextSearchPort adapter = switch (engine) {
+            case POSTGRESQL -> new PostgresCarFullTextSearchAdapter(entityManager, carEntityMapper, portable);
+            case MYSQL -> new MySqlCarFullTextSearchAdapter(entityManager, carEntityMapper, portable);
+            case SQLSERVER -> new SqlServerCarFullTextSearchAdapter(entityManager, carEntityMapper, portable);
+            case H2, OTHER -> portable;
+        };
+
+        logger.info("Búsqueda de texto completo para {}: {}", engine, adapter.getClass().getSimpleName());
+        return adapter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades de la búsqueda de texto completo. Con native-enabled en false se usa
+ * siempre la búsqueda portable (LIKE en JPQL) sin importar el motor.
+ */
+@Component
+@ConfigurationProperties(prefix = "full-text-search")
+public class FullTextSearchProperties {
+
+    private boolean nativeEnabled = true;
+
+    // Constructor vacío
+    public FullTextSearchProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isNativeEnabled() {
+        return nativeEnabled;
+    }
+
+    public void setNativeEnabled(boolean nativeEnabled) {
+        this.nativeEnabled = nativeEnabled;
+    }
+}
@@ -0,0 +1,304 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asesor de índices: traduce las consultas JPQL de los repositorios al SQL del dialecto
+ * activo, obtiene su plan con el EXPLAIN del motor y marca las que recorren la tabla completa.
+ *
+ * Los parámetros se sustituyen por literales de ejemplo según el tipo declarado en el método
+ * del repositorio, en el orden en que aparecen en la consulta. Los planes solo
+ * son representativos con un volumen de datos similar al de producción: con tablas casi
+ * vacías el optimizador prefiere el recorrido completo aunque exista el índice.
+ */
+public class IndexAdvisor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisor.class);
+
+    private static final List<Class<?>> REPOSITORIES = List.of(ICarRepository.class, IUserRepository.class);
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final String SAMPLE_TIMESTAMP = "2024-01-01 00:00:00";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    public IndexAdvisor(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Analiza todas las consultas de lectura declaradas con @Query en los repositorios
+     */
+    public IndexAdvisorReport analyze() {
+        DatabaseEngine engine = DatabaseEngine.detect(dataSource);
+        List<IndexAdvice> advices = new ArrayList<>();
+
+        for (Class<?> repository : REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(org.springframework.data.jpa.repository.Query.class))
+                    .filter(method -> !method.isAnnotationPresent(Modifying.class))
+                    .filter(method -> !method.getAnnotation(org.springframework.data.jpa.repository.Query.class).nativeQuery())
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(method -> advices.add(analyze(engine, repository, method)));
+        }
+
+        return new IndexAdvisorReport(engine, advices);
+    }
+
+    private IndexAdvice analyze(DatabaseEngine engine, Class<?> repository, Method method) {
+        String name = repository.getSimpleName() + "." + method.getName();
+        String jpql = method.getAnnotation(org.springframework.data.jpa.repository.Query.class).value();
+
+        try {
+            String sql = toSql(jpql, method);
+            if (sql == null) {
+                return IndexAdvice.failed(name, null, "Hibernate no generó SQL para la consulta");
+            }
+
+            String plan = explain(engine, inlineParameters(sql, sampleLiterals(jpql, method)));
+            return new IndexAdvice(name, sql, plan, isFullScan(engine, plan), null);
+        } catch (Exception e) {
+            logger.debug("No se pudo analizar {}: {}", name, e.getMessage());
+            return IndexAdvice.failed(name, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta la consulta con la captura armada para obtener el SQL sin tocar la base de datos
+     */
+    private String toSql(String jpql, Method method) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Query query = entityManager.createQuery(jpql);
+            for (Parameter parameter : method.getParameters()) {
+                Param param = parameter.getAnnotation(Param.class);
+                if (param != null) {
+                    query.setParameter(param.value(), sampleValue(parameter.getType()));
+                }
+            }
+            return SqlCaptureInspector.capture(query::getResultList);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Object sampleValue(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        return "1";
+    }
+
+    /**
+     * Literales SQL para cada aparición de un parámetro nombrado en la consulta, en orden.
+     * Hibernate genera los marcadores posicionales en ese mismo orden
+     */
+    private List<String> sampleLiterals(String jpql, Method method) {
+        Map<String, Class<?>> types = new HashMap<>();
+        for (Parameter parameter : method.getParameters()) {
+            Param param = parameter.getAnnotation(Param.class);
+            if (param != null) {
+                types.put(param.value(), parameter.getType());
+            }
+        }
+
+        List<String> literals = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(jpql);
+        while (matcher.find()) {
+            Object value = sampleValue(types.getOrDefault(matcher.group(1), String.class));
+            if (value instanceof Number) {
+                literals.add(value.toString());
+            } else if (value instanceof Boolean) {
+                literals.add("1");
+            } else if (value instanceof LocalDateTime) {
+                literals.add("'" + SAMPLE_TIMESTAMP + "'");
+            } else {
+                literals.add("'" + value + "'");
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * Sustituye los marcadores posicionales por los literales de ejemplo, respetando los literales
+     * del SQL. Si el número de marcadores no coincide, se usa un literal sin tipo ('1')
+     */
+    static String inlineParameters(String sql, List<String> literals) {
+        StringBuilder inlined = new StringBuilder(sql.length() + 16);
+        boolean inString = false;
+        int index = 0;
+        long markers = countMarkers(sql);
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inString = !inString;
+            }
+            if (c == '?' && !inString) {
+                inlined.append(markers == literals.size() ? literals.get(index++) : "'1'");
+            } else {
+                inlined.append(c);
+            }
+        }
+        return inlined.toString();
+    }
+
+    private static long countMarkers(String sql) {
+        long markers = 0;
+        boolean inString = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inString = !inString;
+            } else if (c == '?' && !inString) {
+                markers++;
+            }
+        }
+        return markers;
+    }
+
+    private String explain(DatabaseEngine engine, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            if (engine == DatabaseEngine.SQLSERVER) {
+                // SHOWPLAN_XML debe ir en su propio lote; mientras está activo, las sentencias no se ejecutan
+                statement.execute("SET SHOWPLAN_XML ON");
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                    return readPlan(resultSet);
+                } finally {
+                    statement.execute("SET SHOWPLAN_XML OFF");
+                }
+            }
+
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                return readPlan(resultSet);
+            }
+        }
+    }
+
+    private String readPlan(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columns = metaData.getColumnCount();
+        StringBuilder plan = new StringBuilder();
+
+        while (resultSet.next()) {
+            if (columns == 1) {
+                plan.append(resultSet.getString(1));
+            } else {
+                // EXPLAIN de MySQL: una fila por tabla con columnas table, type, key, rows...
+                for (int i = 1; i <= columns; i++) {
+                    plan.append(metaData.getColumnLabel(i)).append('=').append(resultSet.getString(i));
+                    plan.append(i < columns ? ", " : "");
+                }
+            }
+            plan.append('\n');
+        }
+        return plan.toString().trim();
+    }
+
+    static boolean isFullScan(DatabaseEngine engine, String plan) {
+        if (plan == null) {
+            return false;
+        }
+
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        return switch (engine) {
+            case MYSQL -> normalized.contains("type=all");
+            case POSTGRESQL -> normalized.contains("seq scan");
+            case SQLSERVER -> normalized.contains("physicalop=\"table scan\"")
+                    || normalized.contains("physicalop=\"clustered index scan\"");
+            case H2 -> normalized.contains("tablescan");
+            case OTHER -> false;
+        };
+    }
+
+    /**
+     * Resultado del análisis de una consulta
+     */
+    public static class IndexAdvice {
+
+        private final String query;
+        private final String sql;
+        private final String plan;
+        private final boolean fullScan;
+        private final String error;
+
+        public IndexAdvice(String query, String sql, String plan, boolean fullScan, String error) {
+            this.query = query;
+            this.sql = sql;
+            this.plan = plan;
+            this.fullScan = fullScan;
+            this.error = error;
+        }
+
+        static IndexAdvice failed(String query, String sql, String error) {
+            return new IndexAdvice(query, sql, null, false, error);
+        }
+
+        public String getQuery() { return query; }
+        public String getSql() { return sql; }
+        public String getPlan() { return plan; }
+        public boolean isFullScan() { return fullScan; }
+        public String getError() { return error; }
+    }
+
+    /**
+     * Reporte completo del asesor
+     */
+    public static class IndexAdvisorReport {
+
+        private final DatabaseEngine engine;
+        private final List<IndexAdvice> queries;
+
+        public IndexAdvisorReport(DatabaseEngine engine, List<IndexAdvice> queries) {
+            this.engine = engine;
+            this.queries = queries;
+        }
+
+        public DatabaseEngine getEngine() { return engine; }
+        public List<IndexAdvice> getQueries() { return queries; }
+
+        public List<String> getFullScans() {
+            return queries.stream().filter(IndexAdvice::isFullScan).map(IndexAdvice::getQuery).toList();
+        }
+
+        public long getAnalyzed() {
+            return queries.stream().filter(advice -> advice.getError() == null).count();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configura el asesor de índices: el inspector que captura el SQL generado por Hibernate,
+ * el endpoint de actuator y, opcionalmente, el análisis al arrancar
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "index-advisor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IndexAdvisorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisorConfig.class);
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCaptureInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.STATEMENT_INSPECTOR, new SqlCaptureInspector());
+    }
+
+    @Bean
+    public IndexAdvisor indexAdvisor(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        return new IndexAdvisor(entityManagerFactory, dataSource);
+    }
+
+    @Bean
+    public IndexAdvisorEndpoint indexAdvisorEndpoint(IndexAdvisor indexAdvisor) {
+        return new IndexAdvisorEndpoint(indexAdvisor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "index-advisor", name = "run-on-startup", havingValue = "true")
+    public ApplicationRunner indexAdvisorStartupRunner(IndexAdvisor indexAdvisor) {
+        return args -> {
+            IndexAdvisor.IndexAdvisorReport report = indexAdvisor.analyze();
+            report.getQueries().stream()
+                    .filter(IndexAdvisor.IndexAdvice::isFullScan)
+                    .forEach(advice -> logger.warn("Recorrido completo en {} ({}): {}",
+                            advice.getQuery(), report.getEngine(), advice.getSql()));
+            logger.info("Asesor de índices: {} consultas analizadas, {} con recorrido completo",
+                    report.getAnalyzed(), report.getFullScans().size());
+        };
+    }
+}
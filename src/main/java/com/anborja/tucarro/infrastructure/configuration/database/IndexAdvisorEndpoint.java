@@ -0,0 +1,22 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Expone el reporte del asesor de índices en /actuator/indexadvisor
+ */
+@Endpoint(id = "indexadvisor")
+public class IndexAdvisorEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    public IndexAdvisorEndpoint(IndexAdvisor indexAdvisor) {
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    @ReadOperation
+    public IndexAdvisor.IndexAdvisorReport report() {
+        return indexAdvisor.analyze();
+    }
+}
@@ -0,0 +1,37 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del asesor de índices. Con run-on-startup se analiza el plan de las
+ * consultas de los repositorios al arrancar y se registran los recorridos completos.
+ */
+@Component
+@ConfigurationProperties(prefix = "index-advisor")
+public class IndexAdvisorProperties {
+
+    private boolean enabled = true;
+    private boolean runOnStartup = false;
+
+    // Constructor vacío
+    public IndexAdvisorProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRunOnStartup() {
+        return runOnStartup;
+    }
+
+    public void setRunOnStartup(boolean runOnStartup) {
+        this.runOnStartup = runOnStartup;
+    }
+}
@@ -0,0 +1,37 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del backfill de las columnas normalizadas de búsqueda de cars
+ * (brand_norm, model_norm, color_norm y search_text).
+ */
+@Component
+@ConfigurationProperties(prefix = "search-columns")
+public class SearchColumnsProperties {
+
+    private boolean backfillOnStartup = true;
+    private int batchSize = 500;
+
+    // Constructor vacío
+    public SearchColumnsProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isBackfillOnStartup() {
+        return backfillOnStartup;
+    }
+
+    public void setBackfillOnStartup(boolean backfillOnStartup) {
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,54 @@
+package com.anborja.tucarro.infrastructure.configuration.database;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector que, solo cuando está armado en el hilo actual, captura el SQL que
+ * Hibernate generó y aborta la ejecución antes de que llegue a la base de datos.
+ * En cualquier otro caso devuelve el SQL sin cambios.
+ */
+public class SqlCaptureInspector implements StatementInspector {
+
+    private static final ThreadLocal<String[]> CAPTURE = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        String[] slot = CAPTURE.get();
+        if (slot == null) {
+            return sql;
+        }
+
+        slot[0] = sql;
+        throw new SqlCapturedException();
+    }
+
+    /**
+     * Ejecuta la acción con la captura armada y devuelve el primer SQL generado, o null
+     * si la acción no llegó a generar ninguno
+     */
+    public static String capture(Runnable action) {
+        String[] slot = new String[1];
+        CAPTURE.set(slot);
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            // Esperado: la ejecución se aborta al capturar el SQL
+            if (slot[0] == null) {
+                throw e;
+            }
+        } finally {
+            CAPTURE.remove();
+        }
+        return slot[0];
+    }
+
+    /**
+     * Señal interna para abortar la ejecución de la consulta capturada
+     */
+    static class SqlCapturedException extends RuntimeException {
+
+        SqlCapturedException() {
+            super("SQL capturado por el asesor de índices", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+/**
+ * Destinos posibles del {@link ReadReplicaRoutingDataSource}
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
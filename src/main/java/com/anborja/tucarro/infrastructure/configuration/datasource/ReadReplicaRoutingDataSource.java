@@ -0,0 +1,57 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que envía a la réplica las transacciones de solo lectura de las peticiones
+ * marcadas en {@link ReplicaRoutingContext}. Todo lo demás va al primario, igual que cuando
+ * la réplica está caída, retrasada o el usuario escribió hace poco.
+ * <p>
+ * Debe envolverse en un {@code LazyConnectionDataSourceProxy} para que la decisión se tome
+ * cuando la transacción ya declaró si es de solo lectura.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary,
+                                        DataSource replica,
+                                        ReplicaLagMonitor lagMonitor,
+                                        ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return resolveRole();
+    }
+
+    /**
+     * Determina el destino para la conexión que se está abriendo
+     */
+    public DataSourceRole resolveRole() {
+        if (!ReplicaRoutingContext.isReplicaReadAllowed()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRole.PRIMARY;
+        }
+
+        if (!lagMonitor.isReplicaUsable()) {
+            return DataSourceRole.PRIMARY;
+        }
+
+        if (readYourWritesTracker.isSticky(ReplicaRoutingContext.currentUserId())) {
+            return DataSourceRole.PRIMARY;
+        }
+
+        return DataSourceRole.REPLICA;
+    }
+}
@@ -0,0 +1,56 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recuerda cuándo escribió cada usuario por última vez para que sus lecturas posteriores
+ * vayan al primario mientras dure la ventana de adherencia (read-your-writes).
+ * El registro es local a cada instancia.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final Duration stickyWindow;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this(stickyWindow, Clock.systemUTC());
+    }
+
+    public ReadYourWritesTracker(Duration stickyWindow, Clock clock) {
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+    }
+
+    /**
+     * Registra que el usuario acaba de escribir
+     */
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = clock.millis();
+        lastWriteByUser.put(userId, now);
+
+        if (lastWriteByUser.size() > CLEANUP_THRESHOLD) {
+            long limit = now - stickyWindow.toMillis();
+            lastWriteByUser.values().removeIf(writtenAt -> writtenAt < limit);
+        }
+    }
+
+    /**
+     * Indica si el usuario escribió dentro de la ventana de adherencia
+     */
+    public boolean isSticky(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(userId);
+        return writtenAt != null && clock.millis() - writtenAt < stickyWindow.toMillis();
+    }
+}
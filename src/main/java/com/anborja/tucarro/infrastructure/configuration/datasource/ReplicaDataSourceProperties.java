@@ -0,0 +1,128 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de la réplica de lectura usada para el tráfico de búsqueda y estadísticas.
+ * El pool de la réplica se ajusta con las propiedades {@code replica.hikari.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    /** Retraso máximo tolerado antes de devolver las lecturas al primario */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** Tiempo durante el cual un usuario lee del primario después de escribir */
+    private Duration stickyWindow = Duration.ofSeconds(10);
+
+    /** Frecuencia con la que se mide el retraso de la réplica */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /** Consulta usada para comparar primario y réplica; debe devolver un timestamp */
+    private String lagProbeQuery = "SELECT MAX(updated_at) FROM cars";
+
+    /** Rutas (relativas al context-path) cuyas lecturas pueden servirse desde la réplica */
+    private List<String> routedPaths = new ArrayList<>(List.of(
+            "/v1/cars/search/**",
+            "/v1/cars/filter-options/**",
+            "/v1/cars/stats",
+            "/v1/users/stats"
+    ));
+
+    // Constructor vacío
+    public ReplicaDataSourceProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    public void setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getStickyWindow() {
+        return stickyWindow;
+    }
+
+    public void setStickyWindow(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    public Duration getLagCheckInterval() {
+        return lagCheckInterval;
+    }
+
+    public void setLagCheckInterval(Duration lagCheckInterval) {
+        this.lagCheckInterval = lagCheckInterval;
+    }
+
+    public String getLagProbeQuery() {
+        return lagProbeQuery;
+    }
+
+    public void setLagProbeQuery(String lagProbeQuery) {
+        this.lagProbeQuery = lagProbeQuery;
+    }
+
+    public List<String> getRoutedPaths() {
+        return routedPaths;
+    }
+
+    public void setRoutedPaths(List<String> routedPaths) {
+        this.routedPaths = routedPaths;
+    }
+}
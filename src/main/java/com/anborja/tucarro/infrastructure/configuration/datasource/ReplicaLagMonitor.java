@@ -0,0 +1,123 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide periódicamente el retraso de la réplica comparando la marca de tiempo de la última
+ * escritura visible en el primario y en la réplica. Si la réplica falla o supera el retraso
+ * tolerado, las lecturas vuelven al primario hasta la siguiente medición correcta.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String probeQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+
+    private volatile boolean replicaHealthy = false;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, String probeQuery,
+                             Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.probeQuery = probeQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Inicia las mediciones periódicas
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta una medición del retraso de la réplica
+     */
+    public void refresh() {
+        Timestamp replicaMark;
+        try {
+            replicaMark = probe(replica);
+        } catch (Exception e) {
+            if (replicaHealthy) {
+                logger.warn("Réplica no disponible, las lecturas vuelven al primario: {}", e.getMessage());
+            }
+            replicaHealthy = false;
+            lagMillis = Long.MAX_VALUE;
+            return;
+        }
+
+        try {
+            Timestamp primaryMark = probe(primary);
+            lagMillis = computeLag(primaryMark, replicaMark);
+            replicaHealthy = true;
+            if (lagMillis > maxLag.toMillis()) {
+                logger.warn("Retraso de la réplica de {} ms supera el máximo de {} ms", lagMillis, maxLag.toMillis());
+            }
+        } catch (Exception e) {
+            // Sin primario no hay con qué comparar; se conserva la última medición
+            logger.warn("No se pudo medir el primario para calcular el retraso: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indica si la réplica puede atender lecturas en este momento
+     */
+    public boolean isReplicaUsable() {
+        return replicaHealthy && lagMillis <= maxLag.toMillis();
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private Timestamp probe(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(probeQuery)) {
+            return resultSet.next() ? resultSet.getTimestamp(1) : null;
+        }
+    }
+
+    private long computeLag(Timestamp primaryMark, Timestamp replicaMark) {
+        if (primaryMark == null) {
+            return 0;
+        }
+        if (replicaMark == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, primaryMark.getTime() - replicaMark.getTime());
+    }
+}
@@ -0,0 +1,42 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+/**
+ * Marca, para el hilo de la petición actual, que sus lecturas pueden servirse desde la réplica.
+ * Lo establece {@link ReplicaRoutingInterceptor} solo para las rutas configuradas.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Long> REPLICA_ELIGIBLE_USER = new ThreadLocal<>();
+    private static final Long ANONYMOUS = -1L;
+
+    /**
+     * Habilita las lecturas desde réplica para el usuario dado (puede ser null)
+     */
+    public static void allowReplicaReads(Long userId) {
+        REPLICA_ELIGIBLE_USER.set(userId != null ? userId : ANONYMOUS);
+    }
+
+    /**
+     * Indica si el hilo actual puede leer desde la réplica
+     */
+    public static boolean isReplicaReadAllowed() {
+        return REPLICA_ELIGIBLE_USER.get() != null;
+    }
+
+    /**
+     * Obtiene el usuario de la petición enrutable, o null si es anónima
+     */
+    public static Long currentUserId() {
+        Long userId = REPLICA_ELIGIBLE_USER.get();
+        return ANONYMOUS.equals(userId) ? null : userId;
+    }
+
+    public static void clear() {
+        REPLICA_ELIGIBLE_USER.remove();
+    }
+
+    // Constructor privado para evitar instanciación
+    private ReplicaRoutingContext() {
+        throw new IllegalStateException("Utility class");
+    }
+}
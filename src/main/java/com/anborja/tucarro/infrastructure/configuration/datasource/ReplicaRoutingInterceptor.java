@@ -0,0 +1,63 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Habilita las lecturas desde réplica en las rutas configuradas y registra las escrituras
+ * de cada usuario para mantener la adherencia read-your-writes.
+ */
+public class ReplicaRoutingInterceptor implements HandlerInterceptor {
+
+    private final List<String> routedPaths;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ReplicaRoutingInterceptor(List<String> routedPaths, ReadYourWritesTracker readYourWritesTracker) {
+        this.routedPaths = routedPaths;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.GET.matches(request.getMethod()) && isRouted(pathWithinApplication(request))) {
+            ReplicaRoutingContext.allowReplicaReads(extractUserId(request));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+
+        if (isWrite(request.getMethod())) {
+            readYourWritesTracker.recordWrite(extractUserId(request));
+        }
+    }
+
+    private boolean isRouted(String path) {
+        return routedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private boolean isWrite(String method) {
+        return HttpMethod.POST.matches(method)
+                || HttpMethod.PUT.matches(method)
+                || HttpMethod.PATCH.matches(method)
+                || HttpMethod.DELETE.matches(method);
+    }
+
+    private String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private Long extractUserId(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        return userId instanceof Long ? (Long) userId : null;
+    }
+}
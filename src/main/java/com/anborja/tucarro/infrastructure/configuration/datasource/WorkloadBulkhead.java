@@ -0,0 +1,99 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuota de conexiones de una clase de carga: como mucho {@code maxConnections} conexiones
+ * simultáneas y una espera acotada por {@code maxWait}. Acumula los tiempos de espera y los
+ * rechazos para {@link WorkloadBulkheadMetrics}.
+ */
+public class WorkloadBulkhead {
+
+    private final WorkloadClass workload;
+    private final int maxConnections;
+    private final Duration maxWait;
+    private final Semaphore permits;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public WorkloadBulkhead(WorkloadClass workload, int maxConnections, Duration maxWait) {
+        this.workload = workload;
+        this.maxConnections = maxConnections;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Reserva un hueco en la cuota o lanza {@link WorkloadSaturatedException} si no se libera
+     * ninguno a tiempo
+     */
+    public void acquire(Duration retryAfter) throws WorkloadSaturatedException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejections.increment();
+            throw new WorkloadSaturatedException(workload, maxConnections, retryAfter);
+        }
+        recordWait(System.nanoTime() - start);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Suma al total de espera el tiempo que tardó el pool en entregar la conexión
+     */
+    public void recordPoolWait(long nanos) {
+        waitNanos.add(nanos);
+    }
+
+    private void recordWait(long nanos) {
+        acquisitions.increment();
+        waitNanos.add(nanos);
+    }
+
+    public WorkloadClass getWorkload() {
+        return workload;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getQueuedThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public double getTotalWaitMillis() {
+        return waitNanos.sum() / 1_000_000.0;
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
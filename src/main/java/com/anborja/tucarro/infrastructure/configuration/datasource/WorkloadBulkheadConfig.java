@@ -0,0 +1,83 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Particiona el DataSource de la aplicación por clase de carga. Se envuelve el bean
+ * {@code dataSource} (el autoconfigurado o el enrutador de réplica), de modo que las cuotas
+ * se aplican igual con o sin réplica. Se desactiva con {@code workload-bulkhead.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "workload-bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WorkloadBulkheadConfig implements WebMvcConfigurer {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final WorkloadBulkheadProperties properties;
+
+    public WorkloadBulkheadConfig(WorkloadBulkheadProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public WorkloadBulkheadRegistry workloadBulkheadRegistry(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        WorkloadBulkheadRegistry registry = new WorkloadBulkheadRegistry(properties);
+        registry.checkAuthReserve(poolSize);
+        return registry;
+    }
+
+    /**
+     * Cada ejecución de una tarea @Scheduled usa la cuota de BACKGROUND en lugar de la de DEFAULT
+     */
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer workloadTaskSchedulerCustomizer() {
+        return scheduler -> scheduler.setTaskDecorator(task -> () -> {
+            WorkloadContext.set(WorkloadClass.BACKGROUND);
+            try {
+                task.run();
+            } finally {
+                WorkloadContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Envuelve el DataSource principal en cuanto se crea, antes de que JPA lo use
+     */
+    @Bean
+    public static BeanPostProcessor workloadBulkheadDataSourcePostProcessor(
+            ObjectProvider<WorkloadBulkheadRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof WorkloadBulkheadDataSource)) {
+                    return new WorkloadBulkheadDataSource(dataSource, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WorkloadBulkheadMetrics workloadBulkheadMetrics(WorkloadBulkheadRegistry workloadBulkheadRegistry) {
+        return new WorkloadBulkheadMetrics(workloadBulkheadRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WorkloadRoutingInterceptor(
+                properties.getAuthPaths(), properties.getAnalyticsPaths()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reparte el pool entre clases de carga. Cada conexión se descuenta de la cuota de la clase
+ * del hilo ({@link WorkloadContext}) hasta que se cierra; si la cuota está agotada se espera
+ * como mucho lo configurado y luego se falla con {@link WorkloadSaturatedException}, de modo
+ * que una ráfaga de búsquedas lentas no deja sin conexiones al login.
+ * <p>
+ * Las clases sin cuota configurada usan el pool sin restricción.
+ */
+public class WorkloadBulkheadDataSource extends DelegatingDataSource {
+
+    private final WorkloadBulkheadRegistry bulkheads;
+
+    public WorkloadBulkheadDataSource(DataSource targetDataSource, WorkloadBulkheadRegistry bulkheads) {
+        super(targetDataSource);
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        WorkloadBulkhead bulkhead = bulkheads.get(WorkloadContext.current());
+        if (bulkhead == null) {
+            return super.getConnection();
+        }
+        return acquire(bulkhead, () -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        WorkloadBulkhead bulkhead = bulkheads.get(WorkloadContext.current());
+        if (bulkhead == null) {
+            return super.getConnection(username, password);
+        }
+        return acquire(bulkhead, () -> super.getConnection(username, password));
+    }
+
+    private Connection acquire(WorkloadBulkhead bulkhead, ConnectionSupplier supplier) throws SQLException {
+        bulkhead.acquire(bulkheads.getRetryAfter());
+
+        Connection connection;
+        long start = System.nanoTime();
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+        bulkhead.recordPoolWait(System.nanoTime() - start);
+
+        return releasingOnClose(connection, bulkhead);
+    }
+
+    /**
+     * Envuelve la conexión para devolver el hueco de la cuota una sola vez al cerrarla
+     */
+    private Connection releasingOnClose(Connection connection, WorkloadBulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                bulkhead.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
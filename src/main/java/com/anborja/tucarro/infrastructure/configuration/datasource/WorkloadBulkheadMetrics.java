@@ -0,0 +1,54 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por clase de carga: espera para obtener conexión (cuota más pool), conexiones en
+ * uso, hilos esperando y rechazos. Se publican como {@code tucarro.db.workload.*} con la
+ * etiqueta {@code workload}.
+ */
+public class WorkloadBulkheadMetrics implements MeterBinder {
+
+    private final WorkloadBulkheadRegistry bulkheads;
+
+    public WorkloadBulkheadMetrics(WorkloadBulkheadRegistry bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bulkheads.getAll().forEach((workload, bulkhead) -> {
+            String tag = workload.name().toLowerCase();
+
+            FunctionTimer.builder("tucarro.db.workload.wait", bulkhead,
+                            WorkloadBulkhead::getAcquisitions,
+                            WorkloadBulkhead::getTotalWaitMillis,
+                            TimeUnit.MILLISECONDS)
+                    .tag("workload", tag)
+                    .description("Espera para obtener una conexión dentro de la cuota")
+                    .register(registry);
+
+            Gauge.builder("tucarro.db.workload.active", bulkhead, WorkloadBulkhead::getActiveConnections)
+                    .tag("workload", tag)
+                    .register(registry);
+
+            Gauge.builder("tucarro.db.workload.pending", bulkhead, WorkloadBulkhead::getQueuedThreads)
+                    .tag("workload", tag)
+                    .register(registry);
+
+            Gauge.builder("tucarro.db.workload.max", bulkhead, WorkloadBulkhead::getMaxConnections)
+                    .tag("workload", tag)
+                    .register(registry);
+
+            FunctionCounter.builder("tucarro.db.workload.rejected", bulkhead, WorkloadBulkhead::getRejections)
+                    .tag("workload", tag)
+                    .register(registry);
+        });
+    }
+}
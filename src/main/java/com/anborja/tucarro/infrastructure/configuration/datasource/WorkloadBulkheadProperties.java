@@ -0,0 +1,129 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuotas del pool de conexiones por clase de carga. Las cuotas son topes, no reservas: auth
+ * solo tiene garantizadas las conexiones que las demás clases dejan libres con sus cuotas
+ * llenas, {@code maximum-pool-size} menos la suma de las otras cuotas, que debe alcanzar la
+ * cuota de auth. Una clase sin cuota deja a auth sin conexiones garantizadas.
+ */
+@Component
+@ConfigurationProperties(prefix = "workload-bulkhead")
+public class WorkloadBulkheadProperties {
+
+    private boolean enabled = true;
+
+    /** Valor de la cabecera Retry-After cuando se rechaza una petición por cuota agotada */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /** Rutas (relativas al context-path) de autenticación */
+    private List<String> authPaths = new ArrayList<>(List.of("/v1/auth/**"));
+
+    /** Rutas (relativas al context-path) de búsqueda y estadísticas */
+    private List<String> analyticsPaths = new ArrayList<>(List.of(
+            "/v1/cars/search/**",
+            "/v1/cars/filter-options/**",
+            "/v1/cars/stats",
+            "/v1/users/stats"
+    ));
+
+    /** Cuota de cada clase para el pool de 10 conexiones por defecto; las clases sin entrada no tienen límite */
+    private Map<WorkloadClass, Share> shares = new EnumMap<>(Map.of(
+            WorkloadClass.AUTH, new Share(2, Duration.ofSeconds(2)),
+            WorkloadClass.WRITE, new Share(3, Duration.ofSeconds(1)),
+            WorkloadClass.ANALYTICS, new Share(2, Duration.ofMillis(250)),
+            WorkloadClass.DEFAULT, new Share(2, Duration.ofMillis(500)),
+            WorkloadClass.BACKGROUND, new Share(1, Duration.ofSeconds(5))
+    ));
+
+    // Constructor vacío
+    public WorkloadBulkheadProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public List<String> getAuthPaths() {
+        return authPaths;
+    }
+
+    public void setAuthPaths(List<String> authPaths) {
+        this.authPaths = authPaths;
+    }
+
+    public List<String> getAnalyticsPaths() {
+        return analyticsPaths;
+    }
+
+    public void setAnalyticsPaths(List<String> analyticsPaths) {
+        this.analyticsPaths = analyticsPaths;
+    }
+
+    public Map<WorkloadClass, Share> getShares() {
+        return shares;
+    }
+
+    public void setShares(Map<WorkloadClass, Share> shares) {
+        this.shares = shares;
+    }
+
+    /**
+     * Cuota de una clase de carga
+     */
+    public static class Share {
+
+        /** Conexiones simultáneas máximas de la clase */
+        private int maxConnections;
+
+        /** Espera máxima por un hueco antes de rechazar */
+        private Duration maxWait = Duration.ofMillis(500);
+
+        // Constructor vacío
+        public Share() {
+        }
+
+        public Share(int maxConnections, Duration maxWait) {
+            this.maxConnections = maxConnections;
+            this.maxWait = maxWait;
+        }
+
+        // Getters y Setters
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
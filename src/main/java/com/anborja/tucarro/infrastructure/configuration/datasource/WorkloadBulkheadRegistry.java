@@ -0,0 +1,79 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cuotas activas por clase de carga, creadas a partir de {@link WorkloadBulkheadProperties}.
+ * Las clases sin cuota (o con {@code max-connections} en 0) no se limitan.
+ */
+public class WorkloadBulkheadRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadBulkheadRegistry.class);
+
+    private final Map<WorkloadClass, WorkloadBulkhead> bulkheads;
+    private final Duration retryAfter;
+
+    public WorkloadBulkheadRegistry(WorkloadBulkheadProperties properties) {
+        Map<WorkloadClass, WorkloadBulkhead> configured = new EnumMap<>(WorkloadClass.class);
+        properties.getShares().forEach((workload, share) -> {
+            if (share.getMaxConnections() > 0) {
+                configured.put(workload, new WorkloadBulkhead(workload, share.getMaxConnections(), share.getMaxWait()));
+            }
+        });
+        this.bulkheads = Collections.unmodifiableMap(configured);
+        this.retryAfter = properties.getRetryAfter();
+    }
+
+    /**
+     * Obtiene la cuota de la clase, o null si no está limitada
+     */
+    public WorkloadBulkhead get(WorkloadClass workload) {
+        return bulkheads.get(workload);
+    }
+
+    public Map<WorkloadClass, WorkloadBulkhead> getAll() {
+        return bulkheads;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Conexiones que quedan para auth con las cuotas de las demás clases llenas; 0 si alguna
+     * de ellas no tiene cuota
+     */
+    public int authReserve(int poolSize) {
+        int others = 0;
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            if (workload == WorkloadClass.AUTH) {
+                continue;
+            }
+            WorkloadBulkhead bulkhead = bulkheads.get(workload);
+            if (bulkhead == null) {
+                return 0;
+            }
+            others += bulkhead.getMaxConnections();
+        }
+        return Math.max(poolSize - others, 0);
+    }
+
+    /**
+     * Avisa si las cuotas no dejan a auth las conexiones de su propia cuota
+     */
+    public void checkAuthReserve(int poolSize) {
+        WorkloadBulkhead auth = bulkheads.get(WorkloadClass.AUTH);
+        int reserve = authReserve(poolSize);
+        if (auth != null && reserve < auth.getMaxConnections()) {
+            logger.warn("Las cuotas del pool de {} conexiones dejan {} a auth y su cuota es de {}; "
+                            + "el login puede quedarse sin conexiones con las demás clases saturadas",
+                    poolSize, reserve, auth.getMaxConnections());
+        }
+    }
+}
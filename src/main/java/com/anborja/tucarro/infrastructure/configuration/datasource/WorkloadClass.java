@@ -0,0 +1,18 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+/**
+ * Clases de carga que comparten el pool de conexiones, cada una con su propia cuota
+ * en {@link WorkloadBulkheadDataSource}
+ */
+public enum WorkloadClass {
+    /** Login y registro: una consulta corta más BCrypt */
+    AUTH,
+    /** Altas, ediciones y borrados de autos y perfil */
+    WRITE,
+    /** Búsquedas, filtros y estadísticas: consultas largas */
+    ANALYTICS,
+    /** Lecturas simples y hilos sin clase asignada */
+    DEFAULT,
+    /** Tareas @Scheduled: relay del outbox, reconciliadores, archivado, copias en disco */
+    BACKGROUND
+}
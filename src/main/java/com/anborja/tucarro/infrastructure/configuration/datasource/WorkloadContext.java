@@ -0,0 +1,32 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+/**
+ * Clase de carga del hilo actual. La establece {@link WorkloadRoutingInterceptor} por petición
+ * y {@link WorkloadBulkheadConfig} en cada ejecución de una tarea programada; los hilos sin
+ * marca usan {@link WorkloadClass#DEFAULT}.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    public static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+
+    /**
+     * Obtiene la clase de carga del hilo actual
+     */
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.DEFAULT;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Constructor privado para evitar instanciación
+    private WorkloadContext() {
+        throw new IllegalStateException("Utility class");
+    }
+}
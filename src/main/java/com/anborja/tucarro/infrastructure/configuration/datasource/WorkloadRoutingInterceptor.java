@@ -0,0 +1,61 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Asigna la clase de carga de cada petición según su ruta y método, para que las conexiones
+ * que abran sus casos de uso se descuenten de la cuota correspondiente.
+ */
+public class WorkloadRoutingInterceptor implements HandlerInterceptor {
+
+    private final List<String> authPaths;
+    private final List<String> analyticsPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public WorkloadRoutingInterceptor(List<String> authPaths, List<String> analyticsPaths) {
+        this.authPaths = authPaths;
+        this.analyticsPaths = analyticsPaths;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        WorkloadContext.set(classify(request.getMethod(), pathWithinApplication(request)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        WorkloadContext.clear();
+    }
+
+    /**
+     * Determina la clase de carga de una petición
+     */
+    public WorkloadClass classify(String method, String path) {
+        if (matchesAny(authPaths, path)) {
+            return WorkloadClass.AUTH;
+        }
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return WorkloadClass.WRITE;
+        }
+        if (matchesAny(analyticsPaths, path)) {
+            return WorkloadClass.ANALYTICS;
+        }
+        return WorkloadClass.DEFAULT;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,28 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+/**
+ * Se lanza al pedir una conexión cuando la cuota de la clase de carga está agotada y no se
+ * liberó ninguna dentro de la espera máxima. Es transitoria: el cliente puede reintentar.
+ */
+public class WorkloadSaturatedException extends SQLTransientConnectionException {
+
+    private final WorkloadClass workload;
+    private final Duration retryAfter;
+
+    public WorkloadSaturatedException(WorkloadClass workload, int maxConnections, Duration retryAfter) {
+        super("Cuota de conexiones agotada para la carga " + workload + " (" + maxConnections + " conexiones)");
+        this.workload = workload;
+        this.retryAfter = retryAfter;
+    }
+
+    public WorkloadClass getWorkload() {
+        return workload;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
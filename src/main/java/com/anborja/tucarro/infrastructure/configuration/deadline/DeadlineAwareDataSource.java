@@ -0,0 +1,129 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Aplica el plazo de la petición a cada sentencia JDBC: antes de ejecutarla fija
+ * {@code Statement.setQueryTimeout} con el tiempo restante y la registra para que
+ * {@link RequestDeadline#cancel()} pueda cancelarla. Si el plazo ya venció no se abre
+ * la conexión ni se ejecuta la sentencia.
+ * <p>
+ * Cubre por igual las consultas derivadas de Spring Data, las JPQL y las nativas, donde
+ * no es posible fijar la pista {@code jakarta.persistence.query.timeout} por petición.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    public DeadlineAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDeadline deadline = checkDeadline();
+        Connection connection = super.getConnection();
+        return deadline == null ? connection : wrapConnection(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDeadline deadline = checkDeadline();
+        Connection connection = super.getConnection(username, password);
+        return deadline == null ? connection : wrapConnection(connection);
+    }
+
+    private RequestDeadline checkDeadline() throws SQLException {
+        RequestDeadline deadline = RequestDeadlineContext.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw new RequestDeadlineExceededException(deadline.getBudget());
+        }
+        return deadline;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invokeOnProxy(proxy, connection, method, args);
+                    if (result instanceof Statement statement && isStatementFactory(method)) {
+                        return wrapStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> statementType) {
+        return Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        return execute(statement, method, args);
+                    }
+                    return invokeOnProxy(proxy, statement, method, args);
+                });
+    }
+
+    /**
+     * Ejecuta la sentencia con el tiempo restante de la petición como timeout del driver
+     */
+    private Object execute(Statement statement, Method method, Object[] args) throws Throwable {
+        RequestDeadline deadline = RequestDeadlineContext.current();
+        if (deadline == null) {
+            return invoke(statement, method, args);
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0 || deadline.isExpired()) {
+            throw new RequestDeadlineExceededException(deadline.getBudget());
+        }
+
+        // JDBC solo admite segundos; se redondea hacia arriba y el watchdog corta en el instante exacto
+        int remainingSeconds = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > remainingSeconds) {
+            statement.setQueryTimeout(remainingSeconds);
+        }
+
+        deadline.register(statement);
+        try {
+            return invoke(statement, method, args);
+        } finally {
+            deadline.unregister(statement);
+        }
+    }
+
+    private boolean isStatementFactory(Method method) {
+        String name = method.getName();
+        return "createStatement".equals(name) || "prepareStatement".equals(name) || "prepareCall".equals(name);
+    }
+
+    /**
+     * Delega en el objeto real salvo equals/hashCode, que deben referirse al proxy
+     */
+    private Object invokeOnProxy(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return invoke(target, method, args);
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
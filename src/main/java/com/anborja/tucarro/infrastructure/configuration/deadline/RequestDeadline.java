@@ -0,0 +1,73 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Presupuesto de tiempo de una petición y sentencias JDBC en curso bajo él. Al vencer el plazo
+ * (o al terminar la petición) se cancelan las sentencias que sigan ejecutándose.
+ */
+public class RequestDeadline {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadline.class);
+
+    private final Duration budget;
+    private final long deadlineNanos;
+    private final Set<Statement> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled = false;
+
+    public RequestDeadline(Duration budget) {
+        this.budget = budget;
+        this.deadlineNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    /**
+     * Tiempo restante en milisegundos; cero o negativo si ya venció
+     */
+    public long remainingMillis() {
+        return (deadlineNanos - System.nanoTime()) / 1_000_000;
+    }
+
+    public boolean isExpired() {
+        return cancelled || remainingMillis() <= 0;
+    }
+
+    public void register(Statement statement) {
+        inFlight.add(statement);
+        if (cancelled) {
+            cancelQuietly(statement);
+        }
+    }
+
+    public void unregister(Statement statement) {
+        inFlight.remove(statement);
+    }
+
+    /**
+     * Cancela en el servidor todas las sentencias en curso de la petición
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : inFlight) {
+            cancelQuietly(statement);
+        }
+    }
+
+    private void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("No se pudo cancelar la sentencia: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Propaga el plazo de las peticiones HTTP a las consultas: envuelve el bean {@code dataSource}
+ * en {@link DeadlineAwareDataSource} y registra el interceptor que fija el plazo.
+ * Se desactiva con {@code request-deadline.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "request-deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final RequestDeadlineProperties properties;
+
+    public RequestDeadlineConfig(RequestDeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Envuelve el DataSource principal en cuanto se crea, antes de que JPA lo use
+     */
+    @Bean
+    public static BeanPostProcessor deadlineAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DeadlineAwareDataSource)) {
+                    return new DeadlineAwareDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RequestDeadlineWatchdog requestDeadlineWatchdog() {
+        return new RequestDeadlineWatchdog();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(properties, requestDeadlineWatchdog()));
+    }
+}
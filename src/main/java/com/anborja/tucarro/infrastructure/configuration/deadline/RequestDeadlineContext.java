@@ -0,0 +1,30 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+/**
+ * Plazo de la petición que se atiende en el hilo actual. Lo establece
+ * {@link RequestDeadlineInterceptor}; los hilos sin plazo (tareas programadas) no se limitan.
+ */
+public final class RequestDeadlineContext {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    public static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * Obtiene el plazo del hilo actual, o null si no tiene
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Constructor privado para evitar instanciación
+    private RequestDeadlineContext() {
+        throw new IllegalStateException("Utility class");
+    }
+}
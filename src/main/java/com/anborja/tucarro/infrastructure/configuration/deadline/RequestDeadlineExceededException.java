@@ -0,0 +1,15 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+/**
+ * Se lanza al intentar abrir una conexión o ejecutar una sentencia cuando el plazo de la
+ * petición ya venció, sin llegar a ocupar la base de datos
+ */
+public class RequestDeadlineExceededException extends SQLTimeoutException {
+
+    public RequestDeadlineExceededException(Duration budget) {
+        super("Plazo de la petición agotado (" + budget.toMillis() + " ms)");
+    }
+}
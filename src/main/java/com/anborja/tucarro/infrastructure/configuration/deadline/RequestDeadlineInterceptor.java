@@ -0,0 +1,83 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Fija el plazo de cada petición a partir de la configuración por ruta, que la cabecera del
+ * cliente puede acortar, y lo deja disponible para {@link DeadlineAwareDataSource}. Al terminar la petición
+ * se cancelan las sentencias que aún sigan en curso.
+ */
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    private static final String WATCH_ATTRIBUTE = RequestDeadlineInterceptor.class.getName() + ".watch";
+
+    private final RequestDeadlineProperties properties;
+    private final RequestDeadlineWatchdog watchdog;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestDeadlineInterceptor(RequestDeadlineProperties properties, RequestDeadlineWatchdog watchdog) {
+        this.properties = properties;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration budget = resolveBudget(request);
+        RequestDeadline deadline = new RequestDeadline(budget);
+        RequestDeadlineContext.set(deadline);
+        request.setAttribute(WATCH_ATTRIBUTE, watchdog.watch(deadline, budget));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object watch = request.getAttribute(WATCH_ATTRIBUTE);
+        if (watch instanceof ScheduledFuture<?> future) {
+            future.cancel(false);
+        }
+
+        RequestDeadline deadline = RequestDeadlineContext.current();
+        if (deadline != null) {
+            deadline.cancel();
+        }
+        RequestDeadlineContext.clear();
+    }
+
+    /**
+     * Plazo de la petición: el de su ruta (acotado al máximo), o el pedido por el cliente si es
+     * menor. La cabecera solo acorta el plazo: un cliente no puede alargar el de una ruta
+     */
+    public Duration resolveBudget(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Duration budget = properties.getEndpoints().stream()
+                .filter(endpoint -> pathMatcher.match(endpoint.getPattern(), path))
+                .map(RequestDeadlineProperties.Endpoint::getTimeout)
+                .findFirst()
+                .orElse(properties.getDefaultTimeout());
+        if (budget.compareTo(properties.getMaxTimeout()) > 0) {
+            budget = properties.getMaxTimeout();
+        }
+
+        Duration requested = parseRequested(request.getHeader(properties.getHeader()));
+        return requested != null && requested.compareTo(budget) < 0 ? requested : budget;
+    }
+
+    private Duration parseRequested(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
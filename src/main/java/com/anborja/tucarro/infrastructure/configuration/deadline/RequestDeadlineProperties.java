@@ -0,0 +1,118 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plazos de las peticiones HTTP que se trasladan a las consultas a base de datos.
+ * El cliente puede pedir un plazo menor con la cabecera configurada (en milisegundos);
+ * ningún plazo supera {@code max-timeout}.
+ */
+@Component
+@ConfigurationProperties(prefix = "request-deadline")
+public class RequestDeadlineProperties {
+
+    private boolean enabled = true;
+
+    /** Cabecera con el plazo pedido por el cliente, en milisegundos */
+    private String header = "X-Request-Timeout";
+
+    /** Plazo de las rutas sin entrada en {@code endpoints} */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /** Plazo máximo de cualquier petición */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    /** Valor de la cabecera Retry-After cuando una consulta agota el plazo */
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    /** Plazos por ruta (relativa al context-path); gana la primera coincidencia */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    // Constructor vacío
+    public RequestDeadlineProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Plazo de un grupo de rutas
+     */
+    public static class Endpoint {
+
+        private String pattern;
+        private Duration timeout;
+
+        // Constructor vacío
+        public Endpoint() {
+        }
+
+        // Getters y Setters
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancela las sentencias de una petición en el instante en que vence su plazo, sin esperar
+ * al timeout del driver (que solo tiene resolución de segundos)
+ */
+public class RequestDeadlineWatchdog {
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Inicia el hilo del watchdog
+     */
+    public void start() {
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Casi todas las peticiones terminan a tiempo; sus tareas no deben acumularse en la cola
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Programa la cancelación del plazo; la tarea devuelta debe cancelarse al terminar la petición
+     */
+    public ScheduledFuture<?> watch(RequestDeadline deadline, Duration budget) {
+        return scheduler.schedule(deadline::cancel, budget.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.anborja.tucarro.infrastructure.configuration.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del outbox de cambios de autos y de su relay a los suscriptores en proceso.
+ */
+@Component
+@ConfigurationProperties(prefix = "car-outbox")
+public class CarOutboxProperties {
+
+    private boolean enabled = true;
+    private long pollIntervalMs = 500;
+    private long cleanupIntervalMs = 600000;
+    private int batchSize = 200;
+    // Tiempo que se sigue buscando un ID saltado antes de darlo por revertido; debe superar
+    // la transacción más larga que escribe en el outbox y no pasar de la retención
+    private Duration gapTimeout = Duration.ofMinutes(30);
+    private Duration retention = Duration.ofHours(1);
+    private int maxDeliveryAttempts = 5;
+
+    // Constructor vacío
+    public CarOutboxProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public long getCleanupIntervalMs() {
+        return cleanupIntervalMs;
+    }
+
+    public void setCleanupIntervalMs(long cleanupIntervalMs) {
+        this.cleanupIntervalMs = cleanupIntervalMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getMaxDeliveryAttempts() {
+        return maxDeliveryAttempts;
+    }
+
+    public void setMaxDeliveryAttempts(int maxDeliveryAttempts) {
+        this.maxDeliveryAttempts = maxDeliveryAttempts;
+    }
+}
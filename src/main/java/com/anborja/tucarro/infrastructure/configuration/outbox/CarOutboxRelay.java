@@ -0,0 +1,243 @@
+package com.anborja.tucarro.infrastructure.configuration.outbox;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarOutboxEventEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Lee el outbox por lotes y publica los cambios a los suscriptores en proceso.
+ *
+ * Cada instancia lleva su propio cursor en memoria: los suscriptores son locales (cachés,
+ * índices en memoria) y arrancan vacíos, así que al iniciar se empieza desde el último
+ * evento. Los IDs IDENTITY se asignan al insertar pero se confirman en otro orden: la lectura
+ * sigue siempre hacia adelante desde el último ID leído, y cada ID que falta por debajo
+ * (transacción en curso) se anota como hueco y se vuelve a buscar por clave primaria en cada
+ * ciclo. Un hueco que se confirma tarde se entrega en cuanto aparece; solo se da por
+ * revertido tras gap-timeout. Los eventos de un mismo usuario se confirman en orden porque
+ * sus escrituras se serializan sobre su fila de user_car_stats, así que entregar un hueco
+ * después de eventos posteriores no altera el orden por usuario.
+ * Con particionado cada shard tiene su propio outbox y su propia secuencia, por lo que se
+ * lleva un cursor independiente por shard.
+ */
+@Component
+@ConditionalOnProperty(prefix = "car-outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CarOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarOutboxRelay.class);
+
+    private final ICarOutboxRepository outboxRepository;
+    private final List<ICarChangeEventSubscriber> subscribers;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final CarOutboxProperties properties;
+    private final ShardingProperties shardingProperties;
+
+    // Estado de los cursores; relay() es synchronized para que solo un hilo lo modifique a la vez
+    private final Map<Integer, ShardCursor> cursors = new HashMap<>();
+
+    public CarOutboxRelay(ICarOutboxRepository outboxRepository,
+                          List<ICarChangeEventSubscriber> subscribers,
+                          PlatformTransactionManager transactionManager,
+                          CarOutboxProperties properties,
+                          ShardingProperties shardingProperties) {
+        this.outboxRepository = outboxRepository;
+        this.subscribers = subscribers;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${car-outbox.poll-interval-ms:500}")
+    public synchronized void relay() {
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            ShardCursor state = cursors.computeIfAbsent(shard, key -> new ShardCursor());
+            ShardContext.runOn(shard, () -> relay(state));
+        }
+    }
+
+    private void relay(ShardCursor state) {
+        if (state.cursor == null) {
+            state.cursor = outboxRepository.findMaxId().orElse(0L);
+            logger.info("Relay del outbox de autos iniciado desde el evento {} con {} suscriptores",
+                    state.cursor, subscribers.size());
+        }
+
+        if (!relayGaps(state)) {
+            return;
+        }
+
+        List<CarOutboxEventEntity> batch = readTransaction.execute(status ->
+                outboxRepository.findAfter(state.cursor, PageRequest.of(0, properties.getBatchSize())));
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        if (!deliver(state, batch.stream().map(this::toEvent).toList())) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        long expected = state.cursor + 1;
+        for (CarOutboxEventEntity entity : batch) {
+            for (long missing = expected; missing < entity.getId(); missing++) {
+                state.gapsFirstSeen.put(missing, now);
+            }
+            expected = entity.getId() + 1;
+        }
+        state.cursor = batch.get(batch.size() - 1).getId();
+    }
+
+    /**
+     * Busca por ID los huecos pendientes y entrega los que ya se confirmaron. Los que siguen
+     * sin aparecer tras gap-timeout se dan por revertidos
+     *
+     * @return false si la entrega falló y debe reintentarse antes de seguir leyendo
+     */
+    private boolean relayGaps(ShardCursor state) {
+        if (state.gapsFirstSeen.isEmpty()) {
+            return true;
+        }
+
+        // Por tramos de batch-size, rotando entre ciclos: un salto grande de la secuencia no
+        // impide volver a buscar los huecos posteriores
+        List<Long> probe = probeFrom(state, state.nextProbe);
+        if (probe.isEmpty()) {
+            probe = probeFrom(state, 0L);
+        }
+        state.nextProbe = probe.get(probe.size() - 1) + 1;
+
+        List<Long> probed = probe;
+        List<CarOutboxEventEntity> found = readTransaction.execute(status ->
+                outboxRepository.findByIdInOrderById(probed));
+
+        if (found != null && !found.isEmpty()) {
+            if (!deliver(state, found.stream().map(this::toEvent).toList())) {
+                return false;
+            }
+            found.forEach(entity -> state.gapsFirstSeen.remove(entity.getId()));
+            logger.debug("Entregados {} eventos del outbox confirmados después de otros posteriores", found.size());
+        }
+
+        Instant expiredBefore = Instant.now().minus(properties.getGapTimeout());
+        state.gapsFirstSeen.values().removeIf(firstSeen -> firstSeen.isBefore(expiredBefore));
+        return true;
+    }
+
+    private List<Long> probeFrom(ShardCursor state, long fromId) {
+        return state.gapsFirstSeen.tailMap(fromId, true).keySet().stream()
+                .limit(properties.getBatchSize())
+                .toList();
+    }
+
+    /**
+     * Usuarios con eventos aún sin entregar a los suscriptores: posteriores al cursor o en un
+     * hueco pendiente. Al ser synchronized, ningún lote está a medio entregar mientras se consulta
+     *
+     * @return null si algún shard todavía no inició su cursor
+     */
+    public synchronized Set<Long> findUndeliveredUserIds() {
+        Set<Long> userIds = new HashSet<>();
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            ShardCursor state = cursors.get(shard);
+            if (state == null || state.cursor == null) {
+                return null;
+            }
+            ShardContext.runOn(shard, () -> readTransaction.executeWithoutResult(status -> {
+                userIds.addAll(outboxRepository.findUserIdsAfter(state.cursor));
+                List<Long> gaps = new ArrayList<>(state.gapsFirstSeen.keySet());
+                for (int from = 0; from < gaps.size(); from += properties.getBatchSize()) {
+                    List<Long> batch = gaps.subList(from, Math.min(gaps.size(), from + properties.getBatchSize()));
+                    userIds.addAll(outboxRepository.findUserIdsByIdIn(batch));
+                }
+            }));
+        }
+        return userIds;
+    }
+
+    /**
+     * Limpia los eventos que ya superaron la retención. Todas las instancias los han leído
+     * mucho antes; la retención solo cubre relays detenidos temporalmente
+     */
+    @Scheduled(fixedDelayString = "${car-outbox.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            Integer deleted = ShardContext.callOn(shard, () ->
+                    writeTransaction.execute(status -> outboxRepository.deleteOlderThan(before)));
+            if (deleted != null && deleted > 0) {
+                logger.debug("Eventos del outbox de autos eliminados por retención en el shard {}: {}", shard, deleted);
+            }
+        }
+    }
+
+    /**
+     * Entrega el lote a todos los suscriptores. Si alguno falla, el lote se reintenta en el
+     * siguiente ciclo para todos (al menos una vez) hasta max-delivery-attempts
+     */
+    private boolean deliver(ShardCursor state, List<CarChangeEvent> events) {
+        boolean failed = false;
+        for (ICarChangeEventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onCarChanges(events);
+            } catch (Exception e) {
+                failed = true;
+                logger.warn("El suscriptor {} falló al procesar {} eventos: {}",
+                        subscriber.getName(), events.size(), e.getMessage());
+            }
+        }
+
+        if (failed && ++state.failedAttempts < properties.getMaxDeliveryAttempts()) {
+            return false;
+        }
+
+        if (failed) {
+            logger.error("Se descartan los eventos {}..{} del outbox tras {} intentos",
+                    events.get(0).getEventId(), events.get(events.size() - 1).getEventId(), state.failedAttempts);
+        }
+        state.failedAttempts = 0;
+        return true;
+    }
+
+    private CarChangeEvent toEvent(CarOutboxEventEntity entity) {
+        return new CarChangeEvent(
+                entity.getId(),
+                CarChangeEvent.ChangeType.valueOf(entity.getChangeType()),
+                entity.getCarId(),
+                entity.getUserId(),
+                entity.getOccurredAt());
+    }
+
+    /**
+     * Cursor del outbox de un shard: último ID leído y huecos por debajo de él
+     */
+    private static class ShardCursor {
+        private Long cursor;
+        private final NavigableMap<Long, Instant> gapsFirstSeen = new TreeMap<>();
+        private long nextProbe;
+        private int failedAttempts;
+    }
+}
@@ -0,0 +1,22 @@
+package com.anborja.tucarro.infrastructure.configuration.photo;
+
+import com.anborja.tucarro.infrastructure.driven.storage.CarPhotoVariantGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del generador de variantes de fotos de autos
+ */
+@Configuration
+public class CarPhotoConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CarPhotoVariantGenerator carPhotoVariantGenerator(CarPhotoProperties properties) {
+        return new CarPhotoVariantGenerator(
+                properties.getVariantThreads(),
+                properties.getVariantQueueCapacity(),
+                properties.getVariantJpegQuality(),
+                properties.getVariantMaxDecodedPixels()
+        );
+    }
+}
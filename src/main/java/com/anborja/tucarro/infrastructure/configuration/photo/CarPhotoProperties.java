@@ -0,0 +1,97 @@
+package com.anborja.tucarro.infrastructure.configuration.photo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del almacenamiento local de fotos de autos. Las fotos se guardan por el
+ * SHA-256 de su contenido en {@code storage-dir} y se sirven bajo {@code public-path};
+ * las variantes reducidas se generan en segundo plano con {@code variant-threads} hilos.
+ */
+@Component
+@ConfigurationProperties(prefix = "car-photos")
+public class CarPhotoProperties {
+
+    private String storageDir = "./data/car-photos";
+
+    /** Prefijo de la URL pública guardada en photoUrl (incluye el context-path) */
+    private String publicPath = "/api/v1/photos/";
+
+    /** Hilos que generan variantes en paralelo */
+    private int variantThreads = 2;
+
+    /** Fotos en espera de generar variantes; con la cola llena se descartan */
+    private int variantQueueCapacity = 100;
+
+    /** Espera máxima de una subida por un hueco en la cola de variantes */
+    private Duration variantSubmitTimeout = Duration.ofSeconds(2);
+
+    /** Calidad JPEG de las variantes (0 a 1) */
+    private float variantJpegQuality = 0.8f;
+
+    /** Píxeles máximos decodificados por foto, para acotar la memoria de cada tarea */
+    private long variantMaxDecodedPixels = 16_000_000L;
+
+    // Constructor vacío
+    public CarPhotoProperties() {
+    }
+
+    // Getters y Setters
+    public String getStorageDir() {
+        return storageDir;
+    }
+
+    public void setStorageDir(String storageDir) {
+        this.storageDir = storageDir;
+    }
+
+    public String getPublicPath() {
+        return publicPath;
+    }
+
+    public void setPublicPath(String publicPath) {
+        this.publicPath = publicPath;
+    }
+
+    public int getVariantThreads() {
+        return variantThreads;
+    }
+
+    public void setVariantThreads(int variantThreads) {
+        this.variantThreads = variantThreads;
+    }
+
+    public int getVariantQueueCapacity() {
+        return variantQueueCapacity;
+    }
+
+    public void setVariantQueueCapacity(int variantQueueCapacity) {
+        this.variantQueueCapacity = variantQueueCapacity;
+    }
+
+    public Duration getVariantSubmitTimeout() {
+        return variantSubmitTimeout;
+    }
+
+    public void setVariantSubmitTimeout(Duration variantSubmitTimeout) {
+        this.variantSubmitTimeout = variantSubmitTimeout;
+    }
+
+    public float getVariantJpegQuality() {
+        return variantJpegQuality;
+    }
+
+    public void setVariantJpegQuality(float variantJpegQuality) {
+        this.variantJpegQuality = variantJpegQuality;
+    }
+
+    public long getVariantMaxDecodedPixels() {
+        return variantMaxDecodedPixels;
+    }
+
+    public void setVariantMaxDecodedPixels(long variantMaxDecodedPixels) {
+        this.variantMaxDecodedPixels = variantMaxDecodedPixels;
+    }
+}
@@ -0,0 +1,60 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.domain.spi.ICarSearchIndexPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.configuration.warmstart.CarDeltaReader;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndexAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración del índice Lucene de búsqueda de autos. Deshabilitado, el puerto nunca está
+ * disponible y las búsquedas van al modelo de lectura
+ */
+@Configuration
+public class CarSearchIndexConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "car-search-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LuceneCarSearchIndex luceneCarSearchIndex(CarSearchIndexProperties properties) {
+        return new LuceneCarSearchIndex(Path.of(properties.getDirectory()), properties.getRamBufferMb());
+    }
+
+    @Bean
+    public ICarSearchIndexPort carSearchIndexPort(ObjectProvider<LuceneCarSearchIndex> index) {
+        return new LuceneCarSearchIndexAdapter(index.getIfAvailable());
+    }
+
+    // El último commit, antes de cerrar el índice, guarda la marca de agua más reciente
+    @Bean(destroyMethod = "commit")
+    @ConditionalOnProperty(prefix = "car-search-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CarSearchIndexProjector carSearchIndexProjector(LuceneCarSearchIndex index,
+                                                           CarSearchIndexSourceAdapter source,
+                                                           ObjectProvider<CarDeltaReader> deltaReader) {
+        return new CarSearchIndexProjector(index, source, deltaReader.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "car-search-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CarSearchIndexRebuilder carSearchIndexRebuilder(LuceneCarSearchIndex index,
+                                                           CarSearchIndexSourceAdapter source,
+                                                           CarSearchIndexProperties properties,
+                                                           ShardingProperties shardingProperties,
+                                                           ObjectProvider<CarDeltaReader> deltaReader) {
+        return new CarSearchIndexRebuilder(index, source, properties, shardingProperties,
+                deltaReader.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "car-search-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CarSearchIndexEndpoint carSearchIndexEndpoint(LuceneCarSearchIndex index,
+                                                         CarSearchIndexRebuilder rebuilder) {
+        return new CarSearchIndexEndpoint(index, rebuilder);
+    }
+}
@@ -0,0 +1,61 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Expone el estado del índice de búsqueda de la instancia en /actuator/searchindex y lo
+ * reconstruye con un POST (la respuesta llega al terminar)
+ */
+@Endpoint(id = "searchindex")
+public class CarSearchIndexEndpoint {
+
+    private final LuceneCarSearchIndex index;
+    private final CarSearchIndexRebuilder rebuilder;
+
+    public CarSearchIndexEndpoint(LuceneCarSearchIndex index, CarSearchIndexRebuilder rebuilder) {
+        this.index = index;
+        this.rebuilder = rebuilder;
+    }
+
+    @ReadOperation
+    public IndexHealth health() {
+        String status;
+        if (rebuilder.isRunning()) {
+            status = "REBUILDING";
+        } else if (index.isReady()) {
+            status = "UP";
+        } else {
+            status = "EMPTY";
+        }
+        return new IndexHealth(status, index.stats(), rebuilder.getLastRebuild());
+    }
+
+    @WriteOperation
+    public CarSearchIndexRebuilder.RebuildReport rebuild() {
+        return rebuilder.rebuild();
+    }
+
+    /**
+     * Estado del índice: UP si atiende búsquedas, REBUILDING durante una reconstrucción
+     * (atiende desde la generación anterior, si la hay) y EMPTY si aún no se ha construido
+     */
+    public static class IndexHealth {
+        private final String status;
+        private final LuceneCarSearchIndex.IndexStats index;
+        private final CarSearchIndexRebuilder.RebuildReport lastRebuild;
+
+        public IndexHealth(String status, LuceneCarSearchIndex.IndexStats index,
+                           CarSearchIndexRebuilder.RebuildReport lastRebuild) {
+            this.status = status;
+            this.index = index;
+            this.lastRebuild = lastRebuild;
+        }
+
+        public String getStatus() { return status; }
+        public LuceneCarSearchIndex.IndexStats getIndex() { return index; }
+        public CarSearchIndexRebuilder.RebuildReport getLastRebuild() { return lastRebuild; }
+    }
+}
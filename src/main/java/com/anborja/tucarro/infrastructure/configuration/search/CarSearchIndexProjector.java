@@ -0,0 +1,84 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.configuration.warmstart.CarDeltaReader;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantiene el índice de búsqueda de la instancia al día con los cambios del outbox: vuelve
+ * a leer de cars los autos afectados (o los usuarios completos, para PURGED y BULK_*) y
+ * refresca el índice, de modo que las búsquedas los ven sin esperar al commit. Releer el
+ * estado en lugar de aplicar el evento hace inofensivas las entregas repetidas.
+ * Con el arranque en caliente, cada commit guarda la marca de agua de cars leída justo antes.
+ */
+public class CarSearchIndexProjector implements ICarChangeEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarSearchIndexProjector.class);
+
+    private final LuceneCarSearchIndex index;
+    private final CarSearchIndexSourceAdapter source;
+    private final CarDeltaReader deltaReader;
+
+    public CarSearchIndexProjector(LuceneCarSearchIndex index,
+                                   CarSearchIndexSourceAdapter source,
+                                   CarDeltaReader deltaReader) {
+        this.index = index;
+        this.source = source;
+        this.deltaReader = deltaReader;
+    }
+
+    @Override
+    public void onCarChanges(List<CarChangeEvent> events) {
+        Set<Long> carIds = new LinkedHashSet<>();
+        Set<Long> userIds = new LinkedHashSet<>();
+
+        for (CarChangeEvent event : events) {
+            if (event.getCarId() != null) {
+                carIds.add(event.getCarId());
+            } else if (event.getUserId() != null) {
+                userIds.add(event.getUserId());
+            }
+        }
+
+        try {
+            // El relay entrega el lote dentro del shard de origen: source lee de ese shard
+            index.update(carIds, userIds, source);
+        } catch (IOException e) {
+            // El relay reintenta el lote
+            throw new UncheckedIOException("Error al actualizar el índice de búsqueda", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${car-search-index.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        index.commit(readHighWaterMark());
+    }
+
+    /**
+     * Marca de agua para el commit, o null (se conserva la anterior) si no se usa o no se
+     * pudo leer
+     */
+    private CarHighWaterMark readHighWaterMark() {
+        if (deltaReader == null) {
+            return null;
+        }
+        try {
+            return deltaReader.readHighWaterMark();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo leer la marca de agua para el commit del índice: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del índice Lucene de búsqueda de autos, en disco local de cada instancia.
+ */
+@Component
+@ConfigurationProperties(prefix = "car-search-index")
+public class CarSearchIndexProperties {
+
+    private boolean enabled = true;
+    private String directory = "./data/car-search-index";
+    // Memoria de indexación antes de escribir un segmento a disco
+    private double ramBufferMb = 32;
+    // Los cambios se ven al refrescar; el commit solo acota lo que se relee tras un cierre abrupto
+    private long commitIntervalMs = 30000;
+    // El relay no entrega los cambios hechos con la instancia detenida; con warm-start se
+    // reanuda desde la marca de agua del último commit y solo se reconstruye si no la hay
+    private boolean rebuildOnStartup = true;
+    private int rebuildBatchSize = 1000;
+
+    // Constructor vacío
+    public CarSearchIndexProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public double getRamBufferMb() {
+        return ramBufferMb;
+    }
+
+    public void setRamBufferMb(double ramBufferMb) {
+        this.ramBufferMb = ramBufferMb;
+    }
+
+    public long getCommitIntervalMs() {
+        return commitIntervalMs;
+    }
+
+    public void setCommitIntervalMs(long commitIntervalMs) {
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public int getRebuildBatchSize() {
+        return rebuildBatchSize;
+    }
+
+    public void setRebuildBatchSize(int rebuildBatchSize) {
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+}
@@ -0,0 +1,289 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.configuration.warmstart.CarDeltaReader;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Reconstruye el índice de búsqueda desde cars, recorriendo cada shard por lotes en orden
+ * de ID. Las búsquedas siguen atendiéndose mientras tanto (desde la generación anterior o,
+ * si no la hay, desde el modelo de lectura). Al arrancar se reconstruye en segundo plano,
+ * porque el relay no entrega los cambios hechos con la instancia detenida.
+ * <p>
+ * Con el arranque en caliente, cada reconstrucción y cada commit guardan la marca de agua
+ * de cars, y al arrancar se reanuda el índice desde ella en lugar de reconstruirlo: se
+ * releen los autos cambiados desde la marca y, si el número de documentos no coincide con
+ * cars (eliminaciones), se comparan los IDs de ambos y se releen los que difieren. Si no hay
+ * marca, es de otro esquema o la reanudación falla, se reconstruye como siempre.
+ */
+public class CarSearchIndexRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarSearchIndexRebuilder.class);
+
+    private final LuceneCarSearchIndex index;
+    private final CarSearchIndexSourceAdapter source;
+    private final CarSearchIndexProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final CarDeltaReader deltaReader;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile RebuildReport lastRebuild;
+
+    public CarSearchIndexRebuilder(LuceneCarSearchIndex index,
+                                   CarSearchIndexSourceAdapter source,
+                                   CarSearchIndexProperties properties,
+                                   ShardingProperties shardingProperties,
+                                   CarDeltaReader deltaReader) {
+        this.index = index;
+        this.source = source;
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+        this.deltaReader = deltaReader;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isRebuildOnStartup()) {
+            Thread thread = new Thread(this::startup, "car-search-index-rebuild");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void startup() {
+        CarHighWaterMark mark = deltaReader != null ? index.committedMark() : null;
+        if (mark != null && RebuildReport.CAUGHT_UP.equals(catchUp(mark).getStatus())) {
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * Pone al día el índice abierto releyendo lo cambiado en cars desde la marca de agua
+     * de su último commit; si ya hay una reconstrucción en curso no hace nada
+     */
+    public RebuildReport catchUp(CarHighWaterMark mark) {
+        if (!running.compareAndSet(false, true)) {
+            return RebuildReport.alreadyRunning();
+        }
+
+        Instant startedAt = Instant.now();
+        try {
+            CarHighWaterMark current = deltaReader.readHighWaterMark();
+            if (mark.isAheadOf(current)) {
+                lastRebuild = RebuildReport.failed(startedAt, "La marca del índice va por delante de la base de datos");
+                logger.warn("La marca del índice de búsqueda ({}) va por delante de la base de datos ({}); se reconstruye",
+                        mark, current);
+                return lastRebuild;
+            }
+
+            Set<Long> changed = deltaReader.findChangedSince(mark).keySet();
+            updateInBatches(changed);
+
+            // Las eliminaciones no dejan rastro en la marca: se comparan los IDs si los conteos difieren
+            long[] indexed = index.documentIds();
+            Set<Long> mismatched = Set.of();
+            if (indexed.length != deltaReader.count()) {
+                mismatched = symmetricDifference(indexed, deltaReader.findAllIds());
+                updateInBatches(mismatched);
+            }
+            index.commit(current);
+
+            long documents = index.stats().getDocuments();
+            lastRebuild = RebuildReport.caughtUp(startedAt, documents, changed.size() + mismatched.size());
+            logger.info("Índice de búsqueda reanudado desde {}: {} autos releídos ({} por eliminaciones), {} autos en {} ms",
+                    mark, lastRebuild.getReplayed(), mismatched.size(), documents, lastRebuild.getDurationMs());
+        } catch (IOException | RuntimeException e) {
+            lastRebuild = RebuildReport.failed(startedAt, e.getMessage());
+            logger.warn("No se pudo reanudar el índice de búsqueda, se reconstruye: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return lastRebuild;
+    }
+
+    /**
+     * Reconstruye el índice completo; si ya hay una reconstrucción en curso no hace nada
+     */
+    public RebuildReport rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return RebuildReport.alreadyRunning();
+        }
+
+        Instant startedAt = Instant.now();
+        LuceneCarSearchIndex.Rebuild rebuild = null;
+        try {
+            // Se lee antes del recorrido: todo lo anterior a ella queda en la generación nueva
+            CarHighWaterMark mark = deltaReader != null ? deltaReader.readHighWaterMark() : null;
+            rebuild = index.beginRebuild();
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                LuceneCarSearchIndex.Rebuild target = rebuild;
+                ShardContext.runOn(shard, () -> addShard(target));
+            }
+            long documents = rebuild.complete(new AllShardsSource(), mark);
+
+            lastRebuild = RebuildReport.completed(startedAt, documents);
+            logger.info("Índice de búsqueda reconstruido: {} autos en {} ms",
+                    documents, lastRebuild.getDurationMs());
+        } catch (IOException | RuntimeException e) {
+            if (rebuild != null) {
+                rebuild.abort();
+            }
+            lastRebuild = RebuildReport.failed(startedAt, e.getMessage());
+            logger.error("Error al reconstruir el índice de búsqueda: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        return lastRebuild;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public RebuildReport getLastRebuild() {
+        return lastRebuild;
+    }
+
+    private void updateInBatches(Collection<Long> carIds) throws IOException {
+        for (List<Long> batch : deltaReader.batches(carIds)) {
+            index.update(batch, List.of(), deltaReader);
+        }
+    }
+
+    /**
+     * IDs que están en uno solo de los dos arreglos ordenados
+     */
+    private static Set<Long> symmetricDifference(long[] left, long[] right) {
+        Set<Long> difference = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                difference.add(left[i++]);
+            } else if (i == left.length || right[j] < left[i]) {
+                difference.add(right[j++]);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return difference;
+    }
+
+    private void addShard(LuceneCarSearchIndex.Rebuild rebuild) {
+        int batchSize = properties.getRebuildBatchSize();
+        long lastId = 0;
+        List<Car> batch;
+        do {
+            batch = source.findBatchAfter(lastId, batchSize);
+            try {
+                rebuild.add(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Lee los cambios anotados durante la reconstrucción de todos los shards: no se sabe
+     * de qué shard venía cada uno
+     */
+    private class AllShardsSource implements LuceneCarSearchIndex.CarSource {
+
+        @Override
+        public List<Car> findByIds(Collection<Long> carIds) {
+            return onAllShards(ids -> source.findByIds(ids), carIds);
+        }
+
+        @Override
+        public List<Car> findByUserIds(Collection<Long> userIds) {
+            return onAllShards(ids -> source.findByUserIds(ids), userIds);
+        }
+
+        private List<Car> onAllShards(Function<Collection<Long>, List<Car>> reader, Collection<Long> ids) {
+            List<Car> cars = new ArrayList<>();
+            if (ids.isEmpty()) {
+                return cars;
+            }
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                cars.addAll(ShardContext.callOn(shard, () -> reader.apply(ids)));
+            }
+            return cars;
+        }
+    }
+
+    /**
+     * Resultado de una reconstrucción
+     */
+    public static class RebuildReport {
+        static final String CAUGHT_UP = "CAUGHT_UP";
+
+        private final String status;
+        private final Instant startedAt;
+        private final long durationMs;
+        private final long documents;
+        private final long replayed;
+        private final String error;
+
+        private RebuildReport(String status, Instant startedAt, long durationMs, long documents,
+                              long replayed, String error) {
+            this.status = status;
+            this.startedAt = startedAt;
+            this.durationMs = durationMs;
+            this.documents = documents;
+            this.replayed = replayed;
+            this.error = error;
+        }
+
+        static RebuildReport completed(Instant startedAt, long documents) {
+            return new RebuildReport("COMPLETED", startedAt,
+                    Duration.between(startedAt, Instant.now()).toMillis(), documents, documents, null);
+        }
+
+        static RebuildReport caughtUp(Instant startedAt, long documents, long replayed) {
+            return new RebuildReport(CAUGHT_UP, startedAt,
+                    Duration.between(startedAt, Instant.now()).toMillis(), documents, replayed, null);
+        }
+
+        static RebuildReport failed(Instant startedAt, String error) {
+            return new RebuildReport("FAILED", startedAt,
+                    Duration.between(startedAt, Instant.now()).toMillis(), 0, 0, error);
+        }
+
+        static RebuildReport alreadyRunning() {
+            return new RebuildReport("ALREADY_RUNNING", null, 0, 0, 0, null);
+        }
+
+        public String getStatus() { return status; }
+        public Instant getStartedAt() { return startedAt; }
+        public long getDurationMs() { return durationMs; }
+        public long getDocuments() { return documents; }
+        // Autos leídos de cars: todos en una reconstrucción, solo los cambiados al reanudar
+        public long getReplayed() { return replayed; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,45 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchViewAdapter;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proyecta en car_search_view los cambios de autos recibidos del outbox. El relay entrega
+ * cada lote dentro del shard de origen, así que la vista queda junto a los autos del usuario.
+ * La proyección reconstruye el estado desde cars en lugar de aplicar el evento, por lo que
+ * las entregas repetidas o desordenadas no tienen efecto; si falla, el relay reintenta el lote.
+ * Todas las instancias reciben cada lote, pero escriben de a una por shard (ver CarSearchViewAdapter).
+ */
+@Component
+public class CarSearchViewProjector implements ICarChangeEventSubscriber {
+
+    private final CarSearchViewAdapter carSearchViewAdapter;
+
+    public CarSearchViewProjector(CarSearchViewAdapter carSearchViewAdapter) {
+        this.carSearchViewAdapter = carSearchViewAdapter;
+    }
+
+    @Override
+    public void onCarChanges(List<CarChangeEvent> events) {
+        Set<Long> carIds = new LinkedHashSet<>();
+        Set<Long> userIds = new LinkedHashSet<>();
+
+        for (CarChangeEvent event : events) {
+            if (event.getCarId() != null) {
+                carIds.add(event.getCarId());
+            } else if (event.getUserId() != null) {
+                // PURGED o BULK_*: no se conocen los autos afectados, se reproyecta el usuario completo
+                userIds.add(event.getUserId());
+            }
+        }
+
+        carSearchViewAdapter.refreshUsers(userIds);
+        carSearchViewAdapter.refreshCars(carIds);
+    }
+}
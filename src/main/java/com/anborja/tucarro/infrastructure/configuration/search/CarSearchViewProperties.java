@@ -0,0 +1,47 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del modelo de lectura de búsqueda de autos (car_search_view).
+ */
+@Component
+@ConfigurationProperties(prefix = "car-search-view")
+public class CarSearchViewProperties {
+
+    private boolean reconcileOnStartup = true;
+    // El barrido diario también renueva la antigüedad de los autos al cambiar de año
+    private String reconcileCron = "0 15 0 * * *";
+    // Rango de IDs de autos que se reproyecta por transacción
+    private int batchSize = 1000;
+
+    // Constructor vacío
+    public CarSearchViewProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isReconcileOnStartup() {
+        return reconcileOnStartup;
+    }
+
+    public void setReconcileOnStartup(boolean reconcileOnStartup) {
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    public String getReconcileCron() {
+        return reconcileCron;
+    }
+
+    public void setReconcileCron(String reconcileCron) {
+        this.reconcileCron = reconcileCron;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
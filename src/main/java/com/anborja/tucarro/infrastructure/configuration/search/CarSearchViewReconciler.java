@@ -0,0 +1,84 @@
+package com.anborja.tucarro.infrastructure.configuration.search;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchViewAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reproyecta car_search_view completa por rangos de IDs. Es la red de seguridad del
+ * proyector: cubre los eventos que el relay no entregó (cambios hechos con la instancia
+ * detenida o lotes descartados tras agotar los reintentos), llena la vista la primera vez
+ * y renueva la antigüedad de los autos al cambiar de año.
+ * Corre al quedar lista la aplicación, después del relleno de las columnas normalizadas.
+ */
+@Component
+public class CarSearchViewReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarSearchViewReconciler.class);
+
+    private final CarSearchViewAdapter carSearchViewAdapter;
+    private final CarSearchViewProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public CarSearchViewReconciler(CarSearchViewAdapter carSearchViewAdapter,
+                                   CarSearchViewProperties properties,
+                                   ShardingProperties shardingProperties) {
+        this.carSearchViewAdapter = carSearchViewAdapter;
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isReconcileOnStartup()) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${car-search-view.reconcile-cron:0 15 0 * * *}")
+    public void reconcile() {
+        // El arranque y el cron pueden coincidir; una sola pasada a la vez
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                ShardContext.runOn(shard, this::reconcileShard);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcileShard() {
+        long maxId = carSearchViewAdapter.maxCarId();
+        int batchSize = properties.getBatchSize();
+        int changed = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            long toId = fromId + batchSize - 1;
+            try {
+                changed += carSearchViewAdapter.refreshRange(fromId, toId);
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia creó a la vez la fila del candado de la proyección; ya existe
+                logger.debug("Candado de la vista de búsqueda creado en paralelo; se repite el rango {}-{}", fromId, toId);
+                changed += carSearchViewAdapter.refreshRange(fromId, toId);
+            }
+        }
+
+        if (changed > 0) {
+            logger.info("Vista de búsqueda de autos reconciliada: {} filas corregidas", changed);
+        }
+    }
+}
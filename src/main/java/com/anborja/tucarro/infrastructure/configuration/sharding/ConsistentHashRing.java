@@ -0,0 +1,50 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente con nodos virtuales. Al agregar un shard solo cambian de dueño
+ * las claves de los tramos que ocupan sus nuevos puntos (≈ 1/N de los usuarios).
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<Integer> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un shard");
+        }
+        for (Integer shard : shards) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    /**
+     * Shard dueño de la clave: el primer punto del anillo en sentido horario
+     */
+    public int shardFor(long key) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(key);
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Hash de 64 bits estable entre versiones y máquinas (primeros 8 bytes de MD5)
+     */
+    public static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard sobre el que trabaja el hilo actual. {@link ShardRoutingDataSource} lo consulta al
+ * abrir cada conexión, por lo que debe fijarse antes de iniciar la transacción; cambiarlo
+ * con una transacción abierta dejaría la transacción en el shard anterior.
+ * Sin shard fijado se usa el shard 0.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    /**
+     * Shard del hilo actual, o null si no se fijó
+     */
+    public static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Ejecuta la operación con el shard dado y restaura el anterior al terminar
+     */
+    public static <T> T callOn(int shard, Supplier<T> operation) {
+        Integer previous = CURRENT_SHARD.get();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("No se puede cambiar al shard " + shard
+                    + " con una transacción abierta en el shard " + previous);
+        }
+
+        CURRENT_SHARD.set(shard);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable operation) {
+        callOn(shard, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // Constructor privado para evitar instanciación
+    private ShardContext() {
+        throw new IllegalStateException("Utility class");
+    }
+}
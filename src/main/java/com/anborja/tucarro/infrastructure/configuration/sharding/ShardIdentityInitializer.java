@@ -0,0 +1,122 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import com.anborja.tucarro.infrastructure.configuration.database.DatabaseEngine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Hace que cada shard genere IDs de usuarios y autos intercalados: el shard k usa los
+ * valores congruentes con k + 1 módulo id-stride. Así los IDs son únicos entre shards
+ * (la caché de segundo nivel y las URLs dependen de ello) y un usuario movido conserva
+ * los suyos sin chocar con los que genere el shard destino.
+ * <p>
+ * En MySQL se fija por sesión (auto_increment_increment/offset) al abrir cada conexión;
+ * en PostgreSQL y H2 se ajusta la columna IDENTITY una sola vez. SQL Server no permite
+ * cambiar el incremento de una columna IDENTITY existente y no se admite.
+ */
+public final class ShardIdentityInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardIdentityInitializer.class);
+
+    // Tablas cuyos IDs se exponen y deben ser únicos entre shards
+    private static final List<String> SHARDED_ID_TABLES = List.of("users", "cars");
+
+    /**
+     * Configura la sesión de las conexiones MySQL del pool
+     */
+    public static void configurePool(HikariDataSource pool, int shard, int stride) {
+        String url = pool.getJdbcUrl();
+        if (url != null && (url.startsWith("jdbc:mysql") || url.startsWith("jdbc:mariadb"))) {
+            pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + stride
+                    + ", auto_increment_offset = " + (shard + 1));
+        }
+    }
+
+    /**
+     * Verifica o ajusta la generación de IDs de un shard cuyo esquema ya existe
+     */
+    public static void align(DataSource dataSource, int shard, int stride) {
+        DatabaseEngine engine = DatabaseEngine.detect(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            switch (engine) {
+                case MYSQL -> verifyMySqlSession(connection, shard, stride);
+                case POSTGRESQL, H2 -> {
+                    for (String table : SHARDED_ID_TABLES) {
+                        alignIdentityColumn(connection, table, shard, stride);
+                    }
+                }
+                case SQLSERVER, OTHER -> throw new IllegalStateException(
+                        "El particionado no admite el motor " + engine + " (IDs IDENTITY intercalados)");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo ajustar la generación de IDs del shard " + shard, e);
+        }
+    }
+
+    private static void verifyMySqlSession(Connection connection, int shard, int stride) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT @@auto_increment_increment, @@auto_increment_offset")) {
+            rs.next();
+            if (rs.getInt(1) != stride || rs.getInt(2) != shard + 1) {
+                throw new IllegalStateException("El pool del shard " + shard
+                        + " no fija auto_increment_increment/offset al conectar");
+            }
+        }
+    }
+
+    private static void alignIdentityColumn(Connection connection, String table, int shard, int stride)
+            throws SQLException {
+        String increment;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT identity_increment FROM information_schema.columns "
+                        + "WHERE LOWER(table_name) = ? AND LOWER(column_name) = 'id' AND table_schema = CURRENT_SCHEMA")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                increment = rs.next() ? rs.getString(1) : null;
+            }
+        }
+
+        if (increment == null) {
+            throw new IllegalStateException("La columna " + table + ".id del shard " + shard + " no es IDENTITY");
+        }
+        if (Long.parseLong(increment.trim()) == stride) {
+            return;
+        }
+
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+
+        long next = nextAligned(maxId, shard, stride);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + stride);
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+        logger.info("Shard {}: IDs de {} intercalados cada {} a partir de {}", shard, table, stride, next);
+    }
+
+    /**
+     * Menor ID mayor que maxId que le corresponde al shard
+     */
+    static long nextAligned(long maxId, int shard, int stride) {
+        long next = maxId + 1;
+        return next + Math.floorMod(shard + 1 - next, stride);
+    }
+
+    // Constructor privado para evitar instanciación
+    private ShardIdentityInitializer() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,21 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import java.time.Duration;
+
+/**
+ * Se lanza al escribir datos de un usuario que se está moviendo de shard. Es transitoria:
+ * el cliente puede reintentar cuando termine la migración
+ */
+public class ShardMigrationInProgressException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ShardMigrationInProgressException(Long userId, Duration retryAfter) {
+        super("Los datos del usuario " + userId + " se están moviendo de shard");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,32 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Expone el estado del particionado en /actuator/shards y ejecuta el rebalanceo con un POST
+ * (opcionalmente con {@code limit}, por defecto rebalance-batch-size)
+ */
+@Endpoint(id = "shards")
+public class ShardRebalanceEndpoint {
+
+    private final ShardRebalancer rebalancer;
+    private final ShardingProperties properties;
+
+    public ShardRebalanceEndpoint(ShardRebalancer rebalancer, ShardingProperties properties) {
+        this.rebalancer = rebalancer;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public ShardRebalancer.ShardStatus status() {
+        return rebalancer.status();
+    }
+
+    @WriteOperation
+    public ShardRebalancer.RebalanceReport rebalance(@Nullable Integer limit) throws InterruptedException {
+        return rebalancer.rebalance(limit != null && limit > 0 ? limit : properties.getRebalanceBatchSize());
+    }
+}
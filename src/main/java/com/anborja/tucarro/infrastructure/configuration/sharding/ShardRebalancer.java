@@ -0,0 +1,341 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardDirectoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mueve en línea a los usuarios cuyo shard ya no coincide con el que les asigna el anillo
+ * (por ejemplo, tras agregar un shard o marcar uno en retiro).
+ * <p>
+ * Por cada lote: marca a los usuarios en migración (sus escrituras se rechazan con 503),
+ * espera drain-period a que terminen las escrituras en curso, copia en una transacción del
+ * destino sus filas con los mismos IDs, apunta el directorio al destino y, pasado
+ * directory-cache-ttl para que ninguna instancia lea aún del origen, borra las filas del
+ * origen. Las lecturas siguen funcionando durante todo el proceso. Un lote interrumpido
+ * se retoma en la siguiente ejecución: la copia empieza borrando lo que hubiera en el destino.
+ */
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final int DIRECTORY_PAGE_SIZE = 500;
+
+    // Tablas de un usuario en orden de inserción (las claves foráneas apuntan a users)
+    private static final List<UserTable> USER_TABLES = List.of(
+            new UserTable("users", "id"),
+            new UserTable("user_car_stats", "user_id"),
+            new UserTable("user_car_year_counts", "user_id"),
+            new UserTable("user_car_brand_counts", "user_id"),
+            // Antes que cars: al borrar en orden inverso, las versiones que registran los
+            // triggers al borrar los autos del origen se eliminan también
+            new UserTable("cars_history", "user_id"),
+            new UserTable("cars", "user_id"),
+            new UserTable("car_search_view", "user_id"),
+            new UserTable("cars_archive", "user_id")
+    );
+
+    private final ShardRegistry shardRegistry;
+    private final ShardDirectoryAdapter directory;
+    private final ShardingProperties properties;
+
+    public ShardRebalancer(ShardRegistry shardRegistry,
+                           ShardDirectoryAdapter directory,
+                           ShardingProperties properties) {
+        this.shardRegistry = shardRegistry;
+        this.directory = directory;
+        this.properties = properties;
+    }
+
+    /**
+     * Estado del particionado: usuarios por shard y cuántos esperan ser movidos
+     */
+    public ShardStatus status() {
+        return new ShardStatus(
+                shardRegistry.getShardCount(),
+                directory.countByShard(),
+                directory.countMoving(),
+                findCandidates(Integer.MAX_VALUE).size(),
+                directory.findUnregisteredUsers(DIRECTORY_PAGE_SIZE).size());
+    }
+
+    /**
+     * Registra usuarios previos al particionado y mueve hasta limit usuarios mal ubicados
+     */
+    public synchronized RebalanceReport rebalance(int limit) throws InterruptedException {
+        int registered = registerLegacyUsers(limit);
+
+        List<ShardDirectoryEntity> candidates = findCandidates(limit);
+        if (candidates.isEmpty()) {
+            return new RebalanceReport(registered, 0, 0, 0);
+        }
+
+        List<Long> userIds = candidates.stream().map(ShardDirectoryEntity::getUserId).toList();
+        directory.markMoving(userIds);
+        logger.info("Rebalanceo: {} usuarios marcados en migración, esperando {}", userIds.size(), properties.getDrainPeriod());
+        sleep(properties.getDrainPeriod());
+
+        List<Move> completed = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        int failed = 0;
+        for (ShardDirectoryEntity entry : candidates) {
+            int target = shardRegistry.placementShard(entry.getRingKey());
+            try {
+                if (target != entry.getShardId() && copyUser(entry.getUserId(), entry.getShardId(), target)) {
+                    directory.completeMove(entry.getUserId(), target);
+                    completed.add(new Move(entry.getUserId(), entry.getShardId(), target));
+                } else {
+                    released.add(entry.getUserId());
+                }
+            } catch (SQLException | RuntimeException e) {
+                failed++;
+                released.add(entry.getUserId());
+                logger.warn("No se pudo mover al usuario {} del shard {} al {}: {}",
+                        entry.getUserId(), entry.getShardId(), target, e.getMessage());
+            }
+        }
+        directory.clearMoving(released);
+
+        if (!completed.isEmpty()) {
+            // Las instancias con el shard anterior en caché siguen leyendo del origen hasta que expira
+            sleep(properties.getDirectoryCacheTtl());
+            for (Move move : completed) {
+                try {
+                    deleteUserRows(move.userId, move.source);
+                } catch (SQLException e) {
+                    logger.warn("Usuario {} movido al shard {}, pero sus filas siguen en el shard {}: {}",
+                            move.userId, move.target, move.source, e.getMessage());
+                }
+            }
+        }
+
+        logger.info("Rebalanceo: {} registrados, {} movidos, {} sin mover, {} fallidos",
+                registered, completed.size(), released.size() - failed, failed);
+        return new RebalanceReport(registered, completed.size(), released.size() - failed, failed);
+    }
+
+    /**
+     * Da de alta en el directorio a los usuarios del shard 0 que aún no tienen entrada
+     */
+    private int registerLegacyUsers(int limit) {
+        int registered = 0;
+        for (Object[] row : directory.findUnregisteredUsers(limit)) {
+            Long userId = ((Number) row[0]).longValue();
+            String email = (String) row[1];
+            try {
+                directory.register(userId, email, ShardDirectoryAdapter.DIRECTORY_SHARD, ConsistentHashRing.hash(email));
+                registered++;
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo registrar en el directorio al usuario {}: {}", userId, e.getMessage());
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * Entradas cuyo shard no es el del anillo, más las que quedaron marcadas por un lote
+     * interrumpido
+     */
+    private List<ShardDirectoryEntity> findCandidates(int limit) {
+        List<ShardDirectoryEntity> candidates = new ArrayList<>();
+        Long afterUserId = 0L;
+        List<ShardDirectoryEntity> page;
+        do {
+            page = directory.findPageAfter(afterUserId, DIRECTORY_PAGE_SIZE);
+            for (ShardDirectoryEntity entry : page) {
+                if (entry.isMoving() || shardRegistry.placementShard(entry.getRingKey()) != entry.getShardId()) {
+                    candidates.add(entry);
+                    if (candidates.size() >= limit) {
+                        return candidates;
+                    }
+                }
+            }
+            if (!page.isEmpty()) {
+                afterUserId = page.get(page.size() - 1).getUserId();
+            }
+        } while (page.size() == DIRECTORY_PAGE_SIZE);
+        return candidates;
+    }
+
+    /**
+     * Copia las filas del usuario al destino en una sola transacción
+     *
+     * @return false si el usuario ya no debe moverse (borrado o en eliminación)
+     */
+    private boolean copyUser(Long userId, int source, int target) throws SQLException {
+        try (Connection from = shardRegistry.getDataSource(source).getConnection();
+             Connection to = shardRegistry.getDataSource(target).getConnection()) {
+
+            Timestamp deletedAt;
+            boolean exists;
+            try (PreparedStatement statement = from.prepareStatement("SELECT deleted_at FROM users WHERE id = ?")) {
+                statement.setLong(1, userId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    exists = rs.next();
+                    deletedAt = exists ? rs.getTimestamp(1) : null;
+                }
+            }
+            if (!exists) {
+                directory.remove(userId);
+                return false;
+            }
+            if (deletedAt != null) {
+                return false;
+            }
+
+            to.setAutoCommit(false);
+            try {
+                deleteRows(to, userId);
+                for (UserTable table : USER_TABLES) {
+                    copyRows(from, to, table, userId);
+                }
+                to.commit();
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void copyRows(Connection from, Connection to, UserTable table, Long userId) throws SQLException {
+        String quote = to.getMetaData().getIdentifierQuoteString().trim();
+        try (PreparedStatement select = from.prepareStatement(
+                "SELECT * FROM " + table.name + " WHERE " + table.userColumn + " = ?")) {
+            select.setLong(1, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                ResultSetMetaData metadata = rs.getMetaData();
+                int columns = metadata.getColumnCount();
+                List<String> names = new ArrayList<>(columns);
+                for (int column = 1; column <= columns; column++) {
+                    names.add(quote + metadata.getColumnLabel(column) + quote);
+                }
+
+                String insert = "INSERT INTO " + table.name + " (" + String.join(", ", names) + ") VALUES ("
+                        + names.stream().map(name -> "?").collect(Collectors.joining(", ")) + ")";
+                try (PreparedStatement statement = to.prepareStatement(insert)) {
+                    while (rs.next()) {
+                        for (int column = 1; column <= columns; column++) {
+                            statement.setObject(column, rs.getObject(column));
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    private void deleteUserRows(Long userId, int shard) throws SQLException {
+        try (Connection connection = shardRegistry.getDataSource(shard).getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                deleteRows(connection, userId);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void deleteRows(Connection connection, Long userId) throws SQLException {
+        for (int index = USER_TABLES.size() - 1; index >= 0; index--) {
+            UserTable table = USER_TABLES.get(index);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + table.name + " WHERE " + table.userColumn + " = ?")) {
+                statement.setLong(1, userId);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero() && !duration.isNegative()) {
+            Thread.sleep(duration.toMillis());
+        }
+    }
+
+    private static final class UserTable {
+        private final String name;
+        private final String userColumn;
+
+        private UserTable(String name, String userColumn) {
+            this.name = name;
+            this.userColumn = userColumn;
+        }
+    }
+
+    private static final class Move {
+        private final Long userId;
+        private final int source;
+        private final int target;
+
+        private Move(Long userId, int source, int target) {
+            this.userId = userId;
+            this.source = source;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Estado del particionado
+     */
+    public static class ShardStatus {
+        private final int shards;
+        private final Map<Integer, Long> usersByShard;
+        private final long moving;
+        private final int misplaced;
+        private final int unregistered;
+
+        public ShardStatus(int shards, Map<Integer, Long> usersByShard, long moving, int misplaced, int unregistered) {
+            this.shards = shards;
+            this.usersByShard = usersByShard;
+            this.moving = moving;
+            this.misplaced = misplaced;
+            this.unregistered = unregistered;
+        }
+
+        public int getShards() { return shards; }
+        public Map<Integer, Long> getUsersByShard() { return usersByShard; }
+        public long getMoving() { return moving; }
+        public int getMisplaced() { return misplaced; }
+        // Usuarios previos al particionado sin entrada en el directorio (hasta un lote)
+        public int getUnregistered() { return unregistered; }
+    }
+
+    /**
+     * Resultado de una ejecución del rebalanceo
+     */
+    public static class RebalanceReport {
+        private final int registered;
+        private final int moved;
+        private final int skipped;
+        private final int failed;
+
+        public RebalanceReport(int registered, int moved, int skipped, int failed) {
+            this.registered = registered;
+            this.moved = moved;
+            this.skipped = skipped;
+            this.failed = failed;
+        }
+
+        public int getRegistered() { return registered; }
+        public int getMoved() { return moved; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+    }
+}
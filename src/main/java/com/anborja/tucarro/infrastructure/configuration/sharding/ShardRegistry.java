@@ -0,0 +1,140 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Shards configurados: sus pools, el anillo de hash consistente que ubica a los usuarios
+ * nuevos y el ejecutor de las consultas repartidas entre todos los shards.
+ */
+public class ShardRegistry {
+
+    private final ShardingProperties properties;
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final ConsistentHashRing ring;
+
+    private ExecutorService scatterExecutor;
+
+    public ShardRegistry(DataSource shardZero, ShardingProperties properties) {
+        this.properties = properties;
+        this.dataSources.add(shardZero);
+
+        List<Integer> placementShards = new ArrayList<>(List.of(0));
+        for (int index = 0; index < properties.getShards().size(); index++) {
+            ShardingProperties.Shard shard = properties.getShards().get(index);
+            int shardId = index + 1;
+            dataSources.add(createPool(shardId, shard));
+            if (!shard.isDraining()) {
+                placementShards.add(shardId);
+            }
+        }
+        this.ring = new ConsistentHashRing(placementShards, properties.getVirtualNodes());
+    }
+
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        scatterExecutor = Executors.newFixedThreadPool(properties.getScatterThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void stop() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+        // El shard 0 es un bean propio; los demás pools se crearon aquí
+        for (int shard = 1; shard < dataSources.size(); shard++) {
+            if (dataSources.get(shard) instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+
+    public int getShardCount() {
+        return dataSources.size();
+    }
+
+    public List<DataSource> getDataSources() {
+        return List.copyOf(dataSources);
+    }
+
+    /**
+     * Pool físico de un shard
+     */
+    public DataSource getDataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    /**
+     * Shard que el anillo asigna a una clave de ubicación
+     */
+    public int placementShard(long ringKey) {
+        return ring.shardFor(ringKey);
+    }
+
+    /**
+     * Shard que generó un ID (ver {@link ShardIdentityInitializer}). Es solo una pista: los
+     * IDs anteriores al particionado y los de usuarios movidos están en otro shard
+     */
+    public int originShardHint(long id) {
+        int shard = (int) Math.floorMod(id - 1, (long) properties.getIdStride());
+        return shard < getShardCount() ? shard : 0;
+    }
+
+    /**
+     * Ejecuta la operación en todos los shards en paralelo y devuelve los resultados en orden
+     * de shard. Cada operación abre su propia transacción en el hilo que la ejecuta
+     */
+    public <T> List<T> scatter(IntFunction<T> operation) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> ShardContext.callOn(target, () -> operation.apply(target))));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta entre shards interrumpida", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Error en la consulta entre shards", e.getCause());
+        }
+        return results;
+    }
+
+    private HikariDataSource createPool(int shardId, ShardingProperties.Shard shard) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .driverClassName(shard.getDriverClassName())
+                .build();
+        pool.setPoolName("TuCarroHikariPool-Shard" + shardId);
+        pool.setMaximumPoolSize(properties.getMaxPoolSize());
+        pool.setMinimumIdle(1);
+        ShardIdentityInitializer.configurePool(pool, shardId, properties.getIdStride());
+        return pool;
+    }
+}
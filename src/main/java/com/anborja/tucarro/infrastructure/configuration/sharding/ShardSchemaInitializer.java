@@ -0,0 +1,37 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prepara los shards antes de atender peticiones: crea o actualiza el esquema de los shards
+ * adicionales y ajusta en todos la generación de IDs intercalados
+ */
+public class ShardSchemaInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final ShardRegistry shardRegistry;
+    private final ShardSchemaIntegrator schemaIntegrator;
+    private final ShardingProperties properties;
+
+    public ShardSchemaInitializer(ShardRegistry shardRegistry,
+                                  ShardSchemaIntegrator schemaIntegrator,
+                                  ShardingProperties properties) {
+        this.shardRegistry = shardRegistry;
+        this.schemaIntegrator = schemaIntegrator;
+        this.properties = properties;
+    }
+
+    public void initialize() {
+        for (int shard = 0; shard < shardRegistry.getShardCount(); shard++) {
+            // Hibernate ya aplicó la acción de esquema sobre el shard 0 al crear la fábrica
+            if (shard > 0) {
+                schemaIntegrator.applySchemaAction(shard);
+            }
+            ShardIdentityInitializer.align(shardRegistry.getDataSource(shard), shard, properties.getIdStride());
+        }
+        logger.info("Particionado activo con {} shards (paso de IDs {})",
+                shardRegistry.getShardCount(), properties.getIdStride());
+    }
+}
@@ -0,0 +1,51 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.HashMap;
+
+/**
+ * Conserva el modelo de Hibernate para aplicar en cada shard adicional la misma acción de
+ * esquema (spring.jpa.hibernate.ddl-auto) que Hibernate aplica al arrancar sobre el shard 0.
+ * La acción usa el DataSource enrutado, así que se ejecuta sobre el shard fijado en
+ * {@link ShardContext}
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory,
+                             SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    /**
+     * Aplica la acción de esquema configurada sobre el shard dado
+     */
+    public void applySchemaAction(int shard) {
+        if (metadata == null) {
+            throw new IllegalStateException("El modelo de Hibernate aún no está disponible");
+        }
+        // Los borrados diferidos de create-drop solo se registran para el shard 0
+        ShardContext.runOn(shard, () -> SchemaManagementToolCoordinator.process(
+                metadata,
+                sessionFactory.getServiceRegistry(),
+                new HashMap<>(sessionFactory.getProperties()),
+                action -> { }));
+    }
+}
@@ -0,0 +1,175 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import com.anborja.tucarro.domain.spi.IAccountDeletionPort;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.spi.ICarSearchViewPort;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.datasource.ReplicaDataSourceProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.AccountDeletionAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarRepositoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.UserCarStatsAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.UserRepositoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardDirectoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedAccountDeletionAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedCarRepositoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedCarSearchViewAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedUserCarStatsAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardedUserRepositoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IShardDirectoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Configuración del particionado por usuario. Solo se activa con {@code sharding.enabled=true}
+ * y reemplaza el DataSource principal por el enrutador de shards, por lo que no puede
+ * combinarse con la réplica de lectura. Los puertos de usuarios, autos, estadísticas,
+ * eliminación de cuentas y búsqueda se sustituyen por sus versiones particionadas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private final ShardingProperties shardingProperties;
+    private final ShardSchemaIntegrator schemaIntegrator = new ShardSchemaIntegrator();
+
+    public ShardingConfig(ShardingProperties shardingProperties,
+                          ReplicaDataSourceProperties replicaProperties) {
+        if (replicaProperties.isEnabled()) {
+            throw new IllegalStateException("sharding.enabled y replica.enabled no pueden activarse juntos");
+        }
+        this.shardingProperties = shardingProperties;
+    }
+
+    /**
+     * Pool del shard 0, configurado con las mismas propiedades spring.datasource.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shardZeroDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        ShardIdentityInitializer.configurePool(pool, 0, shardingProperties.getIdStride());
+        return pool;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ShardRegistry shardRegistry(@Qualifier("shardZeroDataSource") DataSource shardZeroDataSource) {
+        return new ShardRegistry(shardZeroDataSource, shardingProperties);
+    }
+
+    /**
+     * DataSource principal de la aplicación: enruta cada conexión al shard del hilo actual
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRegistry shardRegistry) {
+        return new ShardRoutingDataSource(shardRegistry.getDataSources());
+    }
+
+    /**
+     * Registra el integrador del esquema y libera la conexión al terminar cada transacción:
+     * con open-in-view el EntityManager de la petición retendría la conexión del primer shard
+     * que tocó y las transacciones siguientes no llegarían a su shard
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(schemaIntegrator));
+            hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        };
+    }
+
+    @Bean(initMethod = "initialize")
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRegistry shardRegistry,
+                                                         EntityManagerFactory entityManagerFactory) {
+        return new ShardSchemaInitializer(shardRegistry, schemaIntegrator, shardingProperties);
+    }
+
+    @Bean
+    public ShardDirectoryAdapter shardDirectoryAdapter(IShardDirectoryRepository directoryRepository,
+                                                       PlatformTransactionManager transactionManager) {
+        return new ShardDirectoryAdapter(directoryRepository, transactionManager, shardingProperties);
+    }
+
+    @Bean
+    @Primary
+    @DependsOn("shardSchemaInitializer")
+    public IUserRepositoryPort shardedUserRepositoryPort(UserRepositoryAdapter userRepositoryAdapter,
+                                                         ShardDirectoryAdapter directory,
+                                                         ShardRegistry shardRegistry) {
+        return new ShardedUserRepositoryAdapter(userRepositoryAdapter, directory, shardRegistry);
+    }
+
+    @Bean
+    @Primary
+    @DependsOn("shardSchemaInitializer")
+    public ICarRepositoryPort shardedCarRepositoryPort(CarRepositoryAdapter carRepositoryAdapter,
+                                                       ShardDirectoryAdapter directory,
+                                                       ShardRegistry shardRegistry) {
+        return new ShardedCarRepositoryAdapter(carRepositoryAdapter, directory, shardRegistry);
+    }
+
+    @Bean
+    @Primary
+    public IUserCarStatsPort shardedUserCarStatsPort(UserCarStatsAdapter userCarStatsAdapter,
+                                                     ShardDirectoryAdapter directory) {
+        return new ShardedUserCarStatsAdapter(userCarStatsAdapter, directory);
+    }
+
+    @Bean
+    @Primary
+    public IAccountDeletionPort shardedAccountDeletionPort(AccountDeletionAdapter accountDeletionAdapter,
+                                                           ShardDirectoryAdapter directory,
+                                                           ShardRegistry shardRegistry) {
+        return new ShardedAccountDeletionAdapter(accountDeletionAdapter, directory, shardRegistry);
+    }
+
+    @Bean
+    @Primary
+    public ICarFullTextSearchPort shardedCarFullTextSearchPort(
+            @Qualifier("carFullTextSearchPort") ICarFullTextSearchPort carFullTextSearchPort,
+            ShardDirectoryAdapter directory) {
+        return new ShardedCarFullTextSearchAdapter(carFullTextSearchPort, directory);
+    }
+
+    @Bean
+    @Primary
+    public ICarSearchViewPort shardedCarSearchViewPort(
+            @Qualifier("carSearchViewAdapter") ICarSearchViewPort carSearchViewPort,
+            ShardDirectoryAdapter directory) {
+        return new ShardedCarSearchViewAdapter(carSearchViewPort, directory);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRegistry shardRegistry, ShardDirectoryAdapter directory) {
+        return new ShardRebalancer(shardRegistry, directory, shardingProperties);
+    }
+
+    @Bean
+    public ShardRebalanceEndpoint shardRebalanceEndpoint(ShardRebalancer shardRebalancer) {
+        return new ShardRebalanceEndpoint(shardRebalancer, shardingProperties);
+    }
+}
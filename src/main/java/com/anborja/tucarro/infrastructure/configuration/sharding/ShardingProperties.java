@@ -0,0 +1,190 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades del particionado por usuario. El shard 0 es la base de spring.datasource y
+ * guarda además el directorio usuario → shard; los shards adicionales se listan en
+ * {@code sharding.shards} y reciben los índices 1, 2, ... en el orden en que aparecen.
+ */
+@Component
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Paso de los IDs IDENTITY: el shard k genera IDs congruentes con k + 1 módulo este valor,
+     * de modo que usuarios y autos tienen IDs únicos en todas las bases. Es el máximo de
+     * shards que podrá tener el despliegue y no debe cambiarse después
+     */
+    private int idStride = 16;
+
+    /** Puntos por shard en el anillo de hash consistente */
+    private int virtualNodes = 64;
+
+    /** Tiempo durante el cual se recuerda el shard de un usuario para las lecturas */
+    private Duration directoryCacheTtl = Duration.ofSeconds(5);
+
+    /** Espera tras marcar usuarios en migración para que terminen las escrituras en curso */
+    private Duration drainPeriod = Duration.ofSeconds(5);
+
+    /** Usuarios movidos como máximo por cada llamada al rebalanceo */
+    private int rebalanceBatchSize = 50;
+
+    /** Hilos para las consultas repartidas entre todos los shards */
+    private int scatterThreads = 4;
+
+    /** Tamaño del pool de cada shard adicional */
+    private int maxPoolSize = 5;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // Constructor vacío
+    public ShardingProperties() {
+    }
+
+    /**
+     * Número de shards activos; sin particionado hay uno solo (la base principal)
+     */
+    public int getShardCount() {
+        return enabled ? shards.size() + 1 : 1;
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIdStride() {
+        return idStride;
+    }
+
+    public void setIdStride(int idStride) {
+        this.idStride = idStride;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public Duration getDirectoryCacheTtl() {
+        return directoryCacheTtl;
+    }
+
+    public void setDirectoryCacheTtl(Duration directoryCacheTtl) {
+        this.directoryCacheTtl = directoryCacheTtl;
+    }
+
+    public Duration getDrainPeriod() {
+        return drainPeriod;
+    }
+
+    public void setDrainPeriod(Duration drainPeriod) {
+        this.drainPeriod = drainPeriod;
+    }
+
+    public int getRebalanceBatchSize() {
+        return rebalanceBatchSize;
+    }
+
+    public void setRebalanceBatchSize(int rebalanceBatchSize) {
+        this.rebalanceBatchSize = rebalanceBatchSize;
+    }
+
+    public int getScatterThreads() {
+        return scatterThreads;
+    }
+
+    public void setScatterThreads(int scatterThreads) {
+        this.scatterThreads = scatterThreads;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Conexión de un shard adicional
+     */
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+
+        /** Un shard en retiro no recibe usuarios nuevos y el rebalanceo lo vacía */
+        private boolean draining = false;
+
+        // Constructor vacío
+        public Shard() {
+        }
+
+        // Getters y Setters
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public boolean isDraining() {
+            return draining;
+        }
+
+        public void setDraining(boolean draining) {
+            this.draining = draining;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.anborja.tucarro.infrastructure.configuration.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades de la reconciliación de las estadísticas agregadas de autos por usuario
+ * (user_car_stats, user_car_year_counts y user_car_brand_counts).
+ */
+@Component
+@ConfigurationProperties(prefix = "car-stats")
+public class CarStatsProperties {
+
+    private boolean reconciliationEnabled = true;
+    private boolean reconcileOnStartup = true;
+    private String reconciliationCron = "0 30 3 * * *";
+    private int batchSize = 200;
+
+    // Constructor vacío
+    public CarStatsProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isReconciliationEnabled() {
+        return reconciliationEnabled;
+    }
+
+    public void setReconciliationEnabled(boolean reconciliationEnabled) {
+        this.reconciliationEnabled = reconciliationEnabled;
+    }
+
+    public boolean isReconcileOnStartup() {
+        return reconcileOnStartup;
+    }
+
+    public void setReconcileOnStartup(boolean reconcileOnStartup) {
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    public String getReconciliationCron() {
+        return reconciliationCron;
+    }
+
+    public void setReconciliationCron(String reconciliationCron) {
+        this.reconciliationCron = reconciliationCron;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
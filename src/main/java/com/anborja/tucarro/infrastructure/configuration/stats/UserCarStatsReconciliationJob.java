@@ -0,0 +1,105 @@
+package com.anborja.tucarro.infrastructure.configuration.stats;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.UserCarStatsAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Corrige la deriva de las estadísticas agregadas de autos por usuario: crea las filas
+ * de usuarios anteriores a las tablas, recalcula cada usuario desde cars y reemplaza los
+ * conteos que no coinciden, y elimina las estadísticas de usuarios borrados.
+ * Cada usuario se reconcilia en su propia transacción, tomando primero el candado de su
+ * fila, de modo que no compite con las escrituras de autos más allá de ese usuario.
+ * Con particionado cada shard se reconcilia por separado: usuarios y autos viven juntos.
+ */
+@Component
+@ConditionalOnProperty(prefix = "car-stats", name = "reconciliation-enabled", havingValue = "true", matchIfMissing = true)
+public class UserCarStatsReconciliationJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCarStatsReconciliationJob.class);
+
+    private final UserCarStatsAdapter userCarStats;
+    private final IUserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CarStatsProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public UserCarStatsReconciliationJob(UserCarStatsAdapter userCarStats,
+                                         IUserRepository userRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         CarStatsProperties properties,
+                                         ShardingProperties shardingProperties) {
+        this.userCarStats = userCarStats;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isReconcileOnStartup()) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${car-stats.reconciliation-cron:0 30 3 * * *}")
+    public void reconcile() {
+        // El arranque y el cron pueden coincidir; una sola pasada a la vez
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                ShardContext.runOn(shard, this::reconcileShard);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcileShard() {
+        long lastId = 0;
+        int checked = 0;
+        int corrected = 0;
+        List<Long> userIds;
+
+        do {
+            userIds = userRepository.findIdsAfter(lastId, PageRequest.of(0, properties.getBatchSize()));
+            for (Long userId : userIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> userCarStats.reconcile(userId)))) {
+                    corrected++;
+                }
+            }
+            if (!userIds.isEmpty()) {
+                lastId = userIds.get(userIds.size() - 1);
+                checked += userIds.size();
+            }
+        } while (userIds.size() == properties.getBatchSize());
+
+        Integer orphans = transactionTemplate.execute(status -> userCarStats.deleteOrphans());
+
+        if (corrected > 0 || (orphans != null && orphans > 0)) {
+            logger.warn("Estadísticas de autos reconciliadas: {} de {} usuarios corregidos, {} huérfanas eliminadas",
+                    corrected, checked, orphans);
+        } else {
+            logger.info("Estadísticas de autos verificadas para {} usuarios sin desviaciones", checked);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.anborja.tucarro.infrastructure.configuration.warmstart;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lee de cars en todos los shards lo necesario para poner al día una copia en memoria tomada
+ * antes de un reinicio: la marca de agua (la mayor de los shards), los autos cambiados desde
+ * una marca y los conteos con los que se detectan las eliminaciones. Las listas de IDs se
+ * consultan por lotes para acotar el tamaño de cada IN.
+ */
+public class CarDeltaReader implements LuceneCarSearchIndex.CarSource {
+
+    private final CarSearchIndexSourceAdapter source;
+    private final ShardingProperties shardingProperties;
+    private final WarmStartProperties properties;
+
+    public CarDeltaReader(CarSearchIndexSourceAdapter source,
+                          ShardingProperties shardingProperties,
+                          WarmStartProperties properties) {
+        this.source = source;
+        this.shardingProperties = shardingProperties;
+        this.properties = properties;
+    }
+
+    public CarHighWaterMark readHighWaterMark() {
+        CarHighWaterMark mark = CarHighWaterMark.empty();
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            mark = mark.merge(ShardContext.callOn(shard, source::readHighWaterMark));
+        }
+        return mark;
+    }
+
+    /**
+     * Autos modificados o creados después de la marca, con el margen de replay-overlap,
+     * como ID del auto y ID de su propietario
+     */
+    public Map<Long, Long> findChangedSince(CarHighWaterMark mark) {
+        Map<Long, Long> owners = new HashMap<>();
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            owners.putAll(ShardContext.callOn(shard, () ->
+                    source.findChangedSince(mark.replayFrom(properties.getReplayOverlap()), mark.getMaxId())));
+        }
+        return owners;
+    }
+
+    @Override
+    public List<Car> findByIds(Collection<Long> carIds) {
+        return onAllShards(source::findByIds, carIds);
+    }
+
+    @Override
+    public List<Car> findByUserIds(Collection<Long> userIds) {
+        return onAllShards(source::findByUserIds, userIds);
+    }
+
+    /**
+     * Número de autos de cada usuario, sumando los shards; los usuarios sin autos no aparecen
+     */
+    public Map<Long, Long> countByUserIds(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (List<Long> batch : batches(userIds)) {
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                ShardContext.callOn(shard, () -> source.countByUserIds(batch))
+                        .forEach((userId, count) -> counts.merge(userId, count, Long::sum));
+            }
+        }
+        return counts;
+    }
+
+    public long count() {
+        long count = 0;
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            count += ShardContext.callOn(shard, source::count);
+        }
+        return count;
+    }
+
+    /**
+     * IDs de todos los autos, en orden ascendente y sin repetir (un auto que pasa de shard
+     * durante el recorrido puede leerse en ambos)
+     */
+    public long[] findAllIds() {
+        int idBatchSize = properties.getIdBatchSize();
+        long[] ids = new long[1024];
+        int count = 0;
+        for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+            long lastId = 0;
+            List<Long> batch;
+            do {
+                long afterId = lastId;
+                batch = ShardContext.callOn(shard, () -> source.findIdsAfter(afterId, idBatchSize));
+                if (count + batch.size() > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + batch.size()));
+                }
+                for (Long id : batch) {
+                    ids[count++] = id;
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1);
+                }
+            } while (batch.size() == idBatchSize);
+        }
+
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Divide los IDs en lotes de batch-size
+     */
+    public List<List<Long>> batches(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += properties.getBatchSize()) {
+            batches.add(all.subList(from, Math.min(all.size(), from + properties.getBatchSize())));
+        }
+        return batches;
+    }
+
+    private List<Car> onAllShards(Function<Collection<Long>, List<Car>> reader, Collection<Long> ids) {
+        List<Car> cars = new ArrayList<>();
+        for (List<Long> batch : batches(ids)) {
+            for (int shard = 0; shard < shardingProperties.getShardCount(); shard++) {
+                cars.addAll(ShardContext.callOn(shard, () -> reader.apply(batch)));
+            }
+        }
+        return cars;
+    }
+}
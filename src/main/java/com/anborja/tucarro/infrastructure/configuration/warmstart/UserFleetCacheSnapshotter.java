@@ -0,0 +1,174 @@
+package com.anborja.tucarro.infrastructure.configuration.warmstart;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.infrastructure.configuration.outbox.CarOutboxRelay;
+import com.anborja.tucarro.infrastructure.driven.cache.FleetSnapshotFile;
+import com.anborja.tucarro.infrastructure.driven.cache.UserFleetCacheAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Arranque en caliente de la caché de flotas. Copia las flotas a disco periódicamente y una
+ * última vez al detenerse; al arrancar las vuelve a instalar y las pone al día con cars:
+ * <ol>
+ *     <li>descarta la copia si su marca de agua va por delante de la base de datos</li>
+ *     <li>instala las flotas de los usuarios sin autos cambiados desde la marca; las de los
+ *     demás se cargan de la base de datos en su primer acceso</li>
+ *     <li>busca de nuevo los cambios y relee los autos de los usuarios ya instalados, por si
+ *     alguno se confirmó mientras se instalaban</li>
+ *     <li>descarta las flotas cuyo número de autos ya no coincide con cars (eliminaciones)</li>
+ * </ol>
+ * Desde que se instala una flota, los cambios que entrega el outbox se aplican sobre ella.
+ * Las flotas en caché van por detrás de cars en lo que el relay aún no entregó: al copiar se
+ * omiten los usuarios con eventos pendientes, que tras el reinicio se cargan de la base de datos.
+ */
+public class UserFleetCacheSnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserFleetCacheSnapshotter.class);
+
+    private final UserFleetCacheAdapter fleetCache;
+    private final CarDeltaReader deltaReader;
+    private final FleetSnapshotFile file;
+    // null con el outbox deshabilitado: no hay entregas pendientes que esperar
+    private final CarOutboxRelay relay;
+
+    // No se escribe ninguna copia hasta haber leído la anterior
+    private volatile boolean restored;
+
+    public UserFleetCacheSnapshotter(UserFleetCacheAdapter fleetCache,
+                                     CarDeltaReader deltaReader,
+                                     FleetSnapshotFile file,
+                                     CarOutboxRelay relay) {
+        this.fleetCache = fleetCache;
+        this.deltaReader = deltaReader;
+        this.file = file;
+        this.relay = relay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::restore, "fleet-cache-restore");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Instala las flotas de la última copia y las pone al día con cars
+     */
+    public void restore() {
+        Set<Long> installed = new HashSet<>();
+        try {
+            if (!fleetCache.isEnabled()) {
+                return;
+            }
+            Instant startedAt = Instant.now();
+            FleetSnapshotFile.Snapshot snapshot = file.read();
+            if (snapshot == null) {
+                logger.info("No hay copia de la caché de flotas en {}; arranca vacía", file.getFile());
+                return;
+            }
+
+            CarHighWaterMark mark = snapshot.getMark();
+            CarHighWaterMark current = deltaReader.readHighWaterMark();
+            if (mark.isAheadOf(current)) {
+                logger.warn("La copia de la caché de flotas ({}) va por delante de la base de datos ({}); se descarta",
+                        mark, current);
+                return;
+            }
+
+            Set<Long> changedUsers = new HashSet<>(deltaReader.findChangedSince(mark).values());
+            for (CarFleet fleet : snapshot.getFleets()) {
+                if (!changedUsers.contains(fleet.getUserId())) {
+                    fleetCache.restore(fleet);
+                    installed.add(fleet.getUserId());
+                }
+            }
+
+            // Cambios confirmados mientras se instalaban: se releen dentro del bloqueo de la entrada
+            Map<Long, Set<Long>> lateChanges = new HashMap<>();
+            deltaReader.findChangedSince(mark).forEach((carId, userId) -> {
+                if (installed.contains(userId)) {
+                    lateChanges.computeIfAbsent(userId, id -> new LinkedHashSet<>()).add(carId);
+                }
+            });
+            lateChanges.forEach((userId, carIds) -> fleetCache.refresh(userId, carIds, deltaReader::findByIds));
+
+            int discarded = 0;
+            for (List<Long> batch : deltaReader.batches(installed)) {
+                Map<Long, Long> counts = deltaReader.countByUserIds(batch);
+                for (Long userId : batch) {
+                    if (fleetCache.discardIfSizeDiffers(userId, counts.getOrDefault(userId, 0L))) {
+                        discarded++;
+                    }
+                }
+            }
+
+            logger.info("Caché de flotas restaurada desde la copia de {} ({} KB): {} usuarios instalados, " +
+                            "{} con cambios desde la marca, {} descartados por eliminaciones, en {} ms",
+                    snapshot.getCreatedAt(), snapshot.getSizeBytes() / 1024, installed.size() - discarded,
+                    changedUsers.size() + lateChanges.size(), discarded,
+                    Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (IOException e) {
+            logger.warn("No se pudo leer la copia de la caché de flotas {}: {}", file.getFile(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Flotas instaladas sin poner al día: se descartan para no servir datos anteriores a la marca
+            installed.forEach(fleetCache::invalidate);
+            logger.error("Error al restaurar la caché de flotas: {}", e.getMessage(), e);
+        } finally {
+            restored = true;
+        }
+    }
+
+    /**
+     * Copia las flotas a disco con la marca de agua leída antes de tomarlas. Los eventos
+     * pendientes se consultan después de leer la marca y antes de tomar las flotas: todo cambio
+     * confirmado antes de la marca ya está aplicado en la flota copiada o su usuario se omite
+     */
+    @Scheduled(fixedDelayString = "${warm-start.snapshot-interval-ms:300000}",
+            initialDelayString = "${warm-start.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!restored || !fleetCache.isEnabled()) {
+            return;
+        }
+        try {
+            Instant startedAt = Instant.now();
+            CarHighWaterMark mark = deltaReader.readHighWaterMark();
+            Set<Long> undelivered = relay != null ? relay.findUndeliveredUserIds() : Set.of();
+            if (undelivered == null) {
+                logger.debug("El relay del outbox aún no inicia; se pospone la copia de la caché de flotas");
+                return;
+            }
+            List<CarFleet> fleets = fleetCache.fleets().stream()
+                    .filter(fleet -> !undelivered.contains(fleet.getUserId()))
+                    .toList();
+            long bytes = file.write(mark, fleets);
+            logger.debug("Copia de la caché de flotas escrita: {} usuarios ({} omitidos con entregas pendientes), " +
+                            "{} KB en {} ms", fleets.size(), undelivered.size(), bytes / 1024,
+                    Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (IOException | RuntimeException e) {
+            // La copia anterior sigue intacta
+            logger.warn("No se pudo escribir la copia de la caché de flotas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Última copia al detenerse
+     */
+    public void stop() {
+        snapshot();
+    }
+}
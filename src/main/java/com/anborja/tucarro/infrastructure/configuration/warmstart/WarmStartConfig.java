@@ -0,0 +1,41 @@
+package com.anborja.tucarro.infrastructure.configuration.warmstart;
+
+import com.anborja.tucarro.infrastructure.configuration.outbox.CarOutboxRelay;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.cache.FleetSnapshotFile;
+import com.anborja.tucarro.infrastructure.driven.cache.UserFleetCacheAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarSearchIndexSourceAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración del arranque en caliente. Deshabilitado, la caché de flotas arranca vacía y
+ * el índice de búsqueda se reconstruye completo en cada arranque
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "warm-start", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmStartConfig {
+
+    private static final String FLEET_SNAPSHOT_FILE = "fleet-cache.snapshot";
+
+    @Bean
+    public CarDeltaReader carDeltaReader(CarSearchIndexSourceAdapter source,
+                                         ShardingProperties shardingProperties,
+                                         WarmStartProperties properties) {
+        return new CarDeltaReader(source, shardingProperties, properties);
+    }
+
+    @Bean(destroyMethod = "stop")
+    public UserFleetCacheSnapshotter userFleetCacheSnapshotter(UserFleetCacheAdapter userFleetCacheAdapter,
+                                                               CarDeltaReader carDeltaReader,
+                                                               WarmStartProperties properties,
+                                                               ObjectProvider<CarOutboxRelay> carOutboxRelay) {
+        FleetSnapshotFile file = new FleetSnapshotFile(Path.of(properties.getDirectory(), FLEET_SNAPSHOT_FILE));
+        return new UserFleetCacheSnapshotter(userFleetCacheAdapter, carDeltaReader, file,
+                carOutboxRelay.getIfAvailable());
+    }
+}
@@ -0,0 +1,79 @@
+package com.anborja.tucarro.infrastructure.configuration.warmstart;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del arranque en caliente: copia en disco de la caché de flotas y reanudación
+ * del índice de búsqueda desde su último commit, releyendo solo lo cambiado en cars.
+ */
+@Component
+@ConfigurationProperties(prefix = "warm-start")
+public class WarmStartProperties {
+
+    private boolean enabled = true;
+    // Debe estar en un disco que sobreviva al despliegue para servir de algo
+    private String directory = "./data/warm-start";
+    private long snapshotIntervalMs = 300000;
+    // Margen hacia atrás desde la marca de agua; debe superar el retraso del relay del outbox
+    private Duration replayOverlap = Duration.ofMinutes(10);
+    // IDs por consulta IN al releer autos y contar por usuario
+    private int batchSize = 1000;
+    // IDs por lote al comparar cars con el índice cuando los conteos no cuadran
+    private int idBatchSize = 10000;
+
+    // Constructor vacío
+    public WarmStartProperties() {
+    }
+
+    // Getters y Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getSnapshotIntervalMs() {
+        return snapshotIntervalMs;
+    }
+
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+        this.snapshotIntervalMs = snapshotIntervalMs;
+    }
+
+    public Duration getReplayOverlap() {
+        return replayOverlap;
+    }
+
+    public void setReplayOverlap(Duration replayOverlap) {
+        this.replayOverlap = replayOverlap;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getIdBatchSize() {
+        return idBatchSize;
+    }
+
+    public void setIdBatchSize(int idBatchSize) {
+        this.idBatchSize = idBatchSize;
+    }
+}
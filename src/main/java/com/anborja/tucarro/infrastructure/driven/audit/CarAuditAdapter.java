@@ -0,0 +1,29 @@
+package com.anborja.tucarro.infrastructure.driven.audit;
+
+import com.anborja.tucarro.domain.model.CarAuditEntry;
+import com.anborja.tucarro.domain.spi.ICarAuditPort;
+
+/**
+ * Entrega los cambios de autos al escritor de auditoría. Sin escritor (auditoría
+ * deshabilitada) no registra nada
+ */
+public class CarAuditAdapter implements ICarAuditPort {
+
+    private final CarAuditLogWriter writer;
+
+    public CarAuditAdapter(CarAuditLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    @Override
+    public void record(CarAuditEntry entry) {
+        if (writer != null) {
+            writer.offer(entry);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.anborja.tucarro.infrastructure.driven.audit;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAuditEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escribe el registro de auditoría de autos en segundo plano. Las peticiones solo publican
+ * en una cola circular sin candados; un único hilo la vacía por lotes, calcula la diferencia
+ * entre el estado anterior y el posterior, y añade una línea JSON por cambio a un segmento
+ * mapeado en memoria. Cada segmento tiene un tamaño fijo y nunca se reescribe: al llenarse
+ * se recorta a lo escrito y se abre otro. Con la cola llena los cambios se descartan y se
+ * contabilizan, de modo que la petición nunca espera al disco.
+ */
+public class CarAuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarAuditLogWriter.class);
+
+    private static final String SEGMENT_PREFIX = "car-audit-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte NEWLINE = '\n';
+
+    private final Path directory;
+    private final CarAuditRingBuffer<CarAuditEntry> ring;
+    private final int batchSize;
+    private final long segmentBytes;
+    private final Duration flushInterval;
+    private final boolean forceOnFlush;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // Estado del segmento actual, solo accedido por el hilo escritor
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private Path segmentPath;
+    private long sequence;
+
+    public CarAuditLogWriter(Path directory, int ringCapacity, int batchSize, long segmentBytes,
+                             Duration flushInterval, boolean forceOnFlush, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.ring = new CarAuditRingBuffer<>(ringCapacity);
+        this.batchSize = batchSize;
+        this.segmentBytes = segmentBytes;
+        this.flushInterval = flushInterval;
+        this.forceOnFlush = forceOnFlush;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Crea el directorio e inicia el hilo escritor. Cada arranque abre un segmento nuevo
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        running = true;
+        worker = new Thread(this::run, "car-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Registro de auditoría de autos en {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Detiene el hilo escritor después de vaciar la cola y cierra el segmento actual
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Publica un cambio sin bloquear
+     *
+     * @return false si la cola estaba llena y el cambio se descartó
+     */
+    public boolean offer(CarAuditEntry entry) {
+        if (ring.offer(entry)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getPending() {
+        return ring.size();
+    }
+
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    private void run() {
+        List<CarAuditEntry> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || ring.size() > 0) {
+                CarAuditEntry entry;
+                while (batch.size() < batchSize && (entry = ring.poll()) != null) {
+                    batch.add(entry);
+                }
+
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(flushInterval.toNanos());
+                    continue;
+                }
+
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void writeBatch(List<CarAuditEntry> batch) {
+        for (CarAuditEntry entry : batch) {
+            try {
+                byte[] line = objectMapper.writeValueAsBytes(toRecord(entry, ++sequence));
+                append(line);
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("No se pudo registrar en auditoría el cambio {}: {}", entry, e.getMessage());
+            }
+        }
+
+        if (forceOnFlush && segment != null) {
+            segment.force();
+        }
+    }
+
+    private void append(byte[] line) throws IOException {
+        if (segment == null || segment.remaining() < line.length + 1) {
+            openSegment(line.length + 1L);
+        }
+        segment.put(line);
+        segment.put(NEWLINE);
+    }
+
+    private void openSegment(long minBytes) throws IOException {
+        closeSegment();
+
+        long now = System.currentTimeMillis();
+        while (true) {
+            Path candidate = directory.resolve(SEGMENT_PREFIX + now + SEGMENT_SUFFIX);
+            try {
+                channel = FileChannel.open(candidate, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                segmentPath = candidate;
+                break;
+            } catch (FileAlreadyExistsException e) {
+                now++;
+            }
+        }
+
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, minBytes));
+        logger.debug("Nuevo segmento de auditoría {}", segmentPath);
+    }
+
+    /**
+     * Sincroniza el segmento y lo recorta a lo escrito. Si el sistema no permite recortar un
+     * archivo mapeado, el resto queda relleno de ceros y los lectores se detienen en el primero
+     */
+    private void closeSegment() {
+        if (channel == null) {
+            return;
+        }
+
+        int length = segment.position();
+        segment.force();
+        segment = null;
+        try {
+            channel.truncate(length);
+        } catch (IOException e) {
+            logger.debug("No se pudo recortar el segmento {}: {}", segmentPath, e.getMessage());
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Error al cerrar el segmento {}: {}", segmentPath, e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Línea de auditoría: en una actualización solo los campos que cambiaron con su valor
+     * anterior y el nuevo; en una creación, el auto completo tal como quedó, y en una
+     * eliminación, tal como estaba
+     */
+    private Map<String, Object> toRecord(CarAuditEntry entry, long seq) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("seq", seq);
+        record.put("at", entry.getOccurredAt().toString());
+        record.put("action", entry.getAction().name());
+        record.put("car_id", entry.getCarId());
+        record.put("actor_id", entry.getActorUserId());
+
+        if (entry.getAction() == CarAuditEntry.Action.UPDATED) {
+            record.put("version", entry.getAfter().getVersion());
+            record.put("changes", diff(entry.getBefore(), entry.getAfter()));
+        } else if (entry.getAction() == CarAuditEntry.Action.CREATED) {
+            record.put("after", snapshot(entry.getAfter()));
+        } else {
+            record.put("before", snapshot(entry.getBefore()));
+        }
+        return record;
+    }
+
+    private Map<String, Object> diff(Car before, Car after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "brand", before.getBrand(), after.getBrand());
+        putIfChanged(changes, "model", before.getModel(), after.getModel());
+        putIfChanged(changes, "year", before.getYear(), after.getYear());
+        putIfChanged(changes, "plate_number", before.getPlateNumber(), after.getPlateNumber());
+        putIfChanged(changes, "color", before.getColor(), after.getColor());
+        putIfChanged(changes, "photo_url", before.getPhotoUrl(), after.getPhotoUrl());
+        return changes;
+    }
+
+    private void putIfChanged(Map<String, Object> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("from", before);
+            change.put("to", after);
+            changes.put(field, change);
+        }
+    }
+
+    private Map<String, Object> snapshot(Car car) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("user_id", car.getUserId());
+        values.put("brand", car.getBrand());
+        values.put("model", car.getModel());
+        values.put("year", car.getYear());
+        values.put("plate_number", car.getPlateNumber());
+        values.put("color", car.getColor());
+        values.put("photo_url", car.getPhotoUrl());
+        values.put("version", car.getVersion());
+        return values;
+    }
+}
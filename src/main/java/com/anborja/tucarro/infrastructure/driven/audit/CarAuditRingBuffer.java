@@ -0,0 +1,90 @@
+package com.anborja.tucarro.infrastructure.driven.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada sin candados para varios productores y un solo consumidor. Cada
+ * celda lleva un número de secuencia que indica si está libre para el productor de esa
+ * vuelta o lista para el consumidor: un productor reserva su posición con un CAS y publica
+ * el elemento actualizando la secuencia, sin bloquear nunca. Con la cola llena, offer
+ * devuelve false de inmediato.
+ */
+public class CarAuditRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Solo lo modifica el consumidor; volatile para que size() sea legible desde otros hilos
+    private volatile long head;
+
+    public CarAuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de 2: " + capacity);
+        }
+
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publica un elemento; seguro desde cualquier hilo
+     *
+     * @return false si la cola está llena
+     */
+    public boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long gap = sequences.get(index) - position;
+
+            if (gap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (gap < 0) {
+                // La celda aún tiene el elemento de la vuelta anterior
+                return false;
+            }
+            // gap > 0: otro productor tomó la posición; se reintenta con la siguiente
+        }
+    }
+
+    /**
+     * Toma el siguiente elemento publicado; solo desde el hilo consumidor
+     *
+     * @return el elemento, o null si no hay ninguno listo
+     */
+    public T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        T element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Elementos publicados y aún no consumidos (aproximado mientras hay productores activos)
+     */
+    public long size() {
+        return Math.max(0, tail.get() - head);
+    }
+}
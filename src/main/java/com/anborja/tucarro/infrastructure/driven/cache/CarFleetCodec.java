@@ -0,0 +1,145 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato binario de una flota. Los textos van una sola vez en una tabla al inicio y cada
+ * auto los referencia por posición, así que un auto ocupa 56 bytes más los textos que no
+ * comparte con otros:
+ * <pre>
+ * userId:long  textos:int  [longitud:short  UTF-8]...  autos:int
+ * [id:long  year:int  createdAt:long  updatedAt:long  version:long
+ *  brand:int  model:int  plateNumber:int  color:int  photoUrl:int]...
+ * </pre>
+ * Las fechas van en nanosegundos desde la época (UTC) y los nulos como Long.MIN_VALUE,
+ * Integer.MIN_VALUE o la referencia -1. El formato se guarda también en las copias en disco
+ * (FleetSnapshotFile): cambiarlo obliga a subir la versión de ese archivo.
+ */
+final class CarFleetCodec {
+
+    private static final int CAR_BYTES = 8 + 4 + 8 + 8 + 8 + 5 * 4;
+    private static final int NULL_REF = -1;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private CarFleetCodec() {
+    }
+
+    static byte[] encode(CarFleet fleet) {
+        Map<String, Integer> refs = new LinkedHashMap<>();
+        List<byte[]> texts = new ArrayList<>();
+        List<Car> cars = fleet.toCars();
+        int[][] carRefs = new int[cars.size()][];
+        int textBytes = 0;
+
+        for (int i = 0; i < cars.size(); i++) {
+            Car car = cars.get(i);
+            String[] values = {car.getBrand(), car.getModel(), car.getPlateNumber(), car.getColor(), car.getPhotoUrl()};
+            carRefs[i] = new int[values.length];
+            for (int field = 0; field < values.length; field++) {
+                String value = values[field];
+                if (value == null) {
+                    carRefs[i][field] = NULL_REF;
+                    continue;
+                }
+                Integer ref = refs.get(value);
+                if (ref == null) {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    if (utf8.length > 0xFFFF) {
+                        throw new IllegalArgumentException("Texto demasiado largo para el formato de la flota");
+                    }
+                    ref = texts.size();
+                    refs.put(value, ref);
+                    texts.add(utf8);
+                    textBytes += 2 + utf8.length;
+                }
+                carRefs[i][field] = ref;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + textBytes + 4 + cars.size() * CAR_BYTES);
+        buffer.putLong(fleet.getUserId());
+        buffer.putInt(texts.size());
+        for (byte[] text : texts) {
+            buffer.putShort((short) text.length);
+            buffer.put(text);
+        }
+        buffer.putInt(cars.size());
+        for (int i = 0; i < cars.size(); i++) {
+            Car car = cars.get(i);
+            buffer.putLong(car.getId());
+            buffer.putInt(car.getYear() != null ? car.getYear() : NO_YEAR);
+            buffer.putLong(toEpochNanos(car.getCreatedAt()));
+            buffer.putLong(toEpochNanos(car.getUpdatedAt()));
+            buffer.putLong(car.getVersion() != null ? car.getVersion() : NO_VALUE);
+            for (int ref : carRefs[i]) {
+                buffer.putInt(ref);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Lee una flota desde la posición actual del buffer, que queda al final del registro
+     */
+    static CarFleet decode(ByteBuffer buffer) {
+        Long userId = buffer.getLong();
+        String[] texts = new String[buffer.getInt()];
+        for (int i = 0; i < texts.length; i++) {
+            byte[] utf8 = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(utf8);
+            texts[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        int size = buffer.getInt();
+        List<Car> cars = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = buffer.getLong();
+            int year = buffer.getInt();
+            LocalDateTime createdAt = fromEpochNanos(buffer.getLong());
+            LocalDateTime updatedAt = fromEpochNanos(buffer.getLong());
+            long version = buffer.getLong();
+            String brand = text(texts, buffer.getInt());
+            String model = text(texts, buffer.getInt());
+            String plateNumber = text(texts, buffer.getInt());
+            String color = text(texts, buffer.getInt());
+            String photoUrl = text(texts, buffer.getInt());
+
+            Car car = new Car(id, brand, model, year != NO_YEAR ? year : null, plateNumber, color, photoUrl,
+                    userId, createdAt, updatedAt);
+            car.setVersion(version != NO_VALUE ? version : null);
+            cars.add(car);
+        }
+        return CarFleet.of(userId, cars);
+    }
+
+    private static String text(String[] texts, int ref) {
+        return ref == NULL_REF ? null : texts[ref];
+    }
+
+    static long toEpochNanos(LocalDateTime value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + value.getNano();
+    }
+
+    static LocalDateTime fromEpochNanos(long value) {
+        if (value == NO_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, NANOS_PER_SECOND),
+                (int) Math.floorMod(value, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,160 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Copia en disco de la caché de flotas, para arrancar con ella en lugar de vacía. El archivo
+ * se escribe y se lee mapeado en memoria; cada flota va en el formato de CarFleetCodec:
+ * <pre>
+ * magic:int  versión:int  creado:long (ms)  marca.updatedAt:long (ns)  marca.id:long
+ * flotas:int  crc32c:int  [longitud:int  registro]...
+ * </pre>
+ * La marca de agua es la de cars leída antes de copiar las flotas. Se escribe en un archivo
+ * temporal que luego reemplaza al anterior de forma atómica: un cierre a mitad de escritura
+ * deja intacta la copia previa. Un archivo de otra versión o con el CRC alterado se rechaza.
+ */
+public class FleetSnapshotFile {
+
+    private static final int MAGIC = 0x54434653;
+    // Subir si cambia este formato o el de CarFleetCodec
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 + 4;
+    private static final int CRC_OFFSET = HEADER_BYTES - 4;
+
+    private final Path file;
+
+    public FleetSnapshotFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Escribe la copia y reemplaza la anterior
+     *
+     * @return bytes escritos
+     */
+    public long write(CarHighWaterMark mark, Collection<CarFleet> fleets) throws IOException {
+        List<byte[]> records = new ArrayList<>(fleets.size());
+        long bodyBytes = 0;
+        for (CarFleet fleet : fleets) {
+            byte[] record = CarFleetCodec.encode(fleet);
+            records.add(record);
+            bodyBytes += 4 + record.length;
+        }
+        long totalBytes = HEADER_BYTES + bodyBytes;
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IOException("La copia de la caché de flotas supera el tamaño de un mapeo (2 GB)");
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalBytes);
+            buffer.position(HEADER_BYTES);
+            for (byte[] record : records) {
+                buffer.putInt(record.length);
+                buffer.put(record);
+            }
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, System.currentTimeMillis());
+            buffer.putLong(16, CarFleetCodec.toEpochNanos(mark.getMaxUpdatedAt()));
+            buffer.putLong(24, mark.getMaxId());
+            buffer.putInt(32, records.size());
+            buffer.putInt(CRC_OFFSET, checksum(buffer, HEADER_BYTES, (int) bodyBytes));
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return totalBytes;
+    }
+
+    /**
+     * Lee la copia, o null si no existe
+     *
+     * @throws IOException si no se puede leer o no es una copia válida de esta versión
+     */
+    public Snapshot read() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño inválido para una copia de la caché de flotas: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("El archivo no es una copia de la caché de flotas");
+            }
+            int version = buffer.getInt(4);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versión de copia no soportada: " + version + " (se espera " + FORMAT_VERSION + ")");
+            }
+            if (buffer.getInt(CRC_OFFSET) != checksum(buffer, HEADER_BYTES, (int) size - HEADER_BYTES)) {
+                throw new IOException("La copia de la caché de flotas está dañada (CRC)");
+            }
+
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong(8));
+            CarHighWaterMark mark = new CarHighWaterMark(
+                    CarFleetCodec.fromEpochNanos(buffer.getLong(16)), buffer.getLong(24));
+            int count = buffer.getInt(32);
+
+            List<CarFleet> fleets = new ArrayList<>(count);
+            buffer.position(HEADER_BYTES);
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                fleets.add(CarFleetCodec.decode(buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+            }
+            return new Snapshot(createdAt, mark, fleets, size);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Contenido de una copia leída
+     */
+    public static class Snapshot {
+        private final Instant createdAt;
+        private final CarHighWaterMark mark;
+        private final List<CarFleet> fleets;
+        private final long sizeBytes;
+
+        public Snapshot(Instant createdAt, CarHighWaterMark mark, List<CarFleet> fleets, long sizeBytes) {
+            this.createdAt = createdAt;
+            this.mark = mark;
+            this.fleets = fleets;
+            this.sizeBytes = sizeBytes;
+        }
+
+        public Instant getCreatedAt() { return createdAt; }
+        public CarHighWaterMark getMark() { return mark; }
+        public List<CarFleet> getFleets() { return fleets; }
+        public long getSizeBytes() { return sizeBytes; }
+    }
+}
@@ -0,0 +1,334 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Segundo nivel de la caché de flotas, fuera del heap: cada flota se serializa con
+ * CarFleetCodec en bloques (slabs) de ByteBuffer directos, que no recorre el recolector.
+ * Los registros se escriben uno tras otro en el bloque actual y un índice de
+ * direccionamiento abierto (sondeo lineal) ubica cada flota por el ID del usuario.
+ * Reemplazar o quitar una flota deja su espacio muerto hasta que el bloque se recicla:
+ * primero se reutilizan los bloques sin registros vivos y, si no los hay, el menos usado
+ * recientemente, descartando las flotas que aún contenía.
+ */
+public class OffHeapFleetStore {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int slabBytes;
+    private final ByteBuffer[] slabs;
+    private final int[] slabUsed;
+    private final int[] slabLive;
+    private final long[] slabLastAccess;
+    private int currentSlab = -1;
+    private long clock;
+
+    private final int maxEntries;
+    private final long[] keys;
+    private final int[] entrySlab;
+    private final int[] entryOffset;
+    private final int[] entryLength;
+    private final int mask;
+    private int entries;
+
+    private long hits;
+    private long misses;
+    private long rejected;
+    private long recycledSlabs;
+    private long droppedEntries;
+
+    public OffHeapFleetStore(long maxBytes, int slabBytes, int maxEntries) {
+        if (slabBytes <= 0 || maxBytes < slabBytes || maxEntries <= 0) {
+            throw new IllegalArgumentException("Capacidad inválida para la caché fuera del heap");
+        }
+        this.slabBytes = slabBytes;
+        int slabCount = (int) Math.min(maxBytes / slabBytes, Integer.MAX_VALUE);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabUsed = new int[slabCount];
+        this.slabLive = new int[slabCount];
+        this.slabLastAccess = new long[slabCount];
+
+        // La tabla se mantiene a menos de la mitad de su capacidad para acortar los sondeos
+        int tableSize = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;
+        this.maxEntries = maxEntries;
+        this.keys = new long[tableSize];
+        Arrays.fill(keys, EMPTY);
+        this.entrySlab = new int[tableSize];
+        this.entryOffset = new int[tableSize];
+        this.entryLength = new int[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Guarda la flota, reemplazando la anterior del usuario. Devuelve false si la flota
+     * no cabe en un bloque
+     */
+    public boolean put(CarFleet fleet) {
+        byte[] record = CarFleetCodec.encode(fleet);
+        long userId = fleet.getUserId();
+
+        synchronized (this) {
+            remove(userId);
+            if (record.length > slabBytes) {
+                rejected++;
+                return false;
+            }
+
+            while (entries >= maxEntries) {
+                recycle(leastRecentlyUsedSlab());
+            }
+            if (currentSlab < 0 || slabUsed[currentSlab] + record.length > slabBytes) {
+                currentSlab = acquireSlab();
+            }
+
+            int offset = slabUsed[currentSlab];
+            slabs[currentSlab].put(offset, record);
+            slabUsed[currentSlab] += record.length;
+            slabLive[currentSlab] += record.length;
+            slabLastAccess[currentSlab] = ++clock;
+
+            int slot = findSlot(userId);
+            keys[slot] = userId;
+            entrySlab[slot] = currentSlab;
+            entryOffset[slot] = offset;
+            entryLength[slot] = record.length;
+            entries++;
+            return true;
+        }
+    }
+
+    /**
+     * Flota del usuario, o null si no está en este nivel
+     */
+    public synchronized CarFleet get(long userId) {
+        int slot = findSlot(userId);
+        if (keys[slot] == EMPTY) {
+            misses++;
+            return null;
+        }
+        hits++;
+        int slab = entrySlab[slot];
+        slabLastAccess[slab] = ++clock;
+        ByteBuffer record = slabs[slab].slice(entryOffset[slot], entryLength[slot]);
+        return CarFleetCodec.decode(record);
+    }
+
+    /**
+     * Saca la flota de este nivel y la devuelve, para promoverla al nivel en el heap
+     */
+    public synchronized CarFleet take(long userId) {
+        CarFleet fleet = get(userId);
+        if (fleet != null) {
+            remove(userId);
+        }
+        return fleet;
+    }
+
+    public synchronized boolean remove(long userId) {
+        int slot = findSlot(userId);
+        if (keys[slot] == EMPTY) {
+            return false;
+        }
+        slabLive[entrySlab[slot]] -= entryLength[slot];
+        deleteSlot(slot);
+        return true;
+    }
+
+    public synchronized boolean contains(long userId) {
+        return keys[findSlot(userId)] != EMPTY;
+    }
+
+    /**
+     * Todas las flotas de este nivel, sin contarlas como accesos
+     */
+    public synchronized List<CarFleet> fleets() {
+        List<CarFleet> fleets = new ArrayList<>(entries);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                fleets.add(CarFleetCodec.decode(slabs[entrySlab[slot]].slice(entryOffset[slot], entryLength[slot])));
+            }
+        }
+        return fleets;
+    }
+
+    // ============================================================================
+    // BLOQUES
+    // ============================================================================
+
+    /**
+     * Bloque para seguir escribiendo: uno aún no reservado, uno sin registros vivos o,
+     * en último caso, el menos usado recientemente
+     */
+    private int acquireSlab() {
+        for (int slab = 0; slab < slabs.length; slab++) {
+            if (slabs[slab] == null) {
+                slabs[slab] = ByteBuffer.allocateDirect(slabBytes);
+                return slab;
+            }
+        }
+        for (int slab = 0; slab < slabs.length; slab++) {
+            if (slabLive[slab] == 0) {
+                slabUsed[slab] = 0;
+                return slab;
+            }
+        }
+        int slab = leastRecentlyUsedSlab();
+        recycle(slab);
+        return slab;
+    }
+
+    private int leastRecentlyUsedSlab() {
+        int victim = -1;
+        for (int slab = 0; slab < slabs.length; slab++) {
+            if (slabs[slab] != null && slabLive[slab] > 0
+                    && (victim < 0 || slabLastAccess[slab] < slabLastAccess[victim])) {
+                victim = slab;
+            }
+        }
+        if (victim < 0) {
+            throw new IllegalStateException("No hay bloques con registros para reciclar");
+        }
+        return victim;
+    }
+
+    /**
+     * Descarta las flotas que quedan en el bloque y lo deja vacío
+     */
+    private void recycle(int slab) {
+        for (int slot = 0; slot < keys.length; ) {
+            if (keys[slot] != EMPTY && entrySlab[slot] == slab) {
+                // El borrado puede traer a esta posición una entrada posterior: se revisa de nuevo
+                deleteSlot(slot);
+                droppedEntries++;
+            } else {
+                slot++;
+            }
+        }
+        slabUsed[slab] = 0;
+        slabLive[slab] = 0;
+        recycledSlabs++;
+    }
+
+    // ============================================================================
+    // ÍNDICE
+    // ============================================================================
+
+    /**
+     * Posición del usuario en la tabla o, si no está, la posición libre donde iría
+     */
+    private int findSlot(long userId) {
+        int slot = home(userId);
+        while (keys[slot] != EMPTY && keys[slot] != userId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Borra la entrada desplazando hacia atrás las que la siguen en su secuencia de sondeo,
+     * para no dejar marcas de borrado
+     */
+    private void deleteSlot(int slot) {
+        int free = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY) {
+                break;
+            }
+            int home = home(keys[next]);
+            // La entrada se mueve si su posición ideal no queda entre el hueco y ella
+            boolean between = free <= next
+                    ? free < home && home <= next
+                    : free < home || home <= next;
+            if (!between) {
+                keys[free] = keys[next];
+                entrySlab[free] = entrySlab[next];
+                entryOffset[free] = entryOffset[next];
+                entryLength[free] = entryLength[next];
+                free = next;
+            }
+        }
+        keys[free] = EMPTY;
+        entries--;
+    }
+
+    private int home(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    // ============================================================================
+    // MÉTRICAS
+    // ============================================================================
+
+    public long getCapacityBytes() {
+        return (long) slabs.length * slabBytes;
+    }
+
+    public synchronized long getAllocatedBytes() {
+        long allocated = 0;
+        for (ByteBuffer slab : slabs) {
+            if (slab != null) {
+                allocated += slabBytes;
+            }
+        }
+        return allocated;
+    }
+
+    public synchronized long getUsedBytes() {
+        return Arrays.stream(slabUsed).asLongStream().sum();
+    }
+
+    public synchronized long getLiveBytes() {
+        return Arrays.stream(slabLive).asLongStream().sum();
+    }
+
+    /**
+     * Fracción de la capacidad ocupada por flotas vigentes
+     */
+    public double getOccupancy() {
+        return (double) getLiveBytes() / getCapacityBytes();
+    }
+
+    /**
+     * Fracción del espacio escrito que ocupan registros ya reemplazados o quitados
+     */
+    public synchronized double getFragmentation() {
+        long used = getUsedBytes();
+        return used == 0 ? 0 : 1 - (double) getLiveBytes() / used;
+    }
+
+    public synchronized int getEntries() {
+        return entries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public synchronized long getRecycledSlabs() {
+        return recycledSlabs;
+    }
+
+    public synchronized long getDroppedEntries() {
+        return droppedEntries;
+    }
+}
@@ -0,0 +1,152 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.domain.spi.IUserFleetCachePort;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Flotas de los usuarios en una caché en proceso con presupuesto de memoria. Las entradas
+ * pesan lo que estima CarFleet y la caché expulsa primero a los usuarios menos frecuentes
+ * (W-TinyLFU). Cada flota se carga al primer acceso; mientras un usuario se está cargando,
+ * los demás accesos a él esperan esa misma carga.
+ * Con el nivel fuera del heap habilitado, las flotas que la caché expulsa pasan a él y un
+ * fallo en el heap las busca allí antes que en la base de datos. Todo lo que toca ambos
+ * niveles se hace con la entrada del usuario bloqueada en la caché, de modo que una flota
+ * nunca está a medio camino entre los dos niveles mientras se aplica un cambio.
+ * Sin caché (deshabilitada) cada lectura va a la base de datos.
+ * Las flotas pueden copiarse y volver a instalarse (fleets y restore) para arrancar con la
+ * caché caliente tras un reinicio.
+ */
+public class UserFleetCacheAdapter implements IUserFleetCachePort {
+
+    private final ICarRepositoryPort carRepositoryPort;
+    private final Cache<Long, CarFleet> cache;
+    private final OffHeapFleetStore offHeap;
+
+    public UserFleetCacheAdapter(ICarRepositoryPort carRepositoryPort,
+                                 Cache<Long, CarFleet> cache,
+                                 OffHeapFleetStore offHeap) {
+        this.carRepositoryPort = carRepositoryPort;
+        this.cache = cache;
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public CarFleet getFleet(Long userId) {
+        if (userId == null) {
+            return CarFleet.empty(null);
+        }
+        if (cache == null) {
+            return load(userId);
+        }
+        return cache.get(userId, this::promoteOrLoad);
+    }
+
+    /**
+     * Aplica a la flota del usuario, si está en alguno de los niveles, los cambios de los
+     * autos indicados. reader solo se llama si la flota está; si se está cargando, espera a que
+     * termine para no dejar instalada una lectura anterior al cambio
+     */
+    public void refresh(Long userId, Collection<Long> carIds,
+                        Function<Collection<Long>, List<Car>> reader) {
+        if (cache == null) {
+            return;
+        }
+        cache.asMap().compute(userId, (id, fleet) -> {
+            if (fleet != null) {
+                return fleet.withChanges(carIds, reader.apply(carIds));
+            }
+            CarFleet demoted = offHeap != null ? offHeap.get(id) : null;
+            if (demoted != null) {
+                offHeap.put(demoted.withChanges(carIds, reader.apply(carIds)));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Descarta la flota del usuario de ambos niveles; se vuelve a cargar en el siguiente acceso
+     */
+    public void invalidate(Long userId) {
+        if (cache == null || userId == null) {
+            return;
+        }
+        cache.asMap().compute(userId, (id, fleet) -> {
+            if (offHeap != null) {
+                offHeap.remove(id);
+            }
+            return null;
+        });
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Copia de las flotas de ambos niveles; si un usuario está en los dos, gana la del heap
+     */
+    public List<CarFleet> fleets() {
+        Map<Long, CarFleet> fleets = new LinkedHashMap<>();
+        if (cache == null) {
+            return new ArrayList<>();
+        }
+        if (offHeap != null) {
+            offHeap.fleets().forEach(fleet -> fleets.put(fleet.getUserId(), fleet));
+        }
+        cache.asMap().forEach(fleets::put);
+        return new ArrayList<>(fleets.values());
+    }
+
+    /**
+     * Instala una flota guardada, salvo que el usuario ya se haya cargado desde entonces
+     */
+    public void restore(CarFleet fleet) {
+        if (cache != null) {
+            cache.asMap().putIfAbsent(fleet.getUserId(), fleet);
+        }
+    }
+
+    /**
+     * Descarta la flota del usuario si no tiene el número de autos indicado; así se detectan
+     * las eliminaciones que una flota restaurada no pudo ver
+     *
+     * @return true si se descartó
+     */
+    public boolean discardIfSizeDiffers(Long userId, long expectedSize) {
+        if (cache == null) {
+            return false;
+        }
+        boolean[] discarded = new boolean[1];
+        cache.asMap().compute(userId, (id, fleet) -> {
+            if (fleet != null) {
+                discarded[0] = fleet.size() != expectedSize;
+                return discarded[0] ? null : fleet;
+            }
+            CarFleet demoted = offHeap != null ? offHeap.get(id) : null;
+            if (demoted != null && demoted.size() != expectedSize) {
+                discarded[0] = offHeap.remove(id);
+            }
+            return null;
+        });
+        return discarded[0];
+    }
+
+    private CarFleet promoteOrLoad(Long userId) {
+        CarFleet demoted = offHeap != null ? offHeap.take(userId) : null;
+        return demoted != null ? demoted : load(userId);
+    }
+
+    private CarFleet load(Long userId) {
+        return CarFleet.of(userId, carRepositoryPort.findByUserId(userId));
+    }
+}
@@ -0,0 +1,188 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.exception.UserNotFoundException;
+import com.anborja.tucarro.domain.model.AccountDeletion;
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.IAccountDeletionPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.AccountDeletionEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IAccountDeletionRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarArchiveRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarHistoryRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Registra las solicitudes de eliminación de cuenta y ejecuta su purga por lotes.
+ * Cada lote es una transacción corta que borra como máximo chunkSize autos con un DELETE
+ * por IDs; la fila del usuario se borra al final, cuando ya no tiene autos, con un DELETE
+ * directo que no recorre la cascada de UserEntity.cars.
+ */
+@Component
+public class AccountDeletionAdapter implements IAccountDeletionPort {
+
+    private static final String COMPLETED = AccountDeletion.Status.COMPLETED.name();
+
+    private final IAccountDeletionRepository deletionRepository;
+    private final IUserRepository userRepository;
+    private final ICarRepository carRepository;
+    private final ICarArchiveRepository carArchiveRepository;
+    private final ICarHistoryRepository carHistoryRepository;
+    private final CarHistoryAdapter carHistory;
+    private final UserCarStatsAdapter userCarStats;
+    private final CarOutboxAdapter carOutbox;
+
+    public AccountDeletionAdapter(IAccountDeletionRepository deletionRepository,
+                                  IUserRepository userRepository,
+                                  ICarRepository carRepository,
+                                  ICarArchiveRepository carArchiveRepository,
+                                  ICarHistoryRepository carHistoryRepository,
+                                  CarHistoryAdapter carHistory,
+                                  UserCarStatsAdapter userCarStats,
+                                  CarOutboxAdapter carOutbox) {
+        this.deletionRepository = deletionRepository;
+        this.userRepository = userRepository;
+        this.carRepository = carRepository;
+        this.carArchiveRepository = carArchiveRepository;
+        this.carHistoryRepository = carHistoryRepository;
+        this.carHistory = carHistory;
+        this.userCarStats = userCarStats;
+        this.carOutbox = carOutbox;
+    }
+
+    @Override
+    @Transactional
+    public AccountDeletion requestDeletion(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        Optional<AccountDeletionEntity> existing = deletionRepository.findByUserId(userId);
+        if (existing.isPresent()) {
+            return toDomain(existing.get());
+        }
+
+        if (userRepository.markDeleted(userId, LocalDateTime.now()) == 0) {
+            // Otra solicitud concurrente ya la marcó, o el usuario no existe
+            return deletionRepository.findByUserId(userId)
+                    .map(this::toDomain)
+                    .orElseThrow(() -> new UserNotFoundException(userId));
+        }
+
+        AccountDeletionEntity deletion = new AccountDeletionEntity(
+                UUID.randomUUID().toString(),
+                userId,
+                AccountDeletion.Status.PENDING.name(),
+                carRepository.countByUserId(userId) + carArchiveRepository.countByUserId(userId));
+        return toDomain(deletionRepository.save(deletion));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AccountDeletion> findByToken(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        return deletionRepository.findByToken(token.trim()).map(this::toDomain);
+    }
+
+    /**
+     * Obtiene las solicitudes sin completar, en orden de llegada
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findUnfinishedIds(int limit) {
+        return deletionRepository.findUnfinishedIds(COMPLETED, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Obtiene los usuarios que solicitaron la eliminación desde una fecha
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findUserIdsRequestedSince(LocalDateTime since) {
+        return deletionRepository.findUserIdsRequestedSince(since);
+    }
+
+    /**
+     * Borra el siguiente lote de autos de la solicitud, luego los de sus autos archivados,
+     * después su historia (que los triggers completan al borrar los autos) y, si ya no queda
+     * nada, sus versiones de la tabla temporal de SQL Server, las estadísticas y la fila del usuario. Si entre tanto se insertó un
+     * auto, la clave foránea hace fallar el borrado del usuario y la solicitud se retoma en
+     * el siguiente ciclo
+     *
+     * @return true si la solicitud quedó completada
+     */
+    @Transactional
+    public boolean purgeNextChunk(Long deletionId, int chunkSize) {
+        Optional<AccountDeletionEntity> pending = deletionRepository.findById(deletionId);
+        if (pending.isEmpty() || COMPLETED.equals(pending.get().getStatus())) {
+            return true;
+        }
+        Long userId = pending.get().getUserId();
+
+        // Los DELETE masivos limpian el contexto de persistencia: la solicitud se vuelve a leer después
+        List<Long> carIds = carRepository.findIdsByUserId(userId, PageRequest.of(0, chunkSize));
+        int deletedCars;
+        if (!carIds.isEmpty()) {
+            deletedCars = carRepository.deleteByIdIn(carIds);
+            carOutbox.append(CarChangeEvent.ChangeType.PURGED, null, userId);
+        } else {
+            carIds = carArchiveRepository.findIdsByUserId(userId, PageRequest.of(0, chunkSize));
+            deletedCars = carIds.isEmpty() ? 0 : carArchiveRepository.deleteByIdIn(carIds);
+        }
+        if (carIds.isEmpty()) {
+            // Las versiones no cuentan como autos eliminados: solo alargan la purga
+            List<Long> historyCarIds = carHistoryRepository.findCarIdsByUserId(userId, PageRequest.of(0, chunkSize));
+            if (!historyCarIds.isEmpty()) {
+                carHistoryRepository.deleteByCarIdInAndUserId(historyCarIds, userId);
+                AccountDeletionEntity deletion = deletionRepository.findById(deletionId).orElseThrow();
+                deletion.setStatus(AccountDeletion.Status.IN_PROGRESS.name());
+                deletion.setUpdatedAt(LocalDateTime.now());
+                return false;
+            }
+            carHistory.purgeTemporalHistory(userId);
+            userCarStats.delete(userId);
+            userRepository.deleteWithoutCascade(userId);
+        }
+
+        AccountDeletionEntity deletion = deletionRepository.findById(deletionId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        deletion.setUpdatedAt(now);
+        if (carIds.isEmpty()) {
+            deletion.setStatus(COMPLETED);
+            deletion.setCompletedAt(now);
+            return true;
+        }
+
+        deletion.setStatus(AccountDeletion.Status.IN_PROGRESS.name());
+        deletion.setCarsDeleted(deletion.getCarsDeleted() + deletedCars);
+        return false;
+    }
+
+    /**
+     * Elimina las solicitudes completadas antes de una fecha
+     */
+    @Transactional
+    public int deleteCompletedBefore(LocalDateTime before) {
+        return deletionRepository.deleteCompletedBefore(COMPLETED, before);
+    }
+
+    private AccountDeletion toDomain(AccountDeletionEntity entity) {
+        return new AccountDeletion(
+                entity.getToken(),
+                entity.getUserId(),
+                AccountDeletion.Status.valueOf(entity.getStatus()),
+                entity.getCarsTotal(),
+                entity.getCarsDeleted(),
+                entity.getRequestedAt(),
+                entity.getUpdatedAt(),
+                entity.getCompletedAt());
+    }
+}
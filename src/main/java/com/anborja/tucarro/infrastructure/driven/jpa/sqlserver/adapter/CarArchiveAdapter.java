@@ -0,0 +1,100 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarArchiveEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarArchiveRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mueve autos de cars a cars_archive. Cada lote es una transacción: por cada auto se toma
+ * el candado de las estadísticas del propietario, se borra de cars solo si su versión no
+ * cambió desde la lectura y se inserta en el archivo. Para las estadísticas y el outbox el
+ * auto sale del conjunto de trabajo igual que si se hubiera eliminado.
+ */
+@Component
+public class CarArchiveAdapter {
+
+    private final ICarRepository carRepository;
+    private final ICarArchiveRepository carArchiveRepository;
+    private final UserCarStatsAdapter userCarStats;
+    private final CarOutboxAdapter carOutbox;
+    private final EntityManager entityManager;
+
+    public CarArchiveAdapter(ICarRepository carRepository,
+                             ICarArchiveRepository carArchiveRepository,
+                             UserCarStatsAdapter userCarStats,
+                             CarOutboxAdapter carOutbox,
+                             EntityManager entityManager) {
+        this.carRepository = carRepository;
+        this.carArchiveRepository = carArchiveRepository;
+        this.userCarStats = userCarStats;
+        this.carOutbox = carOutbox;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Archiva el siguiente lote de autos creados antes de createdBefore, o sin cambios de
+     * usuarios que no inician sesión desde inactiveSince
+     *
+     * @return resultado del lote; {@code candidates} menor que batchSize indica que no quedan más
+     */
+    @Transactional
+    public BatchResult archiveNextBatch(LocalDateTime createdBefore, LocalDateTime inactiveSince, int batchSize) {
+        List<CarEntity> candidates = carRepository.findArchiveCandidates(
+                createdBefore, inactiveSince, PageRequest.of(0, batchSize));
+
+        // Copias tomadas antes de escribir: las sentencias de las estadísticas limpian el contexto
+        LocalDateTime now = LocalDateTime.now();
+        List<CarArchiveEntity> copies = candidates.stream()
+                .map(car -> CarArchiveEntity.of(car, now))
+                .toList();
+
+        int archived = 0;
+        for (CarArchiveEntity copy : copies) {
+            boolean statsLocked = userCarStats.lock(copy.getUserId());
+
+            // Si el auto cambió entre la lectura y el borrado se deja para la siguiente pasada
+            if (carRepository.deleteIfVersion(copy.getId(), copy.getVersion()) == 0) {
+                continue;
+            }
+
+            entityManager.persist(copy);
+            if (statsLocked) {
+                userCarStats.carRemoved(copy.getUserId(), copy.getYear(), copy.getBrand());
+            }
+            carOutbox.append(CarChangeEvent.ChangeType.DELETED, copy.getId(), copy.getUserId());
+            archived++;
+        }
+
+        return new BatchResult(candidates.size(), archived);
+    }
+
+    /**
+     * Resultado de un lote del archivado
+     */
+    public static class BatchResult {
+        private final int candidates;
+        private final int archived;
+
+        public BatchResult(int candidates, int archived) {
+            this.candidates = candidates;
+            this.archived = archived;
+        }
+
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public int getArchived() {
+            return archived;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.infrastructure.configuration.database.DatabaseEngine;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.metamodel.mapping.NaturalIdMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Actualiza o elimina un auto del usuario con una sola sentencia nativa condicionada al
+ * propietario y, si se indica, a la versión esperada; sin bloqueos previos de la fila.
+ * El estado anterior sale de la propia sentencia donde el motor lo devuelve: OUTPUT deleted
+ * en SQL Server, OLD TABLE en H2 y RETURNING en el DELETE de PostgreSQL. En los demás casos
+ * se lee la fila sin bloquearla y la sentencia se condiciona a la versión leída; si otra
+ * escritura se adelanta entre ambas, se vuelve a leer.
+ * Las sentencias se sincronizan con un espacio de consultas que no es la tabla de ninguna
+ * entidad, de modo que Hibernate no vacía las regiones de CarEntity en cada escritura: solo se
+ * expulsan el auto escrito y su placa anterior, al escribir y de nuevo al terminar la transacción.
+ * Debe llamarse dentro de una transacción.
+ */
+@Component
+public class CarConditionalWriteAdapter {
+
+    // Sin entidad asociada: la caché de consultas está deshabilitada en todos los perfiles
+    static final String WRITE_QUERY_SPACE = "cars#row";
+
+    // Columnas del estado anterior, en el orden que espera toCar
+    private static final List<String> COLUMNS = List.of(
+            "id", "user_id", "brand", "model", "year", "plate_number", "color", "photo_url",
+            "created_at", "updated_at", "version");
+
+    // Lecturas y sentencias sin estado devuelto cuando otra escritura se adelanta a la sentencia
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String OWNED = "id = :carId AND user_id = :userId";
+
+    // El texto de búsqueda se arma con los valores nuevos o los de la fila; una fila pendiente de
+    // backfill lo conserva en NULL, igual que las actualizaciones masivas
+    private static final String UPDATE_SET = "brand = COALESCE(:brand, brand), " +
+            "model = COALESCE(:model, model), " +
+            "year = COALESCE(:year, year), " +
+            "plate_number = COALESCE(:plateNumber, plate_number), " +
+            "color = COALESCE(:color, color), " +
+            "photo_url = COALESCE(:photoUrl, photo_url), " +
+            "brand_norm = COALESCE(:brandNorm, brand_norm), " +
+            "model_norm = COALESCE(:modelNorm, model_norm), " +
+            "color_norm = COALESCE(:colorNorm, color_norm), " +
+            "search_text = CASE WHEN COALESCE(:brandNorm, brand_norm) IS NULL " +
+            "OR COALESCE(:modelNorm, model_norm) IS NULL " +
+            "OR COALESCE(:colorNorm, color_norm) IS NULL THEN NULL " +
+            "ELSE CONCAT(COALESCE(:brandNorm, brand_norm), ' ', COALESCE(:modelNorm, model_norm), ' ', " +
+            "COALESCE(:plateNorm, LOWER(plate_number)), ' ', COALESCE(:colorNorm, color_norm)) END, " +
+            "updated_at = :updatedAt, " +
+            "version = version + 1";
+
+    private final EntityManager entityManager;
+
+    private volatile DatabaseEngine engine;
+
+    public CarConditionalWriteAdapter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Aplica los campos no nulos de changes al auto del usuario
+     *
+     * @return el estado anterior del auto, o null si la sentencia no afectó filas
+     * @throws DataIntegrityViolationException si la placa nueva ya está en uso
+     */
+    public Car update(Car changes, Long userId, Long expectedVersion, LocalDateTime updatedAt) {
+        Long carId = changes.getId();
+        Car previous = switch (resolveEngine()) {
+            case SQLSERVER -> single(returning(
+                    "UPDATE cars SET " + UPDATE_SET + " OUTPUT " + columns("deleted.")
+                            + " WHERE " + OWNED + " AND (:expectedVersion IS NULL OR version = :expectedVersion)",
+                    carId, userId, expectedVersion, changes, updatedAt));
+            case H2 -> single(returning(
+                    "SELECT " + columns("") + " FROM OLD TABLE (UPDATE cars SET " + UPDATE_SET
+                            + " WHERE " + OWNED + " AND (:expectedVersion IS NULL OR version = :expectedVersion))",
+                    carId, userId, expectedVersion, changes, updatedAt));
+            case MYSQL, POSTGRESQL, OTHER -> readThenWrite(carId, userId, expectedVersion, version ->
+                    statement("UPDATE cars SET " + UPDATE_SET + " WHERE " + OWNED + " AND version = :expectedVersion",
+                            carId, userId, version, changes, updatedAt).executeUpdate());
+        };
+
+        if (previous != null) {
+            evictAfterWrite(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Elimina el auto del usuario
+     *
+     * @return el estado anterior del auto, o null si la sentencia no afectó filas
+     */
+    public Car delete(Long carId, Long userId) {
+        Car previous = switch (resolveEngine()) {
+            case SQLSERVER -> single(returning(
+                    "DELETE FROM cars OUTPUT " + columns("deleted.") + " WHERE " + OWNED,
+                    carId, userId, null, null, null));
+            case H2 -> single(returning(
+                    "SELECT " + columns("") + " FROM OLD TABLE (DELETE FROM cars WHERE " + OWNED + ")",
+                    carId, userId, null, null, null));
+            case POSTGRESQL -> single(returning(
+                    "DELETE FROM cars WHERE " + OWNED + " RETURNING " + columns(""),
+                    carId, userId, null, null, null));
+            case MYSQL, OTHER -> readThenWrite(carId, userId, null, version ->
+                    statement("DELETE FROM cars WHERE " + OWNED + " AND version = :expectedVersion",
+                            carId, userId, version, null, null).executeUpdate());
+        };
+
+        if (previous != null) {
+            evictAfterWrite(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Motores sin estado anterior en la sentencia: lee la fila sin bloquearla y escribe solo si
+     * sigue en la versión leída. La versión esperada se compara con la leída para que el estado
+     * devuelto sea el que reemplazó la sentencia
+     */
+    private Car readThenWrite(Long carId, Long userId, Long expectedVersion, VersionedWrite write) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Car current = single(returning(
+                    "SELECT " + columns("") + " FROM cars WHERE " + OWNED,
+                    carId, userId, null, null, null));
+            if (current == null) {
+                return null;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return null;
+            }
+            if (write.execute(current.getVersion()) > 0) {
+                return current;
+            }
+            if (expectedVersion != null) {
+                // La versión esperada ya no es la actual
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private List<Object[]> returning(String sql, Long carId, Long userId, Long expectedVersion,
+                                     Car changes, LocalDateTime updatedAt) {
+        NativeQuery<Object[]> query = statement(sql, carId, userId, expectedVersion, changes, updatedAt);
+        query.addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("user_id", StandardBasicTypes.LONG)
+                .addScalar("brand", StandardBasicTypes.STRING)
+                .addScalar("model", StandardBasicTypes.STRING)
+                .addScalar("year", StandardBasicTypes.INTEGER)
+                .addScalar("plate_number", StandardBasicTypes.STRING)
+                .addScalar("color", StandardBasicTypes.STRING)
+                .addScalar("photo_url", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("updated_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("version", StandardBasicTypes.LONG);
+        try {
+            return query.getResultList();
+        } catch (ConstraintViolationException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+    }
+
+    private NativeQuery<Object[]> statement(String sql, Long carId, Long userId, Long expectedVersion,
+                                            Car changes, LocalDateTime updatedAt) {
+        Session session = entityManager.unwrap(Session.class);
+        // Las escrituras pendientes del contexto llegan a la base antes que la sentencia
+        session.flush();
+
+        NativeQuery<Object[]> query = session.createNativeQuery(sql, Object[].class)
+                .addSynchronizedQuerySpace(WRITE_QUERY_SPACE);
+        query.setParameter("carId", carId, StandardBasicTypes.LONG);
+        query.setParameter("userId", userId, StandardBasicTypes.LONG);
+        if (sql.contains(":expectedVersion")) {
+            query.setParameter("expectedVersion", expectedVersion, StandardBasicTypes.LONG);
+        }
+        if (changes != null) {
+            query.setParameter("brand", changes.getBrand(), StandardBasicTypes.STRING);
+            query.setParameter("model", changes.getModel(), StandardBasicTypes.STRING);
+            query.setParameter("year", changes.getYear(), StandardBasicTypes.INTEGER);
+            query.setParameter("plateNumber", changes.getPlateNumber(), StandardBasicTypes.STRING);
+            query.setParameter("color", changes.getColor(), StandardBasicTypes.STRING);
+            query.setParameter("photoUrl", changes.getPhotoUrl(), StandardBasicTypes.STRING);
+            query.setParameter("brandNorm", SearchTextNormalizer.normalize(changes.getBrand()), StandardBasicTypes.STRING);
+            query.setParameter("modelNorm", SearchTextNormalizer.normalize(changes.getModel()), StandardBasicTypes.STRING);
+            query.setParameter("colorNorm", SearchTextNormalizer.normalize(changes.getColor()), StandardBasicTypes.STRING);
+            query.setParameter("plateNorm", SearchTextNormalizer.normalize(changes.getPlateNumber()), StandardBasicTypes.STRING);
+            query.setParameter("updatedAt", updatedAt, StandardBasicTypes.LOCAL_DATE_TIME);
+        }
+        return query;
+    }
+
+    private Car single(List<Object[]> rows) {
+        return rows.isEmpty() ? null : toCar(rows.get(0));
+    }
+
+    private static Car toCar(Object[] row) {
+        Car car = new Car((Long) row[0], (String) row[2], (String) row[3], (Integer) row[4], (String) row[5],
+                (String) row[6], (String) row[7], (Long) row[1], (LocalDateTime) row[8], (LocalDateTime) row[9]);
+        car.setVersion((Long) row[10]);
+        return car;
+    }
+
+    private static String columns(String prefix) {
+        return String.join(", ", COLUMNS.stream().map(column -> prefix + column).toList());
+    }
+
+    /**
+     * Expulsa el auto y la placa que tenía, ahora y al terminar la transacción: entre la
+     * sentencia y el commit otra transacción aún puede leer y volver a cachear la fila anterior
+     */
+    private void evictAfterWrite(Car previous) {
+        SessionFactoryImplementor factory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = factory.getMappingMetamodel().getEntityDescriptor(CarEntity.class);
+        NaturalIdMapping naturalId = persister.getNaturalIdMapping();
+        NaturalIdDataAccess plateAccess = naturalId != null ? naturalId.getCacheAccess() : null;
+        Object plateKey = plateAccess != null
+                ? plateAccess.generateCacheKey(naturalId.normalizeInput(previous.getPlateNumber()), persister,
+                        entityManager.unwrap(SharedSessionContractImplementor.class))
+                : null;
+
+        Runnable evict = () -> {
+            factory.getCache().evictEntityData(CarEntity.class, previous.getId());
+            if (plateKey != null) {
+                plateAccess.evict(plateKey);
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private DatabaseEngine resolveEngine() {
+        DatabaseEngine resolved = engine;
+        if (resolved == null) {
+            resolved = DatabaseEngine.fromDialect(entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+            engine = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Sentencia condicionada a la versión leída
+     *
+     * @return filas afectadas
+     */
+    @FunctionalInterface
+    private interface VersionedWrite {
+        int execute(Long version);
+    }
+}
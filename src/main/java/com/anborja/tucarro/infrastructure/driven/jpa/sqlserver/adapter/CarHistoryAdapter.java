@@ -0,0 +1,263 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.infrastructure.configuration.database.DatabaseEngine;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarHistoryEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarArchiveRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarHistoryRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas de la historia de un auto. En SQL Server con la tabla temporal nativa activada
+ * (db/history/sqlserver.sql) se usa FOR SYSTEM_TIME; en el resto de motores las versiones
+ * anteriores las escriben los triggers de cars en cars_history y la actual se lee de cars
+ * o del archivo. Las escrituras de cars no cambian: la historia no añade trabajo a la
+ * aplicación en las consultas del estado actual.
+ */
+@Component
+public class CarHistoryAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarHistoryAdapter.class);
+
+    private static final String TEMPORAL_COLUMNS =
+            "id, user_id, brand, model, year, plate_number, color, photo_url, created_at, updated_at, version, " +
+            "valid_from, valid_to";
+
+    private static final String TEMPORAL_HISTORY_TABLE = "cars_temporal_history";
+
+    // Tipo de las tablas versionadas por el sistema en sys.tables
+    private static final int SYSTEM_VERSIONED_TABLE = 2;
+
+    // SQL Server cierra el periodo de la versión actual en 9999-12-31
+    private static final LocalDateTime OPEN_PERIOD = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final ICarRepository carRepository;
+    private final ICarArchiveRepository carArchiveRepository;
+    private final ICarHistoryRepository carHistoryRepository;
+    private final ICarEntityMapper carEntityMapper;
+    private final EntityManager entityManager;
+
+    private volatile Boolean nativeTemporal;
+
+    public CarHistoryAdapter(ICarRepository carRepository,
+                             ICarArchiveRepository carArchiveRepository,
+                             ICarHistoryRepository carHistoryRepository,
+                             ICarEntityMapper carEntityMapper,
+                             EntityManager entityManager) {
+        this.carRepository = carRepository;
+        this.carArchiveRepository = carArchiveRepository;
+        this.carHistoryRepository = carHistoryRepository;
+        this.carEntityMapper = carEntityMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Estado del auto en un instante. Debe llamarse dentro de una transacción
+     */
+    public Optional<Car> findAsOf(Long id, LocalDateTime at) {
+        if (usesNativeTemporal()) {
+            Optional<Car> versioned = temporalQuery("SELECT TOP 1 " + TEMPORAL_COLUMNS +
+                    " FROM cars FOR SYSTEM_TIME AS OF :at WHERE id = :id", id, at).stream()
+                    .findFirst()
+                    .map(CarRevision::getCar);
+            // Después de archivarse el auto ya no está en cars: su estado es el del archivo
+            return versioned.or(() -> archivedAsOf(id, at));
+        }
+
+        Optional<Car> current = currentState(id);
+        if (current.isPresent() && !current.get().getUpdatedAt().isAfter(at)) {
+            return current;
+        }
+        return carHistoryRepository.findValidAt(id, at, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(carEntityMapper::historyToDomain);
+    }
+
+    /**
+     * Versiones del auto en orden cronológico; la actual, si existe, va al final.
+     * Debe llamarse dentro de una transacción
+     */
+    public List<CarRevision> historyOf(Long id) {
+        List<CarRevision> revisions;
+        Optional<Car> current;
+        if (usesNativeTemporal()) {
+            revisions = temporalQuery("SELECT " + TEMPORAL_COLUMNS +
+                    " FROM cars FOR SYSTEM_TIME ALL WHERE id = :id ORDER BY valid_from", id, null);
+            if (!revisions.isEmpty() && revisions.get(revisions.size() - 1).isCurrent()) {
+                return revisions;
+            }
+            current = carArchiveRepository.findById(id).map(carEntityMapper::archiveToDomain);
+        } else {
+            revisions = new ArrayList<>();
+            for (CarHistoryEntity entity : carHistoryRepository.findByCarIdOrderByValidFromAsc(id)) {
+                revisions.add(new CarRevision(carEntityMapper.historyToDomain(entity),
+                        entity.getValidFrom(), entity.getValidTo()));
+            }
+            current = currentState(id);
+        }
+
+        current.ifPresent(car -> appendCurrent(revisions, car));
+        return revisions;
+    }
+
+    /**
+     * Elimina las versiones de un usuario de la tabla temporal de SQL Server al purgar su
+     * cuenta; en el resto de motores la purga borra cars_history por lotes. SQL Server no
+     * permite borrar de la tabla de historia con el versionado activo: se desactiva y se
+     * vuelve a activar con la misma retención en la transacción del llamador, que debe
+     * haber borrado ya los autos del usuario. Mientras tanto cars queda bloqueada, por eso se
+     * hace una sola vez por cuenta
+     *
+     * @return el número de versiones eliminadas
+     */
+    public int purgeTemporalHistory(Long userId) {
+        if (!usesNativeTemporal()) {
+            return 0;
+        }
+
+        Object[] retention = (Object[]) entityManager.createNativeQuery(
+                        "SELECT history_retention_period, history_retention_period_unit_desc " +
+                        "FROM sys.tables WHERE object_id = OBJECT_ID('dbo.cars')")
+                .getSingleResult();
+        String retentionPeriod = ((Number) retention[0]).intValue() < 0
+                ? "INFINITE"
+                : retention[0] + " " + retention[1];
+
+        historyStatement("ALTER TABLE dbo.cars SET (SYSTEM_VERSIONING = OFF)").executeUpdate();
+        int deleted = historyStatement("DELETE FROM dbo." + TEMPORAL_HISTORY_TABLE + " WHERE user_id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        // Solo se borraron versiones: no hace falta volver a verificar la consistencia de la historia
+        historyStatement("ALTER TABLE dbo.cars SET (SYSTEM_VERSIONING = ON (HISTORY_TABLE = dbo." +
+                TEMPORAL_HISTORY_TABLE + ", DATA_CONSISTENCY_CHECK = OFF, HISTORY_RETENTION_PERIOD = " +
+                retentionPeriod + "))").executeUpdate();
+        return deleted;
+    }
+
+    /**
+     * Sentencia nativa sobre la historia temporal; no afecta a ninguna entidad, así que no
+     * invalida la caché de segundo nivel
+     */
+    private NativeQuery<Object> historyStatement(String sql) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql, Object.class)
+                .addSynchronizedQuerySpace(TEMPORAL_HISTORY_TABLE);
+    }
+
+    /**
+     * Añade la versión actual. Si el auto se archivó, su última versión en cars ya quedó
+     * registrada al borrarse de la tabla: se sustituye por la del archivo, abierta
+     */
+    private void appendCurrent(List<CarRevision> revisions, Car car) {
+        if (!revisions.isEmpty()) {
+            CarRevision last = revisions.get(revisions.size() - 1);
+            if (car.getVersion() != null && car.getVersion().equals(last.getCar().getVersion())) {
+                revisions.set(revisions.size() - 1, new CarRevision(car, last.getValidFrom(), null));
+                return;
+            }
+        }
+        revisions.add(new CarRevision(car, car.getUpdatedAt(), null));
+    }
+
+    private Optional<Car> currentState(Long id) {
+        return carRepository.findById(id)
+                .map(carEntityMapper::entityToDomain)
+                .or(() -> carArchiveRepository.findById(id).map(carEntityMapper::archiveToDomain));
+    }
+
+    private Optional<Car> archivedAsOf(Long id, LocalDateTime at) {
+        return carArchiveRepository.findById(id)
+                .filter(archived -> !archived.getUpdatedAt().isAfter(at))
+                .map(carEntityMapper::archiveToDomain);
+    }
+
+    /**
+     * Ejecuta una consulta sobre la tabla temporal. Los periodos de SQL Server están en UTC:
+     * el instante se convierte al enviarlo y las fechas de vigencia al leerlas
+     */
+    @SuppressWarnings("unchecked")
+    private List<CarRevision> temporalQuery(String sql, Long id, LocalDateTime at) {
+        NativeQuery<Object[]> query = entityManager.unwrap(Session.class).createNativeQuery(sql, Object[].class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("user_id", StandardBasicTypes.LONG)
+                .addScalar("brand", StandardBasicTypes.STRING)
+                .addScalar("model", StandardBasicTypes.STRING)
+                .addScalar("year", StandardBasicTypes.INTEGER)
+                .addScalar("plate_number", StandardBasicTypes.STRING)
+                .addScalar("color", StandardBasicTypes.STRING)
+                .addScalar("photo_url", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("updated_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("version", StandardBasicTypes.LONG)
+                .addScalar("valid_from", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("valid_to", StandardBasicTypes.LOCAL_DATE_TIME);
+        query.setParameter("id", id);
+        if (at != null) {
+            query.setParameter("at", toUtc(at));
+        }
+
+        List<CarRevision> revisions = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            Car car = new Car((Long) row[0], (String) row[2], (String) row[3], (Integer) row[4],
+                    (String) row[5], (String) row[6], (String) row[7], (Long) row[1],
+                    (LocalDateTime) row[8], (LocalDateTime) row[9]);
+            car.setVersion((Long) row[10]);
+            LocalDateTime validTo = (LocalDateTime) row[12];
+            revisions.add(new CarRevision(car, fromUtc((LocalDateTime) row[11]),
+                    validTo.isBefore(OPEN_PERIOD) ? fromUtc(validTo) : null));
+        }
+        return revisions;
+    }
+
+    private static LocalDateTime toUtc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static LocalDateTime fromUtc(LocalDateTime utc) {
+        return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    /**
+     * Indica si cars es una tabla temporal de SQL Server. Se resuelve una vez: activar el
+     * versionado requiere reiniciar la aplicación para que se use
+     */
+    private boolean usesNativeTemporal() {
+        Boolean resolved = nativeTemporal;
+        if (resolved == null) {
+            resolved = resolveEngine() == DatabaseEngine.SQLSERVER && isSystemVersioned();
+            nativeTemporal = resolved;
+            logger.info("Historia de autos: {}", resolved ? "tabla temporal nativa" : "tabla cars_history");
+        }
+        return resolved;
+    }
+
+    private boolean isSystemVersioned() {
+        List<?> rows = entityManager.createNativeQuery(
+                        "SELECT temporal_type FROM sys.tables WHERE object_id = OBJECT_ID('dbo.cars')")
+                .getResultList();
+        Object temporalType = rows.isEmpty() ? null : rows.get(0);
+        return temporalType instanceof Number number && number.intValue() == SYSTEM_VERSIONED_TABLE;
+    }
+
+    private DatabaseEngine resolveEngine() {
+        return DatabaseEngine.fromDialect(entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+    }
+}
@@ -0,0 +1,43 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarOutboxEventEntity;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra los cambios de autos en el outbox. Se llama desde CarRepositoryAdapter dentro de
+ * la transacción que escribe el auto, de modo que el evento existe si y solo si el cambio
+ * se confirmó. El cambio se publica además como evento de Spring, para que la propia
+ * instancia reaccione al confirmarse la transacción sin esperar al relay.
+ */
+@Component
+public class CarOutboxAdapter {
+
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    public CarOutboxAdapter(EntityManager entityManager,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${car-outbox.enabled:true}") boolean enabled) {
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    public void append(CarChangeEvent.ChangeType type, Long carId, Long userId) {
+        eventPublisher.publishEvent(new CarChangeEvent(null, type, carId, userId, LocalDateTime.now()));
+
+        // Sin relay nadie consumiría ni limpiaría la tabla
+        if (!enabled) {
+            return;
+        }
+
+        entityManager.persist(new CarOutboxEventEntity(type.name(), carId, userId));
+    }
+}
@@ -1,33 +1,76 @@
 package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
 
+import com.anborja.tucarro.domain.exception.CarAlreadyExistsException;
+import com.anborja.tucarro.domain.exception.UserNotFoundException;
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
 import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserEntity;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarArchiveRepository;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Component
 public class CarRepositoryAdapter implements ICarRepositoryPort {
 
+    // IDs por sentencia al aplicar una operación masiva a los autos bloqueados
+    private static final int BULK_ID_BATCH_SIZE = 1000;
+
     private final ICarRepository carRepository;
+    private final ICarArchiveRepository carArchiveRepository;
     private final IUserRepository userRepository;
     private final ICarEntityMapper carEntityMapper;
+    private final EntityManager entityManager;
+    private final UserCarStatsAdapter userCarStats;
+    private final CarOutboxAdapter carOutbox;
+    private final CarUpsertAdapter carUpsert;
+    private final CarHistoryAdapter carHistory;
+    private final CarConditionalWriteAdapter conditionalWrite;
+    private final TransactionTemplate transactionTemplate;
 
     public CarRepositoryAdapter(ICarRepository carRepository,
+                                ICarArchiveRepository carArchiveRepository,
                                 IUserRepository userRepository,
-                                ICarEntityMapper carEntityMapper) {
+                                ICarEntityMapper carEntityMapper,
+                                EntityManager entityManager,
+                                UserCarStatsAdapter userCarStats,
+                                CarOutboxAdapter carOutbox,
+                                CarUpsertAdapter carUpsert,
+                                CarHistoryAdapter carHistory,
+                                CarConditionalWriteAdapter conditionalWrite,
+                                PlatformTransactionManager transactionManager) {
         this.carRepository = carRepository;
+        this.carArchiveRepository = carArchiveRepository;
         this.userRepository = userRepository;
         this.carEntityMapper = carEntityMapper;
+        this.entityManager = entityManager;
+        this.userCarStats = userCarStats;
+        this.carOutbox = carOutbox;
+        this.carUpsert = carUpsert;
+        this.carHistory = carHistory;
+        this.conditionalWrite = conditionalWrite;
+        // Transacción programática: la violación de integridad se traduce fuera, ya con la transacción revertida
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -40,11 +83,27 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             throw new IllegalArgumentException("El auto debe tener un usuario asociado");
         }
 
-        // Buscar el usuario
-        UserEntity userEntity = userRepository.findById(car.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+        CarEntity savedEntity;
+        try {
+            savedEntity = transactionTemplate.execute(status -> saveWithStats(car));
+        } catch (DataIntegrityViolationException e) {
+            throw translateIntegrityViolation(car);
+        }
+        return carEntityMapper.entityToDomain(savedEntity);
+    }
+
+    /**
+     * Guarda el auto y aplica su efecto en las estadísticas del propietario y en el outbox
+     * en la misma transacción
+     */
+    private CarEntity saveWithStats(Car car) {
+        boolean statsLocked = userCarStats.lock(car.getUserId());
+
+        // Referencia sin consulta: la clave foránea valida que el usuario exista al insertar
+        UserEntity userEntity = userRepository.getReferenceById(car.getUserId());
 
         CarEntity carEntity;
+        StatsKey previous = null;
 
         if (car.getId() == null) {
             // Crear nuevo auto
@@ -55,6 +114,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             Optional<CarEntity> existingEntity = carRepository.findById(car.getId());
             if (existingEntity.isPresent()) {
                 carEntity = existingEntity.get();
+                previous = StatsKey.of(carEntity);
                 carEntityMapper.updateEntityFromDomain(car, carEntity);
                 // Mantener la relación con el usuario
                 if (!carEntity.getUser().getId().equals(car.getUserId())) {
@@ -67,9 +127,48 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         CarEntity savedEntity = carRepository.save(carEntity);
-        return carEntityMapper.entityToDomain(savedEntity);
+        recordStatsChange(previous, StatsKey.of(savedEntity), statsLocked);
+        carOutbox.append(previous == null ? CarChangeEvent.ChangeType.CREATED : CarChangeEvent.ChangeType.UPDATED,
+                savedEntity.getId(), car.getUserId());
+        return savedEntity;
+    }
+
+    /**
+     * Aplica a las estadísticas el paso de un auto de previous (null si es nuevo) a current.
+     * Si el auto cambió de propietario, se descuenta al anterior tomando su candado
+     */
+    private void recordStatsChange(StatsKey previous, StatsKey current, boolean currentOwnerLocked) {
+        if (previous != null && !previous.userId.equals(current.userId)) {
+            if (userCarStats.lock(previous.userId)) {
+                userCarStats.carRemoved(previous.userId, previous.year, previous.brand);
+            }
+            previous = null;
+        }
+
+        if (!currentOwnerLocked) {
+            return;
+        }
+
+        if (previous == null) {
+            userCarStats.carAdded(current.userId, current.year, current.brand);
+        } else {
+            userCarStats.carChanged(current.userId, previous.year, previous.brand, current.year, current.brand);
+        }
     }
 
+    /**
+     * Distingue qué restricción falló al guardar. Solo se consulta en el camino de error
+     */
+    private RuntimeException translateIntegrityViolation(Car car) {
+        if (!userRepository.existsById(car.getUserId())) {
+            return new UserNotFoundException(car.getUserId());
+        }
+        return CarAlreadyExistsException.withPlateNumber(car.getPlateNumber());
+    }
+
+    /**
+     * Busca en cars y, si no está, en el archivo de autos fuera del conjunto de trabajo
+     */
     @Override
     public Optional<Car> findById(Long id) {
         if (id == null) {
@@ -77,17 +176,55 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         return carRepository.findById(id)
-                .map(carEntityMapper::entityToDomain);
+                .map(carEntityMapper::entityToDomain)
+                .or(() -> carArchiveRepository.findById(id).map(carEntityMapper::archiveToDomain));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Car> findByIdAsOf(Long id, LocalDateTime asOf) {
+        if (id == null || asOf == null) {
+            return Optional.empty();
+        }
+
+        return carHistory.findAsOf(id, asOf);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarRevision> historyOf(Long id) {
+        if (id == null) {
+            return List.of();
+        }
+
+        return carHistory.historyOf(id);
     }
 
+    /**
+     * Busca por placa usando el identificador natural, de modo que la resolución
+     * placa → id y la entidad pueden servirse desde la caché de segundo nivel.
+     * Si no está en cars, la placa puede ser de un auto archivado
+     */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Car> findByPlateNumber(String plateNumber) {
         if (plateNumber == null || plateNumber.trim().isEmpty()) {
             return Optional.empty();
         }
 
-        return carRepository.findByPlateNumber(plateNumber.trim().toUpperCase())
-                .map(carEntityMapper::entityToDomain);
+        String normalizedPlate = plateNumber.trim().toUpperCase();
+        CarEntity entity = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(CarEntity.class)
+                .load(normalizedPlate);
+
+        // La placa es mutable: si la caché aún apunta a un auto cuya placa cambió, se consulta la base
+        if (entity != null && !normalizedPlate.equals(entity.getPlateNumber())) {
+            entity = carRepository.findByPlateNumber(normalizedPlate).orElse(null);
+        }
+
+        return Optional.ofNullable(entity)
+                .map(carEntityMapper::entityToDomain)
+                .or(() -> carArchiveRepository.findByPlateNumber(normalizedPlate).map(carEntityMapper::archiveToDomain));
     }
 
     @Override
@@ -106,7 +243,9 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             return false;
         }
 
-        return carRepository.existsByPlateNumber(plateNumber.trim().toUpperCase());
+        String normalizedPlate = plateNumber.trim().toUpperCase();
+        return carRepository.existsByPlateNumber(normalizedPlate)
+                || carArchiveRepository.existsByPlateNumber(normalizedPlate);
     }
 
     @Override
@@ -115,8 +254,140 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             return false;
         }
 
-        return carRepository.existsByPlateNumberAndUserIdNot(
-                plateNumber.trim().toUpperCase(), userId);
+        String normalizedPlate = plateNumber.trim().toUpperCase();
+        return carRepository.existsByPlateNumberAndUserIdNot(normalizedPlate, userId)
+                || carArchiveRepository.existsByPlateNumberAndUserIdNot(normalizedPlate, userId);
+    }
+
+    @Override
+    public boolean existsByPlateNumberAndIdNot(String plateNumber, Long carId) {
+        if (plateNumber == null || plateNumber.trim().isEmpty() || carId == null) {
+            return false;
+        }
+
+        String normalizedPlate = plateNumber.trim().toUpperCase();
+        return carRepository.existsByPlateNumberAndIdNot(normalizedPlate, carId)
+                || carArchiveRepository.existsByPlateNumberAndIdNot(normalizedPlate, carId);
+    }
+
+    /**
+     * Actualiza el auto con una sentencia condicional sin leerlo antes; el estado previo lo
+     * devuelve la propia sentencia y el final es ese más los cambios, sin volver a consultar la fila
+     */
+    @Override
+    @Transactional
+    public WriteResult updateIfOwned(Car changes, Long userId, Long expectedVersion) {
+        if (changes == null || changes.getId() == null || userId == null) {
+            throw new IllegalArgumentException("Auto, ID y usuario no pueden ser nulos para actualizar");
+        }
+
+        // Solo año y marca alimentan las estadísticas; sin cambios en ellos no se toma su candado
+        boolean touchesStats = changes.getYear() != null || changes.getBrand() != null;
+        boolean statsLocked = touchesStats && userCarStats.lock(userId);
+
+        LocalDateTime updatedAt = changes.getUpdatedAt() != null ? changes.getUpdatedAt() : LocalDateTime.now();
+        Car previous;
+        try {
+            previous = conditionalWrite.update(changes, userId, expectedVersion, updatedAt);
+        } catch (DataIntegrityViolationException e) {
+            // Otra transacción tomó la placa entre la verificación y la actualización
+            throw CarAlreadyExistsException.withPlateNumber(changes.getPlateNumber());
+        }
+
+        if (previous == null) {
+            return WriteResult.missed(explainMissedWrite(changes.getId(), userId, true));
+        }
+        Car updated = applyChanges(previous, changes, updatedAt);
+
+        if (statsLocked) {
+            userCarStats.carChanged(userId, previous.getYear(), previous.getBrand(),
+                    updated.getYear(), updated.getBrand());
+        }
+        carOutbox.append(CarChangeEvent.ChangeType.UPDATED, changes.getId(), userId);
+        return WriteResult.applied(previous, updated);
+    }
+
+    /**
+     * Estado del auto tras el UPDATE de updateIfOwned: los campos no nulos de changes
+     * reemplazan a los leídos y la versión avanza en uno
+     */
+    private Car applyChanges(Car previous, Car changes, LocalDateTime updatedAt) {
+        Car updated = new Car(previous.getId(),
+                changes.getBrand() != null ? changes.getBrand() : previous.getBrand(),
+                changes.getModel() != null ? changes.getModel() : previous.getModel(),
+                changes.getYear() != null ? changes.getYear() : previous.getYear(),
+                changes.getPlateNumber() != null ? changes.getPlateNumber() : previous.getPlateNumber(),
+                changes.getColor() != null ? changes.getColor() : previous.getColor(),
+                changes.getPhotoUrl() != null ? changes.getPhotoUrl() : previous.getPhotoUrl(),
+                previous.getUserId(),
+                previous.getCreatedAt(),
+                updatedAt);
+        updated.setVersion(previous.getVersion() + 1);
+        return updated;
+    }
+
+    @Override
+    public List<CarUpsertResult> upsertByPlate(List<Car> cars, Long userId) {
+        if (cars == null || userId == null) {
+            throw new IllegalArgumentException("Los autos y el usuario no pueden ser nulos");
+        }
+
+        try {
+            return transactionTemplate.execute(status -> carUpsert.upsert(cars, userId));
+        } catch (DataIntegrityViolationException e) {
+            // Usuario inexistente, o una placa insertada en paralelo por otra sentencia
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException(userId);
+            }
+            throw CarAlreadyExistsException.withPlateNumber(
+                    String.join(", ", cars.stream().map(Car::getPlateNumber).toList()));
+        }
+    }
+
+    @Override
+    @Transactional
+    public WriteResult deleteIfOwned(Long carId, Long userId) {
+        if (carId == null || userId == null) {
+            throw new IllegalArgumentException("El ID del auto y del usuario no pueden ser nulos");
+        }
+
+        boolean statsLocked = userCarStats.lock(userId);
+        // El estado previo lo devuelve el propio DELETE
+        Car previous = conditionalWrite.delete(carId, userId);
+        if (previous == null) {
+            // Un auto archivado ya no cuenta en las estadísticas ni en los suscriptores
+            Optional<Car> archived = carArchiveRepository.findById(carId)
+                    .map(carEntityMapper::archiveToDomain)
+                    .filter(car -> userId.equals(car.getUserId()));
+            if (archived.isPresent() && carArchiveRepository.deleteIfOwned(carId, userId) > 0) {
+                return WriteResult.applied(archived.get(), null);
+            }
+            return WriteResult.missed(explainMissedWrite(carId, userId, false));
+        }
+
+        if (statsLocked) {
+            userCarStats.carRemoved(userId, previous.getYear(), previous.getBrand());
+        }
+        carOutbox.append(CarChangeEvent.ChangeType.DELETED, carId, userId);
+        return WriteResult.applied(previous, null);
+    }
+
+    /**
+     * Determina por qué una escritura no afectó filas. Solo se consulta en el camino de error.
+     */
+    private WriteOutcome explainMissedWrite(Long carId, Long userId, boolean versioned) {
+        Optional<Long> ownerId = carRepository.findOwnerIdById(carId);
+        if (ownerId.isEmpty()) {
+            // Los autos archivados son de solo lectura, pero siguen siendo de su propietario
+            return carArchiveRepository.findOwnerIdById(carId)
+                    .filter(archivedOwnerId -> !archivedOwnerId.equals(userId))
+                    .map(archivedOwnerId -> WriteOutcome.FORBIDDEN)
+                    .orElse(WriteOutcome.NOT_FOUND);
+        }
+        if (!ownerId.get().equals(userId)) {
+            return WriteOutcome.FORBIDDEN;
+        }
+        return versioned ? WriteOutcome.STALE : WriteOutcome.NOT_FOUND;
     }
 
     @Override
@@ -125,43 +396,238 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             throw new IllegalArgumentException("Auto y ID no pueden ser nulos para actualizar");
         }
 
+        CarEntity updatedEntity;
+        try {
+            updatedEntity = transactionTemplate.execute(status -> updateWithStats(car));
+        } catch (DataIntegrityViolationException e) {
+            throw translateIntegrityViolation(car);
+        }
+        return carEntityMapper.entityToDomain(updatedEntity);
+    }
+
+    private CarEntity updateWithStats(Car car) {
         Optional<CarEntity> existingEntity = carRepository.findById(car.getId());
         if (existingEntity.isEmpty()) {
             throw new IllegalArgumentException("Auto no encontrado para actualizar");
         }
 
         CarEntity carEntity = existingEntity.get();
+        StatsKey previous = StatsKey.of(carEntity);
+        boolean statsLocked = userCarStats.lock(car.getUserId() != null ? car.getUserId() : previous.userId);
+
         carEntityMapper.updateEntityFromDomain(car, carEntity);
 
         // Si se cambió el usuario, actualizar la relación
         if (car.getUserId() != null && !carEntity.getUser().getId().equals(car.getUserId())) {
-            UserEntity newUser = userRepository.findById(car.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
-            carEntity.setUser(newUser);
+            carEntity.setUser(userRepository.getReferenceById(car.getUserId()));
         }
 
-        CarEntity updatedEntity = carRepository.save(carEntity);
-        return carEntityMapper.entityToDomain(updatedEntity);
+        CarEntity updatedEntity = carRepository.saveAndFlush(carEntity);
+        recordStatsChange(previous, StatsKey.of(updatedEntity), statsLocked);
+        carOutbox.append(CarChangeEvent.ChangeType.UPDATED, updatedEntity.getId(), updatedEntity.getUser().getId());
+        return updatedEntity;
     }
 
+    /**
+     * UPDATE JPQL único sobre los autos del usuario; Hibernate invalida la región de caché de
+     * CarEntity al ejecutarlo. Si cambian año o marca, las estadísticas se recalculan una vez
+     * desde cars en la misma transacción, y se registra un único evento BULK_UPDATED.
+     * Para capturar el estado previo se leen y bloquean antes los autos seleccionados, y el
+     * UPDATE se aplica a esos IDs: los autos que empiecen a cumplir el filtro mientras tanto
+     * no se modifican sin haber sido capturados
+     */
     @Override
-    public boolean deleteById(Long id) {
-        if (id == null) {
-            return false;
+    public BulkWriteResult bulkUpdate(Long userId, List<Long> carIds, CarSearchCriteria filter, Car changes,
+                                      boolean capturePrevious) {
+        if (userId == null || changes == null || (carIds == null) == (filter == null)) {
+            throw new IllegalArgumentException("Usuario, cambios y una selección por IDs o por filtro son obligatorios");
+        }
+
+        BulkWriteResult result = transactionTemplate.execute(status -> {
+            boolean statsLocked = userCarStats.lock(userId);
+
+            String brandNorm = SearchTextNormalizer.normalize(changes.getBrand());
+            String modelNorm = SearchTextNormalizer.normalize(changes.getModel());
+            String colorNorm = SearchTextNormalizer.normalize(changes.getColor());
+            LocalDateTime now = LocalDateTime.now();
+
+            List<Car> previous = capturePrevious ? lockBulkSelection(userId, carIds, filter) : List.of();
+            int rows = 0;
+            if (capturePrevious) {
+                for (List<Long> batch : idBatches(previous)) {
+                    rows += carRepository.bulkUpdateByIds(batch, userId,
+                            changes.getBrand(), changes.getModel(), changes.getYear(), changes.getColor(),
+                            brandNorm, modelNorm, colorNorm, now);
+                }
+            } else if (carIds != null) {
+                rows = carRepository.bulkUpdateByIds(carIds, userId,
+                        changes.getBrand(), changes.getModel(), changes.getYear(), changes.getColor(),
+                        brandNorm, modelNorm, colorNorm, now);
+            } else {
+                rows = carRepository.bulkUpdateByFilter(userId,
+                        containsPattern(filter.getSearchTerm()),
+                        SearchTextNormalizer.normalize(filter.getBrand()),
+                        SearchTextNormalizer.normalize(filter.getModel()),
+                        filter.getYear(),
+                        SearchTextNormalizer.normalize(filter.getColor()),
+                        filter.getMinYear(),
+                        filter.getMaxYear(),
+                        changes.getBrand(), changes.getModel(), changes.getYear(), changes.getColor(),
+                        brandNorm, modelNorm, colorNorm, now);
+            }
+
+            if (rows > 0) {
+                // Solo año y marca alimentan las estadísticas
+                if (statsLocked && (changes.getYear() != null || changes.getBrand() != null)) {
+                    userCarStats.reconcile(userId);
+                }
+                carOutbox.append(CarChangeEvent.ChangeType.BULK_UPDATED, null, userId);
+            }
+            List<Car> updated = previous.stream().map(car -> applyChanges(car, changes, now)).toList();
+            return new BulkWriteResult(rows, previous, updated);
+        });
+        return result != null ? result : BulkWriteResult.count(0);
+    }
+
+    /**
+     * Patrón LIKE de subcadena para el término normalizado, con sus comodines escapados para
+     * que un "%" o un "_" del usuario se busquen literalmente
+     */
+    private static String containsPattern(String searchTerm) {
+        String normalized = SearchTextNormalizer.normalize(searchTerm);
+        if (normalized == null) {
+            return null;
+        }
+        String escape = ICarRepository.LIKE_ESCAPE;
+        return "%" + normalized.replace(escape, escape + escape)
+                .replace("%", escape + "%")
+                .replace("_", escape + "_") + "%";
+    }
+
+    /**
+     * Lee y bloquea los autos de una selección masiva, en orden de ID
+     */
+    private List<Car> lockBulkSelection(Long userId, List<Long> carIds, CarSearchCriteria filter) {
+        List<CarEntity> entities = carIds != null
+                ? carRepository.findByIdInIfOwnedForUpdate(carIds, userId)
+                : carRepository.findByFilterForUpdate(userId,
+                        containsPattern(filter.getSearchTerm()),
+                        SearchTextNormalizer.normalize(filter.getBrand()),
+                        SearchTextNormalizer.normalize(filter.getModel()),
+                        filter.getYear(),
+                        SearchTextNormalizer.normalize(filter.getColor()),
+                        filter.getMinYear(),
+                        filter.getMaxYear());
+        return carEntityMapper.entitiesToDomain(entities);
+    }
+
+    /**
+     * IDs de los autos en lotes que caben en la lista IN de cualquier motor
+     */
+    private static List<List<Long>> idBatches(List<Car> cars) {
+        List<Long> ids = cars.stream().map(Car::getId).toList();
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_ID_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + BULK_ID_BATCH_SIZE, ids.size())));
         }
+        return batches;
+    }
 
-        if (!carRepository.existsById(id)) {
+    /**
+     * DELETE JPQL único sobre los autos del usuario. Por IDs también se eliminan los que
+     * estén archivados; por filtro solo el conjunto de trabajo, como las búsquedas.
+     * Las estadísticas se recalculan una vez y se registra un único evento BULK_DELETED.
+     * Como en bulkUpdate, para capturar el estado previo se eliminan los IDs bloqueados
+     */
+    @Override
+    public BulkWriteResult bulkDelete(Long userId, List<Long> carIds, CarSearchCriteria filter, boolean capturePrevious) {
+        if (userId == null || (carIds == null) == (filter == null)) {
+            throw new IllegalArgumentException("Usuario y una selección por IDs o por filtro son obligatorios");
+        }
+
+        BulkWriteResult result = transactionTemplate.execute(status -> {
+            boolean statsLocked = userCarStats.lock(userId);
+
+            List<Car> previous = new ArrayList<>();
+            int rows = 0;
+            if (capturePrevious) {
+                previous.addAll(lockBulkSelection(userId, carIds, filter));
+                for (List<Long> batch : idBatches(previous)) {
+                    rows += carRepository.bulkDeleteByIds(batch, userId);
+                }
+            } else if (carIds != null) {
+                rows = carRepository.bulkDeleteByIds(carIds, userId);
+            } else {
+                rows = carRepository.bulkDeleteByFilter(userId,
+                        containsPattern(filter.getSearchTerm()),
+                        SearchTextNormalizer.normalize(filter.getBrand()),
+                        SearchTextNormalizer.normalize(filter.getModel()),
+                        filter.getYear(),
+                        SearchTextNormalizer.normalize(filter.getColor()),
+                        filter.getMinYear(),
+                        filter.getMaxYear());
+            }
+
+            if (rows > 0) {
+                if (statsLocked) {
+                    userCarStats.reconcile(userId);
+                }
+                carOutbox.append(CarChangeEvent.ChangeType.BULK_DELETED, null, userId);
+            }
+
+            int archivedRows = 0;
+            if (carIds != null) {
+                if (capturePrevious) {
+                    // Los archivados son de solo lectura: su estado no cambia antes del DELETE
+                    carArchiveRepository.findAllById(carIds).stream()
+                            .map(carEntityMapper::archiveToDomain)
+                            .filter(car -> userId.equals(car.getUserId()))
+                            .forEach(previous::add);
+                }
+                archivedRows = carArchiveRepository.deleteByIdInAndUserId(carIds, userId);
+            }
+            return new BulkWriteResult(rows + archivedRows, previous, List.of());
+        });
+        return result != null ? result : BulkWriteResult.count(0);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
             return false;
         }
 
         try {
-            carRepository.deleteById(id);
-            return true;
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteWithStats(id)));
         } catch (Exception e) {
             return false;
         }
     }
 
+    private boolean deleteWithStats(Long id) {
+        List<Object[]> previous = carRepository.findStatsKeyById(id);
+        if (previous.isEmpty()) {
+            return carArchiveRepository.deleteByIdIn(List.of(id)) > 0;
+        }
+
+        Long ownerId = (Long) previous.get(0)[0];
+        boolean statsLocked = userCarStats.lock(ownerId);
+
+        carRepository.deleteById(id);
+        if (statsLocked) {
+            userCarStats.carRemoved(ownerId, (Integer) previous.get(0)[1], (String) previous.get(0)[2]);
+        }
+        carOutbox.append(CarChangeEvent.ChangeType.DELETED, id, ownerId);
+        return true;
+    }
+
+    /**
+     * Borrado masivo de los autos del usuario. Al ser un DELETE JPQL, Hibernate invalida las
+     * regiones de caché de CarEntity y de su identificador natural al ejecutarlo, y el
+     * contexto de persistencia se limpia para no conservar entidades ya borradas.
+     * Las estadísticas del usuario quedan en cero y se registra un único evento PURGED
+     * en la misma transacción.
+     */
     @Override
     @Transactional
     public int deleteAllByUserId(Long userId) {
@@ -170,7 +636,15 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         try {
-            return carRepository.deleteAllByUserId(userId);
+            boolean statsLocked = userCarStats.lock(userId);
+            int deletedRows = carRepository.deleteAllByUserId(userId);
+            if (statsLocked) {
+                userCarStats.clear(userId);
+            }
+            if (deletedRows > 0) {
+                carOutbox.append(CarChangeEvent.ChangeType.PURGED, null, userId);
+            }
+            return deletedRows + carArchiveRepository.deleteAllByUserId(userId);
         } catch (Exception e) {
             return 0;
         }
@@ -197,7 +671,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             return List.of();
         }
 
-        List<CarEntity> entities = carRepository.findByBrandIgnoreCase(brand.trim());
+        List<CarEntity> entities = carRepository.findByBrandNorm(SearchTextNormalizer.normalize(brand));
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -207,7 +681,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             return List.of();
         }
 
-        List<CarEntity> entities = carRepository.findByModelIgnoreCase(model.trim());
+        List<CarEntity> entities = carRepository.findByModelNorm(SearchTextNormalizer.normalize(model));
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -237,7 +711,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             return List.of();
         }
 
-        List<CarEntity> entities = carRepository.findByColorIgnoreCase(color.trim());
+        List<CarEntity> entities = carRepository.findByColorNorm(SearchTextNormalizer.normalize(color));
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -248,7 +722,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         List<CarEntity> entities = carRepository.findByBrandAndModelAndUserId(
-                brand.trim(), model.trim(), userId);
+                SearchTextNormalizer.normalize(brand), SearchTextNormalizer.normalize(model), userId);
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -259,7 +733,7 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         List<CarEntity> entities = carRepository.findByBrandContainingOrModelContainingAndUserId(
-                searchTerm.trim(), userId);
+                SearchTextNormalizer.normalize(searchTerm), userId);
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -315,7 +789,8 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         }
 
         List<CarEntity> entities = carRepository.findByMultipleCriteria(
-                userId, brand, model, year, color);
+                userId, SearchTextNormalizer.normalize(brand), SearchTextNormalizer.normalize(model),
+                year, SearchTextNormalizer.normalize(color));
         return carEntityMapper.entitiesToDomain(entities);
     }
 
@@ -362,6 +837,25 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         return carEntityMapper.entitiesToDomain(entities);
     }
 
+    /**
+     * Campos de un auto que alimentan las estadísticas agregadas de su propietario
+     */
+    private static class StatsKey {
+        private final Long userId;
+        private final Integer year;
+        private final String brand;
+
+        private StatsKey(Long userId, Integer year, String brand) {
+            this.userId = userId;
+            this.year = year;
+            this.brand = brand;
+        }
+
+        private static StatsKey of(CarEntity entity) {
+            return new StatsKey(entity.getUser().getId(), entity.getYear(), entity.getBrand());
+        }
+    }
+
     /**
      * Clase para estadísticas de años
      */
@@ -399,7 +893,8 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             entities = carRepository.findByUserId(userId, pageable);
         } else {
-            entities = carRepository.findByUserIdWithSearch(userId, searchTerm.trim(), pageable);
+            entities = carRepository.findByUserIdWithSearch(
+                    userId, SearchTextNormalizer.normalize(searchTerm), pageable);
         }
 
         return entities.map(carEntityMapper::entityToDomain);
@@ -414,10 +909,10 @@ public class CarRepositoryAdapter implements ICarRepositoryPort {
             throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
         }
 
-        // Normalizar strings para búsqueda (null si están vacíos)
-        String normalizedBrand = (brand != null && !brand.trim().isEmpty()) ? brand.trim() : null;
-        String normalizedModel = (model != null && !model.trim().isEmpty()) ? model.trim() : null;
-        String normalizedColor = (color != null && !color.trim().isEmpty()) ? color.trim() : null;
+        // Normalizar strings como las columnas *_norm (null si están vacíos)
+        String normalizedBrand = SearchTextNormalizer.normalize(brand);
+        String normalizedModel = SearchTextNormalizer.normalize(model);
+        String normalizedColor = SearchTextNormalizer.normalize(color);
 
         Page<CarEntity> entities = carRepository.findByUserIdWithFilters(
                 userId, normalizedBrand, normalizedModel, year, normalizedColor,
@@ -0,0 +1,115 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.infrastructure.driven.search.LuceneCarSearchIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lee de cars los autos que se indexan en el índice de búsqueda y en la caché de flotas, y
+ * lo necesario para ponerlos al día tras un reinicio (marca de agua, cambios desde ella y
+ * conteos). Las lecturas son consultas, no búsquedas por ID: así no devuelven entradas de
+ * la caché de segundo nivel que otra instancia aún no ha invalidado
+ */
+@Component
+public class CarSearchIndexSourceAdapter implements LuceneCarSearchIndex.CarSource {
+
+    private final ICarRepository carRepository;
+    private final ICarEntityMapper carEntityMapper;
+
+    public CarSearchIndexSourceAdapter(ICarRepository carRepository, ICarEntityMapper carEntityMapper) {
+        this.carRepository = carRepository;
+        this.carEntityMapper = carEntityMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Car> findByIds(Collection<Long> carIds) {
+        if (carIds.isEmpty()) {
+            return List.of();
+        }
+        return carEntityMapper.entitiesToDomain(carRepository.findByIdIn(carIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Car> findByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return carEntityMapper.entitiesToDomain(carRepository.findByUserIdIn(userIds));
+    }
+
+    /**
+     * Siguiente lote de autos en orden de ID, para reconstruir el índice
+     */
+    @Transactional(readOnly = true)
+    public List<Car> findBatchAfter(long afterId, int batchSize) {
+        return carEntityMapper.entitiesToDomain(
+                carRepository.findBatchAfter(afterId, PageRequest.of(0, batchSize)));
+    }
+
+    /**
+     * Marca de agua actual de cars
+     */
+    @Transactional(readOnly = true)
+    public CarHighWaterMark readHighWaterMark() {
+        List<Object[]> rows = carRepository.findHighWaterMark();
+        if (rows.isEmpty() || rows.get(0)[1] == null) {
+            return CarHighWaterMark.empty();
+        }
+        Object[] row = rows.get(0);
+        return new CarHighWaterMark((LocalDateTime) row[0], ((Number) row[1]).longValue());
+    }
+
+    /**
+     * Autos modificados después de since o creados después de afterId, como ID del auto
+     * y ID de su propietario
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findChangedSince(LocalDateTime since, long afterId) {
+        Map<Long, Long> owners = new HashMap<>();
+        for (Object[] row : carRepository.findChangedSince(since, afterId)) {
+            owners.put((Long) row[0], (Long) row[1]);
+        }
+        return owners;
+    }
+
+    /**
+     * Siguiente lote de IDs en orden, para comparar la tabla con el índice
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findIdsAfter(long afterId, int batchSize) {
+        return carRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return carRepository.count();
+    }
+
+    /**
+     * Número de autos de cada usuario; los usuarios sin autos no aparecen
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countByUserIds(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : carRepository.countByUserIdIn(userIds)) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
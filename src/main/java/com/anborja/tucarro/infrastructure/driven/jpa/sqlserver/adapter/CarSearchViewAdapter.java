@@ -0,0 +1,253 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAgeBucket;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import com.anborja.tucarro.domain.spi.ICarSearchViewPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarSearchViewEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ProjectionLockEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarSearchViewRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IProjectionLockRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import com.anborja.tucarro.shared.validation.PlateValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lecturas y proyección del modelo de lectura de búsqueda (car_search_view).
+ * <p>
+ * La proyección no copia eventos sino estado: para un conjunto de autos (por ID, por
+ * usuario o por rango de IDs) borra las filas cuya versión ya no coincide con la de cars y
+ * vuelve a insertar desde cars las que faltan, con dos sentencias sobre el conjunto. Es
+ * idempotente y no depende del orden de los eventos, así que entregas repetidas o un barrido
+ * completo llevan siempre al mismo resultado.
+ * Cada instancia recibe todos los eventos de su relay, pero la escritura tiene un solo
+ * escritor por shard: cada transacción de proyección bloquea antes su fila de
+ * projection_locks. Sin ese candado, dos INSERT ... SELECT ... WHERE NOT EXISTS simultáneos
+ * sobre el mismo auto chocarían en la clave primaria. La instancia que llega después
+ * encuentra la vista al día y sus dos sentencias no cambian filas.
+ */
+@Component
+public class CarSearchViewAdapter implements ICarSearchViewPort {
+
+    // Propiedades de ordenamiento aceptadas (en minúsculas) y su clave precalculada en la vista
+    private static final Map<String, String> SORT_KEYS = Map.of(
+            "brand", "brandNorm",
+            "model", "modelNorm",
+            "color", "colorNorm",
+            "year", "year",
+            "platenumber", "plateNumber",
+            "updatedat", "updatedAt",
+            "createdat", "createdAt"
+    );
+
+    private static final String DEFAULT_SORT_KEY = "createdAt";
+
+    // Fila de projection_locks de esta proyección
+    static final String PROJECTION_LOCK = "car_search_view";
+
+    private final ICarSearchViewRepository viewRepository;
+    private final IProjectionLockRepository lockRepository;
+    private final ICarEntityMapper carEntityMapper;
+    private final EntityManager entityManager;
+
+    public CarSearchViewAdapter(ICarSearchViewRepository viewRepository,
+                                IProjectionLockRepository lockRepository,
+                                ICarEntityMapper carEntityMapper,
+                                EntityManager entityManager) {
+        this.viewRepository = viewRepository;
+        this.lockRepository = lockRepository;
+        this.carEntityMapper = carEntityMapper;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Car> search(Long userId, CarSearchQuery query, String sortBy, boolean ascending) {
+        if (userId == null) {
+            return List.of();
+        }
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortKey(sortBy)).and(Sort.by("carId"));
+
+        return viewRepository.search(userId,
+                        SearchTextNormalizer.normalize(query.getSearchTerm()),
+                        SearchTextNormalizer.normalize(query.getBrand()),
+                        SearchTextNormalizer.normalize(query.getBrandContains()),
+                        SearchTextNormalizer.normalize(query.getModel()),
+                        SearchTextNormalizer.normalize(query.getModelContains()),
+                        query.getYear(), query.getMinYear(), query.getMaxYear(),
+                        SearchTextNormalizer.normalize(query.getColor()),
+                        PlateValidator.normalizePlate(query.getPlateNumber()),
+                        query.getHasPhoto(),
+                        bucketNames(query),
+                        sort).stream()
+                .map(carEntityMapper::viewToDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Car> search(Long userId, CarSearchQuery query, Pageable pageable) {
+        if (userId == null) {
+            return Page.empty(pageable);
+        }
+
+        Page<Car> page = viewRepository.search(userId,
+                        SearchTextNormalizer.normalize(query.getSearchTerm()),
+                        SearchTextNormalizer.normalize(query.getBrand()),
+                        SearchTextNormalizer.normalize(query.getBrandContains()),
+                        SearchTextNormalizer.normalize(query.getModel()),
+                        SearchTextNormalizer.normalize(query.getModelContains()),
+                        query.getYear(), query.getMinYear(), query.getMaxYear(),
+                        SearchTextNormalizer.normalize(query.getColor()),
+                        PlateValidator.normalizePlate(query.getPlateNumber()),
+                        query.getHasPhoto(),
+                        bucketNames(query),
+                        viewPageable(pageable))
+                .map(carEntityMapper::viewToDomain);
+
+        // La página conserva el orden pedido, no las claves internas de la vista
+        return new PageImpl<>(page.getContent(), pageable, page.getTotalElements());
+    }
+
+    /**
+     * Reproyecta los autos indicados, incluidos los eliminados (su fila se borra)
+     *
+     * @return filas borradas más filas insertadas
+     */
+    @Transactional
+    public int refreshCars(Collection<Long> carIds) {
+        if (carIds.isEmpty()) {
+            return 0;
+        }
+        return refresh("v.carId IN :ids", "c.id IN :ids", query -> query.setParameter("ids", carIds));
+    }
+
+    /**
+     * Reproyecta todos los autos de los usuarios indicados
+     *
+     * @return filas borradas más filas insertadas
+     */
+    @Transactional
+    public int refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return refresh("v.userId IN :ids", "c.user.id IN :ids", query -> query.setParameter("ids", userIds));
+    }
+
+    /**
+     * Reproyecta los autos con ID en [fromId, toId], para el barrido completo por rangos
+     *
+     * @return filas borradas más filas insertadas
+     */
+    @Transactional
+    public int refreshRange(long fromId, long toId) {
+        return refresh("v.carId BETWEEN :fromId AND :toId", "c.id BETWEEN :fromId AND :toId", query -> {
+            query.setParameter("fromId", fromId);
+            query.setParameter("toId", toId);
+        });
+    }
+
+    /**
+     * Mayor ID presente en cars o en la vista: el barrido debe cubrir también las filas
+     * de autos ya eliminados
+     */
+    @Transactional(readOnly = true)
+    public long maxCarId() {
+        Long carsMax = entityManager.createQuery("SELECT MAX(c.id) FROM CarEntity c", Long.class).getSingleResult();
+        Long viewMax = viewRepository.findMaxCarId();
+        return Math.max(carsMax != null ? carsMax : 0L, viewMax != null ? viewMax : 0L);
+    }
+
+    private int refresh(String viewScope, String carScope, Consumer<Query> bindScope) {
+        lockProjection();
+        int currentYear = LocalDateTime.now().getYear();
+
+        // Filas de autos eliminados, cambiados de versión o de propietario, o con la antigüedad de otro año
+        Query deleteStale = entityManager.createQuery(
+                "DELETE FROM CarSearchViewEntity v WHERE " + viewScope + " AND (v.bucketYear <> :currentYear " +
+                "OR NOT EXISTS (SELECT c.id FROM CarEntity c " +
+                "WHERE c.id = v.carId AND c.user.id = v.userId AND c.version = v.version))");
+        deleteStale.setParameter("currentYear", currentYear);
+        bindScope.accept(deleteStale);
+        int deleted = deleteStale.executeUpdate();
+
+        Query insertMissing = entityManager.createQuery(
+                "INSERT INTO CarSearchViewEntity (carId, userId, brand, model, year, plateNumber, color, photoUrl, " +
+                "createdAt, updatedAt, version, brandNorm, modelNorm, colorNorm, searchText, ageBucket, bucketYear, hasPhoto) " +
+                "SELECT c.id, c.user.id, c.brand, c.model, c.year, c.plateNumber, c.color, c.photoUrl, " +
+                "c.createdAt, c.updatedAt, c.version, c.brandNorm, c.modelNorm, c.colorNorm, c.searchText, " +
+                "CASE WHEN c.year <= :vintageMaxYear THEN '" + CarAgeBucket.VINTAGE.name() + "' " +
+                "WHEN c.year >= :newMinYear THEN '" + CarAgeBucket.NEW.name() + "' " +
+                "ELSE '" + CarAgeBucket.REGULAR.name() + "' END, " +
+                ":currentYear, " +
+                "CASE WHEN c.photoUrl IS NULL OR c.photoUrl = '' THEN false ELSE true END " +
+                "FROM CarEntity c WHERE " + carScope + " " +
+                "AND NOT EXISTS (SELECT v.carId FROM CarSearchViewEntity v WHERE v.carId = c.id)");
+        insertMissing.setParameter("vintageMaxYear", CarAgeBucket.vintageMaxYear(currentYear));
+        insertMissing.setParameter("newMinYear", CarAgeBucket.newMinYear(currentYear));
+        insertMissing.setParameter("currentYear", currentYear);
+        bindScope.accept(insertMissing);
+        return deleted + insertMissing.executeUpdate();
+    }
+
+    /**
+     * Bloquea la fila de la proyección hasta el final de la transacción. Si aún no existe se
+     * inserta, y la fila recién insertada queda bloqueada igual; si otra instancia la inserta
+     * a la vez, una de las dos falla por clave duplicada y su lote se reintenta
+     */
+    private void lockProjection() {
+        if (lockRepository.lockByName(PROJECTION_LOCK).isEmpty()) {
+            lockRepository.saveAndFlush(new ProjectionLockEntity(PROJECTION_LOCK));
+        }
+    }
+
+    private static List<String> bucketNames(CarSearchQuery query) {
+        List<String> names = new ArrayList<>();
+        query.getAgeBuckets().forEach(bucket -> names.add(bucket.name()));
+        // IN () vacío no es válido en todos los motores: un valor imposible no devuelve filas
+        return names.isEmpty() ? List.of("") : names;
+    }
+
+    private static String sortKey(String sortBy) {
+        if (sortBy == null) {
+            return DEFAULT_SORT_KEY;
+        }
+        return SORT_KEYS.getOrDefault(sortBy.trim().toLowerCase(Locale.ROOT), DEFAULT_SORT_KEY);
+    }
+
+    /**
+     * Traduce el orden pedido a las claves precalculadas; el ID desempata para que la
+     * paginación sea estable
+     */
+    private static Pageable viewPageable(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            orders.add(new Sort.Order(order.getDirection(), sortKey(order.getProperty())));
+        }
+        orders.add(Sort.Order.asc("carId"));
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged(Sort.by(orders));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+}
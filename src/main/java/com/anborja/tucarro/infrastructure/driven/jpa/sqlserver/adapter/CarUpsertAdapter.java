@@ -0,0 +1,263 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
+import com.anborja.tucarro.infrastructure.configuration.database.DatabaseEngine;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarArchiveRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Crea o actualiza autos por placa con la sentencia nativa de cada motor: ON DUPLICATE KEY
+ * en MySQL, ON CONFLICT en PostgreSQL y MERGE en SQL Server (y en H2 u otros). La condición
+ * de propietario va en la propia sentencia, de modo que una placa de otro usuario nunca se
+ * modifica aunque se inserte entre la lectura previa y la escritura.
+ * Debe llamarse dentro de una transacción: se toma primero el candado de las estadísticas
+ * del usuario y después se leen y bloquean sus autos con esas placas, de modo que el estado
+ * previo de los actualizados es el que reemplaza la sentencia.
+ */
+@Component
+public class CarUpsertAdapter {
+
+    // Columnas en el orden en que se enlazan los parámetros de cada fila
+    private static final List<String> COLUMNS = List.of(
+            "user_id", "brand", "model", "year", "plate_number", "color", "photo_url",
+            "brand_norm", "model_norm", "color_norm", "search_text", "created_at", "updated_at", "version");
+
+    // Columnas que cambian cuando la placa ya es del usuario
+    private static final List<String> UPDATED_COLUMNS = List.of(
+            "brand", "model", "year", "color",
+            "brand_norm", "model_norm", "color_norm", "search_text", "updated_at");
+
+    // Tipos de los parámetros en el MERGE, donde VALUES no tiene columna destino de la que inferirlos
+    private static final Map<String, String> MERGE_TYPES = Map.ofEntries(
+            Map.entry("user_id", "BIGINT"),
+            Map.entry("brand", "VARCHAR(30)"),
+            Map.entry("model", "VARCHAR(50)"),
+            Map.entry("year", "INT"),
+            Map.entry("plate_number", "VARCHAR(10)"),
+            Map.entry("color", "VARCHAR(20)"),
+            Map.entry("photo_url", "VARCHAR(500)"),
+            Map.entry("brand_norm", "VARCHAR(30)"),
+            Map.entry("model_norm", "VARCHAR(50)"),
+            Map.entry("color_norm", "VARCHAR(20)"),
+            Map.entry("search_text", "VARCHAR(120)"),
+            Map.entry("version", "BIGINT"));
+
+    private final ICarRepository carRepository;
+    private final ICarArchiveRepository carArchiveRepository;
+    private final ICarEntityMapper carEntityMapper;
+    private final EntityManager entityManager;
+    private final UserCarStatsAdapter userCarStats;
+    private final CarOutboxAdapter carOutbox;
+
+    private volatile DatabaseEngine engine;
+
+    public CarUpsertAdapter(ICarRepository carRepository,
+                            ICarArchiveRepository carArchiveRepository,
+                            ICarEntityMapper carEntityMapper,
+                            EntityManager entityManager,
+                            UserCarStatsAdapter userCarStats,
+                            CarOutboxAdapter carOutbox) {
+        this.carRepository = carRepository;
+        this.carArchiveRepository = carArchiveRepository;
+        this.carEntityMapper = carEntityMapper;
+        this.entityManager = entityManager;
+        this.userCarStats = userCarStats;
+        this.carOutbox = carOutbox;
+    }
+
+    /**
+     * Sincroniza los autos del usuario por placa en una sola sentencia y aplica su efecto
+     * en las estadísticas y el outbox
+     */
+    public List<CarUpsertResult> upsert(List<Car> cars, Long userId) {
+        if (cars.isEmpty()) {
+            return List.of();
+        }
+
+        boolean statsLocked = userCarStats.lock(userId);
+        List<String> plates = cars.stream().map(Car::getPlateNumber).toList();
+
+        // Estado previo de las placas que ya son del usuario, para las estadísticas y la auditoría
+        Map<String, Car> previous = new HashMap<>();
+        for (CarEntity entity : carRepository.findByPlateNumberInIfOwnedForUpdate(plates, userId)) {
+            previous.put(entity.getPlateNumber(), carEntityMapper.entityToDomain(entity));
+            // La sentencia nativa no actualiza las entidades ya cargadas; la lectura posterior debe ir a la base
+            entityManager.detach(entity);
+        }
+
+        // La sentencia solo ve cars: las placas archivadas, de solo lectura, se descartan antes
+        Set<String> archived = new HashSet<>(carArchiveRepository.findPlateNumbersIn(plates));
+        List<Car> writable = cars.stream()
+                .filter(car -> !archived.contains(car.getPlateNumber()))
+                .toList();
+        if (!writable.isEmpty()) {
+            executeUpsert(writable, userId, LocalDateTime.now());
+        }
+
+        Map<String, CarEntity> current = new HashMap<>();
+        for (CarEntity entity : carRepository.findByPlateNumberIn(plates)) {
+            current.put(entity.getPlateNumber(), entity);
+        }
+
+        List<CarUpsertResult> results = new ArrayList<>(cars.size());
+        for (String plate : plates) {
+            CarEntity entity = current.get(plate);
+            if (entity == null || archived.contains(plate) || !userId.equals(entity.getUserId())) {
+                results.add(CarUpsertResult.forbidden(plate));
+                continue;
+            }
+
+            Car before = previous.get(plate);
+            CarUpsertResult.Outcome outcome;
+            if (before == null) {
+                outcome = CarUpsertResult.Outcome.CREATED;
+                if (statsLocked) {
+                    userCarStats.carAdded(userId, entity.getYear(), entity.getBrand());
+                }
+                carOutbox.append(CarChangeEvent.ChangeType.CREATED, entity.getId(), userId);
+            } else {
+                outcome = CarUpsertResult.Outcome.UPDATED;
+                if (statsLocked) {
+                    userCarStats.carChanged(userId, before.getYear(), before.getBrand(),
+                            entity.getYear(), entity.getBrand());
+                }
+                carOutbox.append(CarChangeEvent.ChangeType.UPDATED, entity.getId(), userId);
+            }
+            results.add(new CarUpsertResult(plate, outcome, carEntityMapper.entityToDomain(entity), before));
+        }
+        return results;
+    }
+
+    private void executeUpsert(List<Car> cars, Long userId, LocalDateTime now) {
+        DatabaseEngine activeEngine = resolveEngine();
+
+        // Sentencia sin resultados: la clase solo evita la sobrecarga obsoleta sin tipo
+        NativeQuery<Object> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(buildSql(activeEngine, cars.size()), Object.class)
+                // Hibernate invalida la caché de segundo nivel de CarEntity al ejecutarla
+                .addSynchronizedEntityClass(CarEntity.class);
+
+        int position = 1;
+        for (Car car : cars) {
+            String brandNorm = SearchTextNormalizer.normalize(car.getBrand());
+            String modelNorm = SearchTextNormalizer.normalize(car.getModel());
+            String colorNorm = SearchTextNormalizer.normalize(car.getColor());
+
+            query.setParameter(position++, userId, StandardBasicTypes.LONG);
+            query.setParameter(position++, car.getBrand(), StandardBasicTypes.STRING);
+            query.setParameter(position++, car.getModel(), StandardBasicTypes.STRING);
+            query.setParameter(position++, car.getYear(), StandardBasicTypes.INTEGER);
+            query.setParameter(position++, car.getPlateNumber(), StandardBasicTypes.STRING);
+            query.setParameter(position++, car.getColor(), StandardBasicTypes.STRING);
+            query.setParameter(position++, car.getPhotoUrl(), StandardBasicTypes.STRING);
+            query.setParameter(position++, brandNorm, StandardBasicTypes.STRING);
+            query.setParameter(position++, modelNorm, StandardBasicTypes.STRING);
+            query.setParameter(position++, colorNorm, StandardBasicTypes.STRING);
+            query.setParameter(position++, SearchTextNormalizer.searchText(brandNorm, modelNorm,
+                    SearchTextNormalizer.normalize(car.getPlateNumber()), colorNorm), StandardBasicTypes.STRING);
+            query.setParameter(position++, now, StandardBasicTypes.LOCAL_DATE_TIME);
+            query.setParameter(position++, now, StandardBasicTypes.LOCAL_DATE_TIME);
+            query.setParameter(position++, 0L, StandardBasicTypes.LONG);
+        }
+
+        query.executeUpdate();
+    }
+
+    private static String buildSql(DatabaseEngine engine, int rows) {
+        return switch (engine) {
+            case MYSQL -> mySqlUpsert(rows);
+            case POSTGRESQL -> postgresUpsert(rows);
+            case SQLSERVER -> merge(rows, "cars WITH (HOLDLOCK)", "DATETIME2") + ";";
+            case H2, OTHER -> merge(rows, "cars", "TIMESTAMP");
+        };
+    }
+
+    /**
+     * MySQL: las columnas solo cambian si la fila existente es del mismo usuario; user_id
+     * no se asigna, así que la condición ve siempre el propietario original
+     */
+    private static String mySqlUpsert(int rows) {
+        StringJoiner updates = new StringJoiner(", ");
+        String owned = "user_id = VALUES(user_id)";
+        for (String column : UPDATED_COLUMNS) {
+            updates.add(column + " = IF(" + owned + ", VALUES(" + column + "), " + column + ")");
+        }
+        updates.add("photo_url = IF(" + owned + ", COALESCE(VALUES(photo_url), photo_url), photo_url)");
+        updates.add("version = IF(" + owned + ", version + 1, version)");
+
+        return "INSERT INTO cars (" + String.join(", ", COLUMNS) + ") VALUES "
+                + valueRows(rows, column -> "?")
+                + " ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    private static String postgresUpsert(int rows) {
+        StringJoiner updates = new StringJoiner(", ");
+        for (String column : UPDATED_COLUMNS) {
+            updates.add(column + " = EXCLUDED." + column);
+        }
+        updates.add("photo_url = COALESCE(EXCLUDED.photo_url, c.photo_url)");
+        updates.add("version = c.version + 1");
+
+        return "INSERT INTO cars AS c (" + String.join(", ", COLUMNS) + ") VALUES "
+                + valueRows(rows, column -> "?")
+                + " ON CONFLICT (plate_number) DO UPDATE SET " + updates
+                + " WHERE c.user_id = EXCLUDED.user_id";
+    }
+
+    private static String merge(int rows, String target, String timestampType) {
+        StringJoiner updates = new StringJoiner(", ");
+        for (String column : UPDATED_COLUMNS) {
+            updates.add(column + " = s." + column);
+        }
+        updates.add("photo_url = COALESCE(s.photo_url, c.photo_url)");
+        updates.add("version = c.version + 1");
+
+        StringJoiner sourceColumns = new StringJoiner(", ");
+        COLUMNS.forEach(column -> sourceColumns.add("s." + column));
+
+        return "MERGE INTO " + target + " AS c USING (VALUES "
+                + valueRows(rows, column -> "CAST(? AS " + MERGE_TYPES.getOrDefault(column, timestampType) + ")")
+                + ") AS s (" + String.join(", ", COLUMNS) + ")"
+                + " ON c.plate_number = s.plate_number"
+                + " WHEN MATCHED AND c.user_id = s.user_id THEN UPDATE SET " + updates
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", COLUMNS) + ") VALUES (" + sourceColumns + ")";
+    }
+
+    private static String valueRows(int rows, Function<String, String> placeholder) {
+        StringJoiner row = new StringJoiner(", ", "(", ")");
+        COLUMNS.forEach(column -> row.add(placeholder.apply(column)));
+        return String.join(", ", Collections.nCopies(rows, row.toString()));
+    }
+
+    private DatabaseEngine resolveEngine() {
+        DatabaseEngine resolved = engine;
+        if (resolved == null) {
+            resolved = DatabaseEngine.fromDialect(entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+            engine = resolved;
+        }
+        return resolved;
+    }
+}
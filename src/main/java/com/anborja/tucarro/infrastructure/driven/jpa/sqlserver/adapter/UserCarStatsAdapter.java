@@ -0,0 +1,258 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.UserCarStats;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserCarBrandCountEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserCarStatsEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserCarYearCountEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserCarBrandCountRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserCarStatsRepository;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserCarYearCountRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Lee y mantiene las tablas user_car_stats, user_car_year_counts y user_car_brand_counts.
+ *
+ * Los métodos de mantenimiento se llaman desde CarRepositoryAdapter dentro de la misma
+ * transacción que escribe el auto, con este orden: lock() sobre la fila del usuario,
+ * lectura de los valores anteriores del auto, escritura del auto y por último los deltas.
+ * Al tomar siempre primero la fila de estadísticas, dos escrituras concurrentes sobre la
+ * flota del mismo usuario se serializan y ninguna pierde su delta.
+ */
+@Component
+public class UserCarStatsAdapter implements IUserCarStatsPort {
+
+    private final IUserCarStatsRepository statsRepository;
+    private final IUserCarYearCountRepository yearCountRepository;
+    private final IUserCarBrandCountRepository brandCountRepository;
+    private final ICarRepository carRepository;
+    private final EntityManager entityManager;
+
+    public UserCarStatsAdapter(IUserCarStatsRepository statsRepository,
+                               IUserCarYearCountRepository yearCountRepository,
+                               IUserCarBrandCountRepository brandCountRepository,
+                               ICarRepository carRepository,
+                               EntityManager entityManager) {
+        this.statsRepository = statsRepository;
+        this.yearCountRepository = yearCountRepository;
+        this.brandCountRepository = brandCountRepository;
+        this.carRepository = carRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserCarStats getByUserId(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        // Usuarios sin fila aún (anteriores a la tabla): se agregan desde cars hasta la próxima reconciliación
+        return findStored(userId).orElseGet(() -> computeFromCars(userId));
+    }
+
+    /**
+     * Crea la fila vacía de un usuario nuevo, en la transacción que lo registra
+     */
+    public void initialize(Long userId) {
+        entityManager.persist(new UserCarStatsEntity(userId, 0, 0));
+    }
+
+    /**
+     * Toma el candado de la fila del usuario hasta el fin de la transacción
+     *
+     * @return false si el usuario no tiene fila; en ese caso no hay nada que mantener
+     */
+    public boolean lock(Long userId) {
+        return statsRepository.applyDelta(userId, 0, 0, LocalDateTime.now()) > 0;
+    }
+
+    public void carAdded(Long userId, Integer year, String brand) {
+        apply(userId, year, brand, 1);
+    }
+
+    public void carRemoved(Long userId, Integer year, String brand) {
+        apply(userId, year, brand, -1);
+    }
+
+    /**
+     * Mueve un auto entre conteos solo si cambió su año o su marca normalizada
+     */
+    public void carChanged(Long userId, Integer oldYear, String oldBrand, Integer newYear, String newBrand) {
+        if (Objects.equals(oldYear, newYear)
+                && Objects.equals(SearchTextNormalizer.normalize(oldBrand), SearchTextNormalizer.normalize(newBrand))) {
+            return;
+        }
+
+        carRemoved(userId, oldYear, oldBrand);
+        carAdded(userId, newYear, newBrand);
+    }
+
+    /**
+     * Deja en cero las estadísticas del usuario (tras borrar todos sus autos)
+     */
+    public void clear(Long userId) {
+        statsRepository.overwrite(userId, 0, 0, LocalDateTime.now());
+        yearCountRepository.deleteAllByUserId(userId);
+        brandCountRepository.deleteAllByUserId(userId);
+    }
+
+    /**
+     * Elimina las estadísticas de un usuario que se está eliminando
+     */
+    @Transactional
+    public void delete(Long userId) {
+        yearCountRepository.deleteAllByUserId(userId);
+        brandCountRepository.deleteAllByUserId(userId);
+        statsRepository.deleteById(userId);
+    }
+
+    /**
+     * Recalcula las estadísticas del usuario desde cars y las corrige si difieren de las
+     * guardadas. Debe ejecutarse dentro de una transacción de escritura
+     *
+     * @return true si la fila no existía o tenía desviaciones
+     */
+    public boolean reconcile(Long userId) {
+        if (!lock(userId)) {
+            UserCarStats computed = computeFromCars(userId);
+            entityManager.persist(new UserCarStatsEntity(userId, computed.getTotalCars(), computed.getYearSum()));
+            persistCounts(computed);
+            return true;
+        }
+
+        UserCarStats computed = computeFromCars(userId);
+        UserCarStats stored = findStored(userId).orElseThrow();
+        if (sameCounts(computed, stored)) {
+            return false;
+        }
+
+        statsRepository.overwrite(userId, computed.getTotalCars(), computed.getYearSum(), LocalDateTime.now());
+        yearCountRepository.deleteAllByUserId(userId);
+        brandCountRepository.deleteAllByUserId(userId);
+        persistCounts(computed);
+        return true;
+    }
+
+    /**
+     * Elimina estadísticas de usuarios que ya no existen
+     *
+     * @return el número de filas de usuario eliminadas
+     */
+    public int deleteOrphans() {
+        yearCountRepository.deleteOrphans();
+        brandCountRepository.deleteOrphans();
+        return statsRepository.deleteOrphans();
+    }
+
+    private void apply(Long userId, Integer year, String brand, int delta) {
+        statsRepository.applyDelta(userId, delta, year != null ? (long) delta * year : 0, LocalDateTime.now());
+
+        if (year != null && yearCountRepository.addToCount(userId, year, delta) == 0 && delta > 0) {
+            entityManager.persist(new UserCarYearCountEntity(userId, year, delta));
+        }
+
+        String brandNorm = SearchTextNormalizer.normalize(brand);
+        if (brandNorm != null && brandCountRepository.addToCount(userId, brandNorm, delta) == 0 && delta > 0) {
+            entityManager.persist(new UserCarBrandCountEntity(userId, brandNorm, brand.trim(), delta));
+        }
+
+        if (delta < 0) {
+            yearCountRepository.deleteEmptyByUserId(userId);
+            brandCountRepository.deleteEmptyByUserId(userId);
+        }
+    }
+
+    private Optional<UserCarStats> findStored(Long userId) {
+        return statsRepository.findById(userId).map(stats -> {
+            Map<Integer, Long> carsByYear = new HashMap<>();
+            yearCountRepository.findByUserId(userId)
+                    .forEach(count -> carsByYear.put(count.getCarYear(), count.getCarCount()));
+
+            List<UserCarStats.BrandCount> brandCounts = brandCountRepository.findByUserId(userId).stream()
+                    .map(count -> new UserCarStats.BrandCount(count.getBrandNorm(), count.getBrand(), count.getCarCount()))
+                    .toList();
+
+            return new UserCarStats(userId, stats.getTotalCars(), stats.getYearSum(), carsByYear, brandCounts);
+        });
+    }
+
+    /**
+     * Agrega la flota del usuario directamente desde cars, con dos GROUP BY sobre sus índices
+     */
+    private UserCarStats computeFromCars(Long userId) {
+        Map<Integer, Long> carsByYear = new HashMap<>();
+        long totalCars = 0;
+        long yearSum = 0;
+        for (Object[] row : carRepository.countByYearForUser(userId)) {
+            Integer year = (Integer) row[0];
+            long count = ((Number) row[1]).longValue();
+            totalCars += count;
+            if (year != null) {
+                carsByYear.put(year, count);
+                yearSum += (long) year * count;
+            }
+        }
+
+        // Variantes de escritura de una misma marca se suman; se muestra la más usada
+        Map<String, Long> countByBrandNorm = new HashMap<>();
+        Map<String, String> displayBrand = new HashMap<>();
+        Map<String, Long> displayBrandCount = new HashMap<>();
+        for (Object[] row : carRepository.countByBrandForUser(userId)) {
+            String brand = (String) row[0];
+            long count = ((Number) row[1]).longValue();
+            String brandNorm = SearchTextNormalizer.normalize(brand);
+            if (brandNorm == null) {
+                continue;
+            }
+            countByBrandNorm.merge(brandNorm, count, Long::sum);
+            if (count > displayBrandCount.getOrDefault(brandNorm, 0L)) {
+                displayBrand.put(brandNorm, brand.trim());
+                displayBrandCount.put(brandNorm, count);
+            }
+        }
+
+        List<UserCarStats.BrandCount> brandCounts = new ArrayList<>();
+        countByBrandNorm.forEach((brandNorm, count) ->
+                brandCounts.add(new UserCarStats.BrandCount(brandNorm, displayBrand.get(brandNorm), count)));
+
+        return new UserCarStats(userId, totalCars, yearSum, carsByYear, brandCounts);
+    }
+
+    private void persistCounts(UserCarStats stats) {
+        stats.getCarsByYear().forEach((year, count) ->
+                entityManager.persist(new UserCarYearCountEntity(stats.getUserId(), year, count)));
+        stats.getBrandCounts().forEach(brandCount ->
+                entityManager.persist(new UserCarBrandCountEntity(
+                        stats.getUserId(), brandCount.getBrandKey(), brandCount.getBrand(), brandCount.getCount())));
+    }
+
+    /**
+     * Compara totales y conteos; el nombre visible de la marca no cuenta como desviación
+     */
+    private boolean sameCounts(UserCarStats first, UserCarStats second) {
+        if (first.getTotalCars() != second.getTotalCars()
+                || first.getYearSum() != second.getYearSum()
+                || !first.getCarsByYear().equals(second.getCarsByYear())) {
+            return false;
+        }
+
+        Map<String, Long> firstBrands = new HashMap<>();
+        first.getBrandCounts().forEach(count -> firstBrands.put(count.getBrandKey(), count.getCount()));
+        Map<String, Long> secondBrands = new HashMap<>();
+        second.getBrandCounts().forEach(count -> secondBrands.put(count.getBrandKey(), count.getCount()));
+        return firstBrands.equals(secondBrands);
+    }
+}
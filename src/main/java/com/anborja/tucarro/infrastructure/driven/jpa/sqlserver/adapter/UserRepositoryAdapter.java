@@ -5,24 +5,41 @@ import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserEntity;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.IUserEntityMapper;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IUserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Component
 public class UserRepositoryAdapter implements IUserRepositoryPort {
 
+    private static final String LAST_LOGIN_QUERY_SPACE = "users.last_login_at";
+
     private final IUserRepository userRepository; // inyecta implementación JPA
     private final IUserEntityMapper userEntityMapper;
+    private final EntityManager entityManager;
+    private final UserCarStatsAdapter userCarStats;
 
     public UserRepositoryAdapter(IUserRepository userRepository,
-                                 IUserEntityMapper userEntityMapper) {
+                                 IUserEntityMapper userEntityMapper,
+                                 EntityManager entityManager,
+                                 UserCarStatsAdapter userCarStats) {
         this.userRepository = userRepository;
         this.userEntityMapper = userEntityMapper;
+        this.entityManager = entityManager;
+        this.userCarStats = userCarStats;
     }
 
+    /**
+     * Guarda el usuario. Al crearlo se crea también su fila de estadísticas de autos,
+     * de modo que las escrituras de autos siempre encuentran la fila que deben bloquear
+     */
     @Override
+    @Transactional
     public User save(User user) {
         UserEntity userEntity;
 
@@ -41,7 +58,11 @@ public class UserRepositoryAdapter implements IUserRepositoryPort {
             }
         }
 
+        boolean isNew = userEntity.getId() == null;
         UserEntity savedEntity = userRepository.save(userEntity);
+        if (isNew) {
+            userCarStats.initialize(savedEntity.getId());
+        }
         return userEntityMapper.entityToDomain(savedEntity);
     }
 
@@ -51,17 +72,37 @@ public class UserRepositoryAdapter implements IUserRepositoryPort {
             return Optional.empty();
         }
 
+        // Una cuenta con eliminación solicitada ya no es visible
         return userRepository.findById(id)
+                .filter(entity -> entity.getDeletedAt() == null)
                 .map(userEntityMapper::entityToDomain);
     }
 
+    /**
+     * Busca por email usando el identificador natural (servible desde la caché de segundo nivel)
+     */
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             return Optional.empty();
         }
 
-        return userRepository.findByEmail(email.trim().toLowerCase())
+        String normalizedEmail = email.trim().toLowerCase();
+        UserEntity entity = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .load(normalizedEmail);
+
+        // El email es mutable: se descarta una resolución obsoleta de la caché
+        if (entity != null && !normalizedEmail.equals(entity.getEmail())) {
+            return userRepository.findByEmail(normalizedEmail)
+                    .filter(found -> found.getDeletedAt() == null)
+                    .map(userEntityMapper::entityToDomain);
+        }
+
+        // Una cuenta en eliminación no puede iniciar sesión; el email sigue ocupado hasta la purga
+        return Optional.ofNullable(entity)
+                .filter(found -> found.getDeletedAt() == null)
                 .map(userEntityMapper::entityToDomain);
     }
 
@@ -109,6 +150,7 @@ public class UserRepositoryAdapter implements IUserRepositoryPort {
         }
 
         try {
+            userCarStats.delete(id);
             userRepository.deleteById(id);
             return true;
         } catch (Exception e) {
@@ -162,6 +204,26 @@ public class UserRepositoryAdapter implements IUserRepositoryPort {
         return userEntityMapper.entitiesToDomain(entities);
     }
 
+    /**
+     * Sentencia nativa sincronizada con un espacio propio: una sentencia JPQL sobre UserEntity
+     * vaciaría la región de usuarios de la caché de segundo nivel en cada inicio de sesión.
+     * Las entidades en caché conservan el valor anterior; solo el archivado lo lee, con JPQL
+     */
+    @Override
+    @Transactional
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        if (userId == null || loginAt == null) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class)
+                .createNativeQuery("UPDATE users SET last_login_at = :loginAt WHERE id = :userId", Object.class)
+                .setParameter("loginAt", loginAt)
+                .setParameter("userId", userId)
+                .addSynchronizedQuerySpace(LAST_LOGIN_QUERY_SPACE)
+                .executeUpdate();
+    }
+
     public List<User> findByFullNameContaining(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return List.of();
@@ -0,0 +1,51 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext;
+
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL: MATCH ... AGAINST en modo booleano sobre el índice FULLTEXT de search_text.
+ * Cada palabra del término se exige como prefijo (+palabra*), por lo que coincide por
+ * inicio de palabra y no por subcadena arbitraria. Requiere db/fulltext/mysql.sql
+ */
+public class MySqlCarFullTextSearchAdapter extends NativeCarFullTextSearchAdapter {
+
+    // innodb_ft_min_token_size por defecto: las palabras más cortas no se indexan
+    private static final int MIN_TOKEN_SIZE = 3;
+
+    private static final String MATCH = "MATCH(c.search_text) AGAINST (:query IN BOOLEAN MODE)";
+
+    public MySqlCarFullTextSearchAdapter(EntityManager entityManager,
+                                         ICarEntityMapper carEntityMapper,
+                                         ICarFullTextSearchPort fallback) {
+        super(entityManager, carEntityMapper, fallback);
+    }
+
+    @Override
+    protected String matchPredicate() {
+        return MATCH;
+    }
+
+    @Override
+    protected String relevanceOrder() {
+        return MATCH + " DESC";
+    }
+
+    @Override
+    protected boolean supports(String normalizedTerm) {
+        List<String> tokens = tokens(normalizedTerm);
+        return !tokens.isEmpty() && tokens.stream().allMatch(token -> token.length() >= MIN_TOKEN_SIZE);
+    }
+
+    @Override
+    protected void bindTerm(Query query, String normalizedTerm) {
+        query.setParameter("query", tokens(normalizedTerm).stream()
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" ")));
+    }
+}
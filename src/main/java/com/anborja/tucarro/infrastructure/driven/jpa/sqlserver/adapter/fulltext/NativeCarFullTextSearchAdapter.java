@@ -0,0 +1,168 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Base de los adaptadores de texto completo nativos. Cada motor aporta la cláusula FROM,
+ * el predicado de coincidencia y el orden por relevancia; la paginación, el conteo y el
+ * respaldo a la búsqueda portable son comunes.
+ *
+ * Si la consulta nativa falla (extensión o índice sin crear), se registra un aviso y se
+ * responde con la búsqueda portable, de modo que el endpoint sigue funcionando mientras
+ * se aplican los scripts de db/fulltext.
+ */
+public abstract class NativeCarFullTextSearchAdapter implements ICarFullTextSearchPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeCarFullTextSearchAdapter.class);
+
+    // Propiedades por las que se permite ordenar y su columna
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "c.id",
+            "brand", "c.brand",
+            "model", "c.model",
+            "year", "c.year",
+            "color", "c.color",
+            "plateNumber", "c.plate_number",
+            "createdAt", "c.created_at",
+            "updatedAt", "c.updated_at"
+    );
+
+    private final EntityManager entityManager;
+    private final ICarEntityMapper carEntityMapper;
+    private final ICarFullTextSearchPort fallback;
+
+    protected NativeCarFullTextSearchAdapter(EntityManager entityManager,
+                                             ICarEntityMapper carEntityMapper,
+                                             ICarFullTextSearchPort fallback) {
+        this.entityManager = entityManager;
+        this.carEntityMapper = carEntityMapper;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Tablas de la consulta; el auto debe tener el alias c
+     */
+    protected String fromClause() {
+        return "cars c";
+    }
+
+    /**
+     * Predicado de coincidencia sobre c.search_text, o null si la coincidencia ya la resuelve el FROM
+     */
+    protected abstract String matchPredicate();
+
+    /**
+     * Expresión de orden por relevancia (de más a menos relevante)
+     */
+    protected abstract String relevanceOrder();
+
+    /**
+     * Indica si el motor puede resolver el término; si no, se usa la búsqueda portable
+     */
+    protected boolean supports(String normalizedTerm) {
+        return true;
+    }
+
+    /**
+     * Asigna los parámetros propios del motor a partir del término normalizado
+     */
+    protected abstract void bindTerm(Query query, String normalizedTerm);
+
+    @Override
+    public Page<Car> search(Long userId, String searchTerm, Pageable pageable) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        String term = SearchTextNormalizer.normalize(searchTerm);
+        if (term == null || !supports(term)) {
+            return fallback.search(userId, searchTerm, pageable);
+        }
+
+        try {
+            return nativeSearch(userId, term, pageable);
+        } catch (PersistenceException | DataAccessException e) {
+            logger.warn("Búsqueda de texto completo no disponible ({}), usando búsqueda portable: {}",
+                    getClass().getSimpleName(), e.getMessage());
+            return fallback.search(userId, searchTerm, pageable);
+        }
+    }
+
+    private Page<Car> nativeSearch(Long userId, String term, Pageable pageable) {
+        String where = " WHERE c.user_id = :userId" + (matchPredicate() != null ? " AND " + matchPredicate() : "");
+
+        Query query = entityManager.createNativeQuery(
+                "SELECT c.* FROM " + fromClause() + where + " ORDER BY " + orderBy(pageable.getSort()),
+                CarEntity.class);
+        query.setParameter("userId", userId);
+        bindTerm(query, term);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<CarEntity> entities = query.getResultList();
+        List<Car> cars = carEntityMapper.entitiesToDomain(entities);
+
+        // El conteo solo hace falta si la página no revela el total por sí misma
+        long total;
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && cars.size() < pageable.getPageSize())) {
+            total = cars.size();
+        } else {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM " + fromClause() + where);
+            count.setParameter("userId", userId);
+            bindTerm(count, term);
+            total = ((Number) count.getSingleResult()).longValue();
+        }
+
+        return new PageImpl<>(cars, pageable, total);
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orders.add(column + (order.isDescending() ? " DESC" : " ASC"));
+            }
+        }
+        if (orders.isEmpty()) {
+            orders.add(relevanceOrder());
+        }
+        // El id desempata para que la paginación sea estable
+        orders.add("c.id");
+        return String.join(", ", orders);
+    }
+
+    /**
+     * Separa el término normalizado en palabras, quitando los caracteres que los motores
+     * interpretan como operadores de búsqueda
+     */
+    protected static List<String> tokens(String normalizedTerm) {
+        return Arrays.stream(normalizedTerm.split(" "))
+                .map(token -> token.replaceAll("[^\\p{L}\\p{N}]", ""))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
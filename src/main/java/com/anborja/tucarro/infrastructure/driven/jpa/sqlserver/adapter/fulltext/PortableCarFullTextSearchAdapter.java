@@ -0,0 +1,39 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Búsqueda portable: LIKE '%término%' en JPQL sobre search_text. Se usa con motores sin
+ * adaptador nativo y como respaldo cuando el índice de texto completo no está disponible
+ */
+public class PortableCarFullTextSearchAdapter implements ICarFullTextSearchPort {
+
+    private final ICarRepository carRepository;
+    private final ICarEntityMapper carEntityMapper;
+
+    public PortableCarFullTextSearchAdapter(ICarRepository carRepository, ICarEntityMapper carEntityMapper) {
+        this.carRepository = carRepository;
+        this.carEntityMapper = carEntityMapper;
+    }
+
+    @Override
+    public Page<Car> search(Long userId, String searchTerm, Pageable pageable) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El ID del usuario no puede ser nulo");
+        }
+
+        String term = SearchTextNormalizer.normalize(searchTerm);
+        if (term == null) {
+            return carRepository.findByUserId(userId, pageable).map(carEntityMapper::entityToDomain);
+        }
+
+        return carRepository.findByUserIdWithSearch(userId, term, pageable)
+                .map(carEntityMapper::entityToDomain);
+    }
+}
@@ -0,0 +1,45 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext;
+
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * PostgreSQL: LIKE sobre search_text resuelto con el índice GIN de trigramas (pg_trgm) y
+ * ordenado por similitud. Mantiene la semántica de subcadena de la búsqueda portable.
+ * Requiere db/fulltext/postgresql.sql
+ */
+public class PostgresCarFullTextSearchAdapter extends NativeCarFullTextSearchAdapter {
+
+    public PostgresCarFullTextSearchAdapter(EntityManager entityManager,
+                                            ICarEntityMapper carEntityMapper,
+                                            ICarFullTextSearchPort fallback) {
+        super(entityManager, carEntityMapper, fallback);
+    }
+
+    @Override
+    protected String matchPredicate() {
+        return "c.search_text LIKE :pattern ESCAPE '\\'";
+    }
+
+    @Override
+    protected String relevanceOrder() {
+        return "similarity(c.search_text, :term) DESC";
+    }
+
+    @Override
+    protected boolean supports(String normalizedTerm) {
+        // Con menos de 3 caracteres no hay trigramas que aprovechar en el índice
+        return normalizedTerm.length() >= 3;
+    }
+
+    @Override
+    protected void bindTerm(Query query, String normalizedTerm) {
+        String escaped = normalizedTerm.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        query.setParameter("pattern", "%" + escaped + "%");
+        if (query.getParameters().stream().anyMatch(parameter -> "term".equals(parameter.getName()))) {
+            query.setParameter("term", normalizedTerm);
+        }
+    }
+}
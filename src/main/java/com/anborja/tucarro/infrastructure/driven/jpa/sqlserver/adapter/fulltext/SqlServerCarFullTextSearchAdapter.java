@@ -0,0 +1,51 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext;
+
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQL Server: CONTAINSTABLE sobre el índice de texto completo de search_text, unido por la
+ * clave del auto para ordenar por RANK. Cada palabra se busca como prefijo ("palabra*").
+ * Requiere db/fulltext/sqlserver.sql (catálogo e índice de texto completo)
+ */
+public class SqlServerCarFullTextSearchAdapter extends NativeCarFullTextSearchAdapter {
+
+    public SqlServerCarFullTextSearchAdapter(EntityManager entityManager,
+                                             ICarEntityMapper carEntityMapper,
+                                             ICarFullTextSearchPort fallback) {
+        super(entityManager, carEntityMapper, fallback);
+    }
+
+    @Override
+    protected String fromClause() {
+        return "cars c JOIN CONTAINSTABLE(cars, search_text, :query) ft ON ft.[KEY] = c.id";
+    }
+
+    @Override
+    protected String matchPredicate() {
+        return null;
+    }
+
+    @Override
+    protected String relevanceOrder() {
+        return "ft.RANK DESC";
+    }
+
+    @Override
+    protected boolean supports(String normalizedTerm) {
+        return !tokens(normalizedTerm).isEmpty();
+    }
+
+    @Override
+    protected void bindTerm(Query query, String normalizedTerm) {
+        List<String> tokens = tokens(normalizedTerm);
+        query.setParameter("query", tokens.stream()
+                .map(token -> "\"" + token + "*\"")
+                .collect(Collectors.joining(" AND ")));
+    }
+}
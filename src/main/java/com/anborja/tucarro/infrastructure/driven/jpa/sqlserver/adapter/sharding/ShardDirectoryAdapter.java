@@ -0,0 +1,173 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardMigrationInProgressException;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IShardDirectoryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Directorio usuario → shard, guardado en el shard 0. Los usuarios sin entrada son anteriores
+ * al particionado y viven en el shard 0.
+ * <p>
+ * Las lecturas usan una caché local de directory-cache-ttl; las escrituras consultan siempre
+ * el directorio para no escribir nunca en el shard de origen de un usuario en migración.
+ */
+public class ShardDirectoryAdapter {
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    private static final int MAX_CACHED_USERS = 100_000;
+
+    private final IShardDirectoryRepository directoryRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ShardingProperties properties;
+    private final Map<Long, CachedShard> cache = new ConcurrentHashMap<>();
+
+    public ShardDirectoryAdapter(IShardDirectoryRepository directoryRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ShardingProperties properties) {
+        this.directoryRepository = directoryRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Shard de un usuario para lecturas (puede estar desfasado hasta directory-cache-ttl)
+     */
+    public int shardOf(Long userId) {
+        long now = System.nanoTime();
+        CachedShard cached = cache.get(userId);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.shard;
+        }
+
+        int shard = findByUserId(userId).map(ShardDirectoryEntity::getShardId).orElse(DIRECTORY_SHARD);
+        if (cache.size() >= MAX_CACHED_USERS) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedShard(shard, now + properties.getDirectoryCacheTtl().toNanos()));
+        return shard;
+    }
+
+    /**
+     * Shard de un usuario para escrituras, leído del directorio
+     *
+     * @throws ShardMigrationInProgressException si el usuario se está moviendo
+     */
+    public int shardForWrite(Long userId) {
+        Optional<ShardDirectoryEntity> entry = findByUserId(userId);
+        if (entry.isPresent() && entry.get().isMoving()) {
+            throw new ShardMigrationInProgressException(userId, properties.getDrainPeriod());
+        }
+        return entry.map(ShardDirectoryEntity::getShardId).orElse(DIRECTORY_SHARD);
+    }
+
+    public Optional<ShardDirectoryEntity> findByUserId(Long userId) {
+        return onDirectory(() -> readTransaction.execute(status -> directoryRepository.findById(userId)));
+    }
+
+    public Optional<ShardDirectoryEntity> findByEmail(String email) {
+        return onDirectory(() -> readTransaction.execute(status -> directoryRepository.findByEmail(email)));
+    }
+
+    /**
+     * Registra la ubicación de un usuario. El índice único de email hace fallar el registro
+     * si otro usuario tomó el mismo email en otro shard
+     */
+    public void register(Long userId, String email, int shard, long ringKey) {
+        onDirectory(() -> writeTransaction.execute(status ->
+                directoryRepository.saveAndFlush(new ShardDirectoryEntity(userId, email, shard, ringKey))));
+        cache.remove(userId);
+    }
+
+    public void updateEmail(Long userId, String email) {
+        onDirectory(() -> writeTransaction.execute(status ->
+                directoryRepository.updateEmail(userId, email, LocalDateTime.now())));
+    }
+
+    public void remove(Long userId) {
+        onDirectory(() -> writeTransaction.execute(status -> {
+            directoryRepository.deleteById(userId);
+            return null;
+        }));
+        cache.remove(userId);
+    }
+
+    /**
+     * Métodos usados por el rebalanceo
+     */
+
+    public List<ShardDirectoryEntity> findPageAfter(Long afterUserId, int size) {
+        return onDirectory(() -> readTransaction.execute(status ->
+                directoryRepository.findPageAfter(afterUserId, PageRequest.of(0, size))));
+    }
+
+    public List<Object[]> findUnregisteredUsers(int limit) {
+        return onDirectory(() -> readTransaction.execute(status ->
+                directoryRepository.findUnregisteredUsers(PageRequest.of(0, limit))));
+    }
+
+    public int markMoving(Collection<Long> userIds) {
+        Integer marked = onDirectory(() -> writeTransaction.execute(status ->
+                directoryRepository.markMoving(userIds, LocalDateTime.now())));
+        return marked != null ? marked : 0;
+    }
+
+    public void completeMove(Long userId, int shard) {
+        onDirectory(() -> writeTransaction.execute(status ->
+                directoryRepository.completeMove(userId, shard, LocalDateTime.now())));
+        cache.remove(userId);
+    }
+
+    public void clearMoving(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        onDirectory(() -> writeTransaction.execute(status ->
+                directoryRepository.clearMoving(userIds, LocalDateTime.now())));
+    }
+
+    public Map<Integer, Long> countByShard() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        List<Object[]> rows = onDirectory(() -> readTransaction.execute(status -> directoryRepository.countByShard()));
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public long countMoving() {
+        Long moving = onDirectory(() -> readTransaction.execute(status -> directoryRepository.countByMovingTrue()));
+        return moving != null ? moving : 0;
+    }
+
+    private <T> T onDirectory(Supplier<T> operation) {
+        return ShardContext.callOn(DIRECTORY_SHARD, operation);
+    }
+
+    private static final class CachedShard {
+        private final int shard;
+        private final long expiresAt;
+
+        private CachedShard(int shard, long expiresAt) {
+            this.shard = shard;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
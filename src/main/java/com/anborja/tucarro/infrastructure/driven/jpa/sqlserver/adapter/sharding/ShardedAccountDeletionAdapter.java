@@ -0,0 +1,43 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.AccountDeletion;
+import com.anborja.tucarro.domain.spi.IAccountDeletionPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardRegistry;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.AccountDeletionAdapter;
+
+import java.util.Optional;
+
+/**
+ * Registra la solicitud de eliminación en el shard del usuario, donde la procesa el purgador.
+ * La consulta por token recorre los shards porque el token no indica el usuario
+ */
+public class ShardedAccountDeletionAdapter implements IAccountDeletionPort {
+
+    private final AccountDeletionAdapter delegate;
+    private final ShardDirectoryAdapter directory;
+    private final ShardRegistry shardRegistry;
+
+    public ShardedAccountDeletionAdapter(AccountDeletionAdapter delegate,
+                                         ShardDirectoryAdapter directory,
+                                         ShardRegistry shardRegistry) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.shardRegistry = shardRegistry;
+    }
+
+    @Override
+    public AccountDeletion requestDeletion(Long userId) {
+        if (userId == null) {
+            return delegate.requestDeletion(null);
+        }
+        return ShardContext.callOn(directory.shardForWrite(userId), () -> delegate.requestDeletion(userId));
+    }
+
+    @Override
+    public Optional<AccountDeletion> findByToken(String token) {
+        return shardRegistry.scatter(shard -> delegate.findByToken(token)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+}
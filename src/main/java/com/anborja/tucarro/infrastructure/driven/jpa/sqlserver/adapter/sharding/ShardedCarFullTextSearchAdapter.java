@@ -0,0 +1,29 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Ejecuta la búsqueda de texto completo en el shard del usuario
+ */
+public class ShardedCarFullTextSearchAdapter implements ICarFullTextSearchPort {
+
+    private final ICarFullTextSearchPort delegate;
+    private final ShardDirectoryAdapter directory;
+
+    public ShardedCarFullTextSearchAdapter(ICarFullTextSearchPort delegate, ShardDirectoryAdapter directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public Page<Car> search(Long userId, String searchTerm, Pageable pageable) {
+        if (userId == null) {
+            return delegate.search(null, searchTerm, pageable);
+        }
+        return ShardContext.callOn(directory.shardOf(userId), () -> delegate.search(userId, searchTerm, pageable));
+    }
+}
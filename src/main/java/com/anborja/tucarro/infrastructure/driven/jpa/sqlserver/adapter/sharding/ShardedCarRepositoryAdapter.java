@@ -0,0 +1,349 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardRegistry;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarRepositoryAdapter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Repositorio de autos particionado: los autos viven en el shard de su propietario, así que
+ * las operaciones con usuario van a un solo shard. Las búsquedas por ID de auto prueban
+ * primero el shard que generó el ID; las de placa y los listados globales de administración
+ * se reparten entre todos los shards.
+ * <p>
+ * La unicidad de la placa se garantiza por shard; entre shards solo la verifica la consulta
+ * previa de los casos de uso.
+ */
+public class ShardedCarRepositoryAdapter implements ICarRepositoryPort {
+
+    private static final Comparator<Car> BY_ID = Comparator.comparing(Car::getId);
+
+    private final CarRepositoryAdapter delegate;
+    private final ShardDirectoryAdapter directory;
+    private final ShardRegistry shardRegistry;
+
+    public ShardedCarRepositoryAdapter(CarRepositoryAdapter delegate,
+                                       ShardDirectoryAdapter directory,
+                                       ShardRegistry shardRegistry) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.shardRegistry = shardRegistry;
+    }
+
+    @Override
+    public Car save(Car car) {
+        if (car == null || car.getUserId() == null) {
+            return delegate.save(car);
+        }
+
+        int shard = directory.shardForWrite(car.getUserId());
+        if (car.getId() != null) {
+            requireSameShard(car.getId(), shard);
+        }
+        return ShardContext.callOn(shard, () -> delegate.save(car));
+    }
+
+    @Override
+    public Optional<Car> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        return fromOriginShard(id, () -> delegate.findById(id), Optional::isPresent);
+    }
+
+    /**
+     * La historia vive en el mismo shard que el auto
+     */
+    @Override
+    public Optional<Car> findByIdAsOf(Long id, LocalDateTime asOf) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        return fromOriginShard(id, () -> delegate.findByIdAsOf(id, asOf), Optional::isPresent);
+    }
+
+    @Override
+    public List<CarRevision> historyOf(Long id) {
+        if (id == null) {
+            return List.of();
+        }
+
+        return fromOriginShard(id, () -> delegate.historyOf(id), revisions -> !revisions.isEmpty());
+    }
+
+    @Override
+    public Optional<Car> findByPlateNumber(String plateNumber) {
+        for (int shard = 0; shard < shardRegistry.getShardCount(); shard++) {
+            Optional<Car> car = ShardContext.callOn(shard, () -> delegate.findByPlateNumber(plateNumber));
+            if (car.isPresent()) {
+                return car;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Car> findByUserId(Long userId) {
+        if (userId == null) {
+            return List.of();
+        }
+        return onUserShard(userId, () -> delegate.findByUserId(userId));
+    }
+
+    @Override
+    public boolean existsByPlateNumber(String plateNumber) {
+        return anyShard(shard -> delegate.existsByPlateNumber(plateNumber));
+    }
+
+    @Override
+    public boolean existsByPlateNumberAndUserIdNot(String plateNumber, Long userId) {
+        return anyShard(shard -> delegate.existsByPlateNumberAndUserIdNot(plateNumber, userId));
+    }
+
+    @Override
+    public boolean existsByPlateNumberAndIdNot(String plateNumber, Long carId) {
+        return anyShard(shard -> delegate.existsByPlateNumberAndIdNot(plateNumber, carId));
+    }
+
+    @Override
+    public Car update(Car car) {
+        if (car == null || car.getId() == null) {
+            return delegate.update(car);
+        }
+
+        Car current = findById(car.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Auto no encontrado para actualizar"));
+        int shard = directory.shardForWrite(current.getUserId());
+        if (car.getUserId() != null && !car.getUserId().equals(current.getUserId())
+                && directory.shardForWrite(car.getUserId()) != shard) {
+            throw new IllegalArgumentException("No se puede transferir un auto a un usuario de otro shard");
+        }
+        return ShardContext.callOn(shard, () -> delegate.update(car));
+    }
+
+    @Override
+    public WriteResult updateIfOwned(Car changes, Long userId, Long expectedVersion) {
+        if (userId == null) {
+            return delegate.updateIfOwned(changes, userId, expectedVersion);
+        }
+        // Un auto de otro shard no es del usuario; se informa como inexistente
+        return onUserShardForWrite(userId, () -> delegate.updateIfOwned(changes, userId, expectedVersion));
+    }
+
+    /**
+     * La sentencia solo ve las placas del shard del usuario: las que ya existen en otro shard
+     * se descartan antes como de otro usuario (verificación previa, no atómica entre shards)
+     */
+    @Override
+    public List<CarUpsertResult> upsertByPlate(List<Car> cars, Long userId) {
+        if (cars == null || userId == null) {
+            return delegate.upsertByPlate(cars, userId);
+        }
+
+        int shard = directory.shardForWrite(userId);
+        List<Car> local = new ArrayList<>();
+        for (Car car : cars) {
+            if (!existsOnOtherShard(car.getPlateNumber(), shard)) {
+                local.add(car);
+            }
+        }
+
+        Map<String, CarUpsertResult> applied = new HashMap<>();
+        ShardContext.callOn(shard, () -> delegate.upsertByPlate(local, userId))
+                .forEach(result -> applied.put(result.getPlateNumber(), result));
+
+        return cars.stream()
+                .map(car -> applied.getOrDefault(car.getPlateNumber(), CarUpsertResult.forbidden(car.getPlateNumber())))
+                .toList();
+    }
+
+    @Override
+    public WriteResult deleteIfOwned(Long carId, Long userId) {
+        if (userId == null) {
+            return delegate.deleteIfOwned(carId, userId);
+        }
+        return onUserShardForWrite(userId, () -> delegate.deleteIfOwned(carId, userId));
+    }
+
+    @Override
+    public BulkWriteResult bulkUpdate(Long userId, List<Long> carIds, CarSearchCriteria filter, Car changes,
+                                      boolean capturePrevious) {
+        if (userId == null) {
+            return delegate.bulkUpdate(userId, carIds, filter, changes, capturePrevious);
+        }
+        // Todos los autos del usuario viven en su shard
+        return onUserShardForWrite(userId,
+                () -> delegate.bulkUpdate(userId, carIds, filter, changes, capturePrevious));
+    }
+
+    @Override
+    public BulkWriteResult bulkDelete(Long userId, List<Long> carIds, CarSearchCriteria filter, boolean capturePrevious) {
+        if (userId == null) {
+            return delegate.bulkDelete(userId, carIds, filter, capturePrevious);
+        }
+        return onUserShardForWrite(userId, () -> delegate.bulkDelete(userId, carIds, filter, capturePrevious));
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        Optional<Car> car = findById(id);
+        if (car.isEmpty()) {
+            return false;
+        }
+        return onUserShardForWrite(car.get().getUserId(), () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public int deleteAllByUserId(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        return onUserShardForWrite(userId, () -> delegate.deleteAllByUserId(userId));
+    }
+
+    @Override
+    public int countByUserId(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        return onUserShard(userId, () -> delegate.countByUserId(userId));
+    }
+
+    @Override
+    public List<Car> findAll() {
+        return gather(shard -> delegate.findAll());
+    }
+
+    @Override
+    public List<Car> findByBrand(String brand) {
+        return gather(shard -> delegate.findByBrand(brand));
+    }
+
+    @Override
+    public List<Car> findByModel(String model) {
+        return gather(shard -> delegate.findByModel(model));
+    }
+
+    @Override
+    public List<Car> findByYear(Integer year) {
+        return gather(shard -> delegate.findByYear(year));
+    }
+
+    @Override
+    public List<Car> findByYearBetween(Integer minYear, Integer maxYear) {
+        return gather(shard -> delegate.findByYearBetween(minYear, maxYear));
+    }
+
+    @Override
+    public List<Car> findByColor(String color) {
+        return gather(shard -> delegate.findByColor(color));
+    }
+
+    @Override
+    public List<Car> findByBrandAndModelAndUserId(String brand, String model, Long userId) {
+        if (userId == null) {
+            return List.of();
+        }
+        return onUserShard(userId, () -> delegate.findByBrandAndModelAndUserId(brand, model, userId));
+    }
+
+    @Override
+    public List<Car> findByBrandContainingOrModelContainingAndUserId(String searchTerm, Long userId) {
+        if (userId == null) {
+            return List.of();
+        }
+        return onUserShard(userId, () -> delegate.findByBrandContainingOrModelContainingAndUserId(searchTerm, userId));
+    }
+
+    @Override
+    public long count() {
+        return shardRegistry.scatter(shard -> delegate.count()).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public Page<Car> findByUserIdPaginated(Long userId, Pageable pageable) {
+        return onUserShard(userId, () -> delegate.findByUserIdPaginated(userId, pageable));
+    }
+
+    @Override
+    public Page<Car> searchCarsPaginated(Long userId, String searchTerm, Pageable pageable) {
+        return onUserShard(userId, () -> delegate.searchCarsPaginated(userId, searchTerm, pageable));
+    }
+
+    @Override
+    public Page<Car> findByUserIdWithFiltersPaginated(Long userId, String brand, String model,
+                                                      Integer year, String color,
+                                                      Integer minYear, Integer maxYear,
+                                                      Pageable pageable) {
+        return onUserShard(userId, () -> delegate.findByUserIdWithFiltersPaginated(
+                userId, brand, model, year, color, minYear, maxYear, pageable));
+    }
+
+    private <T> T onUserShard(Long userId, Supplier<T> operation) {
+        int shard = userId != null ? directory.shardOf(userId) : ShardDirectoryAdapter.DIRECTORY_SHARD;
+        return ShardContext.callOn(shard, operation);
+    }
+
+    /**
+     * Ejecuta la consulta de un auto en el shard que generó su ID y, si no lo encuentra
+     * (el propietario se movió), en el resto
+     */
+    private <T> T fromOriginShard(Long carId, Supplier<T> operation, Predicate<T> found) {
+        int hint = shardRegistry.originShardHint(carId);
+        T result = ShardContext.callOn(hint, operation);
+        for (int shard = 0; !found.test(result) && shard < shardRegistry.getShardCount(); shard++) {
+            if (shard != hint) {
+                result = ShardContext.callOn(shard, operation);
+            }
+        }
+        return result;
+    }
+
+    private <T> T onUserShardForWrite(Long userId, Supplier<T> operation) {
+        return ShardContext.callOn(directory.shardForWrite(userId), operation);
+    }
+
+    private List<Car> gather(IntFunction<List<Car>> operation) {
+        return shardRegistry.scatter(operation).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ID)
+                .toList();
+    }
+
+    private boolean existsOnOtherShard(String plateNumber, int excludedShard) {
+        return anyShard(shard -> shard != excludedShard && delegate.existsByPlateNumber(plateNumber));
+    }
+
+    private boolean anyShard(IntFunction<Boolean> operation) {
+        return shardRegistry.scatter(operation).stream().anyMatch(Boolean.TRUE::equals);
+    }
+
+    private void requireSameShard(Long carId, int ownerShard) {
+        findById(carId).ifPresent(current -> {
+            if (directory.shardOf(current.getUserId()) != ownerShard) {
+                throw new IllegalArgumentException("No se puede transferir un auto a un usuario de otro shard");
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import com.anborja.tucarro.domain.spi.ICarSearchViewPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Lee el modelo de lectura de búsqueda en el shard del usuario, donde el proyector lo
+ * mantiene junto a sus autos
+ */
+public class ShardedCarSearchViewAdapter implements ICarSearchViewPort {
+
+    private final ICarSearchViewPort delegate;
+    private final ShardDirectoryAdapter directory;
+
+    public ShardedCarSearchViewAdapter(ICarSearchViewPort delegate, ShardDirectoryAdapter directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public List<Car> search(Long userId, CarSearchQuery query, String sortBy, boolean ascending) {
+        if (userId == null) {
+            return delegate.search(null, query, sortBy, ascending);
+        }
+        return ShardContext.callOn(directory.shardOf(userId), () -> delegate.search(userId, query, sortBy, ascending));
+    }
+
+    @Override
+    public Page<Car> search(Long userId, CarSearchQuery query, Pageable pageable) {
+        if (userId == null) {
+            return delegate.search(null, query, pageable);
+        }
+        return ShardContext.callOn(directory.shardOf(userId), () -> delegate.search(userId, query, pageable));
+    }
+}
@@ -0,0 +1,28 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.UserCarStats;
+import com.anborja.tucarro.domain.spi.IUserCarStatsPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.UserCarStatsAdapter;
+
+/**
+ * Lee las estadísticas de autos de un usuario en su shard
+ */
+public class ShardedUserCarStatsAdapter implements IUserCarStatsPort {
+
+    private final UserCarStatsAdapter delegate;
+    private final ShardDirectoryAdapter directory;
+
+    public ShardedUserCarStatsAdapter(UserCarStatsAdapter delegate, ShardDirectoryAdapter directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public UserCarStats getByUserId(Long userId) {
+        if (userId == null) {
+            return delegate.getByUserId(null);
+        }
+        return ShardContext.callOn(directory.shardOf(userId), () -> delegate.getByUserId(userId));
+    }
+}
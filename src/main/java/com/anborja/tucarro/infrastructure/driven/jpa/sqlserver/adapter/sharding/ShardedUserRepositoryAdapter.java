@@ -0,0 +1,196 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.User;
+import com.anborja.tucarro.domain.spi.IUserRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ConsistentHashRing;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardRegistry;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.UserRepositoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.exception.UserAlreadyExistsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de usuarios particionado: cada operación se ejecuta con el adaptador JPA sobre
+ * el shard del usuario. Los usuarios nuevos se ubican con el anillo de hash consistente a
+ * partir de su email y se registran en el directorio; el índice único del directorio
+ * garantiza que un email no se repita entre shards.
+ */
+public class ShardedUserRepositoryAdapter implements IUserRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedUserRepositoryAdapter.class);
+
+    private final UserRepositoryAdapter delegate;
+    private final ShardDirectoryAdapter directory;
+    private final ShardRegistry shardRegistry;
+
+    public ShardedUserRepositoryAdapter(UserRepositoryAdapter delegate,
+                                        ShardDirectoryAdapter directory,
+                                        ShardRegistry shardRegistry) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.shardRegistry = shardRegistry;
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() != null) {
+            User saved = ShardContext.callOn(directory.shardForWrite(user.getId()), () -> delegate.save(user));
+            return syncDirectoryEmail(saved);
+        }
+
+        String email = normalizeEmail(user.getEmail());
+        long ringKey = ConsistentHashRing.hash(email);
+        int shard = shardRegistry.placementShard(ringKey);
+
+        User saved = ShardContext.callOn(shard, () -> delegate.save(user));
+        try {
+            directory.register(saved.getId(), email, shard, ringKey);
+        } catch (DataIntegrityViolationException e) {
+            // Otro registro tomó el email en otro shard: se deshace la creación
+            ShardContext.runOn(shard, () -> delegate.deleteById(saved.getId()));
+            throw new UserAlreadyExistsException(email, true);
+        }
+
+        logger.debug("Usuario {} ubicado en el shard {}", saved.getId(), shard);
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        return ShardContext.callOn(directory.shardOf(id), () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        int shard = directory.findByEmail(normalizeEmail(email))
+                .map(ShardDirectoryEntity::getShardId)
+                .orElse(ShardDirectoryAdapter.DIRECTORY_SHARD);
+        return ShardContext.callOn(shard, () -> delegate.findByEmail(email));
+    }
+
+    /**
+     * El email está ocupado si el directorio lo tiene y el usuario sigue existiendo, o si lo
+     * tiene un usuario del shard 0 anterior al particionado. Las entradas de cuentas ya
+     * purgadas se eliminan al detectarlas
+     */
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return false;
+        }
+
+        String normalizedEmail = normalizeEmail(email);
+        Optional<ShardDirectoryEntity> entry = directory.findByEmail(normalizedEmail);
+        if (entry.isPresent()) {
+            Long userId = entry.get().getUserId();
+            if (ShardContext.callOn(entry.get().getShardId(), () -> delegate.existsById(userId))) {
+                return true;
+            }
+            directory.remove(userId);
+        }
+
+        return ShardContext.callOn(ShardDirectoryAdapter.DIRECTORY_SHARD, () -> delegate.existsByEmail(normalizedEmail));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return shardRegistry.scatter(shard -> delegate.findAll()).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+    }
+
+    @Override
+    public User update(User user) {
+        if (user == null || user.getId() == null) {
+            throw new IllegalArgumentException("Usuario y ID no pueden ser nulos para actualizar");
+        }
+
+        User updated = ShardContext.callOn(directory.shardForWrite(user.getId()), () -> delegate.update(user));
+        return syncDirectoryEmail(updated);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        boolean deleted = ShardContext.callOn(directory.shardForWrite(id), () -> delegate.deleteById(id));
+        if (deleted) {
+            directory.remove(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        return ShardContext.callOn(directory.shardOf(id), () -> delegate.existsById(id));
+    }
+
+    @Override
+    public long count() {
+        return shardRegistry.scatter(shard -> delegate.count()).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public List<User> findByNameContaining(String searchTerm) {
+        return shardRegistry.scatter(shard -> delegate.findByNameContaining(searchTerm)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+    }
+
+    /**
+     * Con la caché del directorio: el inicio de sesión de un usuario en migración no se rechaza,
+     * y perder su registro en el origen solo retrasa un día su paso a inactivo
+     */
+    @Override
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        if (userId == null) {
+            return;
+        }
+
+        ShardContext.runOn(directory.shardOf(userId), () -> delegate.recordLogin(userId, loginAt));
+    }
+
+    /**
+     * Mantiene el email del directorio igual al del usuario, para el login y la unicidad
+     */
+    private User syncDirectoryEmail(User user) {
+        if (user.getEmail() != null) {
+            try {
+                directory.updateEmail(user.getId(), normalizeEmail(user.getEmail()));
+            } catch (DataIntegrityViolationException e) {
+                throw new UserAlreadyExistsException(user.getEmail(), true);
+            }
+        }
+        return user;
+    }
+
+    private String normalizeEmail(String email) {
+        return email.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,113 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Solicitud de eliminación de cuenta y su progreso. La fila sobrevive al usuario para que
+ * el progreso siga consultable hasta que vence la retención.
+ */
+@Entity
+@Table(name = "account_deletions", indexes = {
+        @Index(name = "idx_account_deletion_token", columnList = "token", unique = true),
+        @Index(name = "idx_account_deletion_user", columnList = "user_id", unique = true),
+        @Index(name = "idx_account_deletion_status", columnList = "status, id")
+})
+public class AccountDeletionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "token", nullable = false, length = 36)
+    private String token;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "status", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "cars_total", nullable = false)
+    private long carsTotal;
+
+    @Column(name = "cars_deleted", nullable = false)
+    private long carsDeleted;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructor vacío requerido por JPA
+    public AccountDeletionEntity() {
+    }
+
+    public AccountDeletionEntity(String token, Long userId, String status, long carsTotal) {
+        this.token = token;
+        this.userId = userId;
+        this.status = status;
+        this.carsTotal = carsTotal;
+        this.requestedAt = LocalDateTime.now();
+        this.updatedAt = this.requestedAt;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCarsTotal() {
+        return carsTotal;
+    }
+
+    public long getCarsDeleted() {
+        return carsDeleted;
+    }
+
+    public void setCarsDeleted(long carsDeleted) {
+        this.carsDeleted = carsDeleted;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
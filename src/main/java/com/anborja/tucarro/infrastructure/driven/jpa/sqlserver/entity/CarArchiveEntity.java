@@ -0,0 +1,178 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Auto archivado: fuera del conjunto de trabajo de cars, conserva su ID original y solo
+ * los datos del auto, sin las columnas normalizadas de búsqueda ni sus índices.
+ * No tiene clave foránea a users para que el archivo no pese en las escrituras de usuarios.
+ * La placa sigue siendo única: el índice la garantiza dentro del archivo y las verificaciones
+ * del repositorio de autos consultan también el archivo.
+ */
+@Entity
+@Table(name = "cars_archive", indexes = {
+        @Index(name = "idx_car_archive_plate", columnList = "plate_number", unique = true),
+        @Index(name = "idx_car_archive_user", columnList = "user_id, id")
+})
+public class CarArchiveEntity {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "brand", nullable = false, length = 30)
+    private String brand;
+
+    @Column(name = "model", nullable = false, length = 50)
+    private String model;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "plate_number", nullable = false, length = 10)
+    private String plateNumber;
+
+    @Column(name = "color", nullable = false, length = 20)
+    private String color;
+
+    @Column(name = "photo_url", length = 500)
+    private String photoUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructor vacío requerido por JPA
+    public CarArchiveEntity() {
+    }
+
+    /**
+     * Copia un auto del conjunto de trabajo al archivo
+     */
+    public static CarArchiveEntity of(CarEntity car, LocalDateTime archivedAt) {
+        CarArchiveEntity archived = new CarArchiveEntity();
+        archived.id = car.getId();
+        archived.userId = car.getUserId();
+        archived.brand = car.getBrand();
+        archived.model = car.getModel();
+        archived.year = car.getYear();
+        archived.plateNumber = car.getPlateNumber();
+        archived.color = car.getColor();
+        archived.photoUrl = car.getPhotoUrl();
+        archived.createdAt = car.getCreatedAt();
+        archived.updatedAt = car.getUpdatedAt();
+        archived.version = car.getVersion() != null ? car.getVersion() : 0L;
+        archived.archivedAt = archivedAt;
+        return archived;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getPlateNumber() {
+        return plateNumber;
+    }
+
+    public void setPlateNumber(String plateNumber) {
+        this.plateNumber = plateNumber;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -1,17 +1,39 @@
 package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
 
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CarEntity.CACHE_REGION)
+@NaturalIdCache(region = CarEntity.PLATE_CACHE_REGION)
 @Table(name = "cars", indexes = {
         @Index(name = "idx_car_plate", columnList = "plate_number", unique = true),
-        @Index(name = "idx_car_user_id", columnList = "user_id"),
-        @Index(name = "idx_car_brand", columnList = "brand"),
-        @Index(name = "idx_car_year", columnList = "year")
+        // Listado del usuario ordenado por fecha de creación (id desempata la paginación)
+        @Index(name = "idx_car_user_created", columnList = "user_id, created_at, id"),
+        // Rangos y orden por año dentro del usuario
+        @Index(name = "idx_car_user_year", columnList = "user_id, year, id"),
+        // Filtros por marca y modelo dentro del usuario, sobre las columnas normalizadas
+        @Index(name = "idx_car_user_brand_model", columnList = "user_id, brand_norm, model_norm"),
+        @Index(name = "idx_car_user_color", columnList = "user_id, color_norm"),
+        // Búsqueda por marca sin usuario (administración): los compuestos empiezan por user_id
+        @Index(name = "idx_car_brand_norm", columnList = "brand_norm"),
+        @Index(name = "idx_car_year", columnList = "year"),
+        // Marca de agua y cambios desde ella, al reanudar las copias en memoria tras un reinicio
+        @Index(name = "idx_car_updated", columnList = "updated_at")
 })
 public class CarEntity {
 
+    public static final String CACHE_REGION = "tucarro.cars";
+    public static final String PLATE_CACHE_REGION = "tucarro.cars.plate";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -26,6 +48,7 @@ public class CarEntity {
     @Column(name = "year", nullable = false)
     private Integer year;
 
+    @NaturalId(mutable = true)
     @Column(name = "plate_number", nullable = false, unique = true, length = 10)
     private String plateNumber;
 
@@ -41,6 +64,26 @@ public class CarEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Columnas normalizadas (sin tildes, en minúsculas) para comparar sin LOWER() sobre la columna
+    @Column(name = "brand_norm", length = 30)
+    private String brandNorm;
+
+    @Column(name = "model_norm", length = 50)
+    private String modelNorm;
+
+    @Column(name = "color_norm", length = 20)
+    private String colorNorm;
+
+    // Marca, modelo, placa y color normalizados en un solo texto para la búsqueda libre
+    @Column(name = "search_text", length = 120)
+    private String searchText;
+
+    // Versión para control de concurrencia optimista
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Relación Many-to-One con UserEntity
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_car_user"))
@@ -93,11 +136,24 @@ public class CarEntity {
             createdAt = now;
         }
         updatedAt = now;
+        normalizeSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeSearchColumns();
+    }
+
+    /**
+     * Recalcula las columnas normalizadas a partir de los valores actuales
+     */
+    public void normalizeSearchColumns() {
+        brandNorm = SearchTextNormalizer.normalize(brand);
+        modelNorm = SearchTextNormalizer.normalize(model);
+        colorNorm = SearchTextNormalizer.normalize(color);
+        searchText = SearchTextNormalizer.searchText(
+                brandNorm, modelNorm, SearchTextNormalizer.normalize(plateNumber), colorNorm);
     }
 
     // Getters y Setters
@@ -173,6 +229,30 @@ public class CarEntity {
         this.updatedAt = updatedAt;
     }
 
+    public String getBrandNorm() {
+        return brandNorm;
+    }
+
+    public String getModelNorm() {
+        return modelNorm;
+    }
+
+    public String getColorNorm() {
+        return colorNorm;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UserEntity getUser() {
         return user;
     }
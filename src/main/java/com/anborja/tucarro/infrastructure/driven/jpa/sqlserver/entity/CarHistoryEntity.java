@@ -0,0 +1,142 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Versión anterior de un auto, vigente en [valid_from, valid_to). La escriben los triggers
+ * de cars (db/history) en MySQL y PostgreSQL; en SQL Server la historia es la de la tabla
+ * temporal nativa y esta tabla queda vacía. La clave (car_id, version) hace que una versión
+ * se registre una sola vez; las consultas por fecha usan el índice (car_id, valid_from).
+ */
+@Entity
+@IdClass(CarHistoryEntity.Key.class)
+@Table(name = "cars_history", indexes = {
+        @Index(name = "idx_car_history_car_from", columnList = "car_id, valid_from"),
+        // Purga de la historia al eliminar la cuenta
+        @Index(name = "idx_car_history_user", columnList = "user_id")
+})
+public class CarHistoryEntity {
+
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Id
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "brand", nullable = false, length = 30)
+    private String brand;
+
+    @Column(name = "model", nullable = false, length = 50)
+    private String model;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "plate_number", nullable = false, length = 10)
+    private String plateNumber;
+
+    @Column(name = "color", nullable = false, length = 20)
+    private String color;
+
+    @Column(name = "photo_url", length = 500)
+    private String photoUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDateTime validTo;
+
+    // Constructor vacío requerido por JPA
+    public CarHistoryEntity() {
+    }
+
+    // Getters
+    public Long getCarId() {
+        return carId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public String getPlateNumber() {
+        return plateNumber;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+
+    /**
+     * Clave compuesta (car_id, version)
+     */
+    public static class Key implements Serializable {
+        private Long carId;
+        private Long version;
+
+        public Key() {
+        }
+
+        public Key(Long carId, Long version) {
+            this.carId = carId;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(carId, key.carId) && Objects.equals(version, key.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(carId, version);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox de cambios de autos. Se inserta en la transacción del cambio y la
+ * publica CarOutboxRelay a los suscriptores en proceso.
+ */
+@Entity
+@Table(name = "car_outbox", indexes = {
+        // Limpieza de eventos ya publicados por antigüedad
+        @Index(name = "idx_car_outbox_occurred", columnList = "occurred_at")
+})
+public class CarOutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructor vacío requerido por JPA
+    public CarOutboxEventEntity() {
+    }
+
+    public CarOutboxEventEntity(String changeType, Long carId, Long userId) {
+        this.changeType = changeType;
+        this.carId = carId;
+        this.userId = userId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public Long getCarId() {
+        return carId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,159 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de lectura de la búsqueda de autos, proyectado desde cars a partir de los eventos
+ * del outbox (CarSearchViewProjector). Cada fila lleva ya resuelto lo que las búsquedas
+ * calculaban por auto: el texto de búsqueda normalizado, las claves de orden sin tildes ni
+ * mayúsculas, la antigüedad y si tiene foto. No tiene clave foránea: la proyección va por
+ * detrás de las escrituras y nunca las bloquea.
+ * La fila se reproyecta cuando cambia la versión del auto o cuando age_bucket se calculó
+ * en un año anterior.
+ */
+@Entity
+@Table(name = "car_search_view", indexes = {
+        @Index(name = "idx_car_search_view_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_car_search_view_user_year", columnList = "user_id, year"),
+        @Index(name = "idx_car_search_view_user_brand", columnList = "user_id, brand_norm"),
+        @Index(name = "idx_car_search_view_plate", columnList = "plate_number")
+})
+public class CarSearchViewEntity {
+
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "brand", nullable = false, length = 30)
+    private String brand;
+
+    @Column(name = "model", nullable = false, length = 50)
+    private String model;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "plate_number", nullable = false, length = 10)
+    private String plateNumber;
+
+    @Column(name = "color", nullable = false, length = 20)
+    private String color;
+
+    @Column(name = "photo_url", length = 500)
+    private String photoUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Versión de cars de la que se proyectó la fila
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Claves de orden y de filtro: los campos sin tildes, en minúsculas
+    @Column(name = "brand_norm", length = 30)
+    private String brandNorm;
+
+    @Column(name = "model_norm", length = 50)
+    private String modelNorm;
+
+    @Column(name = "color_norm", length = 20)
+    private String colorNorm;
+
+    @Column(name = "search_text", length = 120)
+    private String searchText;
+
+    // CarAgeBucket calculado para bucket_year
+    @Column(name = "age_bucket", nullable = false, length = 10)
+    private String ageBucket;
+
+    @Column(name = "bucket_year", nullable = false)
+    private Integer bucketYear;
+
+    @Column(name = "has_photo", nullable = false)
+    private Boolean hasPhoto;
+
+    // Constructor vacío requerido por JPA
+    public CarSearchViewEntity() {
+    }
+
+    // Getters
+    public Long getCarId() {
+        return carId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public String getPlateNumber() {
+        return plateNumber;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getBrandNorm() {
+        return brandNorm;
+    }
+
+    public String getModelNorm() {
+        return modelNorm;
+    }
+
+    public String getColorNorm() {
+        return colorNorm;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public String getAgeBucket() {
+        return ageBucket;
+    }
+
+    public Integer getBucketYear() {
+        return bucketYear;
+    }
+
+    public Boolean getHasPhoto() {
+        return hasPhoto;
+    }
+}
@@ -0,0 +1,34 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Fila que serializa una proyección entre instancias: cada transacción de la proyección la
+ * bloquea (SELECT ... FOR UPDATE) antes de escribir, así que en cada shard escribe una sola
+ * instancia a la vez. Se crea al primer uso si los scripts no la insertaron.
+ */
+@Entity
+@Table(name = "projection_locks")
+public class ProjectionLockEntity {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    // Constructor vacío requerido por JPA
+    public ProjectionLockEntity() {
+    }
+
+    public ProjectionLockEntity(String name) {
+        this.name = name;
+    }
+
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,75 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del directorio de shards: en qué base viven un usuario y sus autos. Solo se usa la
+ * tabla del shard 0; la clave del anillo se calcula una vez al registrar al usuario para que
+ * su ubicación no dependa de datos mutables.
+ */
+@Entity
+@Table(name = "shard_directory", indexes = {
+        @Index(name = "idx_shard_directory_email", columnList = "email", unique = true)
+})
+public class ShardDirectoryEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "shard_id", nullable = false)
+    private int shardId;
+
+    @Column(name = "ring_key", nullable = false)
+    private long ringKey;
+
+    // Mientras es true las escrituras del usuario se rechazan
+    @Column(name = "moving", nullable = false)
+    private boolean moving;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructor vacío requerido por JPA
+    public ShardDirectoryEntity() {
+    }
+
+    public ShardDirectoryEntity(Long userId, String email, int shardId, long ringKey) {
+        this.userId = userId;
+        this.email = email;
+        this.shardId = shardId;
+        this.ringKey = ringKey;
+        this.moving = false;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public int getShardId() {
+        return shardId;
+    }
+
+    public long getRingKey() {
+        return ringKey;
+    }
+
+    public boolean isMoving() {
+        return moving;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
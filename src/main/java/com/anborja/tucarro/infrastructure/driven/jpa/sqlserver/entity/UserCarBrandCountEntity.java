@@ -0,0 +1,87 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Autos de un usuario por marca normalizada. Hija de user_car_stats; la fila se borra
+ * cuando el conteo llega a cero.
+ */
+@Entity
+@IdClass(UserCarBrandCountEntity.Key.class)
+@Table(name = "user_car_brand_counts")
+public class UserCarBrandCountEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "brand_norm", length = 30)
+    private String brandNorm;
+
+    // Marca tal como la escribió el usuario en el primer auto de esa marca
+    @Column(name = "brand", nullable = false, length = 30)
+    private String brand;
+
+    @Column(name = "car_count", nullable = false)
+    private long carCount;
+
+    // Constructor vacío requerido por JPA
+    public UserCarBrandCountEntity() {
+    }
+
+    public UserCarBrandCountEntity(Long userId, String brandNorm, String brand, long carCount) {
+        this.userId = userId;
+        this.brandNorm = brandNorm;
+        this.brand = brand;
+        this.carCount = carCount;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getBrandNorm() {
+        return brandNorm;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public long getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Clave compuesta (user_id, brand_norm)
+     */
+    public static class Key implements Serializable {
+        private Long userId;
+        private String brandNorm;
+
+        public Key() {
+        }
+
+        public Key(Long userId, String brandNorm) {
+            this.userId = userId;
+            this.brandNorm = brandNorm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(brandNorm, key.brandNorm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, brandNorm);
+        }
+    }
+}
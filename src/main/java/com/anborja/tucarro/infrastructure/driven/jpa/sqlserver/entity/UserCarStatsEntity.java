@@ -0,0 +1,57 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila agregada de la flota de un usuario. Se actualiza en la misma transacción que
+ * inserta, modifica o elimina sus autos; la actualización de esta fila es además el
+ * candado que serializa las escrituras de estadísticas de un mismo usuario.
+ */
+@Entity
+@Table(name = "user_car_stats")
+public class UserCarStatsEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_cars", nullable = false)
+    private long totalCars;
+
+    // Suma de los años de todos los autos, para el promedio sin recorrer la flota
+    @Column(name = "year_sum", nullable = false)
+    private long yearSum;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructor vacío requerido por JPA
+    public UserCarStatsEntity() {
+    }
+
+    public UserCarStatsEntity(Long userId, long totalCars, long yearSum) {
+        this.userId = userId;
+        this.totalCars = totalCars;
+        this.yearSum = yearSum;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotalCars() {
+        return totalCars;
+    }
+
+    public long getYearSum() {
+        return yearSum;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
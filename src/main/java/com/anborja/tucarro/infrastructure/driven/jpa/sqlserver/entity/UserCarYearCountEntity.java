@@ -0,0 +1,79 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Autos de un usuario por año. Permite calcular año mínimo, máximo, autos clásicos y
+ * autos nuevos (umbrales que dependen del año actual) sin leer la tabla cars. La fila
+ * se borra cuando el conteo llega a cero.
+ */
+@Entity
+@IdClass(UserCarYearCountEntity.Key.class)
+@Table(name = "user_car_year_counts")
+public class UserCarYearCountEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "car_year")
+    private Integer carYear;
+
+    @Column(name = "car_count", nullable = false)
+    private long carCount;
+
+    // Constructor vacío requerido por JPA
+    public UserCarYearCountEntity() {
+    }
+
+    public UserCarYearCountEntity(Long userId, Integer carYear, long carCount) {
+        this.userId = userId;
+        this.carYear = carYear;
+        this.carCount = carCount;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getCarYear() {
+        return carYear;
+    }
+
+    public long getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Clave compuesta (user_id, car_year)
+     */
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer carYear;
+
+        public Key() {
+        }
+
+        public Key(Long userId, Integer carYear) {
+            this.userId = userId;
+            this.carYear = carYear;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(carYear, key.carYear);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, carYear);
+        }
+    }
+}
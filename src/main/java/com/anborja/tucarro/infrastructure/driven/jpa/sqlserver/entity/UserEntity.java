@@ -1,15 +1,26 @@
 package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.EMAIL_CACHE_REGION)
 @Table(name = "users", indexes = {
         @Index(name = "idx_user_email", columnList = "email", unique = true)
 })
 public class UserEntity {
 
+    public static final String CACHE_REGION = "tucarro.users";
+    public static final String EMAIL_CACHE_REGION = "tucarro.users.email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -21,6 +32,7 @@ public class UserEntity {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true, length = 100)
     private String email;
 
@@ -33,6 +45,14 @@ public class UserEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Fecha de la solicitud de eliminación; la cuenta deja de estar visible y la purga en segundo plano la borra
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Último inicio de sesión (o el registro); mide la inactividad para el archivado de autos
+    @Column(name = "last_login_at")
+    private LocalDateTime lastLoginAt;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<CarEntity> cars;
 
@@ -70,6 +90,9 @@ public class UserEntity {
         if (createdAt == null) {
             createdAt = now;
         }
+        if (lastLoginAt == null) {
+            lastLoginAt = now;
+        }
         updatedAt = now;
     }
 
@@ -144,6 +167,22 @@ public class UserEntity {
         this.cars = cars;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public void setLastLoginAt(LocalDateTime lastLoginAt) {
+        this.lastLoginAt = lastLoginAt;
+    }
+
     // Métodos de conveniencia
     public String getFullName() {
         return firstName + " " + lastName;
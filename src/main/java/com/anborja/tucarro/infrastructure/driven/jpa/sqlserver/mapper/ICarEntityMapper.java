@@ -1,7 +1,10 @@
 package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper;
 
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarArchiveEntity;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarHistoryEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarSearchViewEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -22,6 +25,34 @@ public interface ICarEntityMapper {
     @Mapping(target = "userId", source = "user.id")
     Car entityToDomain(CarEntity carEntity);
 
+    /**
+     * Convierte un auto archivado a Car (dominio)
+     *
+     * @param carArchiveEntity la entidad del archivo
+     * @return el modelo del dominio
+     */
+    Car archiveToDomain(CarArchiveEntity carArchiveEntity);
+
+    /**
+     * Convierte una versión anterior de un auto a Car (dominio); su fecha de
+     * actualización es la del inicio de su vigencia
+     *
+     * @param carHistoryEntity la versión histórica
+     * @return el modelo del dominio
+     */
+    @Mapping(target = "id", source = "carId")
+    @Mapping(target = "updatedAt", source = "validFrom")
+    Car historyToDomain(CarHistoryEntity carHistoryEntity);
+
+    /**
+     * Convierte una fila del modelo de lectura de búsqueda a Car (dominio)
+     *
+     * @param carSearchViewEntity la fila proyectada
+     * @return el modelo del dominio
+     */
+    @Mapping(target = "id", source = "carId")
+    Car viewToDomain(CarSearchViewEntity carSearchViewEntity);
+
     /**
      * Convierte de Car (dominio) a CarEntity
      * Nota: El UserEntity debe ser asignado por separado
@@ -50,6 +81,7 @@ public interface ICarEntityMapper {
     @Mapping(target = "id", ignore = true) // No actualizamos el ID
     @Mapping(target = "user", ignore = true) // No actualizamos la relación con user
     @Mapping(target = "createdAt", ignore = true) // No actualizamos la fecha de creación
+    @Mapping(target = "version", ignore = true) // La versión la gestiona Hibernate
     void updateEntityFromDomain(Car car, @MappingTarget CarEntity carEntity);
 
     /**
@@ -60,6 +92,7 @@ public interface ICarEntityMapper {
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true) // Se asigna por separado
+    @Mapping(target = "version", ignore = true)
     CarEntity domainToEntityForCreation(Car car);
 
     /**
@@ -82,5 +115,6 @@ public interface ICarEntityMapper {
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true) // Se actualiza automáticamente con @PreUpdate
+    @Mapping(target = "version", ignore = true)
     void updateBasicFields(Car car, @MappingTarget CarEntity carEntity);
 }
\ No newline at end of file
@@ -29,6 +29,8 @@ public interface IUserEntityMapper {
      * @return la entidad JPA
      */
     @Mapping(target = "cars", ignore = true) // Las cars se manejan por separado
+    @Mapping(target = "deletedAt", ignore = true) // Solo la marca la solicitud de eliminación
+    @Mapping(target = "lastLoginAt", ignore = true) // Solo lo registra el inicio de sesión
     UserEntity domainToEntity(User user);
 
     /**
@@ -49,6 +51,8 @@ public interface IUserEntityMapper {
     @Mapping(target = "id", ignore = true) // No actualizamos el ID
     @Mapping(target = "cars", ignore = true) // No actualizamos la lista de autos
     @Mapping(target = "createdAt", ignore = true) // No actualizamos la fecha de creación
+    @Mapping(target = "deletedAt", ignore = true) // No se desmarca una cuenta en eliminación
+    @Mapping(target = "lastLoginAt", ignore = true) // Solo lo registra el inicio de sesión
     void updateEntityFromDomain(User user, @MappingTarget UserEntity userEntity);
 
     /**
@@ -59,5 +63,7 @@ public interface IUserEntityMapper {
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "cars", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
     UserEntity domainToEntityForCreation(User user);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.AccountDeletionEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IAccountDeletionRepository extends JpaRepository<AccountDeletionEntity, Long> {
+
+    /**
+     * Busca una solicitud por su token
+     *
+     * @param token token de la solicitud
+     * @return Optional con la solicitud si existe
+     */
+    Optional<AccountDeletionEntity> findByToken(String token);
+
+    /**
+     * Busca la solicitud de un usuario
+     *
+     * @param userId el ID del usuario
+     * @return Optional con la solicitud si existe
+     */
+    Optional<AccountDeletionEntity> findByUserId(Long userId);
+
+    /**
+     * Obtiene los IDs de las solicitudes sin completar, en orden de llegada
+     *
+     * @param completed estado de las solicitudes terminadas
+     * @param pageable tamaño del lote
+     * @return IDs de solicitudes pendientes o en curso
+     */
+    @Query("SELECT d.id FROM AccountDeletionEntity d WHERE d.status <> :completed ORDER BY d.id")
+    List<Long> findUnfinishedIds(@Param("completed") String completed, Pageable pageable);
+
+    /**
+     * Obtiene los usuarios de las solicitudes registradas desde una fecha, completadas o no
+     *
+     * @param since fecha de registro mínima
+     * @return IDs de los usuarios
+     */
+    @Query("SELECT d.userId FROM AccountDeletionEntity d WHERE d.requestedAt >= :since")
+    List<Long> findUserIdsRequestedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Elimina las solicitudes completadas antes de una fecha
+     *
+     * @param completed estado de las solicitudes terminadas
+     * @param before fecha límite
+     * @return el número de solicitudes eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM AccountDeletionEntity d WHERE d.status = :completed AND d.completedAt < :before")
+    int deleteCompletedBefore(@Param("completed") String completed, @Param("before") LocalDateTime before);
+}
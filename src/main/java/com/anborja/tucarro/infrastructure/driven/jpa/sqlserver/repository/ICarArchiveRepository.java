@@ -0,0 +1,130 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarArchiveEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ICarArchiveRepository extends JpaRepository<CarArchiveEntity, Long> {
+
+    /**
+     * Obtiene el ID del propietario de un auto archivado
+     *
+     * @param carId el ID del auto
+     * @return Optional con el ID del usuario si el auto está archivado
+     */
+    @Query("SELECT a.userId FROM CarArchiveEntity a WHERE a.id = :carId")
+    Optional<Long> findOwnerIdById(@Param("carId") Long carId);
+
+    /**
+     * Busca un auto archivado por placa
+     *
+     * @param plateNumber placa normalizada
+     * @return Optional con el auto archivado si existe
+     */
+    Optional<CarArchiveEntity> findByPlateNumber(String plateNumber);
+
+    /**
+     * Verifica si la placa pertenece a un auto archivado
+     *
+     * @param plateNumber placa normalizada
+     * @return true si hay un auto archivado con esa placa
+     */
+    boolean existsByPlateNumber(String plateNumber);
+
+    /**
+     * Verifica si la placa pertenece a un auto archivado de otro usuario
+     *
+     * @param plateNumber placa normalizada
+     * @param userId el ID del usuario actual
+     * @return true si otro usuario tiene un auto archivado con esa placa
+     */
+    boolean existsByPlateNumberAndUserIdNot(String plateNumber, Long userId);
+
+    /**
+     * Verifica si la placa pertenece a un auto archivado distinto del indicado
+     *
+     * @param plateNumber placa normalizada
+     * @param id el ID del auto que se está actualizando
+     * @return true si otro auto archivado usa esa placa
+     */
+    boolean existsByPlateNumberAndIdNot(String plateNumber, Long id);
+
+    /**
+     * Obtiene cuáles de las placas dadas pertenecen a autos archivados
+     *
+     * @param plateNumbers placas normalizadas
+     * @return placas archivadas
+     */
+    @Query("SELECT a.plateNumber FROM CarArchiveEntity a WHERE a.plateNumber IN :plateNumbers")
+    List<String> findPlateNumbersIn(@Param("plateNumbers") Collection<String> plateNumbers);
+
+    /**
+     * Cuenta los autos archivados de un usuario
+     *
+     * @param userId el ID del usuario
+     * @return el número de autos archivados del usuario
+     */
+    @Query("SELECT COUNT(a) FROM CarArchiveEntity a WHERE a.userId = :userId")
+    int countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene un lote de IDs de autos archivados de un usuario
+     *
+     * @param userId el ID del usuario
+     * @param pageable tamaño del lote
+     * @return IDs de autos archivados del usuario
+     */
+    @Query("SELECT a.id FROM CarArchiveEntity a WHERE a.userId = :userId ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Elimina un auto archivado si pertenece al usuario
+     *
+     * @param carId el ID del auto
+     * @param userId el ID del usuario propietario
+     * @return el número de autos eliminados (0 o 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarArchiveEntity a WHERE a.id = :carId AND a.userId = :userId")
+    int deleteIfOwned(@Param("carId") Long carId, @Param("userId") Long userId);
+
+    /**
+     * Elimina los autos archivados indicados en una sola sentencia
+     *
+     * @param carIds IDs de los autos
+     * @return el número de autos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarArchiveEntity a WHERE a.id IN :carIds")
+    int deleteByIdIn(@Param("carIds") List<Long> carIds);
+
+    /**
+     * Elimina los autos archivados indicados que pertenecen al usuario
+     *
+     * @param carIds IDs de los autos
+     * @param userId el ID del usuario propietario
+     * @return el número de autos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarArchiveEntity a WHERE a.id IN :carIds AND a.userId = :userId")
+    int deleteByIdInAndUserId(@Param("carIds") List<Long> carIds, @Param("userId") Long userId);
+
+    /**
+     * Elimina todos los autos archivados de un usuario
+     *
+     * @param userId el ID del usuario
+     * @return el número de autos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarArchiveEntity a WHERE a.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
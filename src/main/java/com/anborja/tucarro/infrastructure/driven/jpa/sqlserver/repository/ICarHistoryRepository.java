@@ -0,0 +1,60 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarHistoryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ICarHistoryRepository extends JpaRepository<CarHistoryEntity, CarHistoryEntity.Key> {
+
+    /**
+     * Versiones de un auto vigentes en un instante, de la más reciente a la más antigua.
+     * Recorre el índice (car_id, valid_from) y se usa con una página de tamaño 1
+     *
+     * @param carId el ID del auto
+     * @param at el instante consultado
+     * @param pageable límite de resultados
+     * @return las versiones vigentes en ese instante
+     */
+    @Query("SELECT h FROM CarHistoryEntity h WHERE h.carId = :carId AND h.validFrom <= :at AND h.validTo > :at " +
+            "ORDER BY h.validFrom DESC")
+    List<CarHistoryEntity> findValidAt(@Param("carId") Long carId,
+                                       @Param("at") LocalDateTime at,
+                                       Pageable pageable);
+
+    /**
+     * Versiones anteriores de un auto en orden cronológico
+     *
+     * @param carId el ID del auto
+     * @return las versiones anteriores del auto
+     */
+    List<CarHistoryEntity> findByCarIdOrderByValidFromAsc(Long carId);
+
+    /**
+     * Obtiene los IDs de los autos con historia de un usuario (para purgarla por lotes)
+     *
+     * @param userId el ID del usuario
+     * @param pageable tamaño del lote
+     * @return los IDs de los autos
+     */
+    @Query("SELECT DISTINCT h.carId FROM CarHistoryEntity h WHERE h.userId = :userId")
+    List<Long> findCarIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Elimina las versiones de un usuario para los autos indicados
+     *
+     * @param carIds los IDs de los autos
+     * @param userId el ID del usuario
+     * @return el número de versiones eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarHistoryEntity h WHERE h.carId IN :carIds AND h.userId = :userId")
+    int deleteByCarIdInAndUserId(@Param("carIds") List<Long> carIds, @Param("userId") Long userId);
+}
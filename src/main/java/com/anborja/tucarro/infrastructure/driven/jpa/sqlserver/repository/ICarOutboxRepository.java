@@ -0,0 +1,72 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarOutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ICarOutboxRepository extends JpaRepository<CarOutboxEventEntity, Long> {
+
+    /**
+     * Obtiene los eventos posteriores a un ID, en orden (recorrido por la clave primaria)
+     *
+     * @param afterId último ID procesado
+     * @param pageable tamaño del lote
+     * @return eventos con ID mayor que afterId
+     */
+    @Query("SELECT e FROM CarOutboxEventEntity e WHERE e.id > :afterId ORDER BY e.id")
+    List<CarOutboxEventEntity> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Obtiene los eventos con los IDs indicados que ya están confirmados, en orden
+     *
+     * @param ids IDs buscados (huecos del recorrido)
+     * @return eventos encontrados
+     */
+    List<CarOutboxEventEntity> findByIdInOrderById(Collection<Long> ids);
+
+    /**
+     * Obtiene los usuarios con eventos posteriores a un ID
+     *
+     * @param afterId último ID procesado
+     * @return IDs de usuario sin repetir
+     */
+    @Query("SELECT DISTINCT e.userId FROM CarOutboxEventEntity e WHERE e.id > :afterId")
+    List<Long> findUserIdsAfter(@Param("afterId") Long afterId);
+
+    /**
+     * Obtiene los usuarios de los eventos con los IDs indicados que ya están confirmados
+     *
+     * @param ids IDs buscados (huecos del recorrido)
+     * @return IDs de usuario sin repetir
+     */
+    @Query("SELECT DISTINCT e.userId FROM CarOutboxEventEntity e WHERE e.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene el mayor ID registrado
+     *
+     * @return Optional con el mayor ID si hay eventos
+     */
+    @Query("SELECT MAX(e.id) FROM CarOutboxEventEntity e")
+    Optional<Long> findMaxId();
+
+    /**
+     * Elimina los eventos anteriores a una fecha
+     *
+     * @param before fecha límite
+     * @return el número de eventos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM CarOutboxEventEntity e WHERE e.occurredAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
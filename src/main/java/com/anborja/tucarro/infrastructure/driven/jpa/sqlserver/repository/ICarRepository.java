@@ -4,18 +4,54 @@ import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ICarRepository extends JpaRepository<CarEntity, Long> {
 
+    /**
+     * Carácter de escape de los patrones LIKE de las operaciones masivas. No es la barra
+     * invertida porque MySQL la interpreta también dentro de los literales
+     */
+    String LIKE_ESCAPE = "!";
+
+    /**
+     * Condiciones del filtro de las operaciones masivas. Término, marca, modelo y color deben
+     * llegar normalizados, y el término como patrón de subcadena con sus comodines escapados
+     * con {@link #LIKE_ESCAPE}
+     */
+    String BULK_FILTER = "AND (:searchPattern IS NULL OR c.searchText LIKE :searchPattern ESCAPE '" + LIKE_ESCAPE + "') " +
+            "AND (:filterBrand IS NULL OR c.brandNorm = :filterBrand) " +
+            "AND (:filterModel IS NULL OR c.modelNorm = :filterModel) " +
+            "AND (:filterYear IS NULL OR c.year = :filterYear) " +
+            "AND (:filterColor IS NULL OR c.colorNorm = :filterColor) " +
+            "AND (:minYear IS NULL OR c.year >= :minYear) " +
+            "AND (:maxYear IS NULL OR c.year <= :maxYear)";
+
+    /**
+     * Texto de búsqueda de una actualización masiva: las columnas normalizadas nuevas o las
+     * que ya tenía la fila, más la placa en minúsculas (solo tiene letras sin tilde y dígitos).
+     * Una fila pendiente de backfill conserva search_text en NULL para que
+     * CarSearchColumnsBackfillRunner lo calcule con SearchTextNormalizer: LOWER() no
+     * quitaría las tildes y la fila dejaría de coincidir con los términos normalizados
+     */
+    String PENDING_BACKFILL_OR_SEARCH_TEXT = "CASE WHEN COALESCE(:brandNorm, c.brandNorm) IS NULL " +
+            "OR COALESCE(:modelNorm, c.modelNorm) IS NULL " +
+            "OR COALESCE(:colorNorm, c.colorNorm) IS NULL THEN NULL " +
+            "ELSE CONCAT(COALESCE(:brandNorm, c.brandNorm), ' ', COALESCE(:modelNorm, c.modelNorm), ' ', " +
+            "LOWER(c.plateNumber), ' ', COALESCE(:colorNorm, c.colorNorm)) END";
+
     /**
      * Busca un auto por su número de placa
      *
@@ -59,13 +95,314 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM CarEntity c WHERE c.plateNumber = :plateNumber AND c.user.id != :userId")
     boolean existsByPlateNumberAndUserIdNot(@Param("plateNumber") String plateNumber, @Param("userId") Long userId);
 
+    /**
+     * Verifica si la placa está asignada a un auto distinto del indicado
+     *
+     * @param plateNumber el número de placa
+     * @param id el ID del auto que se está actualizando
+     * @return true si otro auto ya usa esa placa
+     */
+    boolean existsByPlateNumberAndIdNot(String plateNumber, Long id);
+
+    /**
+     * Actualiza en una sola sentencia los campos no nulos de los autos indicados del usuario.
+     * Las columnas normalizadas de los campos modificados se reciben ya calculadas
+     *
+     * @return el número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CarEntity c SET " +
+            "c.brand = COALESCE(:brand, c.brand), " +
+            "c.model = COALESCE(:model, c.model), " +
+            "c.year = COALESCE(:year, c.year), " +
+            "c.color = COALESCE(:color, c.color), " +
+            "c.brandNorm = COALESCE(:brandNorm, c.brandNorm), " +
+            "c.modelNorm = COALESCE(:modelNorm, c.modelNorm), " +
+            "c.colorNorm = COALESCE(:colorNorm, c.colorNorm), " +
+            "c.searchText = " + PENDING_BACKFILL_OR_SEARCH_TEXT + ", " +
+            "c.updatedAt = :updatedAt, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.id IN :carIds AND c.user.id = :userId")
+    int bulkUpdateByIds(@Param("carIds") List<Long> carIds,
+                        @Param("userId") Long userId,
+                        @Param("brand") String brand,
+                        @Param("model") String model,
+                        @Param("year") Integer year,
+                        @Param("color") String color,
+                        @Param("brandNorm") String brandNorm,
+                        @Param("modelNorm") String modelNorm,
+                        @Param("colorNorm") String colorNorm,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Actualiza en una sola sentencia los campos no nulos de los autos del usuario que
+     * cumplen el filtro ({@link #BULK_FILTER})
+     *
+     * @return el número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CarEntity c SET " +
+            "c.brand = COALESCE(:brand, c.brand), " +
+            "c.model = COALESCE(:model, c.model), " +
+            "c.year = COALESCE(:year, c.year), " +
+            "c.color = COALESCE(:color, c.color), " +
+            "c.brandNorm = COALESCE(:brandNorm, c.brandNorm), " +
+            "c.modelNorm = COALESCE(:modelNorm, c.modelNorm), " +
+            "c.colorNorm = COALESCE(:colorNorm, c.colorNorm), " +
+            "c.searchText = " + PENDING_BACKFILL_OR_SEARCH_TEXT + ", " +
+            "c.updatedAt = :updatedAt, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.user.id = :userId " + BULK_FILTER)
+    int bulkUpdateByFilter(@Param("userId") Long userId,
+                           @Param("searchPattern") String searchPattern,
+                           @Param("filterBrand") String filterBrand,
+                           @Param("filterModel") String filterModel,
+                           @Param("filterYear") Integer filterYear,
+                           @Param("filterColor") String filterColor,
+                           @Param("minYear") Integer minYear,
+                           @Param("maxYear") Integer maxYear,
+                           @Param("brand") String brand,
+                           @Param("model") String model,
+                           @Param("year") Integer year,
+                           @Param("color") String color,
+                           @Param("brandNorm") String brandNorm,
+                           @Param("modelNorm") String modelNorm,
+                           @Param("colorNorm") String colorNorm,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Elimina en una sola sentencia los autos indicados que pertenecen al usuario
+     *
+     * @return el número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarEntity c WHERE c.id IN :carIds AND c.user.id = :userId")
+    int bulkDeleteByIds(@Param("carIds") List<Long> carIds, @Param("userId") Long userId);
+
+    /**
+     * Elimina en una sola sentencia los autos del usuario que cumplen el filtro
+     * ({@link #BULK_FILTER})
+     *
+     * @return el número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarEntity c WHERE c.user.id = :userId " + BULK_FILTER)
+    int bulkDeleteByFilter(@Param("userId") Long userId,
+                           @Param("searchPattern") String searchPattern,
+                           @Param("filterBrand") String filterBrand,
+                           @Param("filterModel") String filterModel,
+                           @Param("filterYear") Integer filterYear,
+                           @Param("filterColor") String filterColor,
+                           @Param("minYear") Integer minYear,
+                           @Param("maxYear") Integer maxYear);
+
+    /**
+     * Obtiene los autos que deben salir del conjunto de trabajo: creados antes de una fecha,
+     * o sin cambios desde entonces y de usuarios que no inician sesión desde entonces. Un
+     * usuario sin inicio de sesión registrado no cuenta como inactivo. Se omiten las placas
+     * que ya están en el archivo (solo por una carrera con el archivado), que no cabrían en él
+     *
+     * @param createdBefore fecha de creación límite
+     * @param inactiveSince fecha desde la que el usuario no inicia sesión y el auto no cambia
+     * @param pageable tamaño del lote
+     * @return autos a archivar, en orden de ID
+     */
+    @Query("SELECT c FROM CarEntity c JOIN c.user u WHERE (c.createdAt < :createdBefore " +
+            "OR (u.lastLoginAt < :inactiveSince AND c.updatedAt < :inactiveSince)) " +
+            "AND NOT EXISTS (SELECT 1 FROM CarArchiveEntity a WHERE a.plateNumber = c.plateNumber) ORDER BY c.id")
+    List<CarEntity> findArchiveCandidates(@Param("createdBefore") LocalDateTime createdBefore,
+                                          @Param("inactiveSince") LocalDateTime inactiveSince,
+                                          Pageable pageable);
+
+    /**
+     * Lee y bloquea los autos del usuario con las placas dadas (SELECT ... FOR UPDATE); es su
+     * estado antes de sincronizarlos por placa, para las estadísticas y la auditoría
+     *
+     * @param plateNumbers placas normalizadas
+     * @param userId el ID del propietario
+     * @return autos del usuario encontrados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CarEntity c WHERE c.plateNumber IN :plateNumbers AND c.user.id = :userId")
+    List<CarEntity> findByPlateNumberInIfOwnedForUpdate(@Param("plateNumbers") Collection<String> plateNumbers,
+                                                        @Param("userId") Long userId);
+
+    /**
+     * Busca los autos con las placas dadas
+     *
+     * @param plateNumbers placas normalizadas
+     * @return autos encontrados
+     */
+    @Query("SELECT c FROM CarEntity c WHERE c.plateNumber IN :plateNumbers")
+    List<CarEntity> findByPlateNumberIn(@Param("plateNumbers") Collection<String> plateNumbers);
+
+    /**
+     * Elimina un auto solo si no cambió desde que se leyó
+     *
+     * @return el número de filas afectadas (0 o 1)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CarEntity c WHERE c.id = :carId AND c.version = :version")
+    int deleteIfVersion(@Param("carId") Long carId, @Param("version") Long version);
+
+    /**
+     * Obtiene el propietario de un auto; se usa para explicar una escritura que no afectó filas
+     *
+     * @param carId el ID del auto
+     * @return Optional con el ID del propietario si el auto existe
+     */
+    @Query("SELECT c.user.id FROM CarEntity c WHERE c.id = :carId")
+    Optional<Long> findOwnerIdById(@Param("carId") Long carId);
+
+    /**
+     * Lee y bloquea los autos indicados que pertenecen al usuario, antes de una operación
+     * masiva que devuelve su estado previo
+     *
+     * @param carIds los IDs de los autos
+     * @param userId el ID del propietario
+     * @return autos encontrados, en orden de ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CarEntity c WHERE c.id IN :carIds AND c.user.id = :userId ORDER BY c.id")
+    List<CarEntity> findByIdInIfOwnedForUpdate(@Param("carIds") Collection<Long> carIds, @Param("userId") Long userId);
+
+    /**
+     * Lee y bloquea los autos del usuario que cumplen el filtro ({@link #BULK_FILTER}), antes
+     * de una operación masiva que devuelve su estado previo
+     *
+     * @return autos encontrados, en orden de ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId " + BULK_FILTER + " ORDER BY c.id")
+    List<CarEntity> findByFilterForUpdate(@Param("userId") Long userId,
+                                          @Param("searchPattern") String searchPattern,
+                                          @Param("filterBrand") String filterBrand,
+                                          @Param("filterModel") String filterModel,
+                                          @Param("filterYear") Integer filterYear,
+                                          @Param("filterColor") String filterColor,
+                                          @Param("minYear") Integer minYear,
+                                          @Param("maxYear") Integer maxYear);
+
+    /**
+     * Obtiene propietario, año y marca de un auto, para mantener las estadísticas
+     * cuando se modifica o elimina sin verificar propietario
+     *
+     * @param carId el ID del auto
+     * @return lista con una fila [userId, year, brand] si el auto existe
+     */
+    @Query("SELECT c.user.id, c.year, c.brand FROM CarEntity c WHERE c.id = :carId")
+    List<Object[]> findStatsKeyById(@Param("carId") Long carId);
+
+    /**
+     * Cuenta los autos de un usuario por año (recorre idx_car_user_year)
+     *
+     * @param userId el ID del usuario
+     * @return filas [year, count]
+     */
+    @Query("SELECT c.year, COUNT(c) FROM CarEntity c WHERE c.user.id = :userId GROUP BY c.year")
+    List<Object[]> countByYearForUser(@Param("userId") Long userId);
+
+    /**
+     * Cuenta los autos de un usuario por marca, tal como está escrita
+     *
+     * @param userId el ID del usuario
+     * @return filas [brand, count]
+     */
+    @Query("SELECT c.brand, COUNT(c) FROM CarEntity c WHERE c.user.id = :userId GROUP BY c.brand")
+    List<Object[]> countByBrandForUser(@Param("userId") Long userId);
+
+    /**
+     * Obtiene un lote de IDs de autos de un usuario, para borrarlos por partes
+     *
+     * @param userId el ID del usuario
+     * @param pageable tamaño del lote
+     * @return IDs de autos del usuario
+     */
+    @Query("SELECT c.id FROM CarEntity c WHERE c.user.id = :userId ORDER BY c.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Busca los autos con los IDs dados con una consulta, sin pasar por la caché de segundo nivel
+     *
+     * @param ids IDs de autos
+     * @return autos encontrados
+     */
+    @Query("SELECT c FROM CarEntity c WHERE c.id IN :ids")
+    List<CarEntity> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca todos los autos de los usuarios dados
+     *
+     * @param userIds IDs de usuarios
+     * @return autos de esos usuarios
+     */
+    @Query("SELECT c FROM CarEntity c WHERE c.user.id IN :userIds")
+    List<CarEntity> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Obtiene el siguiente lote de autos en orden de ID (keyset), para recorrer la tabla completa
+     *
+     * @param afterId último ID del lote anterior
+     * @param pageable tamaño del lote
+     * @return autos con ID mayor que afterId
+     */
+    @Query("SELECT c FROM CarEntity c WHERE c.id > :afterId ORDER BY c.id")
+    List<CarEntity> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Obtiene la marca de agua de la tabla (recorre idx_car_updated y la clave primaria)
+     *
+     * @return lista con una fila [max(updatedAt), max(id)], ambos nulos si no hay autos
+     */
+    @Query("SELECT MAX(c.updatedAt), MAX(c.id) FROM CarEntity c")
+    List<Object[]> findHighWaterMark();
+
+    /**
+     * Obtiene los autos modificados después de una fecha o creados después de un ID
+     *
+     * @param since fecha de modificación límite (exclusiva)
+     * @param afterId ID límite (exclusivo)
+     * @return filas [id, ID del propietario]
+     */
+    @Query("SELECT c.id, c.user.id FROM CarEntity c WHERE c.updatedAt > :since OR c.id > :afterId")
+    List<Object[]> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId);
+
+    /**
+     * Obtiene el siguiente lote de IDs en orden (keyset), para comparar la tabla con una copia
+     *
+     * @param afterId último ID del lote anterior
+     * @param pageable tamaño del lote
+     * @return IDs mayores que afterId
+     */
+    @Query("SELECT c.id FROM CarEntity c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Cuenta los autos de cada uno de los usuarios dados; los usuarios sin autos no aparecen
+     *
+     * @param userIds IDs de usuarios
+     * @return filas [userId, count]
+     */
+    @Query("SELECT c.user.id, COUNT(c) FROM CarEntity c WHERE c.user.id IN :userIds GROUP BY c.user.id")
+    List<Object[]> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Elimina los autos indicados en una sola sentencia
+     *
+     * @param carIds IDs de los autos
+     * @return el número de autos eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CarEntity c WHERE c.id IN :carIds")
+    int deleteByIdIn(@Param("carIds") List<Long> carIds);
+
     /**
      * Elimina todos los autos de un usuario
      *
      * @param userId el ID del usuario
      * @return el número de autos eliminados
      */
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("DELETE FROM CarEntity c WHERE c.user.id = :userId")
     int deleteAllByUserId(@Param("userId") Long userId);
 
@@ -85,25 +422,24 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
     Page<CarEntity> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
-     * Busca autos de un usuario con término de búsqueda y paginación
+     * Busca autos de un usuario con término de búsqueda y paginación.
+     * El término debe llegar normalizado (SearchTextNormalizer)
      */
     @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId AND " +
-            "(LOWER(c.brand) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(c.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(c.plateNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(c.color) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+            "c.searchText LIKE CONCAT('%', :searchTerm, '%')")
     Page<CarEntity> findByUserIdWithSearch(@Param("userId") Long userId,
                                            @Param("searchTerm") String searchTerm,
                                            Pageable pageable);
 
     /**
-     * Busca autos de un usuario con filtros específicos y paginación
+     * Busca autos de un usuario con filtros específicos y paginación.
+     * Marca, modelo y color deben llegar normalizados (SearchTextNormalizer)
      */
     @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId " +
-            "AND (:brand IS NULL OR LOWER(c.brand) = LOWER(:brand)) " +
-            "AND (:model IS NULL OR LOWER(c.model) = LOWER(:model)) " +
+            "AND (:brand IS NULL OR c.brandNorm = :brand) " +
+            "AND (:model IS NULL OR c.modelNorm = :model) " +
             "AND (:year IS NULL OR c.year = :year) " +
-            "AND (:color IS NULL OR LOWER(c.color) = LOWER(:color)) " +
+            "AND (:color IS NULL OR c.colorNorm = :color) " +
             "AND (:minYear IS NULL OR c.year >= :minYear) " +
             "AND (:maxYear IS NULL OR c.year <= :maxYear)")
     Page<CarEntity> findByUserIdWithFilters(@Param("userId") Long userId,
@@ -118,18 +454,18 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
     /**
      * Busca autos por marca
      *
-     * @param brand la marca a buscar
+     * @param brandNorm la marca normalizada a buscar
      * @return lista de autos de la marca especificada
      */
-    List<CarEntity> findByBrandIgnoreCase(String brand);
+    List<CarEntity> findByBrandNorm(String brandNorm);
 
     /**
      * Busca autos por modelo
      *
-     * @param model el modelo a buscar
+     * @param modelNorm el modelo normalizado a buscar
      * @return lista de autos del modelo especificado
      */
-    List<CarEntity> findByModelIgnoreCase(String model);
+    List<CarEntity> findByModelNorm(String modelNorm);
 
     /**
      * Busca autos por año
@@ -151,10 +487,10 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
     /**
      * Busca autos por color
      *
-     * @param color el color a buscar
+     * @param colorNorm el color normalizado a buscar
      * @return lista de autos del color especificado
      */
-    List<CarEntity> findByColorIgnoreCase(String color);
+    List<CarEntity> findByColorNorm(String colorNorm);
 
     /**
      * Busca autos por marca y modelo para un usuario específico
@@ -164,7 +500,7 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
      * @param userId el ID del usuario
      * @return lista de autos que coinciden con los criterios
      */
-    @Query("SELECT c FROM CarEntity c WHERE LOWER(c.brand) = LOWER(:brand) AND LOWER(c.model) = LOWER(:model) AND c.user.id = :userId")
+    @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId AND c.brandNorm = :brand AND c.modelNorm = :model")
     List<CarEntity> findByBrandAndModelAndUserId(@Param("brand") String brand,
                                                  @Param("model") String model,
                                                  @Param("userId") Long userId);
@@ -177,8 +513,8 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
      * @return lista de autos que coinciden con el término de búsqueda
      */
     @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId AND " +
-            "(LOWER(c.brand) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(c.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+            "(c.brandNorm LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "c.modelNorm LIKE CONCAT('%', :searchTerm, '%'))")
     List<CarEntity> findByBrandContainingOrModelContainingAndUserId(@Param("searchTerm") String searchTerm,
                                                                     @Param("userId") Long userId);
 
@@ -231,10 +567,10 @@ public interface ICarRepository extends JpaRepository<CarEntity, Long> {
      * @return lista de autos que coinciden con los criterios
      */
     @Query("SELECT c FROM CarEntity c WHERE c.user.id = :userId " +
-            "AND (:brand IS NULL OR LOWER(c.brand) LIKE LOWER(CONCAT('%', :brand, '%'))) " +
-            "AND (:model IS NULL OR LOWER(c.model) LIKE LOWER(CONCAT('%', :model, '%'))) " +
+            "AND (:brand IS NULL OR c.brandNorm LIKE CONCAT('%', :brand, '%')) " +
+            "AND (:model IS NULL OR c.modelNorm LIKE CONCAT('%', :model, '%')) " +
             "AND (:year IS NULL OR c.year = :year) " +
-            "AND (:color IS NULL OR LOWER(c.color) LIKE LOWER(CONCAT('%', :color, '%')))")
+            "AND (:color IS NULL OR c.colorNorm LIKE CONCAT('%', :color, '%'))")
     List<CarEntity> findByMultipleCriteria(@Param("userId") Long userId,
                                            @Param("brand") String brand,
                                            @Param("model") String model,
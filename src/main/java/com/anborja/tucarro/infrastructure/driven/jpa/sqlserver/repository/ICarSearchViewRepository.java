@@ -0,0 +1,82 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarSearchViewEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ICarSearchViewRepository extends JpaRepository<CarSearchViewEntity, Long> {
+
+    // Los textos deben llegar normalizados (SearchTextNormalizer) y la placa con PlateValidator
+    String SEARCH = "SELECT v FROM CarSearchViewEntity v WHERE v.userId = :userId " +
+            "AND (:searchTerm IS NULL OR v.searchText LIKE CONCAT('%', :searchTerm, '%')) " +
+            "AND (:brand IS NULL OR v.brandNorm = :brand) " +
+            "AND (:brandContains IS NULL OR v.brandNorm LIKE CONCAT('%', :brandContains, '%')) " +
+            "AND (:model IS NULL OR v.modelNorm = :model) " +
+            "AND (:modelContains IS NULL OR v.modelNorm LIKE CONCAT('%', :modelContains, '%')) " +
+            "AND (:year IS NULL OR v.year = :year) " +
+            "AND (:minYear IS NULL OR v.year >= :minYear) " +
+            "AND (:maxYear IS NULL OR v.year <= :maxYear) " +
+            "AND (:color IS NULL OR v.colorNorm = :color) " +
+            "AND (:plateNumber IS NULL OR v.plateNumber = :plateNumber) " +
+            "AND (:hasPhoto IS NULL OR v.hasPhoto = :hasPhoto) " +
+            "AND v.ageBucket IN :ageBuckets";
+
+    /**
+     * Busca autos de un usuario en el modelo de lectura
+     *
+     * @param sort ordenamiento sobre las columnas de la vista
+     * @return los autos que cumplen los filtros
+     */
+    @Query(SEARCH)
+    List<CarSearchViewEntity> search(@Param("userId") Long userId,
+                                     @Param("searchTerm") String searchTerm,
+                                     @Param("brand") String brand,
+                                     @Param("brandContains") String brandContains,
+                                     @Param("model") String model,
+                                     @Param("modelContains") String modelContains,
+                                     @Param("year") Integer year,
+                                     @Param("minYear") Integer minYear,
+                                     @Param("maxYear") Integer maxYear,
+                                     @Param("color") String color,
+                                     @Param("plateNumber") String plateNumber,
+                                     @Param("hasPhoto") Boolean hasPhoto,
+                                     @Param("ageBuckets") Collection<String> ageBuckets,
+                                     Sort sort);
+
+    /**
+     * Busca autos de un usuario en el modelo de lectura con paginación
+     *
+     * @param pageable paginación y ordenamiento sobre las columnas de la vista
+     * @return página de autos que cumplen los filtros
+     */
+    @Query(SEARCH)
+    Page<CarSearchViewEntity> search(@Param("userId") Long userId,
+                                     @Param("searchTerm") String searchTerm,
+                                     @Param("brand") String brand,
+                                     @Param("brandContains") String brandContains,
+                                     @Param("model") String model,
+                                     @Param("modelContains") String modelContains,
+                                     @Param("year") Integer year,
+                                     @Param("minYear") Integer minYear,
+                                     @Param("maxYear") Integer maxYear,
+                                     @Param("color") String color,
+                                     @Param("plateNumber") String plateNumber,
+                                     @Param("hasPhoto") Boolean hasPhoto,
+                                     @Param("ageBuckets") Collection<String> ageBuckets,
+                                     Pageable pageable);
+
+    /**
+     * Mayor ID de auto proyectado, para recorrer la vista por rangos
+     */
+    @Query("SELECT MAX(v.carId) FROM CarSearchViewEntity v")
+    Long findMaxCarId();
+}
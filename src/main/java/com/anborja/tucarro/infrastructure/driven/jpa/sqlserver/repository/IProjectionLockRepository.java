@@ -0,0 +1,25 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ProjectionLockEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IProjectionLockRepository extends JpaRepository<ProjectionLockEntity, String> {
+
+    /**
+     * Lee y bloquea la fila de una proyección hasta el final de la transacción
+     *
+     * @param name nombre de la proyección
+     * @return Optional con la fila si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ProjectionLockEntity l WHERE l.name = :name")
+    Optional<ProjectionLockEntity> lockByName(@Param("name") String name);
+}
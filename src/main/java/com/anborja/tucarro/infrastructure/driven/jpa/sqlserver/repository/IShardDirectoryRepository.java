@@ -0,0 +1,104 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IShardDirectoryRepository extends JpaRepository<ShardDirectoryEntity, Long> {
+
+    /**
+     * Busca la entrada de un usuario por su email
+     *
+     * @param email email normalizado
+     * @return Optional con la entrada si existe
+     */
+    Optional<ShardDirectoryEntity> findByEmail(String email);
+
+    /**
+     * Recorre el directorio por lotes en orden de usuario
+     *
+     * @param afterUserId último usuario del lote anterior
+     * @param pageable tamaño del lote
+     * @return entradas siguientes
+     */
+    @Query("SELECT d FROM ShardDirectoryEntity d WHERE d.userId > :afterUserId ORDER BY d.userId")
+    List<ShardDirectoryEntity> findPageAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    /**
+     * Usuarios del shard 0 anteriores al particionado, que aún no tienen entrada
+     *
+     * @param pageable tamaño del lote
+     * @return pares [id, email]
+     */
+    @Query("SELECT u.id, u.email FROM UserEntity u WHERE u.deletedAt IS NULL AND NOT EXISTS "
+            + "(SELECT 1 FROM ShardDirectoryEntity d WHERE d.userId = u.id) ORDER BY u.id")
+    List<Object[]> findUnregisteredUsers(Pageable pageable);
+
+    /**
+     * Cantidad de usuarios por shard
+     *
+     * @return pares [shardId, cantidad]
+     */
+    @Query("SELECT d.shardId, COUNT(d) FROM ShardDirectoryEntity d GROUP BY d.shardId")
+    List<Object[]> countByShard();
+
+    long countByMovingTrue();
+
+    /**
+     * Marca usuarios en migración; solo afecta a los que no lo estaban
+     *
+     * @param userIds usuarios a marcar
+     * @param now fecha de la marca
+     * @return el número de usuarios marcados
+     */
+    @Modifying
+    @Query("UPDATE ShardDirectoryEntity d SET d.moving = true, d.updatedAt = :now "
+            + "WHERE d.userId IN :userIds AND d.moving = false")
+    int markMoving(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Cierra la migración de un usuario apuntándolo a su nuevo shard
+     *
+     * @param userId el ID del usuario
+     * @param shardId shard destino
+     * @param now fecha del cambio
+     * @return el número de entradas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE ShardDirectoryEntity d SET d.shardId = :shardId, d.moving = false, d.updatedAt = :now "
+            + "WHERE d.userId = :userId")
+    int completeMove(@Param("userId") Long userId, @Param("shardId") int shardId, @Param("now") LocalDateTime now);
+
+    /**
+     * Libera usuarios marcados sin moverlos
+     *
+     * @param userIds usuarios a liberar
+     * @param now fecha del cambio
+     * @return el número de entradas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE ShardDirectoryEntity d SET d.moving = false, d.updatedAt = :now WHERE d.userId IN :userIds")
+    int clearMoving(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Actualiza el email de una entrada
+     *
+     * @param userId el ID del usuario
+     * @param email email normalizado
+     * @param now fecha del cambio
+     * @return el número de entradas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE ShardDirectoryEntity d SET d.email = :email, d.updatedAt = :now WHERE d.userId = :userId")
+    int updateEmail(@Param("userId") Long userId, @Param("email") String email, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,67 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserCarBrandCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IUserCarBrandCountRepository
+        extends JpaRepository<UserCarBrandCountEntity, UserCarBrandCountEntity.Key> {
+
+    /**
+     * Obtiene los conteos de un usuario (prefijo de la clave primaria)
+     *
+     * @param userId el ID del usuario
+     * @return conteos del usuario
+     */
+    List<UserCarBrandCountEntity> findByUserId(Long userId);
+
+    /**
+     * Suma un delta al conteo de la marca normalizada del usuario
+     *
+     * @param userId el ID del usuario
+     * @param brandNorm la marca normalizada
+     * @param delta autos agregados (positivo) o eliminados (negativo)
+     * @return 1 si la fila existe, 0 si hay que crearla
+     */
+    @Modifying
+    @Query("UPDATE UserCarBrandCountEntity c SET c.carCount = c.carCount + :delta " +
+            "WHERE c.userId = :userId AND c.brandNorm = :brandNorm")
+    int addToCount(@Param("userId") Long userId,
+                   @Param("brandNorm") String brandNorm,
+                   @Param("delta") long delta);
+
+    /**
+     * Elimina los conteos que llegaron a cero
+     *
+     * @param userId el ID del usuario
+     * @return el número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM UserCarBrandCountEntity c WHERE c.userId = :userId AND c.carCount <= 0")
+    int deleteEmptyByUserId(@Param("userId") Long userId);
+
+    /**
+     * Elimina todos los conteos del usuario
+     *
+     * @param userId el ID del usuario
+     * @return el número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UserCarBrandCountEntity c WHERE c.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Elimina los conteos de usuarios que ya no existen
+     *
+     * @return el número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM UserCarBrandCountEntity c WHERE c.userId NOT IN (SELECT u.id FROM UserEntity u)")
+    int deleteOrphans();
+}
@@ -0,0 +1,55 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserCarStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IUserCarStatsRepository extends JpaRepository<UserCarStatsEntity, Long> {
+
+    /**
+     * Suma los deltas a la fila del usuario en una sola sentencia. Con deltas en cero
+     * sirve para tomar el candado de la fila antes de modificar sus autos
+     *
+     * @param userId el ID del usuario
+     * @param carDelta autos agregados (positivo) o eliminados (negativo)
+     * @param yearDelta variación de la suma de años
+     * @param updatedAt fecha de actualización
+     * @return 1 si la fila existe, 0 si el usuario aún no tiene estadísticas
+     */
+    @Modifying
+    @Query("UPDATE UserCarStatsEntity s SET s.totalCars = s.totalCars + :carDelta, " +
+            "s.yearSum = s.yearSum + :yearDelta, s.updatedAt = :updatedAt " +
+            "WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("carDelta") long carDelta,
+                   @Param("yearDelta") long yearDelta,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Reemplaza los totales de la fila del usuario
+     *
+     * @return 1 si la fila existe
+     */
+    @Modifying
+    @Query("UPDATE UserCarStatsEntity s SET s.totalCars = :totalCars, s.yearSum = :yearSum, " +
+            "s.updatedAt = :updatedAt WHERE s.userId = :userId")
+    int overwrite(@Param("userId") Long userId,
+                  @Param("totalCars") long totalCars,
+                  @Param("yearSum") long yearSum,
+                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Elimina las filas de usuarios que ya no existen
+     *
+     * @return el número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM UserCarStatsEntity s WHERE s.userId NOT IN (SELECT u.id FROM UserEntity u)")
+    int deleteOrphans();
+}
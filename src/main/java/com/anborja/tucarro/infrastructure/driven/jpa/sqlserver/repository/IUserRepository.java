@@ -1,7 +1,9 @@
 package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository;
 
 import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -112,4 +114,36 @@ public interface IUserRepository extends JpaRepository<UserEntity, Long> {
      */
     @Query("SELECT u FROM UserEntity u WHERE LOWER(u.email) LIKE LOWER(CONCAT('%', :emailPart, '%'))")
     List<UserEntity> findByEmailContaining(@Param("emailPart") String emailPart);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene IDs de usuario posteriores a uno dado, en orden (recorrido por keyset)
+     *
+     * @param afterId último ID procesado
+     * @param pageable tamaño del lote
+     * @return IDs de usuario mayores que afterId
+     */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Marca la cuenta como eliminada si aún no lo estaba
+     *
+     * @param userId el ID del usuario
+     * @param deletedAt fecha de la solicitud
+     * @return 1 si se marcó, 0 si no existe o ya estaba marcada
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.deletedAt = :deletedAt WHERE u.id = :userId AND u.deletedAt IS NULL")
+    int markDeleted(@Param("userId") Long userId, @Param("deletedAt") java.time.LocalDateTime deletedAt);
+
+    /**
+     * Elimina la fila del usuario sin pasar por la cascada de la colección cars
+     * (que cargaría todos sus autos); se usa cuando ya no le quedan autos
+     *
+     * @param userId el ID del usuario
+     * @return el número de filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM UserEntity u WHERE u.id = :userId")
+    int deleteWithoutCascade(@Param("userId") Long userId);
+}
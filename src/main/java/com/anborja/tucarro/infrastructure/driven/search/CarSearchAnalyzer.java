@@ -0,0 +1,54 @@
+package com.anborja.tucarro.infrastructure.driven.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Analizador del texto de búsqueda de autos: separa en palabras, pasa a minúsculas y quita
+ * las tildes, igual que SearchTextNormalizer. Al indexar guarda además los prefijos de cada
+ * palabra, de modo que "toy" encuentra "Toyota" con una consulta de término exacto.
+ */
+final class CarSearchAnalyzer extends Analyzer {
+
+    // Más largo que cualquier marca, modelo, color o placa
+    private static final int MAX_PREFIX_LENGTH = 30;
+
+    private final boolean prefixes;
+
+    private CarSearchAnalyzer(boolean prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Analizador de indexación, con prefijos
+     */
+    static CarSearchAnalyzer forIndexing() {
+        return new CarSearchAnalyzer(true);
+    }
+
+    /**
+     * Analizador de las consultas: cada palabra se busca tal cual entre los prefijos indexados
+     */
+    static CarSearchAnalyzer forQueries() {
+        return new CarSearchAnalyzer(false);
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+        if (prefixes) {
+            stream = new EdgeNGramTokenFilter(stream, 1, MAX_PREFIX_LENGTH, true);
+        }
+        return new TokenStreamComponents(tokenizer, stream);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+    }
+}
@@ -0,0 +1,179 @@
+package com.anborja.tucarro.infrastructure.driven.search;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import com.anborja.tucarro.shared.validation.PlateValidator;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Esquema de los documentos de autos en el índice. Cada auto es un documento con:
+ * <ul>
+ *     <li>id como término exacto (clave de actualización) y valor numérico de desempate</li>
+ *     <li>user_id como punto, para filtrar por usuario</li>
+ *     <li>text con marca, modelo, color y placa, analizado por palabras y prefijos</li>
+ *     <li>brand, model, color y plate normalizados como término exacto y valor de ordenamiento</li>
+ *     <li>year como punto (rangos) y valor numérico (ordenamiento)</li>
+ *     <li>created_at y updated_at como valores numéricos en milisegundos, para ordenar</li>
+ *     <li>has_photo como término exacto</li>
+ *     <li>facetas de marca, color y año</li>
+ * </ul>
+ * Se guardan además los campos de Car, de modo que los resultados no vuelven a la base de datos.
+ */
+final class CarSearchDocuments {
+
+    // Versión de este esquema; un índice escrito con otra se reconstruye en lugar de reanudarse
+    static final String SCHEMA_VERSION = "1";
+
+    static final String ID = "id";
+    static final String ID_SORT = "id_sort";
+    static final String USER_ID = "user_id";
+    static final String TEXT = "text";
+    static final String BRAND = "brand";
+    static final String MODEL = "model";
+    static final String COLOR = "color";
+    static final String PLATE = "plate";
+    static final String YEAR = "year";
+    static final String CREATED_AT = "created_at";
+    static final String UPDATED_AT = "updated_at";
+    static final String HAS_PHOTO = "has_photo";
+
+    // Dimensiones de las facetas
+    static final String BRAND_FACET = "brand";
+    static final String COLOR_FACET = "color";
+    static final String YEAR_FACET = "year";
+
+    // Campos guardados que no se indexan
+    private static final String STORED_BRAND = "stored_brand";
+    private static final String STORED_MODEL = "stored_model";
+    private static final String STORED_COLOR = "stored_color";
+    private static final String STORED_PLATE = "stored_plate";
+    private static final String STORED_PHOTO_URL = "stored_photo_url";
+    private static final String STORED_CREATED_AT = "stored_created_at";
+    private static final String STORED_UPDATED_AT = "stored_updated_at";
+    private static final String STORED_VERSION = "stored_version";
+
+    static final FacetsConfig FACETS_CONFIG = new FacetsConfig();
+
+    private CarSearchDocuments() {
+    }
+
+    static Term idTerm(Long carId) {
+        return new Term(ID, String.valueOf(carId));
+    }
+
+    static Document toDocument(Car car) throws IOException {
+        Document document = new Document();
+
+        document.add(new StringField(ID, String.valueOf(car.getId()), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, car.getId()));
+        document.add(new LongPoint(USER_ID, car.getUserId()));
+        document.add(new StoredField(USER_ID, car.getUserId()));
+
+        String text = SearchTextNormalizer.searchText(car.getBrand(), car.getModel(), car.getColor(), car.getPlateNumber());
+        if (text != null) {
+            document.add(new TextField(TEXT, text, Field.Store.NO));
+        }
+
+        String brandKey = SearchTextNormalizer.normalize(car.getBrand());
+        String colorKey = SearchTextNormalizer.normalize(car.getColor());
+        addKeyword(document, BRAND, brandKey);
+        addKeyword(document, MODEL, SearchTextNormalizer.normalize(car.getModel()));
+        addKeyword(document, COLOR, colorKey);
+        addKeyword(document, PLATE, PlateValidator.normalizePlate(car.getPlateNumber()));
+
+        if (car.getYear() != null) {
+            document.add(new IntPoint(YEAR, car.getYear()));
+            document.add(new NumericDocValuesField(YEAR, car.getYear()));
+            document.add(new StoredField(YEAR, car.getYear()));
+            document.add(new SortedSetDocValuesFacetField(YEAR_FACET, String.valueOf(car.getYear())));
+        }
+        if (brandKey != null) {
+            document.add(new SortedSetDocValuesFacetField(BRAND_FACET, brandKey));
+        }
+        if (colorKey != null) {
+            document.add(new SortedSetDocValuesFacetField(COLOR_FACET, colorKey));
+        }
+
+        addTimestamp(document, CREATED_AT, STORED_CREATED_AT, car.getCreatedAt());
+        addTimestamp(document, UPDATED_AT, STORED_UPDATED_AT, car.getUpdatedAt());
+
+        boolean hasPhoto = car.getPhotoUrl() != null && !car.getPhotoUrl().trim().isEmpty();
+        document.add(new StringField(HAS_PHOTO, String.valueOf(hasPhoto), Field.Store.NO));
+
+        addStored(document, STORED_BRAND, car.getBrand());
+        addStored(document, STORED_MODEL, car.getModel());
+        addStored(document, STORED_COLOR, car.getColor());
+        addStored(document, STORED_PLATE, car.getPlateNumber());
+        addStored(document, STORED_PHOTO_URL, car.getPhotoUrl());
+        if (car.getVersion() != null) {
+            document.add(new StoredField(STORED_VERSION, car.getVersion()));
+        }
+
+        // Convierte los campos de faceta al campo de valores ordenados que las cuenta
+        return FACETS_CONFIG.build(document);
+    }
+
+    static Car toCar(Document document) {
+        IndexableField year = document.getField(YEAR);
+
+        Car car = new Car(
+                Long.valueOf(document.get(ID)),
+                document.get(STORED_BRAND),
+                document.get(STORED_MODEL),
+                year != null ? year.numericValue().intValue() : null,
+                document.get(STORED_PLATE),
+                document.get(STORED_COLOR),
+                document.get(STORED_PHOTO_URL),
+                document.getField(USER_ID).numericValue().longValue(),
+                parseTimestamp(document.get(STORED_CREATED_AT)),
+                parseTimestamp(document.get(STORED_UPDATED_AT)));
+
+        IndexableField version = document.getField(STORED_VERSION);
+        if (version != null) {
+            car.setVersion(version.numericValue().longValue());
+        }
+        return car;
+    }
+
+    private static void addKeyword(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new StringField(field, value, Field.Store.NO));
+            document.add(new SortedDocValuesField(field, new BytesRef(value)));
+        }
+    }
+
+    private static void addTimestamp(Document document, String field, String storedField, LocalDateTime value) {
+        if (value != null) {
+            document.add(new NumericDocValuesField(field, value.toInstant(ZoneOffset.UTC).toEpochMilli()));
+            // Se guarda como texto para conservar la precisión completa
+            document.add(new StoredField(storedField, value.toString()));
+        }
+    }
+
+    private static void addStored(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new StoredField(field, value));
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
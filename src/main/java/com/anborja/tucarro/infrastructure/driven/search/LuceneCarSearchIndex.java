@@ -0,0 +1,598 @@
+package com.anborja.tucarro.infrastructure.driven.search;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Índice Lucene de autos en disco local. Cada instancia mantiene el suyo: se actualiza con
+ * los cambios recibidos del outbox y se abre para búsqueda casi en tiempo real (los cambios
+ * se ven al refrescar, sin esperar al commit). El commit se hace periódicamente y al cerrar.
+ * <p>
+ * El índice vive en generaciones ({@code gen-<n>}); el archivo CURRENT indica la activa. La
+ * reconstrucción escribe una generación nueva sin bloquear las búsquedas ni las
+ * actualizaciones, que siguen yendo a la anterior, y al terminar la activa. Los autos
+ * cambiados mientras tanto se anotan y se vuelven a leer de la base de datos sobre la
+ * generación nueva, de modo que ningún cambio se pierde en el reemplazo.
+ * <p>
+ * Toda escritura lee los autos de la base de datos dentro del candado de escritura: entre
+ * dos escrituras del mismo auto gana siempre la que leyó después.
+ * <p>
+ * Cada commit puede guardar la versión del esquema de documentos y la marca de agua de cars
+ * que cubre. Al reabrir el índice con esa marca basta con releer los autos cambiados desde
+ * ella, en lugar de reconstruirlo completo.
+ * <p>
+ * El estado de facetas (ordinales globales de las dimensiones) se arma una sola vez por
+ * lector, al refrescar, y viaja con el buscador: las consultas de facetas no lo recalculan.
+ */
+public class LuceneCarSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LuceneCarSearchIndex.class);
+
+    private static final String CURRENT_FILE = "CURRENT";
+    private static final String GENERATION_PREFIX = "gen-";
+
+    // Datos guardados en cada commit
+    private static final String SCHEMA_KEY = "schema";
+    private static final String MARK_UPDATED_AT_KEY = "hwm.updated_at";
+    private static final String MARK_ID_KEY = "hwm.id";
+
+    /**
+     * Origen de los autos que se indexan
+     */
+    public interface CarSource {
+        List<Car> findByIds(Collection<Long> carIds);
+
+        List<Car> findByUserIds(Collection<Long> userIds);
+    }
+
+    private final Path root;
+    private final double ramBufferMb;
+    private final Object writeLock = new Object();
+
+    private volatile Generation current;
+
+    // Cambios anotados durante una reconstrucción; null si no hay ninguna en curso
+    private Set<Long> pendingCarIds;
+    private Set<Long> pendingUserIds;
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private volatile Instant lastRefresh;
+    private volatile Instant lastCommit;
+
+    public LuceneCarSearchIndex(Path root, double ramBufferMb) {
+        this.root = root;
+        this.ramBufferMb = ramBufferMb;
+    }
+
+    /**
+     * Abre la generación activa, si existe, y elimina las que quedaron de reconstrucciones
+     * interrumpidas
+     */
+    public void start() throws IOException {
+        Files.createDirectories(root);
+
+        Path currentFile = root.resolve(CURRENT_FILE);
+        String name = Files.exists(currentFile)
+                ? Files.readString(currentFile, StandardCharsets.UTF_8).trim()
+                : null;
+        if (name != null && Files.isDirectory(root.resolve(name))) {
+            current = open(name, IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            logger.info("Índice de búsqueda abierto: generación {} con {} autos", name, current.writer.getDocStats().numDocs);
+        } else {
+            logger.info("Índice de búsqueda vacío en {}; se usará el modelo de lectura hasta reconstruirlo", root);
+        }
+
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path entry : entries.toList()) {
+                String entryName = entry.getFileName().toString();
+                if (entryName.startsWith(GENERATION_PREFIX) && (current == null || !entryName.equals(current.name))) {
+                    deleteGeneration(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Confirma los cambios pendientes y cierra la generación activa
+     */
+    public void stop() throws IOException {
+        synchronized (writeLock) {
+            Generation generation = current;
+            current = null;
+            if (generation != null) {
+                generation.writer.commit();
+                generation.close();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Vuelve a indexar los autos indicados y todos los autos de los usuarios indicados,
+     * leyéndolos del origen. Los autos que ya no existen se eliminan del índice
+     */
+    public void update(Collection<Long> carIds, Collection<Long> userIds, CarSource source) throws IOException {
+        if (carIds.isEmpty() && userIds.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            if (pendingCarIds != null) {
+                pendingCarIds.addAll(carIds);
+                pendingUserIds.addAll(userIds);
+            }
+            Generation generation = current;
+            if (generation != null) {
+                apply(generation, carIds, userIds, source);
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Hace visibles para búsqueda los cambios escritos
+     */
+    public void refresh() throws IOException {
+        Generation generation = current;
+        if (generation != null) {
+            try {
+                generation.searcherManager.maybeRefreshBlocking();
+                refreshes.incrementAndGet();
+                lastRefresh = Instant.now();
+            } catch (AlreadyClosedException e) {
+                // La generación se reemplazó; la nueva ya se refrescó al activarse
+            }
+        }
+    }
+
+    /**
+     * Confirma en disco los cambios escritos desde el último commit junto con la marca de
+     * agua, que debe haberse leído antes de los cambios que cubre. Sin marca (null) se
+     * conserva la del commit anterior
+     */
+    public void commit(CarHighWaterMark mark) throws IOException {
+        synchronized (writeLock) {
+            Generation generation = current;
+            if (generation == null) {
+                return;
+            }
+            boolean markChanged = mark != null && !mark.equals(readMark(generation.writer));
+            if (markChanged) {
+                generation.writer.setLiveCommitData(commitData(mark).entrySet());
+            }
+            if (markChanged || generation.writer.hasUncommittedChanges()) {
+                generation.writer.commit();
+                lastCommit = Instant.now();
+            }
+        }
+    }
+
+    /**
+     * Marca de agua guardada con la generación activa, o null si no hay generación, no se
+     * guardó marca o el índice se escribió con otro esquema de documentos
+     */
+    public CarHighWaterMark committedMark() {
+        synchronized (writeLock) {
+            Generation generation = current;
+            return generation != null ? readMark(generation.writer) : null;
+        }
+    }
+
+    /**
+     * IDs de los autos en la vista más reciente del índice, en orden ascendente
+     */
+    public long[] documentIds() throws IOException {
+        return search(searcher -> {
+            IndexReader reader = searcher.getIndexReader();
+            long[] ids = new long[reader.numDocs()];
+            int count = 0;
+            for (LeafReaderContext leaf : reader.leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                NumericDocValues values = DocValues.getNumeric(leaf.reader(), CarSearchDocuments.ID_SORT);
+                for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        ids[count++] = values.longValue();
+                    }
+                }
+            }
+            long[] sorted = Arrays.copyOf(ids, count);
+            Arrays.sort(sorted);
+            return sorted;
+        });
+    }
+
+    /**
+     * Ejecuta una búsqueda sobre la vista más reciente del índice
+     *
+     * @throws IllegalStateException si el índice no está construido
+     */
+    public <T> T search(SearchOperation<T> operation) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Generation generation = current;
+            if (generation == null) {
+                throw new IllegalStateException("El índice de búsqueda no está construido");
+            }
+            CarIndexSearcher searcher;
+            try {
+                searcher = (CarIndexSearcher) generation.searcherManager.acquire();
+            } catch (AlreadyClosedException e) {
+                // Reemplazada entre la lectura de current y acquire: se reintenta con la nueva
+                if (attempt > 0) {
+                    throw e;
+                }
+                continue;
+            }
+            try {
+                return operation.apply(searcher);
+            } finally {
+                generation.searcherManager.release(searcher);
+            }
+        }
+    }
+
+    /**
+     * Inicia una reconstrucción en una generación nueva. Desde ahora se anotan los cambios
+     * que lleguen, para aplicarlos sobre la generación nueva al completarla
+     *
+     * @throws IllegalStateException si ya hay una reconstrucción en curso
+     */
+    public Rebuild beginRebuild() throws IOException {
+        synchronized (writeLock) {
+            if (pendingCarIds != null) {
+                throw new IllegalStateException("Ya hay una reconstrucción del índice en curso");
+            }
+            pendingCarIds = ConcurrentHashMap.newKeySet();
+            pendingUserIds = ConcurrentHashMap.newKeySet();
+        }
+
+        try {
+            String name = GENERATION_PREFIX + System.currentTimeMillis();
+            return new Rebuild(open(name, IndexWriterConfig.OpenMode.CREATE));
+        } catch (IOException | RuntimeException e) {
+            synchronized (writeLock) {
+                pendingCarIds = null;
+                pendingUserIds = null;
+            }
+            throw e;
+        }
+    }
+
+    public IndexStats stats() {
+        Generation generation = current;
+        if (generation == null) {
+            return new IndexStats(null, 0, 0, 0, updates.get(), refreshes.get(), lastRefresh, lastCommit);
+        }
+        try {
+            IndexWriter.DocStats docStats = generation.writer.getDocStats();
+            return new IndexStats(generation.name, docStats.numDocs, docStats.maxDoc - docStats.numDocs,
+                    sizeOf(root.resolve(generation.name)), updates.get(), refreshes.get(), lastRefresh, lastCommit);
+        } catch (AlreadyClosedException e) {
+            // Reemplazada por una reconstrucción mientras se leía
+            return stats();
+        }
+    }
+
+    private void apply(Generation generation, Collection<Long> carIds, Collection<Long> userIds,
+                       CarSource source) throws IOException {
+        IndexWriter writer = generation.writer;
+
+        if (!userIds.isEmpty()) {
+            writer.deleteDocuments(LongPoint.newSetQuery(CarSearchDocuments.USER_ID, userIds));
+            for (Car car : source.findByUserIds(userIds)) {
+                writer.updateDocument(CarSearchDocuments.idTerm(car.getId()), CarSearchDocuments.toDocument(car));
+            }
+        }
+
+        if (!carIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(carIds);
+            for (Car car : source.findByIds(carIds)) {
+                writer.updateDocument(CarSearchDocuments.idTerm(car.getId()), CarSearchDocuments.toDocument(car));
+                missing.remove(car.getId());
+            }
+            if (!missing.isEmpty()) {
+                writer.deleteDocuments(missing.stream().map(CarSearchDocuments::idTerm).toArray(Term[]::new));
+            }
+        }
+        updates.incrementAndGet();
+    }
+
+    private static Map<String, String> commitData(CarHighWaterMark mark) {
+        Map<String, String> data = new HashMap<>();
+        data.put(SCHEMA_KEY, CarSearchDocuments.SCHEMA_VERSION);
+        data.put(MARK_UPDATED_AT_KEY, mark.getMaxUpdatedAt() != null ? mark.getMaxUpdatedAt().toString() : "");
+        data.put(MARK_ID_KEY, String.valueOf(mark.getMaxId()));
+        return data;
+    }
+
+    private static CarHighWaterMark readMark(IndexWriter writer) {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if (live != null) {
+            live.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        if (!CarSearchDocuments.SCHEMA_VERSION.equals(data.get(SCHEMA_KEY)) || !data.containsKey(MARK_ID_KEY)) {
+            return null;
+        }
+        String updatedAt = data.get(MARK_UPDATED_AT_KEY);
+        return new CarHighWaterMark(updatedAt == null || updatedAt.isEmpty() ? null : LocalDateTime.parse(updatedAt),
+                Long.parseLong(data.get(MARK_ID_KEY)));
+    }
+
+    private Generation open(String name, IndexWriterConfig.OpenMode mode) throws IOException {
+        Directory directory = FSDirectory.open(root.resolve(name));
+        try {
+            IndexWriterConfig config = new IndexWriterConfig(CarSearchAnalyzer.forIndexing())
+                    .setOpenMode(mode)
+                    .setRAMBufferSizeMB(ramBufferMb);
+            IndexWriter writer = new IndexWriter(directory, config);
+            return new Generation(name, directory, writer, new SearcherManager(writer, new CarSearcherFactory()));
+        } catch (IOException | RuntimeException e) {
+            directory.close();
+            throw e;
+        }
+    }
+
+    private void writeCurrent(String name) throws IOException {
+        Path temporary = root.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(temporary, name, StandardCharsets.UTF_8);
+        Files.move(temporary, root.resolve(CURRENT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteGeneration(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo eliminar la generación del índice {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    // Archivo eliminado por una fusión de segmentos durante el recorrido
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Operación de búsqueda sobre un IndexSearcher
+     */
+    @FunctionalInterface
+    public interface SearchOperation<T> {
+        T apply(CarIndexSearcher searcher) throws IOException;
+    }
+
+    /**
+     * Buscador de una vista del índice con el estado de facetas de su lector
+     */
+    public static class CarIndexSearcher extends IndexSearcher {
+
+        private final SortedSetDocValuesReaderState facetsState;
+
+        private CarIndexSearcher(IndexReader reader, SortedSetDocValuesReaderState facetsState) {
+            super(reader);
+            this.facetsState = facetsState;
+        }
+
+        /**
+         * Estado de facetas del lector, o null si ningún documento tiene facetas
+         */
+        public SortedSetDocValuesReaderState getFacetsState() {
+            return facetsState;
+        }
+    }
+
+    /**
+     * Crea el buscador de cada lector nuevo junto con su estado de facetas
+     */
+    private static final class CarSearcherFactory extends SearcherFactory {
+
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            SortedSetDocValuesReaderState facetsState;
+            try {
+                facetsState = new DefaultSortedSetDocValuesReaderState(reader, CarSearchDocuments.FACETS_CONFIG);
+            } catch (IllegalArgumentException e) {
+                // Índice vacío: el campo de facetas aún no existe
+                facetsState = null;
+            }
+            return new CarIndexSearcher(reader, facetsState);
+        }
+    }
+
+    /**
+     * Reconstrucción en curso: recibe todos los autos por lotes y reemplaza la generación
+     * activa al completarse
+     */
+    public class Rebuild {
+
+        private final Generation generation;
+        private long added;
+
+        private Rebuild(Generation generation) {
+            this.generation = generation;
+        }
+
+        public void add(List<Car> cars) throws IOException {
+            List<Document> documents = new ArrayList<>(cars.size());
+            for (Car car : cars) {
+                documents.add(CarSearchDocuments.toDocument(car));
+            }
+            // Un auto que pasó de shard durante el recorrido aparece dos veces: se conserva el último
+            for (int index = 0; index < cars.size(); index++) {
+                generation.writer.updateDocument(CarSearchDocuments.idTerm(cars.get(index).getId()), documents.get(index));
+            }
+            added += cars.size();
+        }
+
+        /**
+         * Aplica los cambios anotados, confirma la generación nueva y la activa. La marca de
+         * agua, leída antes de empezar a recorrer cars, se guarda con ella (null si no se usa)
+         *
+         * @return autos en la generación nueva
+         */
+        public long complete(CarSource source, CarHighWaterMark mark) throws IOException {
+            Generation previous;
+            synchronized (writeLock) {
+                apply(generation, Set.copyOf(pendingCarIds), Set.copyOf(pendingUserIds), source);
+                if (mark != null) {
+                    generation.writer.setLiveCommitData(commitData(mark).entrySet());
+                }
+                generation.writer.commit();
+                writeCurrent(generation.name);
+                previous = current;
+                current = generation;
+                pendingCarIds = null;
+                pendingUserIds = null;
+                lastCommit = Instant.now();
+            }
+            refresh();
+
+            if (previous != null) {
+                // Las búsquedas en curso conservan sus lectores hasta liberarlos
+                previous.close();
+                deleteGeneration(root.resolve(previous.name));
+            }
+            return generation.writer.getDocStats().numDocs;
+        }
+
+        /**
+         * Descarta la generación nueva; la activa sigue intacta
+         */
+        public void abort() {
+            synchronized (writeLock) {
+                pendingCarIds = null;
+                pendingUserIds = null;
+            }
+            try {
+                generation.searcherManager.close();
+                generation.writer.rollback();
+                generation.directory.close();
+            } catch (IOException e) {
+                logger.warn("Error al descartar la reconstrucción del índice: {}", e.getMessage());
+            }
+            deleteGeneration(root.resolve(generation.name));
+        }
+
+        public long getAdded() {
+            return added;
+        }
+    }
+
+    /**
+     * Estado del índice para el endpoint de salud
+     */
+    public static class IndexStats {
+        private final String generation;
+        private final long documents;
+        private final long deletedDocuments;
+        private final long sizeBytes;
+        private final long updates;
+        private final long refreshes;
+        private final Instant lastRefresh;
+        private final Instant lastCommit;
+
+        public IndexStats(String generation, long documents, long deletedDocuments, long sizeBytes,
+                          long updates, long refreshes, Instant lastRefresh, Instant lastCommit) {
+            this.generation = generation;
+            this.documents = documents;
+            this.deletedDocuments = deletedDocuments;
+            this.sizeBytes = sizeBytes;
+            this.updates = updates;
+            this.refreshes = refreshes;
+            this.lastRefresh = lastRefresh;
+            this.lastCommit = lastCommit;
+        }
+
+        public String getGeneration() { return generation; }
+        public long getDocuments() { return documents; }
+        public long getDeletedDocuments() { return deletedDocuments; }
+        public long getSizeBytes() { return sizeBytes; }
+        public long getUpdates() { return updates; }
+        public long getRefreshes() { return refreshes; }
+        public Instant getLastRefresh() { return lastRefresh; }
+        public Instant getLastCommit() { return lastCommit; }
+    }
+
+    private static final class Generation {
+        private final String name;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        private Generation(String name, Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+            this.name = name;
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        private void close() throws IOException {
+            try {
+                searcherManager.close();
+            } finally {
+                try {
+                    writer.close();
+                } finally {
+                    directory.close();
+                }
+            }
+        }
+    }
+}
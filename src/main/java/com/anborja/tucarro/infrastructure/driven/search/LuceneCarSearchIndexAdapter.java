@@ -0,0 +1,308 @@
+package com.anborja.tucarro.infrastructure.driven.search;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarAgeBucket;
+import com.anborja.tucarro.domain.model.CarSearchFacets;
+import com.anborja.tucarro.domain.model.CarSearchQuery;
+import com.anborja.tucarro.domain.spi.ICarSearchIndexPort;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import com.anborja.tucarro.shared.validation.PlateValidator;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Búsquedas de autos sobre el índice Lucene. Todas las consultas se limitan a los autos
+ * del usuario; los filtros no puntúan y solo el término general ordena por relevancia.
+ * Sin índice (deshabilitado) nunca está disponible.
+ */
+public class LuceneCarSearchIndexAdapter implements ICarSearchIndexPort {
+
+    private static final Analyzer QUERY_ANALYZER = CarSearchAnalyzer.forQueries();
+
+    private final LuceneCarSearchIndex index;
+
+    public LuceneCarSearchIndexAdapter(LuceneCarSearchIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return index != null && index.isReady();
+    }
+
+    @Override
+    public List<Car> search(Long userId, CarSearchQuery query, String sortBy, boolean ascending) {
+        if (userId == null) {
+            return List.of();
+        }
+
+        Query luceneQuery = toQuery(userId, query);
+        Sort sort = new Sort(sortField(sortBy, !ascending), tieBreaker());
+        return execute(searcher -> {
+            int total = searcher.count(luceneQuery);
+            if (total == 0) {
+                return List.of();
+            }
+            return toCars(searcher, searcher.search(luceneQuery, total, sort).scoreDocs, 0);
+        });
+    }
+
+    @Override
+    public Page<Car> search(Long userId, CarSearchQuery query, Pageable pageable) {
+        if (userId == null) {
+            return Page.empty(pageable);
+        }
+
+        Query luceneQuery = toQuery(userId, query);
+        Sort sort = toSort(pageable, query.getSearchTerm() != null);
+        return execute(searcher -> {
+            int total = searcher.count(luceneQuery);
+            if (total == 0) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+            int offset = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+            int hits = pageable.isPaged() ? Math.min(offset + pageable.getPageSize(), total) : total;
+            if (offset >= hits) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+            return new PageImpl<>(toCars(searcher, searcher.search(luceneQuery, hits, sort).scoreDocs, offset),
+                    pageable, total);
+        });
+    }
+
+    @Override
+    public CarSearchFacets facets(Long userId, CarSearchQuery query, int limit) {
+        if (userId == null) {
+            return new CarSearchFacets(0, List.of(), List.of(), List.of(), Map.of());
+        }
+
+        Query luceneQuery = toQuery(userId, query);
+        return execute(searcher -> {
+            FacetsCollector collector = searcher.search(luceneQuery, new FacetsCollectorManager());
+
+            long total = collector.getMatchingDocs().stream().mapToLong(docs -> docs.totalHits).sum();
+            if (total == 0 || searcher.getFacetsState() == null) {
+                return new CarSearchFacets(0, List.of(), List.of(), List.of(), Map.of());
+            }
+
+            Facets counts = new SortedSetDocValuesFacetCounts(searcher.getFacetsState(), collector);
+
+            // La antigüedad depende del año en curso: se cuenta por rangos de año al consultar
+            int currentYear = LocalDateTime.now().getYear();
+            Map<CarAgeBucket, Long> ageBuckets = new EnumMap<>(CarAgeBucket.class);
+            for (CarAgeBucket bucket : CarAgeBucket.values()) {
+                Query bucketQuery = new BooleanQuery.Builder()
+                        .add(luceneQuery, BooleanClause.Occur.FILTER)
+                        .add(ageBucketQuery(bucket, currentYear), BooleanClause.Occur.FILTER)
+                        .build();
+                ageBuckets.put(bucket, (long) searcher.count(bucketQuery));
+            }
+
+            return new CarSearchFacets(total,
+                    facetCounts(counts, CarSearchDocuments.BRAND_FACET, limit),
+                    facetCounts(counts, CarSearchDocuments.COLOR_FACET, limit),
+                    facetCounts(counts, CarSearchDocuments.YEAR_FACET, limit),
+                    ageBuckets);
+        });
+    }
+
+    private <T> T execute(LuceneCarSearchIndex.SearchOperation<T> operation) {
+        if (index == null) {
+            throw new IllegalStateException("El índice de búsqueda está deshabilitado");
+        }
+        try {
+            return index.search(operation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al consultar el índice de búsqueda", e);
+        }
+    }
+
+    private Query toQuery(Long userId, CarSearchQuery query) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(LongPoint.newExactQuery(CarSearchDocuments.USER_ID, userId), BooleanClause.Occur.FILTER);
+
+        String searchTerm = SearchTextNormalizer.normalize(query.getSearchTerm());
+        if (searchTerm != null) {
+            List<String> words = analyze(searchTerm);
+            if (words.isEmpty()) {
+                return new MatchNoDocsQuery("término sin palabras");
+            }
+            // Todas las palabras deben coincidir; son las únicas cláusulas que puntúan
+            for (String word : words) {
+                builder.add(new TermQuery(new Term(CarSearchDocuments.TEXT, word)), BooleanClause.Occur.MUST);
+            }
+        }
+
+        addExact(builder, CarSearchDocuments.BRAND, SearchTextNormalizer.normalize(query.getBrand()));
+        addContains(builder, CarSearchDocuments.BRAND, SearchTextNormalizer.normalize(query.getBrandContains()));
+        addExact(builder, CarSearchDocuments.MODEL, SearchTextNormalizer.normalize(query.getModel()));
+        addContains(builder, CarSearchDocuments.MODEL, SearchTextNormalizer.normalize(query.getModelContains()));
+        addExact(builder, CarSearchDocuments.COLOR, SearchTextNormalizer.normalize(query.getColor()));
+        addExact(builder, CarSearchDocuments.PLATE, PlateValidator.normalizePlate(query.getPlateNumber()));
+
+        if (query.getYear() != null) {
+            builder.add(IntPoint.newExactQuery(CarSearchDocuments.YEAR, query.getYear()), BooleanClause.Occur.FILTER);
+        }
+        if (query.getMinYear() != null || query.getMaxYear() != null) {
+            builder.add(IntPoint.newRangeQuery(CarSearchDocuments.YEAR,
+                    query.getMinYear() != null ? query.getMinYear() : Integer.MIN_VALUE,
+                    query.getMaxYear() != null ? query.getMaxYear() : Integer.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        if (query.getHasPhoto() != null) {
+            builder.add(new TermQuery(new Term(CarSearchDocuments.HAS_PHOTO, String.valueOf(query.getHasPhoto()))),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        if (query.getAgeBuckets().isEmpty()) {
+            return new MatchNoDocsQuery("ninguna antigüedad permitida");
+        }
+        if (query.getAgeBuckets().size() < CarAgeBucket.values().length) {
+            int currentYear = LocalDateTime.now().getYear();
+            BooleanQuery.Builder buckets = new BooleanQuery.Builder();
+            for (CarAgeBucket bucket : query.getAgeBuckets()) {
+                buckets.add(ageBucketQuery(bucket, currentYear), BooleanClause.Occur.SHOULD);
+            }
+            builder.add(buckets.build(), BooleanClause.Occur.FILTER);
+        }
+
+        return builder.build();
+    }
+
+    private static Query ageBucketQuery(CarAgeBucket bucket, int currentYear) {
+        int vintageMaxYear = CarAgeBucket.vintageMaxYear(currentYear);
+        int newMinYear = CarAgeBucket.newMinYear(currentYear);
+        return switch (bucket) {
+            case VINTAGE -> IntPoint.newRangeQuery(CarSearchDocuments.YEAR, Integer.MIN_VALUE, vintageMaxYear);
+            case NEW -> IntPoint.newRangeQuery(CarSearchDocuments.YEAR, newMinYear, Integer.MAX_VALUE);
+            case REGULAR -> IntPoint.newRangeQuery(CarSearchDocuments.YEAR, vintageMaxYear + 1, newMinYear - 1);
+        };
+    }
+
+    private static void addExact(BooleanQuery.Builder builder, String field, String value) {
+        if (value != null) {
+            builder.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    /**
+     * Coincidencia parcial sobre el término exacto; recorre solo los valores distintos del campo
+     */
+    private static void addContains(BooleanQuery.Builder builder, String field, String value) {
+        if (value != null) {
+            String escaped = value.replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+            builder.add(new WildcardQuery(new Term(field, "*" + escaped + "*")), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream stream = QUERY_ANALYZER.tokenStream(CarSearchDocuments.TEXT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static Sort toSort(Pageable pageable, boolean hasSearchTerm) {
+        List<SortField> fields = new ArrayList<>();
+        for (org.springframework.data.domain.Sort.Order order : pageable.getSort()) {
+            fields.add(sortField(order.getProperty(), order.isDescending()));
+        }
+        if (fields.isEmpty()) {
+            fields.add(hasSearchTerm ? SortField.FIELD_SCORE : sortField(null, true));
+        }
+        fields.add(tieBreaker());
+        return new Sort(fields.toArray(SortField[]::new));
+    }
+
+    private static SortField sortField(String sortBy, boolean descending) {
+        String key = sortBy == null ? "" : sortBy.trim().toLowerCase(Locale.ROOT);
+        return switch (key) {
+            case "brand" -> stringSortField(CarSearchDocuments.BRAND, descending);
+            case "model" -> stringSortField(CarSearchDocuments.MODEL, descending);
+            case "color" -> stringSortField(CarSearchDocuments.COLOR, descending);
+            case "platenumber" -> stringSortField(CarSearchDocuments.PLATE, descending);
+            case "year" -> new SortField(CarSearchDocuments.YEAR, SortField.Type.INT, descending);
+            case "updatedat" -> new SortField(CarSearchDocuments.UPDATED_AT, SortField.Type.LONG, descending);
+            default -> new SortField(CarSearchDocuments.CREATED_AT, SortField.Type.LONG, descending);
+        };
+    }
+
+    private static SortField stringSortField(String field, boolean descending) {
+        SortField sortField = new SortField(field, SortField.Type.STRING, descending);
+        sortField.setMissingValue(SortField.STRING_LAST);
+        return sortField;
+    }
+
+    // El ID desempata para que el orden y la paginación sean estables
+    private static SortField tieBreaker() {
+        return new SortField(CarSearchDocuments.ID_SORT, SortField.Type.LONG);
+    }
+
+    private static List<Car> toCars(IndexSearcher searcher, ScoreDoc[] hits, int offset) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Car> cars = new ArrayList<>(Math.max(hits.length - offset, 0));
+        for (int position = offset; position < hits.length; position++) {
+            cars.add(CarSearchDocuments.toCar(storedFields.document(hits[position].doc)));
+        }
+        return cars;
+    }
+
+    private static List<CarSearchFacets.FacetCount> facetCounts(Facets counts, String dimension, int limit)
+            throws IOException {
+        FacetResult result;
+        try {
+            result = counts.getTopChildren(limit, dimension);
+        } catch (IllegalArgumentException e) {
+            // La dimensión no tiene valores en ningún documento del índice
+            return List.of();
+        }
+        if (result == null) {
+            return List.of();
+        }
+        List<CarSearchFacets.FacetCount> values = new ArrayList<>(result.labelValues.length);
+        for (LabelAndValue labelAndValue : result.labelValues) {
+            values.add(new CarSearchFacets.FacetCount(labelAndValue.label, labelAndValue.value.longValue()));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,49 @@
+package com.anborja.tucarro.infrastructure.driven.security;
+
+import java.security.Principal;
+import java.util.Objects;
+
+/**
+ * Principal establecido por JwtAuthenticationFilter a partir de un token válido.
+ * getName() devuelve el email para mantener el comportamiento del principal anterior
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String email;
+
+    public AuthenticatedUser(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AuthenticatedUser that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(email, that.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, email);
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,26 @@
+package com.anborja.tucarro.infrastructure.driven.security;
+
+import com.anborja.tucarro.domain.spi.IAuthenticatedUserPort;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SecurityContextAuthenticatedUserAdapter implements IAuthenticatedUserPort {
+
+    @Override
+    public boolean isAuthenticatedUser(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+
+        // JwtAuthenticationFilter no autentica los tokens de cuentas con la eliminación solicitada
+        return authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && userId.equals(principal.getUserId());
+    }
+}
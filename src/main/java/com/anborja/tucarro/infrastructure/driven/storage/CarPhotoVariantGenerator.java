@@ -0,0 +1,252 @@
+package com.anborja.tucarro.infrastructure.driven.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera en segundo plano las variantes JPEG de ancho fijo de las fotos con un número acotado
+ * de hilos. La capacidad (hilos más cola) se controla con un semáforo: una subida espera un
+ * tiempo acotado por un hueco y, si no lo hay, la foto se descarta y se volverá a pedir cuando
+ * alguien solicite la variante. Cada foto se procesa una sola vez aunque se pida varias veces.
+ */
+public class CarPhotoVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarPhotoVariantGenerator.class);
+
+    private final int threads;
+    private final Semaphore capacity;
+    private final float jpegQuality;
+    private final long maxDecodedPixels;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private ExecutorService executor;
+
+    public CarPhotoVariantGenerator(int threads, int queueCapacity, float jpegQuality, long maxDecodedPixels) {
+        this.threads = threads;
+        this.capacity = new Semaphore(threads + queueCapacity);
+        this.jpegQuality = jpegQuality;
+        this.maxDecodedPixels = maxDecodedPixels;
+    }
+
+    /**
+     * Inicia los hilos de generación
+     */
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "car-photo-variants-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Encola la generación de las variantes que falten
+     *
+     * @param hash hash de la foto, usado para no procesarla dos veces a la vez
+     * @param source archivo original
+     * @param targets archivo destino por ancho
+     * @param wait espera máxima por un hueco en la cola (cero para no esperar)
+     */
+    public void submit(String hash, Path source, Map<Integer, Path> targets, Duration wait) {
+        Map<Integer, Path> missing = new TreeMap<>(Collections.reverseOrder());
+        targets.forEach((width, target) -> {
+            if (!Files.exists(target)) {
+                missing.put(width, target);
+            }
+        });
+        if (missing.isEmpty() || !pending.add(hash)) {
+            return;
+        }
+
+        if (!acquireCapacity(wait)) {
+            pending.remove(hash);
+            rejected.incrementAndGet();
+            logger.debug("Cola de variantes llena, se descarta la foto {}", hash);
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash, source, missing);
+                } finally {
+                    pending.remove(hash);
+                    capacity.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.remove(hash);
+            capacity.release();
+            throw e;
+        }
+    }
+
+    public long getGenerated() {
+        return generated.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private boolean acquireCapacity(Duration wait) {
+        try {
+            return wait.isZero()
+                    ? capacity.tryAcquire()
+                    : capacity.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Decodifica la original una sola vez (submuestreada al ancho mayor pedido) y escribe cada
+     * variante, de mayor a menor
+     */
+    private void generate(String hash, Path source, Map<Integer, Path> targets) {
+        int largestWidth = targets.keySet().iterator().next();
+        try {
+            BufferedImage image = decode(source, largestWidth);
+            if (image == null) {
+                logger.debug("Formato sin decodificador para la foto {}, no se generan variantes", hash);
+                return;
+            }
+
+            for (Map.Entry<Integer, Path> target : targets.entrySet()) {
+                image = scaleDown(image, target.getKey());
+                writeJpeg(image, target.getValue());
+                generated.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("No se pudieron generar las variantes de la foto {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private BufferedImage decode(Path source, int targetWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // Se descartan píxeles al leer para no decodificar la imagen completa en memoria
+                int step = Math.max(1, width / targetWidth);
+                while ((long) (width / step) * (height / step) > maxDecodedPixels) {
+                    step++;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduce a la mitad sucesivamente y termina con una interpolación bilineal; nunca amplía
+     */
+    private BufferedImage scaleDown(BufferedImage image, int targetWidth) {
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth) {
+            current = resize(current, current.getWidth() / 2);
+        }
+        if (current.getWidth() > targetWidth || current.getType() != BufferedImage.TYPE_INT_RGB) {
+            current = resize(current, Math.min(targetWidth, current.getWidth()));
+        }
+        return current;
+    }
+
+    private BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Las zonas transparentes de los PNG quedan en blanco en el JPEG
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * Escribe la variante en un temporal del mismo directorio y la mueve de forma atómica
+     */
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Otra instancia generó la misma variante
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
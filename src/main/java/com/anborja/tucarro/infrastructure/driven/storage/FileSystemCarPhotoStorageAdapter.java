@@ -0,0 +1,260 @@
+package com.anborja.tucarro.infrastructure.driven.storage;
+
+import com.anborja.tucarro.domain.model.CarPhoto;
+import com.anborja.tucarro.domain.spi.ICarPhotoStoragePort;
+import com.anborja.tucarro.domain.util.DomainConstants;
+import com.anborja.tucarro.infrastructure.configuration.photo.CarPhotoProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Almacena las fotos en el sistema de archivos local, direccionadas por el SHA-256 de su
+ * contenido ({@code <dir>/ab/abcdef....jpg}). La subida se escribe por bloques a un archivo
+ * temporal mientras se calcula el hash y luego se mueve de forma atómica a su ruta definitiva;
+ * si ya existía, el temporal se descarta. Las variantes reducidas en JPEG se generan en segundo
+ * plano y se guardan junto a la original.
+ */
+@Component
+public class FileSystemCarPhotoStorageAdapter implements ICarPhotoStoragePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemCarPhotoStorageAdapter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private final Path root;
+    private final Path tempDir;
+    private final String publicPath;
+    private final Duration variantSubmitTimeout;
+    private final CarPhotoVariantGenerator variantGenerator;
+
+    public FileSystemCarPhotoStorageAdapter(CarPhotoProperties properties,
+                                            CarPhotoVariantGenerator variantGenerator) {
+        this.root = Paths.get(properties.getStorageDir()).toAbsolutePath().normalize();
+        this.tempDir = root.resolve(".tmp");
+        this.publicPath = properties.getPublicPath().endsWith("/")
+                ? properties.getPublicPath()
+                : properties.getPublicPath() + "/";
+        this.variantSubmitTimeout = properties.getVariantSubmitTimeout();
+        this.variantGenerator = variantGenerator;
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de fotos " + root, e);
+        }
+    }
+
+    @Override
+    public CarPhoto store(InputStream content, long maxBytes) {
+        Path temp = null;
+        try {
+            byte[] signature = content.readNBytes(SIGNATURE_LENGTH);
+            PhotoFormat format = PhotoFormat.detect(signature);
+            if (format == null) {
+                throw new IllegalArgumentException(DomainConstants.CAR_PHOTO_FORMAT);
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+            long size = copy(signature, content, temp, digest, maxBytes);
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(hash, format);
+            if (Files.exists(target)) {
+                logger.debug("Foto {} ya almacenada, se reutiliza", hash);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    temp = null;
+                } catch (FileAlreadyExistsException e) {
+                    // Otra subida con el mismo contenido terminó primero
+                }
+            }
+
+            return new CarPhoto(hash, format.getContentType(), size, target);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la foto", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public Optional<CarPhoto> findByHash(String hash) {
+        if (hash == null || !hash.matches(DomainConstants.CAR_PHOTO_HASH_REGEX)) {
+            return Optional.empty();
+        }
+
+        for (PhotoFormat format : PhotoFormat.values()) {
+            Path file = resolve(hash, format);
+            try {
+                if (Files.isRegularFile(file)) {
+                    return Optional.of(new CarPhoto(hash, format.getContentType(), Files.size(file), file));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer la foto " + hash, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void requestVariants(CarPhoto photo, boolean waitForCapacity) {
+        if (photo.isVariant()) {
+            return;
+        }
+
+        Map<Integer, Path> targets = new LinkedHashMap<>();
+        for (Integer width : DomainConstants.CAR_PHOTO_VARIANT_WIDTHS) {
+            targets.put(width, resolveVariant(photo.getHash(), width));
+        }
+        variantGenerator.submit(photo.getHash(), photo.getLocation(), targets,
+                waitForCapacity ? variantSubmitTimeout : Duration.ZERO);
+    }
+
+    @Override
+    public Optional<CarPhoto> findVariant(String hash, int width) {
+        if (hash == null || !hash.matches(DomainConstants.CAR_PHOTO_HASH_REGEX)) {
+            return Optional.empty();
+        }
+
+        Path file = resolveVariant(hash, width);
+        try {
+            return Files.isRegularFile(file)
+                    ? Optional.of(new CarPhoto(hash, VARIANT_CONTENT_TYPE, Files.size(file), file, width))
+                    : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la variante " + hash + "/w" + width, e);
+        }
+    }
+
+    @Override
+    public String publicUrl(String hash) {
+        return publicPath + hash;
+    }
+
+    /**
+     * Escribe la firma ya leída y el resto del flujo en el archivo, actualizando el hash y
+     * cortando en cuanto se supera el tamaño máximo
+     */
+    private long copy(byte[] signature, InputStream content, Path target,
+                      MessageDigest digest, long maxBytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             ReadableByteChannel in = Channels.newChannel(content)) {
+            buffer.put(signature);
+            int read = 0;
+            while (read >= 0) {
+                if (buffer.position() > 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException(DomainConstants.CAR_PHOTO_SIZE);
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                read = in.read(buffer);
+            }
+            out.force(false);
+        }
+        return size;
+    }
+
+    private Path resolve(String hash, PhotoFormat format) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + format.getExtension());
+    }
+
+    /**
+     * Las variantes se guardan junto a la original como {@code <hash>-w<ancho>.jpg}
+     */
+    private Path resolveVariant(String hash, int width) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "-w" + width + ".jpg");
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("No se pudo eliminar el temporal {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Formatos aceptados, reconocidos por su firma y no por la cabecera Content-Type del cliente
+     */
+    private enum PhotoFormat {
+        JPEG("image/jpeg", ".jpg"),
+        PNG("image/png", ".png"),
+        WEBP("image/webp", ".webp");
+
+        private final String contentType;
+        private final String extension;
+
+        PhotoFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        String getExtension() {
+            return extension;
+        }
+
+        static PhotoFormat detect(byte[] signature) {
+            if (signature.length >= 3 && (signature[0] & 0xFF) == 0xFF
+                    && (signature[1] & 0xFF) == 0xD8 && (signature[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (signature.length >= 8 && (signature[0] & 0xFF) == 0x89 && signature[1] == 'P'
+                    && signature[2] == 'N' && signature[3] == 'G' && signature[4] == 0x0D
+                    && signature[5] == 0x0A && signature[6] == 0x1A && signature[7] == 0x0A) {
+                return PNG;
+            }
+            if (signature.length >= 12 && signature[0] == 'R' && signature[1] == 'I' && signature[2] == 'F'
+                    && signature[3] == 'F' && signature[8] == 'W' && signature[9] == 'E'
+                    && signature[10] == 'B' && signature[11] == 'P') {
+                return WEBP;
+            }
+            return null;
+        }
+    }
+}
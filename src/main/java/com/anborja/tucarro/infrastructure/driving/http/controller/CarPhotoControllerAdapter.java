@@ -0,0 +1,243 @@
+package com.anborja.tucarro.infrastructure.driving.http.controller;
+
+import com.anborja.tucarro.domain.api.ICarPhotoServicePort;
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarPhoto;
+import com.anborja.tucarro.domain.util.DomainConstants;
+import com.anborja.tucarro.infrastructure.driving.http.dto.response.CarResponse;
+import com.anborja.tucarro.infrastructure.driving.http.mapper.ICarResponseMapper;
+import com.anborja.tucarro.shared.constant.AppConstants;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(AppConstants.API_VERSION)
+@Tag(name = "📷 Fotos de Autos", description = "Subida y descarga de fotos de autos")
+public class CarPhotoControllerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarPhotoControllerAdapter.class);
+
+    // Atributos con los que Tomcat envía el archivo con sendfile, sin pasar por la aplicación
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // El contenido de una URL nunca cambia: el hash es el del propio archivo
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String PENDING_VARIANT_CACHE_CONTROL = "no-cache";
+
+    private final ICarPhotoServicePort carPhotoServicePort;
+    private final ICarResponseMapper carResponseMapper;
+
+    public CarPhotoControllerAdapter(ICarPhotoServicePort carPhotoServicePort,
+                                     ICarResponseMapper carResponseMapper) {
+        this.carPhotoServicePort = carPhotoServicePort;
+        this.carResponseMapper = carResponseMapper;
+    }
+
+    /**
+     * Sube la foto de un auto. El cuerpo es la imagen sin codificar (JPEG, PNG o WebP) y se
+     * escribe a disco a medida que llega
+     */
+    @PutMapping(AppConstants.CARS_ENDPOINT + "/{carId}/photo")
+    public ResponseEntity<Map<String, Object>> uploadPhoto(@PathVariable Long carId,
+                                                           HttpServletRequest request) throws IOException {
+        logger.info("Subiendo foto para auto con ID: {}", carId);
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            if (request.getContentLengthLong() > DomainConstants.CAR_PHOTO_MAX_BYTES) {
+                throw new IllegalArgumentException(DomainConstants.CAR_PHOTO_SIZE);
+            }
+
+            Car updatedCar = carPhotoServicePort.uploadPhoto(carId, userId, request.getInputStream());
+            CarResponse carResponse = carResponseMapper.domainToResponse(updatedCar);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Foto actualizada exitosamente");
+            response.put("data", carResponse);
+
+            logger.info("Foto del auto {} guardada en {}", carId, updatedCar.getPhotoUrl());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al subir foto: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Sirve una foto por el hash de su contenido, con ETag fuerte, caché inmutable y rangos.
+     * Los bytes se envían desde el archivo con sendfile (o FileChannel.transferTo cuando el
+     * conector no lo soporta), sin copiarlos al heap
+     */
+    @GetMapping(AppConstants.PHOTOS_ENDPOINT + "/{hash}")
+    public void getPhoto(@PathVariable String hash,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        CarPhoto photo = carPhotoServicePort.getPhoto(hash);
+        serve(photo, "\"" + photo.getHash() + "\"", IMMUTABLE_CACHE_CONTROL, request, response);
+    }
+
+    /**
+     * Sirve la variante de una foto con el ancho pedido. Mientras la variante se genera se
+     * responde con la original sin caché inmutable, para que el cliente vuelva a pedirla
+     */
+    @GetMapping(AppConstants.PHOTOS_ENDPOINT + "/{hash}/w{width}")
+    public void getPhotoVariant(@PathVariable String hash,
+                                @PathVariable int width,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        CarPhoto photo = carPhotoServicePort.getPhotoVariant(hash, width);
+        if (photo.isVariant()) {
+            serve(photo, "\"" + photo.getHash() + "-w" + width + "\"", IMMUTABLE_CACHE_CONTROL, request, response);
+        } else {
+            serve(photo, "\"" + photo.getHash() + "\"", PENDING_VARIANT_CACHE_CONTROL, request, response);
+        }
+    }
+
+    private void serve(CarPhoto photo, String etag, String cacheControl,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = photo.getSize();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = resolveRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start >= size || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(photo.getContentType());
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, photo.getLocation().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        transfer(photo, start, length, response);
+    }
+
+    /**
+     * Copia el rango del archivo a la respuesta con FileChannel.transferTo
+     */
+    private void transfer(CarPhoto photo, long start, long length,
+                          HttpServletResponse response) throws IOException {
+        try (FileChannel file = FileChannel.open(photo.getLocation(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Rango pedido por el cliente; solo se atiende uno y se ignora si If-Range no coincide
+     */
+    private HttpRange resolveRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrae el ID del usuario del request (agregado por el filtro JWT)
+     */
+    private Long extractUserIdFromRequest(HttpServletRequest request) {
+        Object userIdAttribute = request.getAttribute("userId");
+
+        if (userIdAttribute instanceof Long) {
+            return (Long) userIdAttribute;
+        } else if (userIdAttribute instanceof Integer) {
+            return ((Integer) userIdAttribute).longValue();
+        } else {
+            throw new IllegalArgumentException("ID de usuario no encontrado en el request");
+        }
+    }
+}
@@ -3,9 +3,18 @@ package com.anborja.tucarro.infrastructure.driving.http.controller;
 import com.anborja.tucarro.domain.api.ICarSearchServicePort;
 import com.anborja.tucarro.domain.api.ICarServicePort;
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarRevision;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
+import com.anborja.tucarro.domain.util.DomainConstants;
 import com.anborja.tucarro.infrastructure.documentation.ApiDocumentation;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.BulkDeleteCarsRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.BulkUpdateCarsRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.CarSearchRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.CreateCarRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.UpdateCarRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.UpsertCarRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.UpsertCarsRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.response.CarResponse;
 import com.anborja.tucarro.infrastructure.driving.http.mapper.ICarRequestMapper;
 import com.anborja.tucarro.infrastructure.driving.http.mapper.ICarResponseMapper;
@@ -15,10 +24,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -158,6 +170,71 @@ public class CarRestControllerAdapter {
         }
     }
 
+    /**
+     * Obtiene el estado que tenía un auto en un instante (fecha ISO, hora local del servidor)
+     */
+    @GetMapping("/{carId}/as-of")
+    public ResponseEntity<Map<String, Object>> getCarAsOf(@PathVariable Long carId,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                                          HttpServletRequest request) {
+        logger.info("Obteniendo auto con ID: {} a fecha {}", carId, at);
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            Car car = carServicePort.getCarAsOf(carId, at, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Versión del auto obtenida exitosamente");
+            response.put("data", carResponseMapper.domainToResponse(car));
+            response.put("as_of", at);
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al obtener versión del auto: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene las versiones de un auto en orden cronológico. La actual va al final con
+     * valid_to nulo
+     */
+    @GetMapping("/{carId}/history")
+    public ResponseEntity<Map<String, Object>> getCarHistory(@PathVariable Long carId,
+                                                             HttpServletRequest request) {
+        logger.info("Obteniendo historia del auto con ID: {}", carId);
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            List<CarRevision> revisions = carServicePort.getCarHistory(carId, userId);
+
+            List<Map<String, Object>> rows = new ArrayList<>(revisions.size());
+            for (CarRevision revision : revisions) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("valid_from", revision.getValidFrom());
+                row.put("valid_to", revision.getValidTo());
+                row.put("data", carResponseMapper.domainToResponse(revision.getCar()));
+                rows.add(row);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Historia del auto obtenida exitosamente");
+            response.put("data", rows);
+            response.put("total", rows.size());
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al obtener historia del auto: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Actualiza un auto existente
      */
@@ -193,6 +270,81 @@ public class CarRestControllerAdapter {
         }
     }
 
+    /**
+     * Crea o actualiza el auto del usuario con la placa indicada en una sola sentencia.
+     * Responde 201 si lo creó y 200 si lo actualizó
+     */
+    @PutMapping("/by-plate/{plateNumber}")
+    public ResponseEntity<Map<String, Object>> upsertCarByPlate(@PathVariable String plateNumber,
+                                                                @Valid @RequestBody UpsertCarRequest upsertCarRequest,
+                                                                HttpServletRequest request) {
+        logger.info("Sincronizando auto con placa: {}", plateNumber);
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            // Convertir DTO a modelo del dominio
+            Car car = carRequestMapper.upsertRequestToDomain(upsertCarRequest);
+
+            CarUpsertResult result = carServicePort.upsertCarByPlate(plateNumber, car, userId);
+            boolean created = result.getOutcome() == CarUpsertResult.Outcome.CREATED;
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", created ? AppConstants.CREATED_MESSAGE : AppConstants.UPDATED_MESSAGE);
+            response.put("data", carResponseMapper.domainToResponse(result.getCar()));
+
+            logger.info("Auto con placa {} {} para usuario ID: {}", result.getPlateNumber(),
+                    created ? "creado" : "actualizado", userId);
+            return new ResponseEntity<>(response, created ? HttpStatus.CREATED : HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al sincronizar auto por placa: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Crea o actualiza un lote de autos del usuario por placa en una sola sentencia.
+     * Cada fila informa si se creó, se actualizó o si la placa es de otro usuario
+     */
+    @PutMapping("/by-plate")
+    public ResponseEntity<Map<String, Object>> upsertCarsByPlate(@Valid @RequestBody UpsertCarsRequest upsertCarsRequest,
+                                                                 HttpServletRequest request) {
+        logger.info("Sincronizando {} autos por placa", upsertCarsRequest.getCars().size());
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            // Convertir DTOs a modelos del dominio
+            List<Car> cars = carRequestMapper.createRequestsToDomain(upsertCarsRequest.getCars());
+
+            List<CarUpsertResult> results = carServicePort.upsertCarsByPlate(cars, userId);
+
+            List<Map<String, Object>> rows = new ArrayList<>(results.size());
+            for (CarUpsertResult result : results) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("plate_number", result.getPlateNumber());
+                row.put("status", result.getOutcome().name());
+                row.put("data", result.getCar() != null ? carResponseMapper.domainToResponse(result.getCar()) : null);
+                rows.add(row);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Autos sincronizados exitosamente");
+            response.put("data", rows);
+            response.put("total", rows.size());
+
+            logger.info("Sincronizados {} autos por placa para usuario ID: {}", rows.size(), userId);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al sincronizar autos por placa: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Elimina un auto
      */
@@ -224,6 +376,63 @@ public class CarRestControllerAdapter {
         }
     }
 
+    /**
+     * Modifica en una sola sentencia los autos del usuario seleccionados por IDs o por filtro
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> updateCars(@Valid @RequestBody BulkUpdateCarsRequest bulkUpdateCarsRequest,
+                                                          HttpServletRequest request) {
+        logger.info("Actualización masiva de autos");
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            Car changes = carRequestMapper.bulkUpdateRequestToDomain(bulkUpdateCarsRequest);
+            int updated = carServicePort.updateCars(bulkUpdateCarsRequest.getCarIds(),
+                    toBulkFilter(bulkUpdateCarsRequest.getFilter()), changes, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", AppConstants.UPDATED_MESSAGE);
+            response.put("affected", updated);
+
+            logger.info("Actualización masiva: {} autos del usuario ID: {}", updated, userId);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error en actualización masiva de autos: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Elimina en una sola sentencia los autos del usuario seleccionados por IDs o por filtro
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> deleteCars(@Valid @RequestBody BulkDeleteCarsRequest bulkDeleteCarsRequest,
+                                                          HttpServletRequest request) {
+        logger.info("Eliminación masiva de autos");
+
+        try {
+            Long userId = extractUserIdFromRequest(request);
+
+            int deleted = carServicePort.deleteCars(bulkDeleteCarsRequest.getCarIds(),
+                    toBulkFilter(bulkDeleteCarsRequest.getFilter()), userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", AppConstants.DELETED_MESSAGE);
+            response.put("affected", deleted);
+
+            logger.info("Eliminación masiva: {} autos del usuario ID: {}", deleted, userId);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error en eliminación masiva de autos: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Busca autos por término general
      */
@@ -545,6 +754,24 @@ public class CarRestControllerAdapter {
         }
     }
 
+    /**
+     * Convierte el filtro de una operación masiva. Los filtros que no se traducen a la sentencia
+     * (placa, antiguo, nuevo, con foto) se rechazan en lugar de ignorarse, porque ignorarlos
+     * ampliaría el conjunto de autos afectados
+     */
+    private CarSearchCriteria toBulkFilter(CarSearchRequest filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        if (filter.hasPlateFilter() || filter.getIsVintage() != null
+                || filter.getIsNew() != null || filter.getHasPhoto() != null) {
+            throw new IllegalArgumentException(DomainConstants.CAR_BULK_UNSUPPORTED_FILTER);
+        }
+
+        return carRequestMapper.searchRequestToCriteria(filter);
+    }
+
     /**
      * Método helper para extraer el ID del usuario desde el request
      */
@@ -2,6 +2,7 @@ package com.anborja.tucarro.infrastructure.driving.http.controller;
 
 import com.anborja.tucarro.domain.api.ICarSearchServicePort;
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarSearchFacets;
 import com.anborja.tucarro.infrastructure.documentation.ApiDocumentation;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.CarSearchRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.response.CarResponse;
@@ -20,7 +21,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -386,7 +389,7 @@ public class CarSearchControllerAdapter {
         response.put("endpoints_available", List.of(
                 "POST /search", "GET /quick", "GET /plate/{plate}",
                 "GET /brand/{brand}", "GET /model/{model}", "GET /year/{year}",
-                "GET /vintage", "GET /new", "GET /statistics"
+                "GET /vintage", "GET /new", "GET /statistics", "GET /facets"
         ));
 
         return new ResponseEntity<>(response, HttpStatus.OK);
@@ -476,6 +479,66 @@ public class CarSearchControllerAdapter {
         }
     }
 
+    /**
+     * Conteos por marca, color, año y antigüedad de los autos que cumplen los filtros
+     * GET /api/v1/cars/search/facets
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> getSearchFacets(
+            @RequestParam(defaultValue = "10") int limit,
+
+            // Parámetros de búsqueda
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+
+            HttpServletRequest request) {
+
+        Long userId = extractUserIdFromRequest(request);
+        logger.info("Obteniendo facetas de búsqueda para usuario ID: {}", userId);
+
+        try {
+            if (limit < 1 || limit > 100) limit = 10; // Limitar valores por grupo
+
+            CarSearchRequest searchRequest = new CarSearchRequest();
+            searchRequest.setSearchTerm(searchTerm);
+            searchRequest.setBrand(brand);
+            searchRequest.setModel(model);
+            searchRequest.setYear(year);
+            searchRequest.setColor(color);
+            searchRequest.setMinYear(minYear);
+            searchRequest.setMaxYear(maxYear);
+
+            CarSearchFacets facets = carSearchServicePort.getSearchFacets(userId, searchRequest, limit);
+
+            Map<String, Long> ageBuckets = new LinkedHashMap<>();
+            facets.getAgeBuckets().forEach((bucket, count) ->
+                    ageBuckets.put(bucket.name().toLowerCase(Locale.ROOT), count));
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("total", facets.getTotal());
+            data.put("brands", facets.getBrands());
+            data.put("colors", facets.getColors());
+            data.put("years", facets.getYears());
+            data.put("age_buckets", ageBuckets);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Facetas obtenidas exitosamente");
+            response.put("data", data);
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error al obtener facetas: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Método helper para extraer el ID del usuario desde el request
      */
@@ -1,6 +1,7 @@
 package com.anborja.tucarro.infrastructure.driving.http.controller;
 
 import com.anborja.tucarro.domain.api.IUserServicePort;
+import com.anborja.tucarro.domain.model.AccountDeletion;
 import com.anborja.tucarro.domain.model.User;
 import com.anborja.tucarro.infrastructure.documentation.ApiDocumentation;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.ChangePasswordRequest;
@@ -17,7 +18,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -189,7 +192,8 @@ public class UserRestControllerAdapter {
     }
 
     /**
-     * Elimina la cuenta del usuario autenticado
+     * Elimina la cuenta del usuario autenticado. La cuenta queda inactiva de inmediato y sus
+     * autos se borran en segundo plano; Location apunta al progreso de la eliminación
      */
     @DeleteMapping("/profile")
     public ResponseEntity<Map<String, Object>> deleteUserAccount(HttpServletRequest request) {
@@ -198,19 +202,24 @@ public class UserRestControllerAdapter {
         try {
             Long userId = extractUserIdFromRequest(request);
 
-            // Eliminar usuario (esto también eliminará todos sus autos)
-            boolean deleted = userServicePort.deleteUser(userId);
+            // Marcar la cuenta y programar el borrado de sus autos
+            AccountDeletion deletion = userServicePort.deleteUser(userId);
+
+            URI statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path(AppConstants.API_VERSION + AppConstants.USERS_ENDPOINT + "/deletions/{token}")
+                    .buildAndExpand(deletion.getToken())
+                    .toUri();
+
+            Map<String, Object> deletionData = toDeletionData(deletion);
+            deletionData.put("status_url", statusUri.toString());
 
             Map<String, Object> response = new HashMap<>();
-            response.put("success", deleted);
-            response.put("message", deleted ? "Cuenta eliminada exitosamente" : "Error al eliminar cuenta");
+            response.put("success", true);
+            response.put("message", "Eliminación de cuenta en curso");
+            response.put("data", deletionData);
 
-            if (deleted) {
-                logger.info("Cuenta eliminada para usuario ID: {}", userId);
-                return new ResponseEntity<>(response, HttpStatus.OK);
-            } else {
-                return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
-            }
+            logger.info("Eliminación de cuenta solicitada para usuario ID: {}", userId);
+            return ResponseEntity.accepted().location(statusUri).body(response);
 
         } catch (Exception e) {
             logger.error("Error al eliminar cuenta: {}", e.getMessage());
@@ -218,6 +227,33 @@ public class UserRestControllerAdapter {
         }
     }
 
+    /**
+     * Consulta el progreso de una eliminación de cuenta. No requiere sesión: el token de la
+     * solicitud es la credencial, ya que la cuenta eliminada no puede autenticarse
+     */
+    @GetMapping("/deletions/{token}")
+    public ResponseEntity<Map<String, Object>> getAccountDeletion(@PathVariable String token) {
+        AccountDeletion deletion = userServicePort.getAccountDeletion(token);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", deletion.isCompleted() ? "Cuenta eliminada" : "Eliminación de cuenta en curso");
+        response.put("data", toDeletionData(deletion));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private Map<String, Object> toDeletionData(AccountDeletion deletion) {
+        Map<String, Object> deletionData = new HashMap<>();
+        deletionData.put("status", deletion.getStatus().name());
+        deletionData.put("cars_total", deletion.getCarsTotal());
+        deletionData.put("cars_deleted", deletion.getCarsDeleted());
+        deletionData.put("progress_percentage", deletion.getProgressPercentage());
+        deletionData.put("requested_at", deletion.getRequestedAt());
+        deletionData.put("completed_at", deletion.getCompletedAt());
+        return deletionData;
+    }
+
     /**
      * Busca usuarios (funcionalidad administrativa o de búsqueda)
      */
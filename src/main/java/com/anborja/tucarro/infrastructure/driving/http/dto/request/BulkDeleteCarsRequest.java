@@ -0,0 +1,54 @@
+package com.anborja.tucarro.infrastructure.driving.http.dto.request;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Selección de autos para DELETE /cars/bulk: por IDs o por filtro, no ambos
+ */
+public class BulkDeleteCarsRequest {
+
+    @Size(max = DomainConstants.CAR_BULK_MAX_IDS, message = DomainConstants.CAR_BULK_IDS_SIZE)
+    private List<Long> carIds;
+
+    @Valid
+    private CarSearchRequest filter;
+
+    // Constructor vacío
+    public BulkDeleteCarsRequest() {
+    }
+
+    // Constructor completo
+    public BulkDeleteCarsRequest(List<Long> carIds, CarSearchRequest filter) {
+        this.carIds = carIds;
+        this.filter = filter;
+    }
+
+    // Getters y Setters
+    public List<Long> getCarIds() {
+        return carIds;
+    }
+
+    public void setCarIds(List<Long> carIds) {
+        this.carIds = carIds;
+    }
+
+    public CarSearchRequest getFilter() {
+        return filter;
+    }
+
+    public void setFilter(CarSearchRequest filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteCarsRequest{" +
+                "carIds=" + carIds +
+                ", filter=" + filter +
+                '}';
+    }
+}
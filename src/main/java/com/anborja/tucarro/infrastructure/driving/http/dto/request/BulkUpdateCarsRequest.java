@@ -0,0 +1,104 @@
+package com.anborja.tucarro.infrastructure.driving.http.dto.request;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+/**
+ * Cambios para PATCH /cars/bulk y los autos a los que se aplican: por IDs o por filtro, no ambos.
+ * La placa y la foto son propias de cada auto y no se modifican en bloque
+ */
+public class BulkUpdateCarsRequest {
+
+    @Size(max = DomainConstants.CAR_BULK_MAX_IDS, message = DomainConstants.CAR_BULK_IDS_SIZE)
+    private List<Long> carIds;
+
+    @Valid
+    private CarSearchRequest filter;
+
+    @Size(min = DomainConstants.CAR_BRAND_MIN_LENGTH,
+            max = DomainConstants.CAR_BRAND_MAX_LENGTH,
+            message = DomainConstants.CAR_BRAND_LENGTH)
+    private String brand;
+
+    @Size(min = DomainConstants.CAR_MODEL_MIN_LENGTH,
+            max = DomainConstants.CAR_MODEL_MAX_LENGTH,
+            message = DomainConstants.CAR_MODEL_LENGTH)
+    private String model;
+
+    @Min(value = DomainConstants.CAR_MIN_YEAR, message = DomainConstants.CAR_YEAR_RANGE)
+    @Max(value = DomainConstants.CAR_MAX_YEAR, message = DomainConstants.CAR_YEAR_RANGE)
+    private Integer year;
+
+    @Size(min = DomainConstants.CAR_COLOR_MIN_LENGTH,
+            max = DomainConstants.CAR_COLOR_MAX_LENGTH,
+            message = DomainConstants.CAR_COLOR_LENGTH)
+    private String color;
+
+    // Constructor vacío
+    public BulkUpdateCarsRequest() {
+    }
+
+    // Getters y Setters
+    public List<Long> getCarIds() {
+        return carIds;
+    }
+
+    public void setCarIds(List<Long> carIds) {
+        this.carIds = carIds;
+    }
+
+    public CarSearchRequest getFilter() {
+        return filter;
+    }
+
+    public void setFilter(CarSearchRequest filter) {
+        this.filter = filter;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkUpdateCarsRequest{" +
+                "carIds=" + carIds +
+                ", filter=" + filter +
+                ", brand='" + brand + '\'' +
+                ", model='" + model + '\'' +
+                ", year=" + year +
+                ", color='" + color + '\'' +
+                '}';
+    }
+}
@@ -33,6 +33,10 @@ public class UpdateCarRequest {
     @Size(max = 500, message = "La URL de la foto no puede exceder 500 caracteres")
     private String photoUrl;
 
+    // Versión conocida por el cliente; si se envía, la actualización falla con 409 si el auto cambió
+    @PositiveOrZero(message = "La versión no puede ser negativa")
+    private Long version;
+
     // Constructor vacío
     public UpdateCarRequest() {
     }
@@ -96,6 +100,14 @@ public class UpdateCarRequest {
         this.photoUrl = photoUrl;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "UpdateCarRequest{" +
@@ -105,6 +117,7 @@ public class UpdateCarRequest {
                 ", plateNumber='" + plateNumber + '\'' +
                 ", color='" + color + '\'' +
                 ", photoUrl='" + photoUrl + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.anborja.tucarro.infrastructure.driving.http.dto.request;
+
+import com.anborja.tucarro.domain.util.DomainConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Lote de autos sincronizados por placa con PUT /cars/by-plate
+ */
+public class UpsertCarsRequest {
+
+    @NotEmpty(message = DomainConstants.CAR_UPSERT_BATCH_SIZE)
+    @Size(max = DomainConstants.CAR_UPSERT_MAX_BATCH, message = DomainConstants.CAR_UPSERT_BATCH_SIZE)
+    @Valid
+    private List<CreateCarRequest> cars;
+
+    // Constructor vacío
+    public UpsertCarsRequest() {
+    }
+
+    // Constructor completo
+    public UpsertCarsRequest(List<CreateCarRequest> cars) {
+        this.cars = cars;
+    }
+
+    // Getters y Setters
+    public List<CreateCarRequest> getCars() {
+        return cars;
+    }
+
+    public void setCars(List<CreateCarRequest> cars) {
+        this.cars = cars;
+    }
+
+    @Override
+    public String toString() {
+        return "UpsertCarsRequest{" +
+                "cars=" + cars +
+                '}';
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class CarResponse {
 
@@ -24,6 +25,9 @@ public class CarResponse {
     @JsonProperty("photo_url")
     private String photoUrl;
 
+    @JsonProperty("photo_variants")
+    private Map<String, String> photoVariants;
+
     @JsonProperty("full_description")
     private String fullDescription;
 
@@ -47,6 +51,8 @@ public class CarResponse {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    private Long version;
+
     // Constructor vacío
     public CarResponse() {
     }
@@ -129,6 +135,14 @@ public class CarResponse {
         this.photoUrl = photoUrl;
     }
 
+    public Map<String, String> getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public void setPhotoVariants(Map<String, String> photoVariants) {
+        this.photoVariants = photoVariants;
+    }
+
     public String getFullDescription() {
         return fullDescription;
     }
@@ -185,6 +199,14 @@ public class CarResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Método para actualizar campos derivados
     private void updateDerivedFields() {
         // Descripción completa
@@ -1,12 +1,18 @@
 package com.anborja.tucarro.infrastructure.driving.http.mapper;
 
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarSearchCriteria;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.BulkUpdateCarsRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.CarSearchRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.CreateCarRequest;
 import com.anborja.tucarro.infrastructure.driving.http.dto.request.UpdateCarRequest;
+import com.anborja.tucarro.infrastructure.driving.http.dto.request.UpsertCarRequest;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring",
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface ICarRequestMapper {
@@ -21,6 +27,7 @@ public interface ICarRequestMapper {
     @Mapping(target = "userId", ignore = true) // Se asigna por separado en el caso de uso
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Car createRequestToDomain(CreateCarRequest createCarRequest);
 
     /**
@@ -34,6 +41,7 @@ public interface ICarRequestMapper {
     @Mapping(source = "userId", target = "userId")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Car createRequestToDomainWithUserId(CreateCarRequest createCarRequest, Long userId);
 
     /**
@@ -62,4 +70,48 @@ public interface ICarRequestMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Car updateRequestToDomainWithIds(UpdateCarRequest updateCarRequest, Long carId, Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Convierte UpsertCarRequest a Car del dominio; la placa se toma de la URL en el caso de uso
+     *
+     * @param upsertCarRequest el DTO de sincronización por placa
+     * @return el modelo del dominio
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Car upsertRequestToDomain(UpsertCarRequest upsertCarRequest);
+
+    /**
+     * Convierte los autos de un lote de sincronización por placa
+     *
+     * @param createCarRequests los DTO de cada auto
+     * @return los modelos del dominio en el mismo orden
+     */
+    List<Car> createRequestsToDomain(List<CreateCarRequest> createCarRequests);
+
+    /**
+     * Convierte los cambios de una actualización masiva a Car del dominio
+     *
+     * @param bulkUpdateCarsRequest el DTO de actualización masiva
+     * @return el modelo del dominio con solo marca, modelo, año y color
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "plateNumber", ignore = true)
+    @Mapping(target = "photoUrl", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Car bulkUpdateRequestToDomain(BulkUpdateCarsRequest bulkUpdateCarsRequest);
+
+    /**
+     * Convierte el filtro de una operación masiva a criterios del dominio
+     *
+     * @param carSearchRequest el filtro recibido
+     * @return los criterios de búsqueda
+     */
+    CarSearchCriteria searchRequestToCriteria(CarSearchRequest carSearchRequest);
+}
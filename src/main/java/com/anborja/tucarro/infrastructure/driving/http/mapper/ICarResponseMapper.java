@@ -1,6 +1,7 @@
 package com.anborja.tucarro.infrastructure.driving.http.mapper;
 
 import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.util.DomainConstants;
 import com.anborja.tucarro.infrastructure.driving.http.dto.response.CarResponse;
 import com.anborja.tucarro.shared.validation.YearValidator;
 import org.mapstruct.Mapper;
@@ -8,11 +9,16 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Mapper(componentModel = "spring", imports = {YearValidator.class, LocalDateTime.class})
 public interface ICarResponseMapper {
 
+    Pattern HOSTED_PHOTO_URL = Pattern.compile(".*/photos/[0-9a-f]{64}$");
+
     /**
      * Convierte Car del dominio a CarResponse
      *
@@ -25,6 +31,7 @@ public interface ICarResponseMapper {
     @Mapping(target = "isVintage", expression = "java(YearValidator.isVintage(car.getYear()))")
     @Mapping(target = "isNew", expression = "java(YearValidator.isNew(car.getYear()))")
     @Mapping(target = "ageYears", expression = "java(YearValidator.calculateAge(car.getYear()))")
+    @Mapping(target = "photoVariants", expression = "java(photoVariantUrls(car.getPhotoUrl()))")
     CarResponse domainToResponse(Car car);
 
     /**
@@ -47,6 +54,7 @@ public interface ICarResponseMapper {
     @Mapping(target = "isVintage", ignore = true)
     @Mapping(target = "isNew", ignore = true)
     @Mapping(target = "ageYears", ignore = true)
+    @Mapping(target = "photoVariants", ignore = true)
     @Named("basic")
     CarResponse domainToBasicResponse(Car car);
 
@@ -62,6 +70,7 @@ public interface ICarResponseMapper {
     @Mapping(target = "isVintage", expression = "java(YearValidator.isVintage(car.getYear()))")
     @Mapping(target = "isNew", expression = "java(YearValidator.isNew(car.getYear()))")
     @Mapping(target = "ageYears", expression = "java(YearValidator.calculateAge(car.getYear()))")
+    @Mapping(target = "photoVariants", expression = "java(photoVariantUrls(car.getPhotoUrl()))")
     @Named("extended")
     CarResponse domainToExtendedResponse(Car car);
 
@@ -84,4 +93,20 @@ public interface ICarResponseMapper {
 
         return description.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * URLs de las variantes por ancho, solo para fotos subidas a la API (las URLs externas
+     * no tienen variantes)
+     */
+    default Map<String, String> photoVariantUrls(String photoUrl) {
+        if (photoUrl == null || !HOSTED_PHOTO_URL.matcher(photoUrl).matches()) {
+            return null;
+        }
+
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (Integer width : DomainConstants.CAR_PHOTO_VARIANT_WIDTHS) {
+            variants.put("w" + width, photoUrl + "/w" + width);
+        }
+        return variants;
+    }
+}
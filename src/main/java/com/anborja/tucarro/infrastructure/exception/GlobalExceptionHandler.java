@@ -1,17 +1,29 @@
 package com.anborja.tucarro.infrastructure.exception;
 
 import com.anborja.tucarro.domain.exception.CarAlreadyExistsException;
+import com.anborja.tucarro.domain.exception.AccountDeletionNotFoundException;
+import com.anborja.tucarro.domain.exception.CarConcurrentModificationException;
 import com.anborja.tucarro.domain.exception.CarNotFoundException;
+import com.anborja.tucarro.domain.exception.CarPhotoNotFoundException;
 import com.anborja.tucarro.domain.exception.InvalidCredentialsException;
 import com.anborja.tucarro.domain.exception.UserNotFoundException;
+import com.anborja.tucarro.infrastructure.configuration.datasource.WorkloadSaturatedException;
+import com.anborja.tucarro.infrastructure.configuration.deadline.RequestDeadlineExceededException;
+import com.anborja.tucarro.infrastructure.configuration.deadline.RequestDeadlineProperties;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardMigrationInProgressException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,6 +32,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +43,12 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final RequestDeadlineProperties requestDeadlineProperties;
+
+    public GlobalExceptionHandler(RequestDeadlineProperties requestDeadlineProperties) {
+        this.requestDeadlineProperties = requestDeadlineProperties;
+    }
+
     /**
      * Maneja errores de validación de argumentos
      */
@@ -100,6 +119,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Maneja conflictos de concurrencia optimista al actualizar autos
+     */
+    @ExceptionHandler({CarConcurrentModificationException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleCarConcurrentModificationException(RuntimeException ex,
+                                                                                  HttpServletRequest request) {
+        logger.warn("Conflicto de versión: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                ex.getMessage(),
+                request.getRequestURI(),
+                request.getMethod(),
+                "Vuelve a consultar el auto y reintenta con la versión actual"
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Maneja errores de usuario no encontrado
      */
@@ -140,6 +179,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja errores de foto no encontrada
+     */
+    @ExceptionHandler(CarPhotoNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCarPhotoNotFoundException(CarPhotoNotFoundException ex,
+                                                                         HttpServletRequest request) {
+        logger.warn("Foto no encontrada: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Photo Not Found",
+                ex.getMessage(),
+                request.getRequestURI(),
+                request.getMethod(),
+                "Verifica la URL de la foto del auto"
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Maneja errores de solicitud de eliminación de cuenta no encontrada
+     */
+    @ExceptionHandler(AccountDeletionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAccountDeletionNotFoundException(AccountDeletionNotFoundException ex,
+                                                                                HttpServletRequest request) {
+        logger.warn("Solicitud de eliminación no encontrada: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Account Deletion Not Found",
+                ex.getMessage(),
+                request.getRequestURI(),
+                request.getMethod(),
+                "Verifica el enlace de seguimiento recibido al eliminar la cuenta"
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Maneja errores de credenciales inválidas
      */
@@ -284,6 +363,51 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja la falta de conexiones: si la cuota de la clase de carga está agotada o el plazo
+     * de la petición ya venció responde 503 con Retry-After; cualquier otro fallo de conexión
+     * sigue siendo un error interno
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailableException(RuntimeException ex,
+                                                                              HttpServletRequest request) {
+        WorkloadSaturatedException saturated = findCause(ex, WorkloadSaturatedException.class);
+        if (saturated != null) {
+            logger.warn("Petición rechazada: {}", saturated.getMessage());
+            return serviceUnavailable("El servicio está saturado en este momento",
+                    saturated.getRetryAfter(), request);
+        }
+
+        RequestDeadlineExceededException expired = findCause(ex, RequestDeadlineExceededException.class);
+        if (expired != null) {
+            return handleQueryTimeoutException(ex, request);
+        }
+
+        return handleGenericException(ex, request);
+    }
+
+    /**
+     * Maneja las consultas canceladas por agotar el plazo de la petición
+     */
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(RuntimeException ex,
+                                                                     HttpServletRequest request) {
+        logger.warn("Consulta cancelada por plazo agotado en {}: {}", request.getRequestURI(), ex.getMessage());
+        return serviceUnavailable("La consulta superó el tiempo máximo permitido",
+                requestDeadlineProperties.getRetryAfter(), request);
+    }
+
+    /**
+     * Maneja las escrituras sobre un usuario que se está moviendo de shard
+     */
+    @ExceptionHandler(ShardMigrationInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleShardMigrationInProgressException(ShardMigrationInProgressException ex,
+                                                                                 HttpServletRequest request) {
+        logger.warn("Escritura rechazada: {}", ex.getMessage());
+        return serviceUnavailable("Los datos de la cuenta se están reorganizando, intente de nuevo en unos segundos",
+                ex.getRetryAfter(), request);
+    }
+
     /**
      * Maneja todas las demás excepciones no capturadas
      */
@@ -311,4 +435,30 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<ErrorResponse> serviceUnavailable(String message, Duration retryAfter,
+                                                             HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                message,
+                request.getRequestURI(),
+                request.getMethod(),
+                "Reintenta la petición en unos segundos"
+        );
+
+        long retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
+    private <T extends Throwable> T findCause(Throwable ex, Class<T> type) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+}
@@ -13,6 +13,7 @@ public class AppConstants {
     public static final String USERS_ENDPOINT = "/users";
     public static final String CARS_ENDPOINT = "/cars";
     public static final String SEARCH_ENDPOINT = "/search";
+    public static final String PHOTOS_ENDPOINT = "/photos";
 
     // Endpoints específicos
     public static final String LOGIN_ENDPOINT = AUTH_ENDPOINT + "/login";
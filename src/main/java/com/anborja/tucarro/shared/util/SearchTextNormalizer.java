@@ -0,0 +1,49 @@
+package com.anborja.tucarro.shared.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class SearchTextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Normaliza un texto para búsqueda: sin tildes ni diacríticos, en minúsculas y con
+     * los espacios colapsados. Es la forma en que se guardan las columnas *_norm y search_text,
+     * por lo que los términos de búsqueda deben normalizarse igual antes de compararlos
+     *
+     * @param value el texto a normalizar
+     * @return el texto normalizado o null si la entrada es nula o vacía
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String normalized = WHITESPACE.matcher(DIACRITICS.matcher(decomposed).replaceAll(""))
+                .replaceAll(" ")
+                .toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Construye el texto de búsqueda de un auto a partir de sus campos ya normalizados
+     *
+     * @return los valores no nulos separados por un espacio
+     */
+    public static String searchText(String... normalizedValues) {
+        StringBuilder text = new StringBuilder();
+        for (String value : normalizedValues) {
+            if (value != null) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(value);
+            }
+        }
+        return text.length() == 0 ? null : text.toString();
+    }
+}
@@ -0,0 +1,20 @@
+-- Eliminación asíncrona de cuentas para MySQL 8 (InnoDB).
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+ALTER TABLE users ADD COLUMN deleted_at DATETIME(6) NULL, ALGORITHM=INSTANT;
+
+CREATE TABLE IF NOT EXISTS account_deletions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    cars_total BIGINT NOT NULL,
+    cars_deleted BIGINT NOT NULL,
+    requested_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    UNIQUE INDEX idx_account_deletion_token (token),
+    UNIQUE INDEX idx_account_deletion_user (user_id),
+    INDEX idx_account_deletion_status (status, id)
+) ENGINE=InnoDB;
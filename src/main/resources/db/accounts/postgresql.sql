@@ -0,0 +1,20 @@
+-- Eliminación asíncrona de cuentas para PostgreSQL.
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS account_deletions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    cars_total BIGINT NOT NULL,
+    cars_deleted BIGINT NOT NULL,
+    requested_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_account_deletion_token ON account_deletions (token);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_account_deletion_user ON account_deletions (user_id);
+CREATE INDEX IF NOT EXISTS idx_account_deletion_status ON account_deletions (status, id);
@@ -0,0 +1,28 @@
+-- Eliminación asíncrona de cuentas para SQL Server.
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+IF COL_LENGTH('users', 'deleted_at') IS NULL
+ALTER TABLE users ADD deleted_at DATETIME2(6) NULL;
+GO
+
+IF OBJECT_ID('account_deletions', 'U') IS NULL
+CREATE TABLE account_deletions (
+    id BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    token VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    cars_total BIGINT NOT NULL,
+    cars_deleted BIGINT NOT NULL,
+    requested_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL,
+    completed_at DATETIME2(6) NULL
+);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_account_deletion_token')
+CREATE UNIQUE INDEX idx_account_deletion_token ON account_deletions (token);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_account_deletion_user')
+CREATE UNIQUE INDEX idx_account_deletion_user ON account_deletions (user_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_account_deletion_status')
+CREATE INDEX idx_account_deletion_status ON account_deletions (status, id);
+GO
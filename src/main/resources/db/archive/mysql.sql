@@ -0,0 +1,23 @@
+-- Archivo de autos fuera del conjunto de trabajo para MySQL 8 (InnoDB).
+-- Hibernate lo crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+-- Inactividad de los usuarios; las cuentas existentes empiezan a contar en su primer inicio de sesión
+ALTER TABLE users ADD COLUMN last_login_at DATETIME(6) NULL, ALGORITHM=INSTANT;
+
+CREATE TABLE IF NOT EXISTS cars_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INT NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE INDEX idx_car_archive_plate (plate_number),
+    INDEX idx_car_archive_user (user_id, id)
+) ENGINE=InnoDB;
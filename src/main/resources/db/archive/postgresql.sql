@@ -0,0 +1,23 @@
+-- Archivo de autos fuera del conjunto de trabajo para PostgreSQL.
+-- Hibernate lo crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+-- Inactividad de los usuarios; las cuentas existentes empiezan a contar en su primer inicio de sesión
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_login_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS cars_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INTEGER NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_car_archive_plate ON cars_archive (plate_number);
+CREATE INDEX IF NOT EXISTS idx_car_archive_user ON cars_archive (user_id, id);
@@ -0,0 +1,30 @@
+-- Archivo de autos fuera del conjunto de trabajo para SQL Server.
+-- Hibernate lo crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+-- Inactividad de los usuarios; las cuentas existentes empiezan a contar en su primer inicio de sesión
+IF COL_LENGTH('users', 'last_login_at') IS NULL
+ALTER TABLE users ADD last_login_at DATETIME2(6) NULL;
+GO
+
+IF OBJECT_ID('cars_archive', 'U') IS NULL
+CREATE TABLE cars_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INT NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500) NULL,
+    created_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at DATETIME2(6) NOT NULL
+);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_archive_plate')
+CREATE UNIQUE INDEX idx_car_archive_plate ON cars_archive (plate_number);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_archive_user')
+CREATE INDEX idx_car_archive_user ON cars_archive (user_id, id);
+GO
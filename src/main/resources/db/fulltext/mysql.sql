@@ -0,0 +1,8 @@
+-- Búsqueda de texto completo de autos en MySQL 8 (MySqlCarFullTextSearchAdapter).
+-- Sin lista de palabras vacías, para que términos como "the" o "for" en un modelo sigan siendo buscables.
+-- La configuración de stopwords se toma al crear el índice; innodb_ft_min_token_size (por defecto 3)
+-- es de solo lectura y requiere reiniciar el servidor si se cambia.
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+CREATE FULLTEXT INDEX idx_car_search_text_ft ON cars (search_text);
@@ -0,0 +1,8 @@
+-- Búsqueda de texto completo de autos en PostgreSQL (PostgresCarFullTextSearchAdapter).
+-- El índice GIN de trigramas resuelve LIKE '%término%' sobre search_text sin recorrer la tabla.
+-- CONCURRENTLY no puede ejecutarse dentro de una transacción.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_search_text_trgm
+    ON cars USING gin (search_text gin_trgm_ops);
@@ -0,0 +1,19 @@
+-- Búsqueda de texto completo de autos en SQL Server (SqlServerCarFullTextSearchAdapter).
+-- Requiere el componente Full-Text Search instalado (incluido en Azure SQL).
+-- El índice de texto completo necesita el nombre de un índice único de una sola columna:
+-- se usa la clave primaria de cars, cuyo nombre genera SQL Server al crear la tabla.
+
+IF NOT EXISTS (SELECT 1 FROM sys.fulltext_catalogs WHERE name = 'tucarro_ft')
+    CREATE FULLTEXT CATALOG tucarro_ft;
+GO
+
+DECLARE @pk SYSNAME = (
+    SELECT i.name FROM sys.indexes i
+    WHERE i.object_id = OBJECT_ID('cars') AND i.is_primary_key = 1
+);
+DECLARE @sql NVARCHAR(MAX) = N'CREATE FULLTEXT INDEX ON cars (search_text) KEY INDEX ' + QUOTENAME(@pk) +
+    N' ON tucarro_ft WITH (CHANGE_TRACKING = AUTO, STOPLIST = OFF)';
+
+IF NOT EXISTS (SELECT 1 FROM sys.fulltext_indexes WHERE object_id = OBJECT_ID('cars'))
+    EXEC sp_executesql @sql;
+GO
@@ -0,0 +1,53 @@
+-- Historia de versiones de autos para MySQL 8 (InnoDB).
+-- Hibernate crea cars_history con ddl-auto; los triggers no, así que este script se aplica
+-- en todos los entornos. Cada cambio de versión de un auto (o su borrado, incluido el paso
+-- al archivo) guarda la versión anterior con su intervalo de vigencia [valid_from, valid_to).
+-- Las sentencias que solo tocan columnas derivadas (search_text, *_norm) no cambian la
+-- versión y no se registran.
+
+CREATE TABLE IF NOT EXISTS cars_history (
+    car_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INT NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    valid_from DATETIME(6) NOT NULL,
+    valid_to DATETIME(6) NOT NULL,
+    PRIMARY KEY (car_id, version),
+    INDEX idx_car_history_car_from (car_id, valid_from),
+    INDEX idx_car_history_user (user_id)
+) ENGINE=InnoDB;
+
+DROP TRIGGER IF EXISTS trg_cars_history_update;
+DROP TRIGGER IF EXISTS trg_cars_history_delete;
+
+DELIMITER //
+
+CREATE TRIGGER trg_cars_history_update
+AFTER UPDATE ON cars
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.version <=> NEW.version) THEN
+        INSERT IGNORE INTO cars_history (car_id, version, user_id, brand, model, year, plate_number, color,
+                                         photo_url, created_at, valid_from, valid_to)
+        VALUES (OLD.id, OLD.version, OLD.user_id, OLD.brand, OLD.model, OLD.year, OLD.plate_number, OLD.color,
+                OLD.photo_url, OLD.created_at, OLD.updated_at, GREATEST(NEW.updated_at, OLD.updated_at));
+    END IF;
+END//
+
+CREATE TRIGGER trg_cars_history_delete
+AFTER DELETE ON cars
+FOR EACH ROW
+BEGIN
+    INSERT IGNORE INTO cars_history (car_id, version, user_id, brand, model, year, plate_number, color,
+                                     photo_url, created_at, valid_from, valid_to)
+    VALUES (OLD.id, OLD.version, OLD.user_id, OLD.brand, OLD.model, OLD.year, OLD.plate_number, OLD.color,
+            OLD.photo_url, OLD.created_at, OLD.updated_at, GREATEST(NOW(6), OLD.updated_at));
+END//
+
+DELIMITER ;
@@ -0,0 +1,47 @@
+-- Historia de versiones de autos para PostgreSQL.
+-- Hibernate crea cars_history con ddl-auto; los triggers no, así que este script se aplica
+-- en todos los entornos. Cada cambio de versión de un auto (o su borrado, incluido el paso
+-- al archivo) guarda la versión anterior con su intervalo de vigencia [valid_from, valid_to).
+-- Las sentencias que solo tocan columnas derivadas (search_text, *_norm) no cambian la
+-- versión y no se registran.
+
+CREATE TABLE IF NOT EXISTS cars_history (
+    car_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INTEGER NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    valid_from TIMESTAMP(6) NOT NULL,
+    valid_to TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (car_id, version)
+);
+
+CREATE INDEX IF NOT EXISTS idx_car_history_car_from ON cars_history (car_id, valid_from);
+CREATE INDEX IF NOT EXISTS idx_car_history_user ON cars_history (user_id);
+
+CREATE OR REPLACE FUNCTION cars_history_record() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.version IS NOT DISTINCT FROM NEW.version THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO cars_history (car_id, version, user_id, brand, model, year, plate_number, color,
+                              photo_url, created_at, valid_from, valid_to)
+    VALUES (OLD.id, OLD.version, OLD.user_id, OLD.brand, OLD.model, OLD.year, OLD.plate_number, OLD.color,
+            OLD.photo_url, OLD.created_at, OLD.updated_at,
+            GREATEST(CASE WHEN TG_OP = 'UPDATE' THEN NEW.updated_at ELSE LOCALTIMESTAMP END, OLD.updated_at))
+    ON CONFLICT (car_id, version) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_cars_history ON cars;
+
+CREATE TRIGGER trg_cars_history
+AFTER UPDATE OR DELETE ON cars
+FOR EACH ROW EXECUTE FUNCTION cars_history_record();
@@ -0,0 +1,32 @@
+-- Historia de versiones de autos para SQL Server (2016 o posterior).
+-- Se usa la tabla temporal nativa: SQL Server guarda cada versión de cars en
+-- cars_temporal_history con su periodo [valid_from, valid_to) en UTC, y la aplicación la
+-- consulta con FOR SYSTEM_TIME (CarHistoryAdapter detecta el versionado al arrancar).
+-- Las columnas del periodo son ocultas: SELECT * y las inserciones de la aplicación no las ven.
+-- La tabla cars_history que crea Hibernate queda vacía en este motor. Las versiones de un
+-- usuario eliminado se borran al terminar la purga de su cuenta: la aplicación desactiva el
+-- versionado, borra sus filas de cars_temporal_history y lo reactiva con la misma retención
+-- en una sola transacción (el usuario de la aplicación necesita ALTER sobre dbo.cars).
+-- Las versiones no se copian al mover un usuario de shard.
+
+IF COL_LENGTH('dbo.cars', 'valid_from') IS NULL
+ALTER TABLE dbo.cars ADD
+    valid_from DATETIME2(6) GENERATED ALWAYS AS ROW START HIDDEN NOT NULL
+        CONSTRAINT df_cars_valid_from DEFAULT SYSUTCDATETIME(),
+    valid_to DATETIME2(6) GENERATED ALWAYS AS ROW END HIDDEN NOT NULL
+        CONSTRAINT df_cars_valid_to DEFAULT CONVERT(DATETIME2(6), '9999-12-31 23:59:59.999999'),
+    PERIOD FOR SYSTEM_TIME (valid_from, valid_to);
+GO
+
+IF (SELECT temporal_type FROM sys.tables WHERE object_id = OBJECT_ID('dbo.cars')) <> 2
+ALTER TABLE dbo.cars SET (SYSTEM_VERSIONING = ON (
+    HISTORY_TABLE = dbo.cars_temporal_history,
+    HISTORY_RETENTION_PERIOD = 2 YEARS
+));
+GO
+
+-- FOR SYSTEM_TIME lee la versión actual por la clave de cars y las anteriores por este índice
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_cars_temporal_history_car_from'
+               AND object_id = OBJECT_ID('dbo.cars_temporal_history'))
+CREATE INDEX idx_cars_temporal_history_car_from ON dbo.cars_temporal_history (id, valid_from);
+GO
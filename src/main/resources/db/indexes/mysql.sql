@@ -0,0 +1,36 @@
+-- Índices de la tabla cars para MySQL 8 (InnoDB).
+-- Los índices compuestos los crea Hibernate con ddl-auto; este script es para entornos con
+-- ddl-auto validate o para aplicar los índices en línea sobre tablas existentes.
+-- InnoDB incluye la clave primaria en cada índice secundario, por lo que (user_id, created_at, id)
+-- ya cubre la paginación por id sin volver a la tabla.
+
+-- Columnas normalizadas de búsqueda (las rellena CarSearchColumnsBackfillRunner al arrancar)
+ALTER TABLE cars
+    ADD COLUMN brand_norm VARCHAR(30) NULL,
+    ADD COLUMN model_norm VARCHAR(50) NULL,
+    ADD COLUMN color_norm VARCHAR(20) NULL,
+    ADD COLUMN search_text VARCHAR(120) NULL,
+    ALGORITHM=INSTANT;
+
+CREATE INDEX idx_car_user_created ON cars (user_id, created_at, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_car_user_year ON cars (user_id, year, id) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_car_user_brand_model ON cars (user_id, brand_norm, model_norm) ALGORITHM=INPLACE LOCK=NONE;
+
+-- idx_car_user_id queda cubierto por los compuestos; idx_car_brand, sobre la columna sin
+-- normalizar, lo reemplaza idx_car_brand_norm. Se eliminan después de crear idx_car_user_created
+-- porque la clave foránea de user_id necesita un índice que la soporte
+DROP INDEX idx_car_user_id ON cars;
+DROP INDEX idx_car_brand ON cars;
+
+-- Búsqueda por marca sin usuario (administración): los compuestos empiezan por user_id
+CREATE INDEX idx_car_brand_norm ON cars (brand_norm) ALGORITHM=INPLACE LOCK=NONE;
+
+-- Variante cubriente para los listados por usuario: evita leer la fila para las columnas mostradas
+CREATE INDEX idx_car_user_created_cov ON cars (user_id, created_at, id, brand, model, year, color)
+    ALGORITHM=INPLACE LOCK=NONE;
+
+-- Filtros por color sobre la columna normalizada
+CREATE INDEX idx_car_user_color ON cars (user_id, color_norm) ALGORITHM=INPLACE LOCK=NONE;
+
+-- Marca de agua (MAX(updated_at)) y cambios desde ella al reanudar las copias en memoria tras un reinicio
+CREATE INDEX idx_car_updated ON cars (updated_at) ALGORITHM=INPLACE LOCK=NONE;
@@ -0,0 +1,29 @@
+-- Índices de la tabla cars para PostgreSQL.
+-- CONCURRENTLY evita bloquear escrituras; no puede ejecutarse dentro de una transacción.
+
+-- Columnas normalizadas de búsqueda (las rellena CarSearchColumnsBackfillRunner al arrancar)
+ALTER TABLE cars
+    ADD COLUMN IF NOT EXISTS brand_norm VARCHAR(30),
+    ADD COLUMN IF NOT EXISTS model_norm VARCHAR(50),
+    ADD COLUMN IF NOT EXISTS color_norm VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS search_text VARCHAR(120);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_car_user_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_car_brand;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_user_created ON cars (user_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_user_year ON cars (user_id, year, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_user_brand_model ON cars (user_id, brand_norm, model_norm);
+
+-- Búsqueda por marca sin usuario (administración): los compuestos empiezan por user_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_brand_norm ON cars (brand_norm);
+
+-- Variante cubriente: INCLUDE permite index-only scans en los listados por usuario
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_user_created_cov
+    ON cars (user_id, created_at DESC, id DESC) INCLUDE (brand, model, year, plate_number, color);
+
+-- Filtros por color sobre la columna normalizada
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_user_color ON cars (user_id, color_norm);
+
+-- Marca de agua (MAX(updated_at)) y cambios desde ella al reanudar las copias en memoria tras un reinicio
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_car_updated ON cars (updated_at);
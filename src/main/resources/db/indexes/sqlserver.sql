@@ -0,0 +1,49 @@
+-- Índices de la tabla cars para SQL Server.
+-- ONLINE = ON requiere una edición que lo soporte (Enterprise, Developer o Azure SQL); quitarlo en otras.
+-- Cada paso comprueba si ya se aplicó, de modo que el script puede volver a ejecutarse.
+
+-- Columnas normalizadas de búsqueda (las rellena CarSearchColumnsBackfillRunner al arrancar)
+IF COL_LENGTH('cars', 'brand_norm') IS NULL
+    ALTER TABLE cars ADD brand_norm VARCHAR(30) NULL;
+IF COL_LENGTH('cars', 'model_norm') IS NULL
+    ALTER TABLE cars ADD model_norm VARCHAR(50) NULL;
+IF COL_LENGTH('cars', 'color_norm') IS NULL
+    ALTER TABLE cars ADD color_norm VARCHAR(20) NULL;
+IF COL_LENGTH('cars', 'search_text') IS NULL
+    ALTER TABLE cars ADD search_text VARCHAR(120) NULL;
+GO
+
+DROP INDEX IF EXISTS idx_car_user_id ON cars;
+DROP INDEX IF EXISTS idx_car_brand ON cars;
+GO
+
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_user_created', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_user_created ON cars (user_id, created_at, id) WITH (ONLINE = ON);
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_user_year', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_user_year ON cars (user_id, year, id) WITH (ONLINE = ON);
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_user_brand_model', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_user_brand_model ON cars (user_id, brand_norm, model_norm) WITH (ONLINE = ON);
+GO
+
+-- Búsqueda por marca sin usuario (administración): los compuestos empiezan por user_id
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_brand_norm', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_brand_norm ON cars (brand_norm) WITH (ONLINE = ON);
+GO
+
+-- Variante cubriente: las columnas INCLUDE evitan el Key Lookup en los listados por usuario
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_user_created_cov', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_user_created_cov
+        ON cars (user_id, created_at DESC, id DESC)
+        INCLUDE (brand, model, year, plate_number, color, photo_url, updated_at, version)
+        WITH (ONLINE = ON);
+GO
+
+-- Filtros por color sobre la columna normalizada
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_user_color', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_user_color ON cars (user_id, color_norm) WITH (ONLINE = ON);
+GO
+
+-- Marca de agua (MAX(updated_at)) y cambios desde ella al reanudar las copias en memoria tras un reinicio
+IF INDEXPROPERTY(OBJECT_ID('cars'), 'idx_car_updated', 'IndexID') IS NULL
+    CREATE NONCLUSTERED INDEX idx_car_updated ON cars (updated_at) WITH (ONLINE = ON);
+GO
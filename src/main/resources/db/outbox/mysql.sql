@@ -0,0 +1,12 @@
+-- Outbox de cambios de autos para MySQL 8 (InnoDB).
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+CREATE TABLE IF NOT EXISTS car_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    change_type VARCHAR(16) NOT NULL,
+    car_id BIGINT NULL,
+    user_id BIGINT NOT NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_car_outbox_occurred (occurred_at)
+) ENGINE=InnoDB;
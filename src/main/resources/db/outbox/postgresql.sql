@@ -0,0 +1,12 @@
+-- Outbox de cambios de autos para PostgreSQL.
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+CREATE TABLE IF NOT EXISTS car_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    change_type VARCHAR(16) NOT NULL,
+    car_id BIGINT,
+    user_id BIGINT NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_car_outbox_occurred ON car_outbox (occurred_at);
@@ -0,0 +1,16 @@
+-- Outbox de cambios de autos para SQL Server.
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+
+IF OBJECT_ID('car_outbox', 'U') IS NULL
+CREATE TABLE car_outbox (
+    id BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    change_type VARCHAR(16) NOT NULL,
+    car_id BIGINT NULL,
+    user_id BIGINT NOT NULL,
+    occurred_at DATETIME2(6) NOT NULL
+);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_outbox_occurred')
+CREATE INDEX idx_car_outbox_occurred ON car_outbox (occurred_at);
+GO
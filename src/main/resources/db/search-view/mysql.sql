@@ -0,0 +1,35 @@
+-- Modelo de lectura de búsqueda de autos para MySQL 8 (InnoDB).
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+-- La aplicación la llena al arrancar y la mantiene desde el outbox; no lleva claves foráneas.
+
+CREATE TABLE IF NOT EXISTS car_search_view (
+    car_id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INT NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL,
+    brand_norm VARCHAR(30),
+    model_norm VARCHAR(50),
+    color_norm VARCHAR(20),
+    search_text VARCHAR(120),
+    age_bucket VARCHAR(10) NOT NULL,
+    bucket_year INT NOT NULL,
+    has_photo BOOLEAN NOT NULL,
+    INDEX idx_car_search_view_user_created (user_id, created_at),
+    INDEX idx_car_search_view_user_year (user_id, year),
+    INDEX idx_car_search_view_user_brand (user_id, brand_norm),
+    INDEX idx_car_search_view_plate (plate_number)
+) ENGINE=InnoDB;
+
+-- Candado de la proyección: cada transacción que escribe en la vista bloquea antes su fila
+CREATE TABLE IF NOT EXISTS projection_locks (
+    name VARCHAR(64) NOT NULL PRIMARY KEY
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO projection_locks (name) VALUES ('car_search_view');
@@ -0,0 +1,53 @@
+-- Modelo de lectura de búsqueda de autos para SQL Server.
+-- Hibernate la crea con ddl-auto; este script es para entornos con ddl-auto validate.
+-- La aplicación la llena al arrancar y la mantiene desde el outbox; no lleva claves foráneas.
+
+IF OBJECT_ID('car_search_view', 'U') IS NULL
+CREATE TABLE car_search_view (
+    car_id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INT NOT NULL,
+    plate_number VARCHAR(10) NOT NULL,
+    color VARCHAR(20) NOT NULL,
+    photo_url VARCHAR(500) NULL,
+    created_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL,
+    version BIGINT NOT NULL,
+    brand_norm VARCHAR(30) NULL,
+    model_norm VARCHAR(50) NULL,
+    color_norm VARCHAR(20) NULL,
+    search_text VARCHAR(120) NULL,
+    age_bucket VARCHAR(10) NOT NULL,
+    bucket_year INT NOT NULL,
+    has_photo BIT NOT NULL
+);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_search_view_user_created')
+CREATE INDEX idx_car_search_view_user_created ON car_search_view (user_id, created_at);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_search_view_user_year')
+CREATE INDEX idx_car_search_view_user_year ON car_search_view (user_id, year);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_search_view_user_brand')
+CREATE INDEX idx_car_search_view_user_brand ON car_search_view (user_id, brand_norm);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_car_search_view_plate')
+CREATE INDEX idx_car_search_view_plate ON car_search_view (plate_number);
+GO
+
+-- Candado de la proyección: cada transacción que escribe en la vista bloquea antes su fila
+IF OBJECT_ID('projection_locks', 'U') IS NULL
+CREATE TABLE projection_locks (
+    name VARCHAR(64) NOT NULL PRIMARY KEY
+);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM projection_locks WHERE name = 'car_search_view')
+INSERT INTO projection_locks (name) VALUES ('car_search_view');
+GO
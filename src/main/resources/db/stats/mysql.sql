@@ -0,0 +1,26 @@
+-- Estadísticas agregadas de autos por usuario para MySQL 8 (InnoDB).
+-- Hibernate las crea con ddl-auto; este script es para entornos con ddl-auto validate.
+-- Las filas de usuarios existentes las crea UserCarStatsReconciliationJob al arrancar.
+
+CREATE TABLE IF NOT EXISTS user_car_stats (
+    user_id BIGINT NOT NULL,
+    total_cars BIGINT NOT NULL,
+    year_sum BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_car_year_counts (
+    user_id BIGINT NOT NULL,
+    car_year INT NOT NULL,
+    car_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, car_year)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_car_brand_counts (
+    user_id BIGINT NOT NULL,
+    brand_norm VARCHAR(30) NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    car_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, brand_norm)
+) ENGINE=InnoDB;
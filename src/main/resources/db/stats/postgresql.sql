@@ -0,0 +1,25 @@
+-- Estadísticas agregadas de autos por usuario para PostgreSQL.
+-- Hibernate las crea con ddl-auto; este script es para entornos con ddl-auto validate.
+-- Las filas de usuarios existentes las crea UserCarStatsReconciliationJob al arrancar.
+
+CREATE TABLE IF NOT EXISTS user_car_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    total_cars BIGINT NOT NULL,
+    year_sum BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_car_year_counts (
+    user_id BIGINT NOT NULL,
+    car_year INTEGER NOT NULL,
+    car_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, car_year)
+);
+
+CREATE TABLE IF NOT EXISTS user_car_brand_counts (
+    user_id BIGINT NOT NULL,
+    brand_norm VARCHAR(30) NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    car_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, brand_norm)
+);
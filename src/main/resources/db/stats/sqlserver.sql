@@ -0,0 +1,31 @@
+-- Estadísticas agregadas de autos por usuario para SQL Server.
+-- Hibernate las crea con ddl-auto; este script es para entornos con ddl-auto validate.
+-- Las filas de usuarios existentes las crea UserCarStatsReconciliationJob al arrancar.
+
+IF OBJECT_ID('user_car_stats', 'U') IS NULL
+CREATE TABLE user_car_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    total_cars BIGINT NOT NULL,
+    year_sum BIGINT NOT NULL,
+    updated_at DATETIME2(6) NOT NULL
+);
+GO
+
+IF OBJECT_ID('user_car_year_counts', 'U') IS NULL
+CREATE TABLE user_car_year_counts (
+    user_id BIGINT NOT NULL,
+    car_year INT NOT NULL,
+    car_count BIGINT NOT NULL,
+    CONSTRAINT pk_user_car_year_counts PRIMARY KEY (user_id, car_year)
+);
+GO
+
+IF OBJECT_ID('user_car_brand_counts', 'U') IS NULL
+CREATE TABLE user_car_brand_counts (
+    user_id BIGINT NOT NULL,
+    brand_norm VARCHAR(30) NOT NULL,
+    brand VARCHAR(30) NOT NULL,
+    car_count BIGINT NOT NULL,
+    CONSTRAINT pk_user_car_brand_counts PRIMARY KEY (user_id, brand_norm)
+);
+GO
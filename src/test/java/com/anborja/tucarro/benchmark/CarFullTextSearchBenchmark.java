@@ -0,0 +1,161 @@
+package com.anborja.tucarro.benchmark;
+
+import com.anborja.tucarro.domain.spi.ICarFullTextSearchPort;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.fulltext.PortableCarFullTextSearchAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.mapper.ICarEntityMapper;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarRepository;
+import com.anborja.tucarro.shared.util.SearchTextNormalizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mide la latencia de la búsqueda de texto completo del motor configurado frente a la
+ * búsqueda portable (LIKE). No forma parte de "gradle test"; se ejecuta con "gradle benchmark".
+ *
+ * Sin parámetros usa H2 en memoria (que siempre resuelve con la búsqueda portable). Para medir
+ * otro motor, aplicar antes db/fulltext/&lt;motor&gt;.sql y pasar, por ejemplo:
+ *
+ *   gradle benchmark -Dbenchmark.url=jdbc:postgresql://localhost:5432/tucarro_bench
+ *                    -Dbenchmark.username=postgres -Dbenchmark.password=secret
+ *                    -Dbenchmark.dialect=org.hibernate.dialect.PostgreSQLDialect
+ *                    -Dbenchmark.rows=1000000
+ *
+ * Las filas se siembran una sola vez para el usuario del benchmark y se reutilizan en
+ * ejecuciones siguientes. Los tiempos incluyen el mapeo a dominio y el conteo de la página.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class CarFullTextSearchBenchmark {
+
+    private static final String BENCHMARK_EMAIL = "benchmark@tucarro.local";
+    private static final String[] BRANDS = {"Toyota", "Mazda", "Chevrolet", "Renault", "Citroën", "Nissan", "Kia", "Hyundai"};
+    private static final String[] MODELS = {"Corolla", "Mazda 3", "Spark", "Logan", "Berlingo", "Sentra", "Picanto", "Tucson"};
+    private static final String[] COLORS = {"Rojo", "Azul", "Negro", "Blanco", "Gris", "Plateado", "Café", "Verde"};
+    private static final List<String> TERMS = List.of("toyota", "corolla", "citroen berlingo", "plat", "bx00123");
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 20);
+
+    @Autowired
+    private ICarFullTextSearchPort carFullTextSearchPort;
+
+    @Autowired
+    private ICarRepository carRepository;
+
+    @Autowired
+    private ICarEntityMapper carEntityMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void benchmarkDatabase(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("benchmark.url",
+                "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.username", "sa"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> System.getProperty("benchmark.driver", ""));
+        registry.add("spring.jpa.properties.hibernate.dialect",
+                () -> System.getProperty("benchmark.dialect", "org.hibernate.dialect.H2Dialect"));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("l2-cache.enabled", () -> "false");
+        registry.add("search-columns.backfill-on-startup", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.com.anborja", () -> "INFO");
+    }
+
+    @Test
+    void fullTextSearchLatency() {
+        long userId = seed();
+        ICarFullTextSearchPort portable = new PortableCarFullTextSearchAdapter(carRepository, carEntityMapper);
+        Pageable firstPage = PageRequest.of(0, 20);
+
+        System.out.printf("%nBENCHMARK rows=%d iterations=%d adapter=%s%n",
+                ROWS, ITERATIONS, carFullTextSearchPort.getClass().getSimpleName());
+        System.out.printf("%-20s %-36s %10s %10s %10s %10s%n", "term", "adapter", "p50 ms", "p95 ms", "p99 ms", "total");
+
+        for (String term : TERMS) {
+            report(term, carFullTextSearchPort, userId, firstPage);
+            if (!(carFullTextSearchPort instanceof PortableCarFullTextSearchAdapter)) {
+                report(term, portable, userId, firstPage);
+            }
+        }
+    }
+
+    private void report(String term, ICarFullTextSearchPort adapter, long userId, Pageable pageable) {
+        for (int i = 0; i < WARMUP; i++) {
+            adapter.search(userId, term, pageable);
+        }
+
+        long[] samples = new long[ITERATIONS];
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            total = adapter.search(userId, term, pageable).getTotalElements();
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        System.out.printf("%-20s %-36s %10.2f %10.2f %10.2f %10d%n", term, adapter.getClass().getSimpleName(),
+                percentile(samples, 50), percentile(samples, 95), percentile(samples, 99), total);
+    }
+
+    private double percentile(long[] sortedSamples, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Crea el usuario del benchmark y completa sus autos hasta ROWS
+     */
+    private long seed() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> existingUser = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email = ?", Long.class, BENCHMARK_EMAIL);
+        if (existingUser.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, created_at, updated_at) " +
+                    "VALUES ('Bench', 'Mark', ?, 'no-login', ?, ?)", BENCHMARK_EMAIL, now, now);
+        }
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, BENCHMARK_EMAIL);
+
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars WHERE user_id = ?", Integer.class, userId);
+        int batchSize = 5_000;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = existing; i < ROWS; i++) {
+            String brand = BRANDS[i % BRANDS.length];
+            String model = MODELS[(i / BRANDS.length) % MODELS.length];
+            String color = COLORS[(i / 7) % COLORS.length];
+            String plate = String.format("BX%07d", i);
+            String brandNorm = SearchTextNormalizer.normalize(brand);
+            String modelNorm = SearchTextNormalizer.normalize(model);
+            String colorNorm = SearchTextNormalizer.normalize(color);
+            batch.add(new Object[]{brand, model, 1990 + i % 35, plate, color, now, now, userId,
+                    brandNorm, modelNorm, colorNorm,
+                    SearchTextNormalizer.searchText(brandNorm, modelNorm, SearchTextNormalizer.normalize(plate), colorNorm)});
+            if (batch.size() == batchSize || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO cars (brand, model, year, plate_number, color, created_at, updated_at, " +
+                        "user_id, brand_norm, model_norm, color_norm, search_text, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        return userId;
+    }
+}
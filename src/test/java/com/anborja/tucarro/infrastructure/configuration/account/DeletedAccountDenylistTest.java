@@ -0,0 +1,84 @@
+package com.anborja.tucarro.infrastructure.configuration.account;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.AccountDeletionAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Las solicitudes de eliminación se simulan por shard con el adaptador
+ */
+class DeletedAccountDenylistTest {
+
+    private static final long TOKEN_LIFETIME_MS = 3_600_000;
+
+    private AccountDeletionAdapter adapter;
+    private ShardingProperties shardingProperties;
+    private DeletedAccountDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        adapter = mock(AccountDeletionAdapter.class);
+        shardingProperties = new ShardingProperties();
+        denylist = new DeletedAccountDenylist(adapter, shardingProperties, TOKEN_LIFETIME_MS);
+    }
+
+    @Test
+    void refreshLoadsTheDeletionsRequestedWithinTheTokenLifetime() {
+        when(adapter.findUserIdsRequestedSince(any())).thenReturn(List.of(7L));
+        LocalDateTime before = LocalDateTime.now().minusNanos(TOKEN_LIFETIME_MS * 1_000_000);
+
+        denylist.refresh();
+
+        assertTrue(denylist.contains(7L));
+        assertFalse(denylist.contains(8L));
+        assertFalse(denylist.contains(null));
+        verify(adapter).findUserIdsRequestedSince(argThat(since -> !since.isBefore(before)));
+    }
+
+    @Test
+    void refreshReadsEveryShard() {
+        shardingProperties.setEnabled(true);
+        shardingProperties.getShards().add(new ShardingProperties.Shard());
+        when(adapter.findUserIdsRequestedSince(any())).thenAnswer(invocation ->
+                ShardContext.current() == 0 ? List.of(7L) : List.of(8L));
+
+        denylist.refresh();
+
+        assertTrue(denylist.contains(7L));
+        assertTrue(denylist.contains(8L));
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousList() {
+        when(adapter.findUserIdsRequestedSince(any())).thenReturn(List.of(7L));
+        denylist.refresh();
+        when(adapter.findUserIdsRequestedSince(any())).thenThrow(new IllegalStateException("sin conexión"));
+
+        denylist.refresh();
+
+        assertTrue(denylist.contains(7L));
+    }
+
+    @Test
+    void accountsLeaveTheListWhenNoLongerReturned() {
+        when(adapter.findUserIdsRequestedSince(any())).thenReturn(List.of(7L), List.of());
+        denylist.refresh();
+
+        denylist.refresh();
+
+        assertFalse(denylist.contains(7L));
+    }
+}
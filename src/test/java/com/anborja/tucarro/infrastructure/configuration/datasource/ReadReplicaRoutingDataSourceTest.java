@@ -0,0 +1,108 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Usa dos bases H2 en memoria como primario y réplica
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker tracker;
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primaryDataSource = h2("primary");
+        DriverManagerDataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        for (JdbcTemplate db : new JdbcTemplate[]{primary, replica}) {
+            db.execute("CREATE TABLE IF NOT EXISTS cars (id BIGINT PRIMARY KEY, updated_at TIMESTAMP)");
+            db.execute("DELETE FROM cars");
+            db.update("INSERT INTO cars VALUES (1, TIMESTAMP '2024-01-01 10:00:00')");
+        }
+
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource,
+                "SELECT MAX(updated_at) FROM cars", Duration.ofSeconds(5), Duration.ofSeconds(1));
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(10));
+        routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor, tracker);
+        lagMonitor.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionOnRoutedRequestGoesToReplica() {
+        ReplicaRoutingContext.allowReplicaReads(7L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.resolveRole());
+    }
+
+    @Test
+    void writesAndUnroutedRequestsStayOnPrimary() {
+        ReplicaRoutingContext.allowReplicaReads(7L);
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.resolveRole());
+
+        ReplicaRoutingContext.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.resolveRole());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        primary.update("UPDATE cars SET updated_at = TIMESTAMP '2024-01-01 10:01:00'");
+        lagMonitor.refresh();
+
+        ReplicaRoutingContext.allowReplicaReads(7L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.resolveRole());
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        replica.execute("DROP TABLE cars");
+        lagMonitor.refresh();
+
+        ReplicaRoutingContext.allowReplicaReads(7L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.resolveRole());
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        tracker.recordWrite(7L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        ReplicaRoutingContext.allowReplicaReads(7L);
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.resolveRole());
+
+        ReplicaRoutingContext.allowReplicaReads(8L);
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.resolveRole());
+    }
+
+    private DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,48 @@
+package com.anborja.tucarro.infrastructure.configuration.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Parte de las cuotas por defecto, pensadas para el pool de 10 conexiones
+ */
+class WorkloadBulkheadRegistryTest {
+
+    @Test
+    void defaultSharesBoundEveryClassAndLeaveAuthItsShare() {
+        WorkloadBulkheadRegistry registry = new WorkloadBulkheadRegistry(new WorkloadBulkheadProperties());
+
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            assertNotNull(registry.get(workload), workload.name());
+        }
+        assertEquals(2, registry.authReserve(10));
+        assertEquals(registry.get(WorkloadClass.AUTH).getMaxConnections(), registry.authReserve(10));
+    }
+
+    @Test
+    void unboundedClassLeavesAuthNothingReserved() {
+        WorkloadBulkheadProperties properties = new WorkloadBulkheadProperties();
+        properties.getShares().remove(WorkloadClass.DEFAULT);
+
+        assertEquals(0, new WorkloadBulkheadRegistry(properties).authReserve(10));
+    }
+
+    @Test
+    void disabledShareCountsAsUnbounded() {
+        WorkloadBulkheadProperties properties = new WorkloadBulkheadProperties();
+        properties.getShares().put(WorkloadClass.BACKGROUND, new WorkloadBulkheadProperties.Share(0, Duration.ofSeconds(1)));
+
+        assertEquals(0, new WorkloadBulkheadRegistry(properties).authReserve(10));
+    }
+
+    @Test
+    void smallerPoolLeavesLessForAuth() {
+        WorkloadBulkheadRegistry registry = new WorkloadBulkheadRegistry(new WorkloadBulkheadProperties());
+
+        assertEquals(0, registry.authReserve(5));
+    }
+}
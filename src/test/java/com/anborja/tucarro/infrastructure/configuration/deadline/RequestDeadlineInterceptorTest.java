@@ -0,0 +1,60 @@
+package com.anborja.tucarro.infrastructure.configuration.deadline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rutas configuradas: búsqueda con 5s, el resto con el plazo por defecto de 10s y máximo de 30s
+ */
+class RequestDeadlineInterceptorTest {
+
+    private RequestDeadlineInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RequestDeadlineProperties properties = new RequestDeadlineProperties();
+        RequestDeadlineProperties.Endpoint search = new RequestDeadlineProperties.Endpoint();
+        search.setPattern("/v1/cars/search/**");
+        search.setTimeout(Duration.ofSeconds(5));
+        properties.setEndpoints(List.of(search));
+        interceptor = new RequestDeadlineInterceptor(properties, new RequestDeadlineWatchdog());
+    }
+
+    @Test
+    void withoutHeaderThePathBudgetApplies() {
+        assertEquals(Duration.ofSeconds(5), interceptor.resolveBudget(request("/api/v1/cars/search/text", null)));
+        assertEquals(Duration.ofSeconds(10), interceptor.resolveBudget(request("/api/v1/cars", null)));
+    }
+
+    @Test
+    void headerShortensThePathBudget() {
+        assertEquals(Duration.ofMillis(1500), interceptor.resolveBudget(request("/api/v1/cars/search/text", "1500")));
+    }
+
+    @Test
+    void headerCannotRaiseThePathBudget() {
+        assertEquals(Duration.ofSeconds(5), interceptor.resolveBudget(request("/api/v1/cars/search/text", "20000")));
+        assertEquals(Duration.ofSeconds(10), interceptor.resolveBudget(request("/api/v1/cars", "60000")));
+    }
+
+    @Test
+    void invalidHeaderIsIgnored() {
+        assertEquals(Duration.ofSeconds(10), interceptor.resolveBudget(request("/api/v1/cars", "abc")));
+        assertEquals(Duration.ofSeconds(10), interceptor.resolveBudget(request("/api/v1/cars", "0")));
+    }
+
+    private static MockHttpServletRequest request(String uri, String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath("/api");
+        if (timeout != null) {
+            request.addHeader("X-Request-Timeout", timeout);
+        }
+        return request;
+    }
+}
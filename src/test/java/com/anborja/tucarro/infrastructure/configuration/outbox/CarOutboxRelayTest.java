@@ -0,0 +1,206 @@
+package com.anborja.tucarro.infrastructure.configuration.outbox;
+
+import com.anborja.tucarro.domain.model.CarChangeEvent;
+import com.anborja.tucarro.domain.spi.ICarChangeEventSubscriber;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarOutboxEventEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.ICarOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * El outbox se simula con los eventos ya confirmados; un ID que aún no está es una
+ * transacción en curso o revertida
+ */
+class CarOutboxRelayTest {
+
+    private final TreeMap<Long, CarOutboxEventEntity> committed = new TreeMap<>();
+    private final List<Long> delivered = new ArrayList<>();
+    private CarOutboxProperties properties;
+    private CarOutboxRelay relay;
+    private boolean failing;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ICarOutboxRepository repository = mock(ICarOutboxRepository.class);
+        when(repository.findMaxId()).thenAnswer(invocation ->
+                committed.isEmpty() ? Optional.empty() : Optional.of(committed.lastKey()));
+        when(repository.findAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return committed.tailMap(afterId, false).values().stream().limit(page.getPageSize()).toList();
+        });
+        when(repository.findByIdInOrderById(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .sorted()
+                        .filter(committed::containsKey)
+                        .map(committed::get)
+                        .toList());
+        when(repository.findUserIdsAfter(anyLong())).thenAnswer(invocation ->
+                committed.tailMap(invocation.<Long>getArgument(0), false).values().stream()
+                        .map(CarOutboxEventEntity::getUserId)
+                        .distinct()
+                        .toList());
+        when(repository.findUserIdsByIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .map(committed::get)
+                        .filter(Objects::nonNull)
+                        .map(CarOutboxEventEntity::getUserId)
+                        .distinct()
+                        .toList());
+
+        ICarChangeEventSubscriber subscriber = events -> {
+            if (failing) {
+                throw new IllegalStateException("suscriptor caído");
+            }
+            events.forEach(event -> delivered.add(event.getEventId()));
+        };
+
+        properties = new CarOutboxProperties();
+        properties.setBatchSize(3);
+        properties.setGapTimeout(Duration.ofMinutes(30));
+        properties.setMaxDeliveryAttempts(2);
+
+        relay = new CarOutboxRelay(repository, List.of(subscriber), mock(PlatformTransactionManager.class),
+                properties, new ShardingProperties());
+        relay.relay();
+    }
+
+    @Test
+    void deliversContiguousEventsInBatches() {
+        commit(1, 2, 3, 4, 5);
+
+        relay.relay();
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), delivered);
+    }
+
+    @Test
+    void startsAfterTheLastEventAtStartup() {
+        commit(1, 2);
+        setUp();
+        delivered.clear();
+        commit(3);
+
+        relay.relay();
+
+        assertEquals(List.of(3L), delivered);
+    }
+
+    @Test
+    void readsPastAnOpenGapWithoutRereadingTheSameRows() {
+        commit(1, 3, 4);
+        relay.relay();
+        commit(5, 6, 7, 8);
+
+        relay.relay();
+        relay.relay();
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L, 8L), delivered);
+    }
+
+    @Test
+    void deliversAGapThatCommitsLate() {
+        commit(1, 3);
+        relay.relay();
+        commit(2);
+
+        relay.relay();
+        relay.relay();
+
+        assertEquals(List.of(1L, 3L, 2L), delivered);
+    }
+
+    @Test
+    void probesGapsBeyondTheFirstBatchInLaterCycles() {
+        // Salto de la secuencia (caché de IDENTITY) seguido de una transacción lenta
+        commit(1, 20, 21);
+        relay.relay();
+        commit(19);
+
+        for (int cycle = 0; cycle < 8; cycle++) {
+            relay.relay();
+        }
+
+        assertEquals(List.of(1L, 20L, 21L, 19L), delivered);
+    }
+
+    @Test
+    void abandonsGapsAfterTheTimeout() throws InterruptedException {
+        properties.setGapTimeout(Duration.ofMillis(1));
+        commit(1, 3);
+        relay.relay();
+        Thread.sleep(5);
+        relay.relay();
+        commit(2);
+
+        relay.relay();
+
+        assertEquals(List.of(1L, 3L), delivered);
+    }
+
+    @Test
+    void retriesAFailedBatchAndDropsItAfterMaxAttempts() {
+        commit(1);
+        failing = true;
+        relay.relay();
+        assertEquals(List.of(), delivered);
+
+        // Segundo intento fallido: se descarta y el cursor sigue
+        relay.relay();
+        failing = false;
+        commit(2);
+        relay.relay();
+
+        assertEquals(List.of(2L), delivered);
+    }
+
+    @Test
+    void reportsOwnersOfEventsAfterTheCursorAndOfLateGaps() {
+        commitOwnedBy(10L, 1);
+        commitOwnedBy(11L, 3);
+        relay.relay();
+        // El 2 llena el hueco y el 4 va después del cursor; ninguno se ha entregado
+        commitOwnedBy(12L, 2);
+        commitOwnedBy(13L, 4);
+
+        assertEquals(Set.of(12L, 13L), relay.findUndeliveredUserIds());
+
+        relay.relay();
+        relay.relay();
+        assertEquals(Set.of(), relay.findUndeliveredUserIds());
+    }
+
+    private void commit(long... ids) {
+        commitOwnedBy(1L, ids);
+    }
+
+    private void commitOwnedBy(long userId, long... ids) {
+        for (long id : ids) {
+            CarOutboxEventEntity entity = new CarOutboxEventEntity(CarChangeEvent.ChangeType.UPDATED.name(), id, userId);
+            ReflectionTestUtils.setField(entity, "id", id);
+            committed.put(id, entity);
+        }
+    }
+}
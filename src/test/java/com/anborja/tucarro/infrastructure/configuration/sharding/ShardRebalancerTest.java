@@ -0,0 +1,194 @@
+package com.anborja.tucarro.infrastructure.configuration.sharding;
+
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding.ShardDirectoryAdapter;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tres shards H2 en memoria con las tablas de un usuario reducidas a unas pocas columnas;
+ * el directorio se simula
+ */
+class ShardRebalancerTest {
+
+    private static final String[] CHILD_TABLES = {"user_car_stats", "user_car_year_counts",
+            "user_car_brand_counts", "cars_history", "cars", "car_search_view", "cars_archive"};
+
+    private ShardRegistry registry;
+    private ShardDirectoryAdapter directory;
+    private ShardRebalancer rebalancer;
+    private final List<ShardDirectoryEntity> entries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setDrainPeriod(Duration.ZERO);
+        properties.setDirectoryCacheTtl(Duration.ZERO);
+        properties.setShards(List.of(shard(), shard()));
+
+        DriverManagerDataSource shardZero = new DriverManagerDataSource(h2Url(), "sa", "");
+        registry = new ShardRegistry(shardZero, properties);
+        registry.start();
+        for (int shard = 0; shard < registry.getShardCount(); shard++) {
+            createSchema(jdbc(shard));
+        }
+
+        directory = mock(ShardDirectoryAdapter.class);
+        when(directory.findUnregisteredUsers(anyInt())).thenReturn(List.of());
+        when(directory.findPageAfter(anyLong(), anyInt())).thenAnswer(invocation -> List.copyOf(entries));
+        rebalancer = new ShardRebalancer(registry, directory, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (int shard = 0; shard < registry.getShardCount(); shard++) {
+            jdbc(shard).execute("SHUTDOWN");
+        }
+        registry.stop();
+    }
+
+    @Test
+    void movesMisplacedUserToRingShardAndDeletesSourceRows() throws InterruptedException {
+        String email = emailPlacedOn(2);
+        insertUser(0, 1L, email, false);
+        entries.add(new ShardDirectoryEntity(1L, email, 0, ConsistentHashRing.hash(email)));
+
+        ShardRebalancer.RebalanceReport report = rebalancer.rebalance(10);
+
+        assertEquals(1, report.getMoved());
+        verify(directory).completeMove(1L, 2);
+        assertEquals(0, countUserRows(0, 1L));
+        assertEquals(1 + CHILD_TABLES.length, countUserRows(2, 1L));
+        assertEquals("ABC101", jdbc(2).queryForObject("SELECT plate_number FROM cars WHERE user_id = 1", String.class));
+        assertEquals(0, countUserRows(1, 1L));
+    }
+
+    @Test
+    void copyStartsOverWhenInterruptedBatchLeftRowsOnTarget() throws InterruptedException {
+        String email = emailPlacedOn(1);
+        insertUser(0, 1L, email, false);
+        // Copia parcial de un lote interrumpido, con un auto que el origen ya borró
+        jdbc(1).update("INSERT INTO users (id, email) VALUES (1, ?)", email);
+        jdbc(1).update("INSERT INTO cars (id, user_id, plate_number) VALUES (99, 1, 'OLD999')");
+        entries.add(new ShardDirectoryEntity(1L, email, 0, ConsistentHashRing.hash(email)));
+
+        assertEquals(1, rebalancer.rebalance(10).getMoved());
+
+        assertEquals(List.of("ABC101"), jdbc(1).queryForList("SELECT plate_number FROM cars WHERE user_id = 1", String.class));
+        assertEquals(1, jdbc(1).queryForObject("SELECT COUNT(*) FROM users WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void userRequestingDeletionIsNotMoved() throws InterruptedException {
+        String email = emailPlacedOn(2);
+        insertUser(0, 1L, email, true);
+        entries.add(new ShardDirectoryEntity(1L, email, 0, ConsistentHashRing.hash(email)));
+
+        ShardRebalancer.RebalanceReport report = rebalancer.rebalance(10);
+
+        assertEquals(0, report.getMoved());
+        assertEquals(1, report.getSkipped());
+        verify(directory, never()).completeMove(anyLong(), anyInt());
+        verify(directory).clearMoving(List.of(1L));
+        assertEquals(1 + CHILD_TABLES.length, countUserRows(0, 1L));
+        assertEquals(0, countUserRows(2, 1L));
+    }
+
+    @Test
+    void userMissingOnSourceIsRemovedFromDirectory() throws InterruptedException {
+        String email = emailPlacedOn(1);
+        entries.add(new ShardDirectoryEntity(1L, email, 0, ConsistentHashRing.hash(email)));
+
+        ShardRebalancer.RebalanceReport report = rebalancer.rebalance(10);
+
+        assertEquals(0, report.getMoved());
+        verify(directory).remove(1L);
+        assertEquals(0, countUserRows(1, 1L));
+    }
+
+    @Test
+    void wellPlacedUserIsLeftAlone() throws InterruptedException {
+        String email = emailPlacedOn(0);
+        insertUser(0, 1L, email, false);
+        entries.add(new ShardDirectoryEntity(1L, email, 0, ConsistentHashRing.hash(email)));
+
+        assertEquals(0, rebalancer.rebalance(10).getMoved());
+        assertEquals(0, rebalancer.status().getMisplaced());
+        assertEquals(1 + CHILD_TABLES.length, countUserRows(0, 1L));
+    }
+
+    private String emailPlacedOn(int shard) {
+        for (int i = 0; ; i++) {
+            String email = "user" + i + "@test.com";
+            if (registry.placementShard(ConsistentHashRing.hash(email)) == shard) {
+                return email;
+            }
+        }
+    }
+
+    private void insertUser(int shard, Long userId, String email, boolean deleted) {
+        JdbcTemplate jdbc = jdbc(shard);
+        jdbc.update("INSERT INTO users (id, email, deleted_at) VALUES (?, ?, " + (deleted ? "CURRENT_TIMESTAMP" : "NULL") + ")",
+                userId, email);
+        for (String table : CHILD_TABLES) {
+            if (table.equals("cars")) {
+                jdbc.update("INSERT INTO cars (id, user_id, plate_number) VALUES (?, ?, 'ABC101')", userId * 10, userId);
+            } else {
+                jdbc.update("INSERT INTO " + table + " (user_id) VALUES (?)", userId);
+            }
+        }
+    }
+
+    private int countUserRows(int shard, Long userId) {
+        JdbcTemplate jdbc = jdbc(shard);
+        int rows = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+        for (String table : CHILD_TABLES) {
+            rows += jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Integer.class, userId);
+        }
+        return rows;
+    }
+
+    private static void createSchema(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(100), deleted_at TIMESTAMP)");
+        for (String table : CHILD_TABLES) {
+            if (table.equals("cars")) {
+                jdbc.execute("CREATE TABLE cars (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users (id), "
+                        + "plate_number VARCHAR(20) UNIQUE)");
+            } else {
+                jdbc.execute("CREATE TABLE " + table + " (user_id BIGINT)");
+            }
+        }
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(registry.getDataSource(shard));
+    }
+
+    private static ShardingProperties.Shard shard() {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setUrl(h2Url());
+        shard.setUsername("sa");
+        shard.setDriverClassName("org.h2.Driver");
+        return shard;
+    }
+
+    private static String h2Url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
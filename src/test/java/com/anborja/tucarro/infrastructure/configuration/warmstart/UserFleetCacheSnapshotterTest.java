@@ -0,0 +1,89 @@
+package com.anborja.tucarro.infrastructure.configuration.warmstart;
+
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.outbox.CarOutboxRelay;
+import com.anborja.tucarro.infrastructure.driven.cache.FleetSnapshotFile;
+import com.anborja.tucarro.infrastructure.driven.cache.UserFleetCacheAdapter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * La caché y el archivo son reales; la base de datos y el relay del outbox se simulan
+ */
+class UserFleetCacheSnapshotterTest {
+
+    private static final CarHighWaterMark MARK = new CarHighWaterMark(LocalDateTime.of(2024, 1, 1, 0, 0), 10L);
+
+    @TempDir
+    Path directory;
+
+    private CarOutboxRelay relay;
+    private CarDeltaReader deltaReader;
+    private UserFleetCacheAdapter fleetCache;
+    private FleetSnapshotFile file;
+
+    @BeforeEach
+    void setUp() {
+        relay = mock(CarOutboxRelay.class);
+        deltaReader = mock(CarDeltaReader.class);
+        when(deltaReader.readHighWaterMark()).thenReturn(MARK);
+
+        Cache<Long, CarFleet> cache = Caffeine.newBuilder().build();
+        fleetCache = new UserFleetCacheAdapter(mock(ICarRepositoryPort.class), cache, null);
+        fleetCache.restore(CarFleet.empty(7L));
+        fleetCache.restore(CarFleet.empty(8L));
+        file = new FleetSnapshotFile(directory.resolve("fleet-cache.snapshot"));
+    }
+
+    @Test
+    void fleetsWithUndeliveredEventsAreLeftOutOfTheSnapshot() throws IOException {
+        when(relay.findUndeliveredUserIds()).thenReturn(Set.of(8L));
+
+        snapshotter(relay).snapshot();
+
+        FleetSnapshotFile.Snapshot snapshot = file.read();
+        assertEquals(MARK, snapshot.getMark());
+        assertEquals(List.of(7L), snapshot.getFleets().stream().map(CarFleet::getUserId).toList());
+    }
+
+    @Test
+    void snapshotWaitsUntilTheRelayHasStarted() throws IOException {
+        when(relay.findUndeliveredUserIds()).thenReturn(null);
+
+        snapshotter(relay).snapshot();
+
+        assertNull(file.read());
+    }
+
+    @Test
+    void withoutOutboxEveryFleetIsCopied() throws IOException {
+        snapshotter(null).snapshot();
+
+        assertEquals(2, file.read().getFleets().size());
+    }
+
+    /**
+     * Snapshotter ya restaurado (sin copia previa), listo para escribir
+     */
+    private UserFleetCacheSnapshotter snapshotter(CarOutboxRelay outboxRelay) {
+        UserFleetCacheSnapshotter snapshotter = new UserFleetCacheSnapshotter(fleetCache, deltaReader, file, outboxRelay);
+        snapshotter.restore();
+        return snapshotter;
+    }
+}
@@ -0,0 +1,98 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Codificar y decodificar una flota debe devolver los mismos autos, campo por campo
+ */
+class CarFleetCodecTest {
+
+    @Test
+    void fleetSurvivesRoundTripWithNullsAndSharedTexts() {
+        LocalDateTime created = LocalDateTime.of(2023, 5, 6, 7, 8, 9, 123_456_789);
+        Car complete = car(1L, "Citroën", 2020, "ABC123", "Gris", "/api/v1/photos/abc", created, 3L);
+        // Misma marca y color que el anterior: se guardan una sola vez en la tabla de textos
+        Car sameTexts = car(2L, "Citroën", 2021, "ABC124", "Gris", null, created.plusDays(1), 0L);
+        Car withNulls = car(3L, null, null, "ABC125", null, null, null, null);
+        CarFleet fleet = CarFleet.of(7L, List.of(complete, sameTexts, withNulls));
+
+        CarFleet decoded = CarFleetCodec.decode(ByteBuffer.wrap(CarFleetCodec.encode(fleet)));
+
+        assertEquals(7L, decoded.getUserId());
+        assertSameCars(fleet.toCars(), decoded.toCars());
+    }
+
+    @Test
+    void sharedTextsAreStoredOnce() {
+        Car first = car(1L, "Toyota", 2020, "ABC123", "Rojo", null, null, 0L);
+        Car second = car(2L, "Toyota", 2020, "ABC124", "Rojo", null, null, 0L);
+
+        int one = CarFleetCodec.encode(CarFleet.of(7L, List.of(first))).length;
+        int two = CarFleetCodec.encode(CarFleet.of(7L, List.of(first, second))).length;
+
+        // El segundo auto solo añade su registro fijo y su placa
+        assertEquals(8 + 4 + 8 + 8 + 8 + 5 * 4 + 2 + "ABC124".length(), two - one);
+    }
+
+    @Test
+    void decodeLeavesTheBufferAtTheEndOfTheRecord() {
+        byte[] first = CarFleetCodec.encode(CarFleet.of(7L, List.of(car(1L, "Fiat", 2010, "ABC123", "Gris", null, null, 0L))));
+        byte[] second = CarFleetCodec.encode(CarFleet.empty(8L));
+        ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length).put(first).put(second).flip();
+
+        assertEquals(7L, CarFleetCodec.decode(buffer).getUserId());
+        CarFleet empty = CarFleetCodec.decode(buffer);
+        assertEquals(8L, empty.getUserId());
+        assertEquals(0, empty.size());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void datesBeforeTheEpochKeepTheirNanoseconds() {
+        LocalDateTime before = LocalDateTime.of(1965, 3, 4, 5, 6, 7, 1);
+
+        assertEquals(before, CarFleetCodec.fromEpochNanos(CarFleetCodec.toEpochNanos(before)));
+    }
+
+    @Test
+    void textLongerThanTheLengthFieldIsRejected() {
+        Car car = car(1L, "Fiat", 2010, "ABC123", "Gris", "/" + "x".repeat(0x10000), null, 0L);
+
+        assertThrows(IllegalArgumentException.class, () -> CarFleetCodec.encode(CarFleet.of(7L, List.of(car))));
+    }
+
+    private static void assertSameCars(List<Car> expected, List<Car> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Car e = expected.get(i);
+            Car a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getBrand(), a.getBrand());
+            assertEquals(e.getModel(), a.getModel());
+            assertEquals(e.getYear(), a.getYear());
+            assertEquals(e.getPlateNumber(), a.getPlateNumber());
+            assertEquals(e.getColor(), a.getColor());
+            assertEquals(e.getPhotoUrl(), a.getPhotoUrl());
+            assertEquals(e.getUserId(), a.getUserId());
+            assertEquals(e.getCreatedAt(), a.getCreatedAt());
+            assertEquals(e.getUpdatedAt(), a.getUpdatedAt());
+            assertEquals(e.getVersion(), a.getVersion());
+        }
+    }
+
+    private static Car car(Long id, String brand, Integer year, String plateNumber, String color, String photoUrl,
+                           LocalDateTime at, Long version) {
+        Car car = new Car(id, brand, "Modelo", year, plateNumber, color, photoUrl, 7L, at, at);
+        car.setVersion(version);
+        return car;
+    }
+}
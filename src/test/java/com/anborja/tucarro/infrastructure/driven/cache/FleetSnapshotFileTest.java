@@ -0,0 +1,116 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.model.CarHighWaterMark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada prueba escribe la copia en un directorio temporal y, para los rechazos, altera bytes
+ * concretos del archivo escrito
+ */
+class FleetSnapshotFileTest {
+
+    private static final CarHighWaterMark MARK = new CarHighWaterMark(LocalDateTime.of(2024, 3, 4, 5, 6, 7, 890), 42L);
+
+    @TempDir
+    Path directory;
+
+    private FleetSnapshotFile file;
+
+    @BeforeEach
+    void setUp() {
+        file = new FleetSnapshotFile(directory.resolve("warm-start").resolve("fleet-cache.snapshot"));
+    }
+
+    @Test
+    void writtenSnapshotIsReadBackWithItsMark() throws IOException {
+        long bytes = file.write(MARK, List.of(fleet(7L, "Toyota"), fleet(8L, "Mazda"), CarFleet.empty(9L)));
+
+        FleetSnapshotFile.Snapshot snapshot = file.read();
+
+        assertEquals(MARK, snapshot.getMark());
+        assertEquals(bytes, snapshot.getSizeBytes());
+        assertEquals(3, snapshot.getFleets().size());
+        assertEquals(8L, snapshot.getFleets().get(1).getUserId());
+        assertEquals("Mazda", snapshot.getFleets().get(1).brand(0));
+        assertEquals(0, snapshot.getFleets().get(2).size());
+    }
+
+    @Test
+    void missingFileReadsAsNoSnapshot() throws IOException {
+        assertNull(file.read());
+    }
+
+    @Test
+    void newSnapshotReplacesThePreviousOneWithoutLeavingTheTemporaryFile() throws IOException {
+        file.write(MARK, List.of(fleet(7L, "Toyota")));
+        file.write(MARK, List.of(fleet(8L, "Mazda")));
+
+        assertEquals(8L, file.read().getFleets().get(0).getUserId());
+        assertFalse(Files.exists(file.getFile().resolveSibling("fleet-cache.snapshot.tmp")));
+    }
+
+    @Test
+    void alteredRecordIsRejectedByTheCrc() throws IOException {
+        file.write(MARK, List.of(fleet(7L, "Toyota")));
+        byte[] content = Files.readAllBytes(file.getFile());
+        content[content.length - 1] ^= 1;
+        Files.write(file.getFile(), content);
+
+        IOException error = assertThrows(IOException.class, file::read);
+        assertTrue(error.getMessage().contains("CRC"));
+    }
+
+    @Test
+    void snapshotOfAnotherFormatVersionIsRejected() throws IOException {
+        file.write(MARK, List.of(fleet(7L, "Toyota")));
+        overwriteInt(4, 2);
+
+        IOException error = assertThrows(IOException.class, file::read);
+        assertTrue(error.getMessage().contains("Versión"));
+    }
+
+    @Test
+    void fileWithoutTheMagicNumberIsRejected() throws IOException {
+        file.write(MARK, List.of(fleet(7L, "Toyota")));
+        overwriteInt(0, 0);
+
+        assertThrows(IOException.class, file::read);
+    }
+
+    @Test
+    void truncatedHeaderIsRejected() throws IOException {
+        Files.createDirectories(file.getFile().getParent());
+        Files.write(file.getFile(), new byte[10]);
+
+        assertThrows(IOException.class, file::read);
+    }
+
+    private void overwriteInt(int offset, int value) throws IOException {
+        byte[] content = Files.readAllBytes(file.getFile());
+        ByteBuffer.wrap(content).putInt(offset, value);
+        Files.write(file.getFile(), content);
+    }
+
+    private static CarFleet fleet(Long userId, String brand) {
+        Car car = new Car(1L, brand, "Modelo", 2020, "ABC123", "Rojo", null, userId, null, null);
+        car.setVersion(0L);
+        return CarFleet.of(userId, List.of(car));
+    }
+}
@@ -0,0 +1,170 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las flotas de prueba miden lo mismo, así que un bloque del tamaño de un registro guarda
+ * exactamente una flota
+ */
+class OffHeapFleetStoreTest {
+
+    // Con 4 entradas la tabla del índice tiene 8 posiciones
+    private static final int MAX_ENTRIES = 4;
+    private static final int TABLE_SIZE = 8;
+
+    private static final int RECORD_BYTES = CarFleetCodec.encode(fleet(1L)).length;
+
+    @Test
+    void storedFleetIsReadBackAndReplacedInPlaceOfThePrevious() {
+        OffHeapFleetStore store = new OffHeapFleetStore(1 << 20, 1 << 16, MAX_ENTRIES);
+
+        assertTrue(store.put(fleet(7L)));
+        assertTrue(store.put(CarFleet.of(7L, List.of(car(1L, "Kia", 7L)))));
+
+        assertEquals(1, store.getEntries());
+        assertEquals("Kia", store.get(7L).brand(0));
+        assertTrue(store.getFragmentation() > 0);
+        assertNull(store.get(8L));
+        assertEquals(1, store.getMisses());
+    }
+
+    @Test
+    void probeSequenceWrapsAroundTheEndOfTheTable() {
+        OffHeapFleetStore store = new OffHeapFleetStore(1 << 20, 1 << 16, MAX_ENTRIES);
+        List<Long> lastSlot = usersWithHome(TABLE_SIZE - 1, 2);
+        long firstSlot = usersWithHome(0, 1).get(0);
+
+        // Ocupan las posiciones 7, 0 y 1: la segunda y la tercera dan la vuelta a la tabla
+        store.put(fleet(lastSlot.get(0)));
+        store.put(fleet(lastSlot.get(1)));
+        store.put(fleet(firstSlot));
+
+        assertNotNull(store.get(lastSlot.get(1)));
+        assertNotNull(store.get(firstSlot));
+    }
+
+    @Test
+    void deletionShiftsBackEntriesAcrossTheEndOfTheTable() {
+        OffHeapFleetStore store = new OffHeapFleetStore(1 << 20, 1 << 16, MAX_ENTRIES);
+        List<Long> lastSlot = usersWithHome(TABLE_SIZE - 1, 2);
+        long firstSlot = usersWithHome(0, 1).get(0);
+        store.put(fleet(lastSlot.get(0)));
+        store.put(fleet(lastSlot.get(1)));
+        store.put(fleet(firstSlot));
+
+        assertTrue(store.remove(lastSlot.get(0)));
+
+        assertFalse(store.contains(lastSlot.get(0)));
+        assertNotNull(store.get(lastSlot.get(1)));
+        assertNotNull(store.get(firstSlot));
+
+        assertTrue(store.remove(lastSlot.get(1)));
+        assertNotNull(store.get(firstSlot));
+        assertEquals(1, store.getEntries());
+        assertEquals(1, store.fleets().size());
+    }
+
+    @Test
+    void reachingMaxEntriesRecyclesTheLeastRecentlyUsedSlab() {
+        OffHeapFleetStore store = new OffHeapFleetStore(4L * RECORD_BYTES, RECORD_BYTES, 2);
+        store.put(fleet(1L));
+        store.put(fleet(2L));
+        store.get(1L);
+
+        store.put(fleet(3L));
+
+        assertEquals(2, store.getEntries());
+        assertTrue(store.contains(1L));
+        assertFalse(store.contains(2L));
+        assertTrue(store.contains(3L));
+        assertEquals(1, store.getDroppedEntries());
+        assertEquals(1, store.getRecycledSlabs());
+    }
+
+    @Test
+    void runningOutOfSlabsRecyclesTheLeastRecentlyUsedOne() {
+        OffHeapFleetStore store = new OffHeapFleetStore(2L * RECORD_BYTES, RECORD_BYTES, 100);
+        store.put(fleet(1L));
+        store.put(fleet(2L));
+        store.get(1L);
+
+        store.put(fleet(3L));
+
+        assertTrue(store.contains(1L));
+        assertFalse(store.contains(2L));
+        assertTrue(store.contains(3L));
+        assertEquals(2L * RECORD_BYTES, store.getAllocatedBytes());
+        assertEquals(1, store.getDroppedEntries());
+    }
+
+    @Test
+    void slabWithoutLiveRecordsIsReusedBeforeDroppingFleets() {
+        OffHeapFleetStore store = new OffHeapFleetStore(2L * RECORD_BYTES, RECORD_BYTES, 100);
+        store.put(fleet(1L));
+        store.put(fleet(2L));
+        store.remove(2L);
+
+        store.put(fleet(3L));
+
+        assertTrue(store.contains(1L));
+        assertTrue(store.contains(3L));
+        assertEquals(0, store.getDroppedEntries());
+        assertEquals(0, store.getRecycledSlabs());
+    }
+
+    @Test
+    void fleetLargerThanASlabIsRejectedAndDropsThePreviousOne() {
+        OffHeapFleetStore store = new OffHeapFleetStore(2L * RECORD_BYTES, RECORD_BYTES, 100);
+        store.put(fleet(7L));
+
+        assertFalse(store.put(CarFleet.of(7L, List.of(car(1L, "Toyota", 7L), car(2L, "Mazda", 7L)))));
+
+        assertFalse(store.contains(7L));
+        assertEquals(1, store.getRejected());
+    }
+
+    @Test
+    void takeRemovesTheFleetFromTheStore() {
+        OffHeapFleetStore store = new OffHeapFleetStore(1 << 20, 1 << 16, MAX_ENTRIES);
+        store.put(fleet(7L));
+
+        assertEquals(7L, store.take(7L).getUserId());
+        assertFalse(store.contains(7L));
+        assertEquals(0, store.getLiveBytes());
+    }
+
+    /**
+     * Usuarios cuya posición ideal en la tabla es la indicada; replica el hash del índice
+     */
+    private static List<Long> usersWithHome(int slot, int count) {
+        List<Long> users = new ArrayList<>();
+        for (long userId = 1; users.size() < count; userId++) {
+            long hash = userId * 0x9E3779B97F4A7C15L;
+            if (((int) (hash ^ (hash >>> 32)) & (TABLE_SIZE - 1)) == slot) {
+                users.add(userId);
+            }
+        }
+        return users;
+    }
+
+    private static CarFleet fleet(Long userId) {
+        return CarFleet.of(userId, List.of(car(1L, "Toyota", userId)));
+    }
+
+    private static Car car(Long id, String brand, Long userId) {
+        Car car = new Car(id, brand, "Corolla", 2020, "ABC" + (100 + id), "Rojo", null, userId, null, null);
+        car.setVersion(0L);
+        return car;
+    }
+}
@@ -0,0 +1,208 @@
+package com.anborja.tucarro.infrastructure.driven.cache;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarFleet;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * La caché se construye sin límite y el repositorio se simula con los autos de cada usuario.
+ * Las pruebas de dos niveles usan además un almacén fuera del heap pequeño
+ */
+class UserFleetCacheAdapterTest {
+
+    private final Map<Long, List<Car>> carsByUser = new ConcurrentHashMap<>();
+    private final List<List<Long>> reads = new ArrayList<>();
+    private ICarRepositoryPort repository;
+    private Cache<Long, CarFleet> cache;
+    private UserFleetCacheAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ICarRepositoryPort.class);
+        when(repository.findByUserId(anyLong())).thenAnswer(invocation ->
+                List.copyOf(carsByUser.getOrDefault(invocation.<Long>getArgument(0), List.of())));
+        carsByUser.put(7L, new ArrayList<>(List.of(car(1L, "Toyota", 7L), car(2L, "Mazda", 7L))));
+
+        cache = Caffeine.newBuilder().build();
+        adapter = new UserFleetCacheAdapter(repository, cache, null);
+    }
+
+    @Test
+    void fleetIsLoadedOnceAndThenServedFromTheCache() {
+        assertEquals(2, adapter.getFleet(7L).size());
+        assertEquals(2, adapter.getFleet(7L).size());
+
+        verify(repository, times(1)).findByUserId(7L);
+    }
+
+    @Test
+    void refreshAppliesChangedAndDeletedCarsToTheCachedFleet() {
+        adapter.getFleet(7L);
+
+        // El auto 1 cambió de marca y el 2 se eliminó
+        adapter.refresh(7L, List.of(1L, 2L), this::readCars);
+
+        CarFleet fleet = cache.getIfPresent(7L);
+        assertEquals(1, fleet.size());
+        assertEquals("Kia", fleet.brand(0));
+        assertEquals(List.of(List.of(1L, 2L)), reads);
+        verify(repository, times(1)).findByUserId(7L);
+    }
+
+    @Test
+    void refreshOfUserNotCachedDoesNotReadNorInstall() {
+        adapter.refresh(7L, List.of(1L), this::readCars);
+
+        assertTrue(reads.isEmpty());
+        assertNull(cache.getIfPresent(7L));
+    }
+
+    @Test
+    void invalidatedFleetIsReloadedOnNextAccess() {
+        adapter.getFleet(7L);
+        carsByUser.get(7L).add(car(3L, "Fiat", 7L));
+
+        adapter.invalidate(7L);
+
+        assertNull(cache.getIfPresent(7L));
+        assertEquals(3, adapter.getFleet(7L).size());
+        verify(repository, times(2)).findByUserId(7L);
+    }
+
+    @Test
+    void fleetMissingInTheHeapIsPromotedFromOffHeapWithoutReading() {
+        OffHeapFleetStore offHeap = offHeap();
+        offHeap.put(CarFleet.of(7L, carsByUser.get(7L)));
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, cache, offHeap);
+
+        assertEquals(2, twoTier.getFleet(7L).size());
+
+        assertFalse(offHeap.contains(7L));
+        assertEquals(2, cache.getIfPresent(7L).size());
+        verify(repository, never()).findByUserId(7L);
+    }
+
+    @Test
+    void evictedFleetIsDemotedAndServedBackFromOffHeap() {
+        OffHeapFleetStore offHeap = offHeap();
+        carsByUser.put(8L, List.of(car(3L, "Fiat", 8L)));
+        // Igual que la configuración: la expulsión pasa la flota al nivel fuera del heap
+        Cache<Long, CarFleet> bounded = Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(Runnable::run)
+                .<Long, CarFleet>evictionListener((userId, fleet, cause) -> offHeap.put(fleet))
+                .build();
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, bounded, offHeap);
+
+        twoTier.getFleet(7L);
+        twoTier.getFleet(8L);
+        bounded.cleanUp();
+
+        assertEquals(1, bounded.estimatedSize());
+        assertEquals(1, offHeap.getEntries());
+        Long demoted = offHeap.contains(7L) ? 7L : 8L;
+        twoTier.getFleet(demoted);
+        verify(repository, times(1)).findByUserId(demoted);
+    }
+
+    @Test
+    void refreshUpdatesTheDemotedFleetInPlace() {
+        OffHeapFleetStore offHeap = offHeap();
+        offHeap.put(CarFleet.of(7L, carsByUser.get(7L)));
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, cache, offHeap);
+
+        twoTier.refresh(7L, List.of(1L, 2L), this::readCars);
+
+        // La flota sigue fuera del heap, ya con los cambios
+        assertNull(cache.getIfPresent(7L));
+        CarFleet fleet = offHeap.get(7L);
+        assertEquals(1, fleet.size());
+        assertEquals("Kia", fleet.brand(0));
+        assertEquals(List.of(List.of(1L, 2L)), reads);
+    }
+
+    @Test
+    void refreshOfUserInNeitherTierDoesNotRead() {
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, cache, offHeap());
+
+        twoTier.refresh(7L, List.of(1L), this::readCars);
+
+        assertTrue(reads.isEmpty());
+        assertNull(cache.getIfPresent(7L));
+    }
+
+    @Test
+    void invalidateDropsTheFleetFromBothTiers() {
+        OffHeapFleetStore offHeap = offHeap();
+        offHeap.put(CarFleet.of(7L, carsByUser.get(7L)));
+        cache.put(8L, CarFleet.empty(8L));
+        offHeap.put(CarFleet.empty(8L));
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, cache, offHeap);
+
+        twoTier.invalidate(7L);
+        twoTier.invalidate(8L);
+
+        assertFalse(offHeap.contains(7L));
+        assertFalse(offHeap.contains(8L));
+        assertNull(cache.getIfPresent(8L));
+        assertEquals(2, twoTier.getFleet(7L).size());
+        verify(repository, times(1)).findByUserId(7L);
+    }
+
+    @Test
+    void fleetWhoseSizeNoLongerMatchesIsDiscardedFromEitherTier() {
+        OffHeapFleetStore offHeap = offHeap();
+        offHeap.put(CarFleet.of(8L, List.of(car(3L, "Fiat", 8L))));
+        UserFleetCacheAdapter twoTier = new UserFleetCacheAdapter(repository, cache, offHeap);
+        twoTier.getFleet(7L);
+
+        assertFalse(twoTier.discardIfSizeDiffers(7L, 2));
+        assertTrue(twoTier.discardIfSizeDiffers(7L, 1));
+        assertTrue(twoTier.discardIfSizeDiffers(8L, 0));
+
+        assertNull(cache.getIfPresent(7L));
+        assertFalse(offHeap.contains(8L));
+        assertFalse(twoTier.discardIfSizeDiffers(9L, 0));
+    }
+
+    /**
+     * Lector de la base de datos para refresh: el auto 1 con otra marca, el 2 ya no existe
+     */
+    private List<Car> readCars(Collection<Long> carIds) {
+        reads.add(List.copyOf(carIds));
+        return carIds.contains(1L) ? List.of(car(1L, "Kia", 7L)) : List.of();
+    }
+
+    private static OffHeapFleetStore offHeap() {
+        return new OffHeapFleetStore(1 << 20, 1 << 16, 16);
+    }
+
+    private static Car car(Long id, String brand, Long userId) {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(id);
+        Car car = new Car(id, brand, "Modelo", 2020, "ABC" + (100 + id), "Rojo", null, userId, at, at);
+        car.setVersion(0L);
+        return car;
+    }
+}
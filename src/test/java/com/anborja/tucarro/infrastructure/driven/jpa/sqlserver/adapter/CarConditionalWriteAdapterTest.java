@@ -0,0 +1,171 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.database.DatabaseEngine;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.CarEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contra H2 en memoria con la caché de segundo nivel activa: cada prueba carga los autos en la
+ * caché antes de escribir y comprueba qué entradas siguen en ella después
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-write;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "spring.sql.init.mode=never",
+        "l2-cache.enabled=true",
+        "car-search-index.enabled=false",
+        "warm-start.enabled=false",
+        "car-photos.storage-dir=build/conditional-write/photos",
+        "car-audit.directory=build/conditional-write/audit",
+        "logging.level.root=WARN"
+})
+class CarConditionalWriteAdapterTest {
+
+    @Autowired
+    private ICarRepositoryPort carRepositoryPort;
+
+    @Autowired
+    private CarConditionalWriteAdapter conditionalWrite;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long userId;
+    private Long updatedId;
+    private Long untouchedId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "conditional-" + System.nanoTime() + "@test.com";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, created_at, updated_at) " +
+                "VALUES ('Ana', 'Diaz', ?, 'x', ?, ?)", email, now, now);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+
+        String suffix = String.valueOf(System.nanoTime() % 1000);
+        updatedId = carRepositoryPort.save(car("Toyota", "AAA" + suffix)).getId();
+        untouchedId = carRepositoryPort.save(car("Mazda", "BBB" + suffix)).getId();
+
+        entityManagerFactory.getCache().evictAll();
+        loadIntoCache(updatedId);
+        loadIntoCache(untouchedId);
+    }
+
+    @Test
+    void updateEvictsOnlyTheWrittenCar() {
+        Car changes = new Car(updatedId, "Kia", null, 2022, null, null, null, null, null, null);
+
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.updateIfOwned(changes, userId, null);
+
+        assertEquals(ICarRepositoryPort.WriteOutcome.APPLIED, result.getOutcome());
+        assertEquals("Toyota", result.getPrevious().getBrand());
+        assertEquals(2020, result.getPrevious().getYear());
+        assertEquals("Kia", result.getCar().getBrand());
+        assertEquals(result.getPrevious().getVersion() + 1, result.getCar().getVersion());
+        assertFalse(entityManagerFactory.getCache().contains(CarEntity.class, updatedId));
+        assertTrue(entityManagerFactory.getCache().contains(CarEntity.class, untouchedId));
+        assertEquals("kia corolla " + plateOf(updatedId).toLowerCase() + " rojo",
+                jdbcTemplate.queryForObject("SELECT search_text FROM cars WHERE id = ?", String.class, updatedId));
+    }
+
+    @Test
+    void updateWithAStaleVersionWritesNothing() {
+        Car changes = new Car(updatedId, "Kia", null, null, null, null, null, null, null, null);
+
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.updateIfOwned(changes, userId, 99L);
+
+        assertEquals(ICarRepositoryPort.WriteOutcome.STALE, result.getOutcome());
+        assertTrue(entityManagerFactory.getCache().contains(CarEntity.class, updatedId));
+    }
+
+    @Test
+    void deleteReturnsThePreviousStateAndKeepsOtherCarsCached() {
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.deleteIfOwned(updatedId, userId);
+
+        assertEquals(ICarRepositoryPort.WriteOutcome.APPLIED, result.getOutcome());
+        assertEquals("Toyota", result.getPrevious().getBrand());
+        assertNull(result.getCar());
+        assertFalse(entityManagerFactory.getCache().contains(CarEntity.class, updatedId));
+        assertTrue(entityManagerFactory.getCache().contains(CarEntity.class, untouchedId));
+        assertTrue(carRepositoryPort.findByPlateNumber(plateOf(untouchedId)).isPresent());
+    }
+
+    @Test
+    void enginesWithoutReturningReadTheRowWithoutLockingIt() {
+        // MySQL no devuelve el estado anterior en la sentencia: lectura simple y UPDATE por versión
+        ReflectionTestUtils.setField(conditionalWrite, "engine", DatabaseEngine.MYSQL);
+        try {
+            Car changes = new Car(updatedId, null, null, 2023, null, null, null, null, null, null);
+
+            ICarRepositoryPort.WriteResult result = carRepositoryPort.updateIfOwned(changes, userId, null);
+
+            assertEquals(ICarRepositoryPort.WriteOutcome.APPLIED, result.getOutcome());
+            assertEquals(2020, result.getPrevious().getYear());
+            assertEquals(2023, result.getCar().getYear());
+            assertFalse(entityManagerFactory.getCache().contains(CarEntity.class, updatedId));
+            assertTrue(entityManagerFactory.getCache().contains(CarEntity.class, untouchedId));
+            assertEquals(ICarRepositoryPort.WriteOutcome.STALE,
+                    carRepositoryPort.updateIfOwned(changes, userId, result.getPrevious().getVersion()).getOutcome());
+        } finally {
+            ReflectionTestUtils.setField(conditionalWrite, "engine", null);
+        }
+    }
+
+    @Test
+    void writeByAnotherUserIsForbidden() {
+        ICarRepositoryPort.WriteResult result = carRepositoryPort.deleteIfOwned(updatedId, userId + 1000);
+
+        assertEquals(ICarRepositoryPort.WriteOutcome.FORBIDDEN, result.getOutcome());
+        assertTrue(entityManagerFactory.getCache().contains(CarEntity.class, updatedId));
+    }
+
+    private void loadIntoCache(Long carId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            CarEntity entity = entityManager.find(CarEntity.class, carId);
+            entityManager.unwrap(Session.class).bySimpleNaturalId(CarEntity.class).load(entity.getPlateNumber());
+        });
+    }
+
+    private String plateOf(Long carId) {
+        return jdbcTemplate.queryForObject("SELECT plate_number FROM cars WHERE id = ?", String.class, carId);
+    }
+
+    private Car car(String brand, String plateNumber) {
+        return new Car(null, brand, "Corolla", 2020, plateNumber, "Rojo", null, userId, null, null);
+    }
+}
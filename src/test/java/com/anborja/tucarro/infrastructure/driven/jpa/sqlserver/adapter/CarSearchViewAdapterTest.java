@@ -0,0 +1,103 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contra H2 en memoria: dos proyecciones del mismo auto en hilos distintos, como las de dos
+ * instancias que reciben el mismo evento
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-view;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "spring.sql.init.mode=never",
+        "workload-bulkhead.enabled=false",
+        "car-search-index.enabled=false",
+        "warm-start.enabled=false",
+        "car-photos.storage-dir=build/search-view/photos",
+        "car-audit.directory=build/search-view/audit",
+        "logging.level.root=WARN"
+})
+class CarSearchViewAdapterTest {
+
+    private static final long HOLD_MILLIS = 300;
+
+    @Autowired
+    private CarSearchViewAdapter carSearchViewAdapter;
+
+    @Autowired
+    private ICarRepositoryPort carRepositoryPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentProjectionsOfTheSameCarRunOneAfterTheOther() throws Exception {
+        Long carId = createCar();
+        carSearchViewAdapter.refreshCars(List.of(carId));
+        jdbcTemplate.update("DELETE FROM car_search_view WHERE car_id = ?", carId);
+
+        CountDownLatch projected = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    int changed = carSearchViewAdapter.refreshCars(List.of(carId));
+                    projected.countDown();
+                    sleep();
+                    return changed;
+                }));
+        assertTrue(projected.await(10, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        int second = carSearchViewAdapter.refreshCars(List.of(carId));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(1, first.get(10, TimeUnit.SECONDS));
+        assertEquals(0, second);
+        assertTrue(waitedMillis >= HOLD_MILLIS / 2, "esperó " + waitedMillis + " ms");
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM car_search_view WHERE car_id = ?", Integer.class, carId));
+    }
+
+    private Long createCar() {
+        String email = "view-" + System.nanoTime() + "@test.com";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, created_at, updated_at) " +
+                "VALUES ('Ana', 'Diaz', ?, 'x', ?, ?)", email, now, now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        return carRepositoryPort.save(new Car(null, "Toyota", "Corolla", 2020, "VIEW" + (System.nanoTime() % 100),
+                "Rojo", null, userId, null, null)).getId();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(HOLD_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardMigrationInProgressException;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.entity.ShardDirectoryEntity;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.repository.IShardDirectoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * El repositorio del directorio se simula y registra en qué shard se consultó
+ */
+class ShardDirectoryAdapterTest {
+
+    private final List<Integer> queriedShards = new ArrayList<>();
+    private IShardDirectoryRepository repository;
+    private ShardingProperties properties;
+    private ShardDirectoryAdapter directory;
+    private ShardDirectoryEntity entry;
+
+    @BeforeEach
+    void setUp() {
+        entry = new ShardDirectoryEntity(7L, "ana@test.com", 2, 123L);
+        repository = mock(IShardDirectoryRepository.class);
+        when(repository.findById(anyLong())).thenAnswer(invocation -> {
+            queriedShards.add(ShardContext.current());
+            return invocation.<Long>getArgument(0).equals(entry.getUserId()) ? Optional.of(entry) : Optional.empty();
+        });
+
+        properties = new ShardingProperties();
+        properties.setDirectoryCacheTtl(Duration.ofMinutes(1));
+        directory = new ShardDirectoryAdapter(repository, mock(PlatformTransactionManager.class), properties);
+    }
+
+    @Test
+    void registeredUserIsRoutedToItsShardAndTheDirectoryIsReadOnShardZero() {
+        assertEquals(2, ShardContext.callOn(1, () -> directory.shardOf(7L)));
+        assertEquals(List.of(ShardDirectoryAdapter.DIRECTORY_SHARD), queriedShards);
+    }
+
+    @Test
+    void userWithoutEntryLivesOnShardZero() {
+        assertEquals(0, directory.shardOf(8L));
+        assertEquals(0, directory.shardForWrite(8L));
+    }
+
+    @Test
+    void completedMoveDropsTheCachedShard() {
+        directory.shardOf(7L);
+        directory.shardOf(7L);
+        assertEquals(1, queriedShards.size());
+
+        ReflectionTestUtils.setField(entry, "shardId", 1);
+        directory.completeMove(7L, 1);
+
+        assertEquals(1, directory.shardOf(7L));
+        assertEquals(2, queriedShards.size());
+    }
+
+    @Test
+    void writesAlwaysReadTheDirectory() {
+        directory.shardOf(7L);
+        ReflectionTestUtils.setField(entry, "shardId", 1);
+
+        // La lectura en caché sigue en el origen; la escritura ya va al destino
+        assertEquals(2, directory.shardOf(7L));
+        assertEquals(1, directory.shardForWrite(7L));
+    }
+
+    @Test
+    void writesOfMovingUserAreRejected() {
+        ReflectionTestUtils.setField(entry, "moving", true);
+
+        assertThrows(ShardMigrationInProgressException.class, () -> directory.shardForWrite(7L));
+        assertEquals(2, directory.shardOf(7L));
+    }
+}
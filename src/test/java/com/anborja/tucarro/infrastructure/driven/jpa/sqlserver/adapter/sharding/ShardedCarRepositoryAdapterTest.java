@@ -0,0 +1,192 @@
+package com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.sharding;
+
+import com.anborja.tucarro.domain.model.Car;
+import com.anborja.tucarro.domain.model.CarUpsertResult;
+import com.anborja.tucarro.domain.spi.ICarRepositoryPort;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardContext;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardRegistry;
+import com.anborja.tucarro.infrastructure.configuration.sharding.ShardingProperties;
+import com.anborja.tucarro.infrastructure.driven.jpa.sqlserver.adapter.CarRepositoryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tres shards H2 en memoria detrás del registro real; el repositorio de cada shard se simula
+ * con los autos que contiene y registra en qué shard se ejecutó cada llamada
+ */
+class ShardedCarRepositoryAdapterTest {
+
+    private static final int STRIDE = 16;
+
+    private final Map<Integer, Map<Long, Car>> carsByShard = new ConcurrentHashMap<>();
+    private final List<Integer> visitedShards = Collections.synchronizedList(new ArrayList<>());
+    private ShardRegistry registry;
+    private ShardDirectoryAdapter directory;
+    private CarRepositoryAdapter delegate;
+    private ShardedCarRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setIdStride(STRIDE);
+        properties.setShards(List.of(shard(), shard()));
+        registry = new ShardRegistry(new DriverManagerDataSource(h2Url(), "sa", ""), properties);
+        registry.start();
+        for (int shard = 0; shard < registry.getShardCount(); shard++) {
+            carsByShard.put(shard, new ConcurrentHashMap<>());
+        }
+
+        directory = mock(ShardDirectoryAdapter.class);
+        delegate = mock(CarRepositoryAdapter.class);
+        when(delegate.findById(anyLong())).thenAnswer(invocation -> {
+            visitedShards.add(ShardContext.current());
+            return Optional.ofNullable(currentShardCars().get(invocation.<Long>getArgument(0)));
+        });
+        when(delegate.existsByPlateNumber(anyString())).thenAnswer(invocation ->
+                currentShardCars().values().stream().anyMatch(car -> car.getPlateNumber().equals(invocation.getArgument(0))));
+        when(delegate.save(any(Car.class))).thenAnswer(invocation -> {
+            Car car = invocation.getArgument(0);
+            currentShardCars().put(car.getId(), car);
+            return car;
+        });
+        when(delegate.updateIfOwned(any(Car.class), anyLong(), any())).thenAnswer(invocation -> {
+            visitedShards.add(ShardContext.current());
+            return ICarRepositoryPort.WriteResult.missed(ICarRepositoryPort.WriteOutcome.NOT_FOUND);
+        });
+        when(delegate.upsertByPlate(anyList(), anyLong())).thenAnswer(invocation -> {
+            List<Car> cars = invocation.getArgument(0);
+            return cars.stream()
+                    .map(car -> new CarUpsertResult(car.getPlateNumber(), CarUpsertResult.Outcome.CREATED, car))
+                    .toList();
+        });
+
+        adapter = new ShardedCarRepositoryAdapter(delegate, directory, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+    }
+
+    @Test
+    void writesGoToTheShardTheDirectoryAssignsToTheOwner() {
+        when(directory.shardForWrite(7L)).thenReturn(2);
+
+        adapter.save(car(2L * STRIDE + 3, "ABC123", 7L));
+
+        assertTrue(carsByShard.get(2).containsKey(2L * STRIDE + 3));
+        assertTrue(carsByShard.get(0).isEmpty());
+        assertTrue(carsByShard.get(1).isEmpty());
+    }
+
+    @Test
+    void conditionalWritesRunOnTheOwnerShard() {
+        when(directory.shardForWrite(7L)).thenReturn(1);
+
+        ICarRepositoryPort.WriteResult result = adapter.updateIfOwned(car(5L, "ABC123", 7L), 7L, 0L);
+
+        assertEquals(ICarRepositoryPort.WriteOutcome.NOT_FOUND, result.getOutcome());
+        assertEquals(List.of(1), visitedShards);
+    }
+
+    @Test
+    void findByIdReadsOnlyTheShardThatGeneratedTheId() {
+        long id = 16 * 4 + 2;
+        carsByShard.get(1).put(id, car(id, "ABC123", 7L));
+
+        assertEquals("ABC123", adapter.findById(id).orElseThrow().getPlateNumber());
+        assertEquals(List.of(1), visitedShards);
+    }
+
+    @Test
+    void findByIdFallsBackToOtherShardsWhenOwnerWasMoved() {
+        // Generado en el shard 1 y movido con su propietario al shard 2
+        long id = 16 * 4 + 2;
+        carsByShard.get(2).put(id, car(id, "ABC123", 7L));
+
+        assertEquals("ABC123", adapter.findById(id).orElseThrow().getPlateNumber());
+        assertEquals(List.of(1, 0, 2), visitedShards);
+    }
+
+    @Test
+    void findByIdReturnsEmptyAfterTryingEveryShard() {
+        assertFalse(adapter.findById(16L * 4 + 2).isPresent());
+        assertEquals(3, visitedShards.size());
+    }
+
+    @Test
+    void plateChecksSeeEveryShard() {
+        carsByShard.get(2).put(3L, car(3L, "XYZ789", 8L));
+
+        assertTrue(adapter.existsByPlateNumber("XYZ789"));
+        assertFalse(adapter.existsByPlateNumber("ABC123"));
+    }
+
+    @Test
+    void upsertRejectsPlatesTakenOnAnotherShard() {
+        when(directory.shardForWrite(7L)).thenReturn(1);
+        carsByShard.get(2).put(3L, car(3L, "XYZ789", 8L));
+        // Una placa del propio shard la resuelve la sentencia del delegado
+        carsByShard.get(1).put(2L, car(2L, "ABC123", 7L));
+
+        List<CarUpsertResult> results = adapter.upsertByPlate(
+                List.of(car(null, "XYZ789", 7L), car(null, "ABC123", 7L), car(null, "NEW001", 7L)), 7L);
+
+        assertEquals(CarUpsertResult.Outcome.FORBIDDEN, results.get(0).getOutcome());
+        assertEquals(CarUpsertResult.Outcome.CREATED, results.get(1).getOutcome());
+        assertEquals(CarUpsertResult.Outcome.CREATED, results.get(2).getOutcome());
+    }
+
+    @Test
+    void transferToOwnerOnAnotherShardIsRejected() {
+        long id = 16 * 4 + 2;
+        carsByShard.get(1).put(id, car(id, "ABC123", 7L));
+        when(directory.shardForWrite(8L)).thenReturn(2);
+        when(directory.shardOf(7L)).thenReturn(1);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(car(id, "ABC123", 8L)));
+        assertTrue(carsByShard.get(2).isEmpty());
+    }
+
+    private Map<Long, Car> currentShardCars() {
+        Integer shard = ShardContext.current();
+        return carsByShard.get(shard != null ? shard : 0);
+    }
+
+    private static Car car(Long id, String plateNumber, Long userId) {
+        return new Car(id, "Toyota", "Corolla", 2020, plateNumber, "Rojo", null, userId, null, null);
+    }
+
+    private static ShardingProperties.Shard shard() {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setUrl(h2Url());
+        shard.setUsername("sa");
+        shard.setDriverClassName("org.h2.Driver");
+        return shard;
+    }
+
+    private static String h2Url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,92 @@
+package com.anborja.tucarro.infrastructure.driven.search;
+
+import com.anborja.tucarro.domain.model.Car;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Cada prueba construye el índice en un directorio temporal a partir de autos en memoria
+ */
+class LuceneCarSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private final Map<Long, Car> cars = new ConcurrentHashMap<>();
+
+    private final LuceneCarSearchIndex.CarSource source = new LuceneCarSearchIndex.CarSource() {
+        @Override
+        public List<Car> findByIds(Collection<Long> carIds) {
+            return carIds.stream().map(cars::get).filter(car -> car != null).toList();
+        }
+
+        @Override
+        public List<Car> findByUserIds(Collection<Long> userIds) {
+            return cars.values().stream().filter(car -> userIds.contains(car.getUserId())).toList();
+        }
+    };
+
+    private LuceneCarSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new LuceneCarSearchIndex(directory, 16);
+        index.start();
+        index.beginRebuild().complete(source, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.stop();
+    }
+
+    @Test
+    void emptyIndexHasNoFacetsState() throws IOException {
+        assertNull(index.search(LuceneCarSearchIndex.CarIndexSearcher::getFacetsState));
+    }
+
+    @Test
+    void facetsStateIsReusedUntilTheNextRefresh() throws IOException {
+        save(car(1L, "Toyota"));
+        index.update(List.of(1L), List.of(), source);
+
+        SortedSetDocValuesReaderState first = index.search(LuceneCarSearchIndex.CarIndexSearcher::getFacetsState);
+        SortedSetDocValuesReaderState second = index.search(LuceneCarSearchIndex.CarIndexSearcher::getFacetsState);
+
+        assertNotNull(first);
+        assertSame(first, second);
+
+        save(car(2L, "Mazda"));
+        index.update(List.of(2L), List.of(), source);
+
+        SortedSetDocValuesReaderState refreshed = index.search(LuceneCarSearchIndex.CarIndexSearcher::getFacetsState);
+        assertNotSame(first, refreshed);
+        assertEquals(2, refreshed.getReader().numDocs());
+    }
+
+    private void save(Car car) {
+        cars.put(car.getId(), car);
+    }
+
+    private static Car car(Long id, String brand) {
+        Car car = new Car(id, brand, "Modelo", 2020, "ABC" + (100 + id), "Rojo", null, 7L, null, null);
+        car.setVersion(0L);
+        return car;
+    }
+}